@@ -16,7 +16,7 @@
 
 package com.epam.pipeline.acl.cluster;
 
-import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -41,6 +41,7 @@ import org.springframework.security.access.prepost.PostFilter;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
+import static com.epam.pipeline.security.acl.AclExpressions.ADMIN_ONLY;
 import static com.epam.pipeline.security.acl.AclExpressions.NODE_READ;
 import static com.epam.pipeline.security.acl.AclExpressions.NODE_READ_FILTER;
 import static com.epam.pipeline.security.acl.AclExpressions.NODE_STOP;
@@ -89,9 +90,10 @@ public class ClusterApiService {
     }
 
     @PreAuthorize(NODE_READ)
-    public InputStream getUsageStatisticsFile(final String name, final LocalDateTime from, final LocalDateTime to,
-                                              final Duration interval, final MonitoringReportType type) {
-        return usageMonitoringManager.getStatsForNodeAsInputStream(name, from, to, interval, type);
+    public void writeUsageStatisticsFile(final String name, final LocalDateTime from, final LocalDateTime to,
+                                         final Duration interval, final MonitoringReportType type,
+                                         final OutputStream outputStream) {
+        usageMonitoringManager.writeStatsForNode(name, from, to, interval, type, outputStream);
     }
 
     public List<InstanceType> getAllowedInstanceTypes(final Long regionId, final Boolean spot) {
@@ -116,6 +118,11 @@ public class ClusterApiService {
         return nodeDiskManager.loadByNodeId(name);
     }
 
+    @PreAuthorize(ADMIN_ONLY)
+    public List<NodeDisk> loadNodesDisks(final List<String> names) {
+        return nodeDiskManager.loadByNodeIds(names);
+    }
+
     public String buildEdgeExternalUrl() {
         return utilsManager.buildEdgeExternalUrl();
     }
@@ -18,7 +18,9 @@ package com.epam.pipeline.acl.folder;
 
 import com.epam.pipeline.entity.metadata.FolderWithMetadata;
 import com.epam.pipeline.entity.pipeline.Folder;
+import com.epam.pipeline.entity.pipeline.FolderCloneJob;
 import com.epam.pipeline.entity.security.acl.AclClass;
+import com.epam.pipeline.manager.pipeline.FolderCloneManager;
 import com.epam.pipeline.manager.pipeline.FolderManager;
 import com.epam.pipeline.manager.security.acl.AclMask;
 import com.epam.pipeline.manager.security.acl.AclTree;
@@ -34,6 +36,9 @@ public class FolderApiService {
     @Autowired
     private FolderManager folderManager;
 
+    @Autowired
+    private FolderCloneManager folderCloneManager;
+
     @PreAuthorize(AclExpressions.FOLDER_ID_CREATE)
     public Folder create(final Folder folder) {
         return folderManager.create(folder);
@@ -95,6 +100,18 @@ public class FolderApiService {
         return folderManager.cloneFolder(id, destinationFolderId, name);
     }
 
+    @PreAuthorize("hasRole('ADMIN') OR (hasRole('FOLDER_MANAGER') AND "
+            + "hasPermission(#id, 'com.epam.pipeline.entity.pipeline.Folder', 'READ') AND "
+            + "hasPermission(#destinationFolderId, 'com.epam.pipeline.entity.pipeline.Folder', 'WRITE'))")
+    public FolderCloneJob submitClone(final Long id, final Long destinationFolderId, final String name) {
+        return folderCloneManager.submit(id, destinationFolderId, name);
+    }
+
+    @PostAuthorize("@grantPermissionManager.isOwnerOrAdmin(returnObject.owner)")
+    public FolderCloneJob loadClone(final String cloneId) {
+        return folderCloneManager.load(cloneId);
+    }
+
     @AclMask
     @PreAuthorize("hasRole('ADMIN') or @grantPermissionManager.ownerPermission(#id, {'FOLDER'})")
     public Folder lockFolder(Long id) {
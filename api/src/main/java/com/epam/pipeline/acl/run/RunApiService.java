@@ -28,6 +28,7 @@ import com.epam.pipeline.controller.vo.TagsVO;
 import com.epam.pipeline.controller.vo.configuration.RunConfigurationWithEntitiesVO;
 import com.epam.pipeline.dao.filter.FilterRunParameters;
 import com.epam.pipeline.entity.cluster.PipelineRunPrice;
+import com.epam.pipeline.entity.configuration.ConfigurationLaunchJob;
 import com.epam.pipeline.entity.pipeline.CommitStatus;
 import com.epam.pipeline.entity.pipeline.DiskAttachRequest;
 import com.epam.pipeline.entity.pipeline.KubernetesService;
@@ -58,6 +59,7 @@ import com.epam.pipeline.manager.security.acl.AclMaskList;
 import com.epam.pipeline.manager.security.acl.AclMaskPage;
 import com.epam.pipeline.manager.utils.UtilsManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
@@ -113,6 +115,18 @@ public class RunApiService {
         return configurationLauncher.runConfiguration(refreshToken, configuration, expansionExpression);
     }
 
+    @PreAuthorize("hasRole('ADMIN') OR "
+            + "@grantPermissionManager.hasConfigurationUpdatePermission(#configuration, 'EXECUTE')")
+    public ConfigurationLaunchJob launchConfiguration(RunConfigurationWithEntitiesVO configuration,
+                                                      String expansionExpression) {
+        return configurationLauncher.launchConfiguration(configuration, expansionExpression);
+    }
+
+    @PostAuthorize("@grantPermissionManager.isOwnerOrAdmin(returnObject.owner)")
+    public ConfigurationLaunchJob loadConfigurationLaunch(String launchId) {
+        return configurationLauncher.loadLaunch(launchId);
+    }
+
     @PreAuthorize("hasRole('ADMIN') OR @runPermissionManager.runPermission(#runLog.runId, 'EXECUTE')")
     public RunLog saveLog(final RunLog runLog) {
         return logManager.saveLog(runLog);
@@ -17,11 +17,13 @@
 package com.epam.pipeline.app;
 
 import com.epam.pipeline.common.MessageHelper;
+import com.epam.pipeline.manager.CmdExecutor;
 import net.javacrumbs.shedlock.core.LockProvider;
 import net.javacrumbs.shedlock.provider.jdbctemplate.JdbcTemplateLockProvider;
 import net.javacrumbs.shedlock.spring.annotation.EnableSchedulerLock;
 import com.epam.pipeline.manager.scheduling.AutowiringSpringBeanJobFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
@@ -61,6 +63,15 @@ public class AppConfiguration implements SchedulingConfigurer {
     @Value("${pause.pool.size:10}")
     private int pausePoolSize;
 
+    @Value("${monitoring.stats.pool.size:8}")
+    private int monitoringPoolSize;
+
+    @Value("${configuration.launch.pool.size:10}")
+    private int configurationLaunchPoolSize;
+
+    @Value("${folder.clone.storage.pool.size:5}")
+    private int folderCloneStoragePoolSize;
+
     @Bean
     public MessageHelper messageHelper() {
         return new MessageHelper(messageSource());
@@ -114,20 +125,54 @@ public class AppConfiguration implements SchedulingConfigurer {
         return new DelegatingSecurityContextExecutor(getThreadPoolTaskExecutor("PauseRun"));
     }
 
+    @Bean
+    public Executor monitoringExecutor() {
+        return getThreadPoolTaskExecutor("MonitoringStats", monitoringPoolSize);
+    }
+
     @Bean
     public Executor dataStoragePathExecutor() {
         return getSingleThreadExecutor("PathExecutor");
     }
 
+    @Bean
+    public Executor configurationLaunchExecutor() {
+        return getSingleThreadExecutor("ConfigurationLaunch");
+    }
+
+    @Bean
+    public Executor configurationLaunchPodExecutor() {
+        return getThreadPoolTaskExecutor("ConfigurationLaunchPod", configurationLaunchPoolSize);
+    }
+
+    @Bean
+    public Executor folderCloneExecutor() {
+        return getSingleThreadExecutor("FolderClone");
+    }
+
+    @Bean
+    public Executor folderCloneStorageExecutor() {
+        return getThreadPoolTaskExecutor("FolderCloneStorage", folderCloneStoragePoolSize);
+    }
+
+    @Bean
+    public PublicMetrics cmdExecutionMetrics() {
+        return CmdExecutor.getMetrics();
+    }
+
     @Bean(name = "lockProvider")
     public LockProvider lockProvider(DataSource dataSource) {
         return new JdbcTemplateLockProvider(dataSource);
     }
 
     private Executor getThreadPoolTaskExecutor(String name) {
+        return getThreadPoolTaskExecutor(name, pausePoolSize);
+    }
+
+    private Executor getThreadPoolTaskExecutor(String name, int poolSize) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(pausePoolSize);
-        executor.setMaxPoolSize(pausePoolSize);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
         executor.setThreadNamePrefix(name);
         executor.initialize();
         return executor;
@@ -37,6 +37,7 @@ public class CacheConfiguration {
 
     public static final String PREFERENCE_CACHE = "preferences";
     public static final String ACL_CACHE = "aclCache";
+    public static final String CONTEXTUAL_PREFERENCE_CACHE = "contextualPreferences";
 
     private static final String REDIS = "REDIS";
     private static final String MEMORY = "MEMORY";
@@ -62,7 +63,7 @@ public class CacheConfiguration {
     public CacheManager cacheManager(final Optional<RedisCacheManager> redisCacheManager) {
         switch (cacheType) {
             case MEMORY:
-                return new ConcurrentMapCacheManager(PREFERENCE_CACHE, ACL_CACHE);
+                return new ConcurrentMapCacheManager(PREFERENCE_CACHE, ACL_CACHE, CONTEXTUAL_PREFERENCE_CACHE);
             case REDIS:
                 return redisCacheManager
                         .orElseThrow(IllegalArgumentException::new);
@@ -74,7 +75,8 @@ public class CacheConfiguration {
     @Bean
     @ConditionalOnProperty(value = CACHE_TYPE, havingValue = REDIS)
     public RedisCacheManager redisCacheManager(final RedisTemplate template) {
-        return new RedisCacheManager(template, Arrays.asList(PREFERENCE_CACHE, ACL_CACHE));
+        return new RedisCacheManager(template, Arrays.asList(PREFERENCE_CACHE, ACL_CACHE,
+                CONTEXTUAL_PREFERENCE_CACHE));
     }
 
     @Bean
@@ -22,6 +22,7 @@ import com.epam.pipeline.dao.tool.ToolDao;
 import com.epam.pipeline.dao.user.RoleDao;
 import com.epam.pipeline.dao.user.UserDao;
 import com.epam.pipeline.manager.contextual.handler.ArrayContextualPreferenceReducer;
+import com.epam.pipeline.manager.contextual.handler.CachingContextualPreferenceHandler;
 import com.epam.pipeline.manager.contextual.handler.ContextualPreferenceHandler;
 import com.epam.pipeline.manager.contextual.handler.ContextualPreferenceReducer;
 import com.epam.pipeline.manager.contextual.handler.DefaultContextualPreferenceReducer;
@@ -41,6 +42,12 @@ public class ContextualPreferenceConfiguration {
 
     @Bean
     public ContextualPreferenceHandler contextualPreferenceHandler(
+            final UserContextualPreferenceHandler userContextualPreferenceHandler) {
+        return new CachingContextualPreferenceHandler(userContextualPreferenceHandler);
+    }
+
+    @Bean
+    public UserContextualPreferenceHandler userContextualPreferenceHandler(
             final UserDao userDao,
             final ContextualPreferenceDao contextualPreferenceDao,
             final RoleContextualPreferenceHandler roleContextualPreferenceHandler) {
@@ -16,8 +16,9 @@
 
 package com.epam.pipeline.aspect.cluster;
 
-import com.epam.pipeline.manager.cluster.KubernetesManager;
+import com.epam.pipeline.manager.cluster.LeaderElectionManager;
 import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.core.SchedulerLock;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
@@ -36,14 +37,15 @@ import org.springframework.stereotype.Component;
 public class ScheduledTasksSynchronizationAspect {
 
     @Autowired
-    private KubernetesManager kubernetesManager;
+    private LeaderElectionManager leaderElectionManager;
 
-    @Around("@annotation(net.javacrumbs.shedlock.core.SchedulerLock)")
-    public void skipScheduledMethodInvocation(ProceedingJoinPoint joinPoint) throws Throwable {
-        if (kubernetesManager.isMasterHost()) {
+    @Around("@annotation(schedulerLock)")
+    public void skipScheduledMethodInvocation(final ProceedingJoinPoint joinPoint,
+                                              final SchedulerLock schedulerLock) throws Throwable {
+        if (leaderElectionManager.isLeader(schedulerLock.name())) {
             joinPoint.proceed();
         } else {
-            log.warn("Scheduled method skipped :" + joinPoint.getSignature().toString());
+            log.debug("Scheduled method skipped :" + joinPoint.getSignature().toString());
         }
     }
 }
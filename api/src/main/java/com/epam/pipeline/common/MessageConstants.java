@@ -51,6 +51,8 @@ public final class MessageConstants {
     //Run config
     public static final String ERROR_RUN_CONFIG_NOT_FOUND = "error.run.config.not.found";
     public static final String ERROR_RUN_CONFIG_DUPLICATES = "error.run.config.name.duplicates";
+    public static final String ERROR_RUN_CONFIG_LAUNCH_NOT_FOUND = "error.run.config.launch.not.found";
+    public static final String ERROR_RUN_CONFIG_LAUNCH_UNSUPPORTED = "error.run.config.launch.unsupported";
 
     //Folder errors
     public static final String ERROR_FOLDER_NOT_FOUND = "error.folder.not.found";
@@ -67,6 +69,7 @@ public final class MessageConstants {
     public static final String ERROR_TEMPLATE_FOLDER_NAME_IS_EMPTY = "error.template.folder.name.empty";
     public static final String ERROR_FOLDER_INVALID_TEMPLATE = "error.folder.template.invalid";
     public static final String ERROR_FOLDER_INVALID_ID = "error.invalid.folder.id";
+    public static final String ERROR_FOLDER_CLONE_NOT_FOUND = "error.folder.clone.not.found";
 
     //Tools errors
     public static final String ERROR_TOOL_NOT_FOUND = "error.tool.not.found";
@@ -159,6 +162,7 @@ public final class MessageConstants {
     public static final String ERROR_UNSUPPORTED_STATS_FILE_TYPE = "error.run.stats.file.unsupported.type";
     public static final String ERROR_STATS_FILE_XLS_CONVERSION = "error.run.stats.file.xls";
     public static final String ERROR_STATS_EMPTY_XLS_TEMPLATE_PATH = "error.run.stats.xls.template.empty.path";
+    public static final String ERROR_STATS_FILE_WRITE = "error.run.stats.file.write";
     public static final String ERROR_RUN_CLOUD_REGION_NOT_ALLOWED = "error.run.cloud.region.not.allowed";
     public static final String INFO_LOG_PAUSE_COMPLETED = "info.log.pause.completed";
     public static final String ERROR_STOP_START_INSTANCE_TERMINATED = "error.stop.start.instance.reason.terminated";
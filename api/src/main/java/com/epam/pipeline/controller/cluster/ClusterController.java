@@ -36,6 +36,7 @@ import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -48,7 +49,6 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -242,11 +242,13 @@ public class ClusterController extends AbstractRestController {
         @RequestParam(value = INTERVAL, required = false, defaultValue = "PT1M") final Duration interval,
         @RequestParam(value = REPORT_TYPE, required = false, defaultValue = "CSV") final MonitoringReportType type,
         final HttpServletResponse response) throws IOException {
-        final InputStream inputStream = clusterApiService.getUsageStatisticsFile(name, from, to, interval, type);
         final String reportName =
             String.format(REPORT_NAME_TEMPLATE, name, from, to, interval, type.name().toLowerCase())
                 .replace(TIME_SEPARATION_CHAR, UNDERSCORE);
-        writeStreamToResponse(response, inputStream, reportName);
+        response.addHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment;filename=" + reportName);
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        clusterApiService.writeUsageStatisticsFile(name, from, to, interval, type, response.getOutputStream());
+        response.flushBuffer();
     }
 
     @RequestMapping(value = "/cluster/node/{name}/disks", method = RequestMethod.GET)
@@ -260,6 +262,17 @@ public class ClusterController extends AbstractRestController {
         return Result.success(clusterApiService.loadNodeDisks(name));
     }
 
+    @PostMapping("/cluster/node/disks")
+    @ResponseBody
+    @ApiOperation(
+        value = "Returns disks of the specified nodes.",
+        notes = "Returns disks of the specified nodes. Allows to load disks of multiple nodes in a single request.",
+        produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponses(@ApiResponse(code = HTTP_STATUS_OK, message = API_STATUS_DESCRIPTION))
+    public Result<List<NodeDisk>> loadNodesDisks(@RequestBody final List<String> names) {
+        return Result.success(clusterApiService.loadNodesDisks(names));
+    }
+
     @PostMapping("/cluster/dnsrecord")
     @ResponseBody
     @ApiOperation(
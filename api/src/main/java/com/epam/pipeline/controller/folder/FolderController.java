@@ -22,6 +22,7 @@ import com.epam.pipeline.controller.AbstractRestController;
 import com.epam.pipeline.controller.Result;
 import com.epam.pipeline.entity.metadata.MetadataEntity;
 import com.epam.pipeline.entity.pipeline.Folder;
+import com.epam.pipeline.entity.pipeline.FolderCloneJob;
 import com.epam.pipeline.entity.security.acl.AclClass;
 import com.epam.pipeline.acl.metadata.MetadataEntityApiService;
 import com.epam.pipeline.acl.folder.FolderApiService;
@@ -33,6 +34,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -198,6 +200,37 @@ public class FolderController  extends AbstractRestController {
         return Result.success(folderApiService.cloneFolder(id, destinationFolderId, name));
     }
 
+    @PostMapping(value = "/folder/{id}/clone/async")
+    @ResponseBody
+    @ApiOperation(
+            value = "Submits background clone of a folder, specified by ID.",
+            notes = "Submits background clone of a folder, specified by ID. Data storages of the folder "
+                    + "hierarchy are created in parallel. Clone progress may be retrieved by the returned "
+                    + "clone identifier.",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponses(
+            value = {@ApiResponse(code = HTTP_STATUS_OK, message = API_STATUS_DESCRIPTION)
+            })
+    public Result<FolderCloneJob> submitFolderClone(@PathVariable final Long id,
+                                                    @RequestParam(required = false) final Long parentId,
+                                                    @RequestParam final String name) {
+        Long destinationFolderId = parentId != null ? parentId : id;
+        return Result.success(folderApiService.submitClone(id, destinationFolderId, name));
+    }
+
+    @GetMapping(value = "/folder/clone/{cloneId}")
+    @ResponseBody
+    @ApiOperation(
+            value = "Returns progress of a folder clone.",
+            notes = "Returns progress of a folder clone: cloned folder ID and created data storages count.",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponses(
+            value = {@ApiResponse(code = HTTP_STATUS_OK, message = API_STATUS_DESCRIPTION)
+            })
+    public Result<FolderCloneJob> loadFolderClone(@PathVariable final String cloneId) {
+        return Result.success(folderApiService.loadClone(cloneId));
+    }
+
     @PostMapping(value = "/folder/{id}/lock")
     @ResponseBody
     @ApiOperation(
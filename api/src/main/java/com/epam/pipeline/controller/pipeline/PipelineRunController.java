@@ -31,6 +31,7 @@ import com.epam.pipeline.controller.vo.RunStatusVO;
 import com.epam.pipeline.controller.vo.TagsVO;
 import com.epam.pipeline.controller.vo.configuration.RunConfigurationWithEntitiesVO;
 import com.epam.pipeline.entity.cluster.PipelineRunPrice;
+import com.epam.pipeline.entity.configuration.ConfigurationLaunchJob;
 import com.epam.pipeline.entity.pipeline.DiskAttachRequest;
 import com.epam.pipeline.entity.pipeline.KubernetesService;
 import com.epam.pipeline.entity.pipeline.KubernetesServicePort;
@@ -119,6 +120,36 @@ public class PipelineRunController extends AbstractRestController {
         return Result.success(runApiService.runConfiguration(refreshToken, configuration, expansionExpression));
     }
 
+    @RequestMapping(value = "/runConfiguration/launch", method= RequestMethod.POST)
+    @ResponseBody
+    @ApiOperation(
+            value = "Submits background launch of passed configuration.",
+            notes = "Submits background launch of passed configuration for a large number of metadata entities. "
+                    + "Only cloud platform configurations are supported. Launch progress may be retrieved "
+                    + "by the returned launch identifier.",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponses(
+            value = {@ApiResponse(code = HTTP_STATUS_OK, message = API_STATUS_DESCRIPTION)
+            })
+    public Result<ConfigurationLaunchJob> launchConfiguration(
+            @RequestBody RunConfigurationWithEntitiesVO configuration,
+            @RequestParam(required = false) String expansionExpression) {
+        return Result.success(runApiService.launchConfiguration(configuration, expansionExpression));
+    }
+
+    @RequestMapping(value = "/runConfiguration/launch/{launchId}", method= RequestMethod.GET)
+    @ResponseBody
+    @ApiOperation(
+            value = "Returns progress of a configuration launch.",
+            notes = "Returns progress of a configuration launch: launched runs and failed metadata entities.",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponses(
+            value = {@ApiResponse(code = HTTP_STATUS_OK, message = API_STATUS_DESCRIPTION)
+            })
+    public Result<ConfigurationLaunchJob> loadConfigurationLaunch(@PathVariable(value = "launchId") String launchId) {
+        return Result.success(runApiService.loadConfigurationLaunch(launchId));
+    }
+
     @RequestMapping(value = "/run/{runId}/log", method= RequestMethod.POST)
     @ResponseBody
     @ApiOperation(
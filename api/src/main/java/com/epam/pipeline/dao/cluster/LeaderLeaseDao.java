@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dao.cluster;
+
+import com.epam.pipeline.entity.cluster.LeaderLease;
+import org.springframework.beans.factory.annotation.Required;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcDaoSupport;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Stores renewable leases used for leader election between API replicas. All lease timestamps are
+ * computed by the database, so replicas clocks are not required to be synchronized.
+ */
+public class LeaderLeaseDao extends NamedParameterJdbcDaoSupport {
+
+    private String acquireLeaseQuery;
+    private String loadActiveLeasesQuery;
+    private String releaseLeaseQuery;
+
+    /**
+     * Acquires a lease if it is free or expired, or renews it if it is already held by the holder.
+     *
+     * @return true if the lease is held by the holder for the next {@code duration} ms
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public boolean acquireLease(final String name, final String holder, final long duration) {
+        return getNamedParameterJdbcTemplate().update(acquireLeaseQuery,
+                LeaseParameters.getParameters(name, holder).addValue(LeaseParameters.DURATION.name(), duration)) > 0;
+    }
+
+    public List<LeaderLease> loadActiveLeases() {
+        return getJdbcTemplate().query(loadActiveLeasesQuery, LeaseParameters.getRowMapper());
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void releaseLease(final String name, final String holder) {
+        getNamedParameterJdbcTemplate().update(releaseLeaseQuery, LeaseParameters.getParameters(name, holder));
+    }
+
+    enum LeaseParameters {
+        LEASE_NAME,
+        HOLDER,
+        EXPIRES,
+        DURATION;
+
+        private static MapSqlParameterSource getParameters(final String name, final String holder) {
+            final MapSqlParameterSource params = new MapSqlParameterSource();
+            params.addValue(LEASE_NAME.name(), name);
+            params.addValue(HOLDER.name(), holder);
+            return params;
+        }
+
+        private static RowMapper<LeaderLease> getRowMapper() {
+            return (rs, rowNum) -> new LeaderLease(rs.getString(LEASE_NAME.name()),
+                    rs.getString(HOLDER.name()),
+                    rs.getTimestamp(EXPIRES.name()).toLocalDateTime());
+        }
+    }
+
+    @Required
+    public void setAcquireLeaseQuery(final String acquireLeaseQuery) {
+        this.acquireLeaseQuery = acquireLeaseQuery;
+    }
+
+    @Required
+    public void setLoadActiveLeasesQuery(final String loadActiveLeasesQuery) {
+        this.loadActiveLeasesQuery = loadActiveLeasesQuery;
+    }
+
+    @Required
+    public void setReleaseLeaseQuery(final String releaseLeaseQuery) {
+        this.releaseLeaseQuery = releaseLeaseQuery;
+    }
+}
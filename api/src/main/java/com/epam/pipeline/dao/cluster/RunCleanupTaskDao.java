@@ -0,0 +1,160 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.dao.cluster;
+
+import com.epam.pipeline.dao.DaoHelper;
+import com.epam.pipeline.entity.cluster.RunCleanupTask;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Required;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcDaoSupport;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stores queued run resources clean up tasks. A task is unique for a pair of run and cleaner,
+ * so enqueueing the same clean up several times doesn't produce duplicates.
+ */
+public class RunCleanupTaskDao extends NamedParameterJdbcDaoSupport {
+
+    @Autowired
+    private DaoHelper daoHelper;
+
+    private String runCleanupTaskSequenceQuery;
+    private String createRunCleanupTaskQuery;
+    private String updateRunCleanupTaskQuery;
+    private String deleteRunCleanupTaskQuery;
+    private String loadDueRunCleanupTasksQuery;
+    private String countRunCleanupTasksQuery;
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void createTasks(final List<RunCleanupTask> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        final List<Long> ids = daoHelper.createIds(runCleanupTaskSequenceQuery, tasks.size());
+        final MapSqlParameterSource[] params = new MapSqlParameterSource[tasks.size()];
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).setId(ids.get(i));
+            params[i] = RunCleanupTaskParameters.getParameters(tasks.get(i));
+        }
+        getNamedParameterJdbcTemplate().batchUpdate(createRunCleanupTaskQuery, params);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void updateTask(final RunCleanupTask task) {
+        getNamedParameterJdbcTemplate().update(updateRunCleanupTaskQuery,
+                RunCleanupTaskParameters.getParameters(task));
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void deleteTask(final Long id) {
+        getJdbcTemplate().update(deleteRunCleanupTaskQuery, id);
+    }
+
+    /**
+     * Loads tasks which next attempt is not later than {@code now}, the earliest first.
+     */
+    public List<RunCleanupTask> loadDueTasks(final LocalDateTime now, final int limit) {
+        final MapSqlParameterSource params = new MapSqlParameterSource();
+        params.addValue(RunCleanupTaskParameters.NEXT_ATTEMPT.name(), Timestamp.valueOf(now));
+        params.addValue(RunCleanupTaskParameters.LIMIT.name(), limit);
+        return getNamedParameterJdbcTemplate().query(loadDueRunCleanupTasksQuery, params,
+                RunCleanupTaskParameters.getRowMapper());
+    }
+
+    public long countTasks() {
+        return Optional.ofNullable(getJdbcTemplate().queryForObject(countRunCleanupTasksQuery, Long.class))
+                .orElse(0L);
+    }
+
+    enum RunCleanupTaskParameters {
+        ID,
+        RUN_ID,
+        CLEANER,
+        ATTEMPTS,
+        CREATED,
+        NEXT_ATTEMPT,
+        LAST_ERROR,
+        LIMIT;
+
+        private static MapSqlParameterSource getParameters(final RunCleanupTask task) {
+            final MapSqlParameterSource params = new MapSqlParameterSource();
+            params.addValue(ID.name(), task.getId());
+            params.addValue(RUN_ID.name(), task.getRunId());
+            params.addValue(CLEANER.name(), task.getCleaner());
+            params.addValue(ATTEMPTS.name(), task.getAttempts());
+            params.addValue(CREATED.name(), toTimestamp(task.getCreated()));
+            params.addValue(NEXT_ATTEMPT.name(), toTimestamp(task.getNextAttempt()));
+            params.addValue(LAST_ERROR.name(), task.getLastError());
+            return params;
+        }
+
+        private static Timestamp toTimestamp(final LocalDateTime date) {
+            return Optional.ofNullable(date).map(Timestamp::valueOf).orElse(null);
+        }
+
+        private static RowMapper<RunCleanupTask> getRowMapper() {
+            return (rs, rowNum) -> RunCleanupTask.builder()
+                    .id(rs.getLong(ID.name()))
+                    .runId(rs.getLong(RUN_ID.name()))
+                    .cleaner(rs.getString(CLEANER.name()))
+                    .attempts(rs.getInt(ATTEMPTS.name()))
+                    .created(rs.getTimestamp(CREATED.name()).toLocalDateTime())
+                    .nextAttempt(rs.getTimestamp(NEXT_ATTEMPT.name()).toLocalDateTime())
+                    .lastError(rs.getString(LAST_ERROR.name()))
+                    .build();
+        }
+    }
+
+    @Required
+    public void setRunCleanupTaskSequenceQuery(final String runCleanupTaskSequenceQuery) {
+        this.runCleanupTaskSequenceQuery = runCleanupTaskSequenceQuery;
+    }
+
+    @Required
+    public void setCreateRunCleanupTaskQuery(final String createRunCleanupTaskQuery) {
+        this.createRunCleanupTaskQuery = createRunCleanupTaskQuery;
+    }
+
+    @Required
+    public void setUpdateRunCleanupTaskQuery(final String updateRunCleanupTaskQuery) {
+        this.updateRunCleanupTaskQuery = updateRunCleanupTaskQuery;
+    }
+
+    @Required
+    public void setDeleteRunCleanupTaskQuery(final String deleteRunCleanupTaskQuery) {
+        this.deleteRunCleanupTaskQuery = deleteRunCleanupTaskQuery;
+    }
+
+    @Required
+    public void setLoadDueRunCleanupTasksQuery(final String loadDueRunCleanupTasksQuery) {
+        this.loadDueRunCleanupTasksQuery = loadDueRunCleanupTasksQuery;
+    }
+
+    @Required
+    public void setCountRunCleanupTasksQuery(final String countRunCleanupTasksQuery) {
+        this.countRunCleanupTasksQuery = countRunCleanupTasksQuery;
+    }
+}
@@ -18,6 +18,7 @@ package com.epam.pipeline.dao.configuration;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
@@ -46,6 +47,7 @@ public class RunConfigurationDao extends NamedParameterJdbcDaoSupport {
 
     private String configSequence;
     private String createConfigQuery;
+    private String cloneConfigsQuery;
     private String updateConfigQuery;
     private String deleteConfigQuery;
     private String loadConfigQuery;
@@ -67,6 +69,36 @@ public class RunConfigurationDao extends NamedParameterJdbcDaoSupport {
         return configuration;
     }
 
+    /**
+     * Copies configurations specified by {@code sourceIds} with a single statement. Each copy is placed into
+     * a copy of the source configuration folder, configurations outside of {@code folderIds} are not copied.
+     * @param sourceIds ids of configurations to copy
+     * @param folderIds mapping of source folders ids to their copies ids
+     * @param owner owner of the copies
+     * @param createdDate creation date of the copies
+     * @return ids of configuration copies in the same order as {@code sourceIds}
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Long> cloneConfigurations(final List<Long> sourceIds, final Map<Long, Long> folderIds,
+                                          final String owner, final Date createdDate) {
+        final List<Long> targetIds = daoHelper.createIds(configSequence, sourceIds.size());
+        final List<Long> folderSourceIds = new ArrayList<>(folderIds.keySet());
+        final List<Long> folderTargetIds = new ArrayList<>(folderIds.values());
+        final MapSqlParameterSource params = new MapSqlParameterSource();
+        params.addValue(ConfigurationParameters.CONFIG_OWNER.name(), owner);
+        params.addValue(ConfigurationParameters.CONFIG_CREATED_DATE.name(), createdDate);
+        params.addValue(ConfigurationParameters.SOURCE_IDS.name(),
+                DaoHelper.mapListLongToSqlArray(sourceIds, getConnection()));
+        params.addValue(ConfigurationParameters.TARGET_IDS.name(),
+                DaoHelper.mapListLongToSqlArray(targetIds, getConnection()));
+        params.addValue(ConfigurationParameters.FOLDER_SOURCE_IDS.name(),
+                DaoHelper.mapListLongToSqlArray(folderSourceIds, getConnection()));
+        params.addValue(ConfigurationParameters.FOLDER_TARGET_IDS.name(),
+                DaoHelper.mapListLongToSqlArray(folderTargetIds, getConnection()));
+        getNamedParameterJdbcTemplate().update(cloneConfigsQuery, params);
+        return targetIds;
+    }
+
     @Transactional(propagation = Propagation.MANDATORY)
     public RunConfiguration update(RunConfiguration configuration) {
         getNamedParameterJdbcTemplate()
@@ -115,7 +147,11 @@ public class RunConfigurationDao extends NamedParameterJdbcDaoSupport {
         CONFIG_LOCKED,
         CONFIG_OWNER,
         FOLDER_ID,
-        PARENT_FOLDER_ID;
+        PARENT_FOLDER_ID,
+        SOURCE_IDS,
+        TARGET_IDS,
+        FOLDER_SOURCE_IDS,
+        FOLDER_TARGET_IDS;
 
         static MapSqlParameterSource getParameters(RunConfiguration configuration) {
             MapSqlParameterSource params = new MapSqlParameterSource();
@@ -196,6 +232,11 @@ public class RunConfigurationDao extends NamedParameterJdbcDaoSupport {
         this.createConfigQuery = createConfigQuery;
     }
 
+    @Required
+    public void setCloneConfigsQuery(String cloneConfigsQuery) {
+        this.cloneConfigsQuery = cloneConfigsQuery;
+    }
+
     @Required
     public void setUpdateConfigQuery(String updateConfigQuery) {
         this.updateConfigQuery = updateConfigQuery;
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dao.job;
+
+import com.epam.pipeline.entity.job.BackgroundJob;
+import com.epam.pipeline.entity.job.BackgroundJobType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Required;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcDaoSupport;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stores states of background jobs, so that a job progress is available on any of API instances.
+ * A job state is stored as a json, dates are serialized as timestamps to keep their time part.
+ */
+public class BackgroundJobDao extends NamedParameterJdbcDaoSupport {
+
+    private static final ObjectMapper STATE_MAPPER = new ObjectMapper();
+
+    private String saveBackgroundJobQuery;
+    private String loadBackgroundJobQuery;
+    private String deleteFinishedBackgroundJobsQuery;
+
+    /**
+     * Creates a job or replaces a state of an existing one
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void saveJob(final BackgroundJobType type, final BackgroundJob job) {
+        final MapSqlParameterSource params = BackgroundJobParameters.getParameters(job.getId(), type);
+        params.addValue(BackgroundJobParameters.STATE.name(), toJson(job));
+        params.addValue(BackgroundJobParameters.END_DATE.name(), toTimestamp(job.getEndDate()));
+        getNamedParameterJdbcTemplate().update(saveBackgroundJobQuery, params);
+    }
+
+    public <T extends BackgroundJob> Optional<T> loadJob(final BackgroundJobType type, final String id,
+                                                         final Class<T> jobClass) {
+        final List<String> states = getNamedParameterJdbcTemplate().query(loadBackgroundJobQuery,
+                BackgroundJobParameters.getParameters(id, type),
+                (rs, rowNum) -> rs.getString(BackgroundJobParameters.STATE.name()));
+        return states.stream().findFirst().map(state -> fromJson(state, jobClass));
+    }
+
+    /**
+     * Removes jobs which were finished before {@code date}
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void deleteJobsFinishedBefore(final Date date) {
+        getNamedParameterJdbcTemplate().update(deleteFinishedBackgroundJobsQuery, new MapSqlParameterSource(
+                BackgroundJobParameters.END_DATE.name(), toTimestamp(date)));
+    }
+
+    private static String toJson(final BackgroundJob job) {
+        try {
+            return STATE_MAPPER.writeValueAsString(job);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static <T> T fromJson(final String state, final Class<T> jobClass) {
+        try {
+            return STATE_MAPPER.readValue(state, jobClass);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not parse background job state " + state, e);
+        }
+    }
+
+    private static Timestamp toTimestamp(final Date date) {
+        return Optional.ofNullable(date).map(Date::getTime).map(Timestamp::new).orElse(null);
+    }
+
+    enum BackgroundJobParameters {
+        ID,
+        TYPE,
+        STATE,
+        END_DATE;
+
+        private static MapSqlParameterSource getParameters(final String id, final BackgroundJobType type) {
+            final MapSqlParameterSource params = new MapSqlParameterSource();
+            params.addValue(ID.name(), id);
+            params.addValue(TYPE.name(), type.name());
+            return params;
+        }
+    }
+
+    @Required
+    public void setSaveBackgroundJobQuery(final String saveBackgroundJobQuery) {
+        this.saveBackgroundJobQuery = saveBackgroundJobQuery;
+    }
+
+    @Required
+    public void setLoadBackgroundJobQuery(final String loadBackgroundJobQuery) {
+        this.loadBackgroundJobQuery = loadBackgroundJobQuery;
+    }
+
+    @Required
+    public void setDeleteFinishedBackgroundJobsQuery(final String deleteFinishedBackgroundJobsQuery) {
+        this.deleteFinishedBackgroundJobsQuery = deleteFinishedBackgroundJobsQuery;
+    }
+}
@@ -18,6 +18,7 @@ package com.epam.pipeline.dao.metadata;
 
 import com.epam.pipeline.config.JsonMapper;
 import com.epam.pipeline.controller.vo.EntityVO;
+import com.epam.pipeline.dao.DaoHelper;
 import com.epam.pipeline.entity.metadata.CategoricalAttribute;
 import com.epam.pipeline.entity.metadata.MetadataEntry;
 import com.epam.pipeline.entity.metadata.MetadataEntryWithIssuesCount;
@@ -54,6 +55,7 @@ public class MetadataDao extends NamedParameterJdbcDaoSupport {
     private Pattern entitiesValuePattern = Pattern.compile("@ENTITIES@");
 
     private String createMetadataItemQuery;
+    private String copyMetadataItemsQuery;
     private String uploadMetadataItemQuery;
     private String uploadMetadataItemKeyQuery;
     private String loadMetadataItemQuery;
@@ -72,6 +74,21 @@ public class MetadataDao extends NamedParameterJdbcDaoSupport {
                 MetadataParameters.getParametersWithData(metadataEntry));
     }
 
+    /**
+     * Copies non empty metadata of entities of {@code entityClass} with a single statement.
+     * @param entityIds mapping of source entities ids to ids of entities receiving a copy of their metadata
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void copyMetadataItems(final Map<Long, Long> entityIds, final AclClass entityClass) {
+        final MapSqlParameterSource params = new MapSqlParameterSource();
+        params.addValue(MetadataParameters.ENTITY_CLASS.name(), entityClass.name());
+        params.addValue(MetadataParameters.SOURCE_IDS.name(),
+                DaoHelper.mapListLongToSqlArray(new ArrayList<>(entityIds.keySet()), getConnection()));
+        params.addValue(MetadataParameters.TARGET_IDS.name(),
+                DaoHelper.mapListLongToSqlArray(new ArrayList<>(entityIds.values()), getConnection()));
+        getNamedParameterJdbcTemplate().update(copyMetadataItemsQuery, params);
+    }
+
     @Transactional(propagation = Propagation.MANDATORY)
     public void uploadMetadataItemKey(EntityVO entityVO, String key, String value, String type) {
         MapSqlParameterSource parameters = MetadataParameters.getParameters(entityVO);
@@ -199,6 +216,11 @@ public class MetadataDao extends NamedParameterJdbcDaoSupport {
         this.createMetadataItemQuery = createMetadataItemQuery;
     }
 
+    @Required
+    public void setCopyMetadataItemsQuery(String copyMetadataItemsQuery) {
+        this.copyMetadataItemsQuery = copyMetadataItemsQuery;
+    }
+
     @Required
     public void setDeleteMetadataItemQuery(String deleteMetadataItemQuery) {
         this.deleteMetadataItemQuery = deleteMetadataItemQuery;
@@ -239,7 +261,9 @@ public class MetadataDao extends NamedParameterJdbcDaoSupport {
         ENTITY_CLASS,
         DATA,
         IDS,
-        CLASSES;
+        CLASSES,
+        SOURCE_IDS,
+        TARGET_IDS;
 
         static MapSqlParameterSource getParameters(EntityVO entityVO) {
             MapSqlParameterSource params = new MapSqlParameterSource();
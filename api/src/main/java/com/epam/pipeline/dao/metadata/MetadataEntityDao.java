@@ -80,6 +80,7 @@ public class MetadataEntityDao extends NamedParameterJdbcDaoSupport {
     private String recursiveFilterQuery;
     private String baseFilterQuery;
     private String searchClauseQuery;
+    private String prefixSearchClauseQuery;
     private String externalIdClauseQuery;
     private String recursiveFilterCountQuery;
     private String baseFilterCountQuery;
@@ -155,7 +156,21 @@ public class MetadataEntityDao extends NamedParameterJdbcDaoSupport {
 
     @Transactional(propagation = Propagation.MANDATORY)
     public void insertCopiesOfExistentMetadataEntities(Long existentParentId, Long parentIdToAdd) {
-        getJdbcTemplate().update(insertCopiesOfExistentMetadataEntitiesQuery, parentIdToAdd, existentParentId);
+        insertCopiesOfExistentMetadataEntities(Collections.singletonMap(existentParentId, parentIdToAdd));
+    }
+
+    /**
+     * Copies metadata entities of several folders with a single statement.
+     * @param parentIds mapping of source folders ids to ids of folders receiving copies of their entities
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void insertCopiesOfExistentMetadataEntities(final Map<Long, Long> parentIds) {
+        final MapSqlParameterSource params = new MapSqlParameterSource();
+        params.addValue(MetadataEntityParameters.SOURCE_IDS.name(),
+                DaoHelper.mapListLongToSqlArray(new ArrayList<>(parentIds.keySet()), getConnection()));
+        params.addValue(MetadataEntityParameters.TARGET_IDS.name(),
+                DaoHelper.mapListLongToSqlArray(new ArrayList<>(parentIds.values()), getConnection()));
+        getNamedParameterJdbcTemplate().update(insertCopiesOfExistentMetadataEntitiesQuery, params);
     }
 
     public MetadataEntity loadMetadataEntityById(Long id) {
@@ -329,7 +344,8 @@ public class MetadataEntityDao extends NamedParameterJdbcDaoSupport {
     private String makeWhereClause(MetadataFilter filter) {
         StringBuilder clause = new StringBuilder();
         addFilterConditions(clause, filter.getFilters());
-        addSearchConditions(clause, filter.getSearchQueries());
+        addSearchConditions(clause, filter.getSearchQueries(),
+                filter.isPrefixSearch() ? prefixSearchClauseQuery : searchClauseQuery);
         addExternalIdsConditions(clause, filter.getExternalIdQueries());
         return clause.toString();
     }
@@ -345,14 +361,14 @@ public class MetadataEntityDao extends NamedParameterJdbcDaoSupport {
         });
     }
 
-    private void addSearchConditions(StringBuilder clause, List<String> searchQueries) {
+    private void addSearchConditions(StringBuilder clause, List<String> searchQueries, String clauseQuery) {
         if (CollectionUtils.isEmpty(searchQueries)) {
             return;
         }
         searchQueries.forEach(query -> {
             String formattedQuery = daoHelper.replaceUnderscoreWithParam(query.toLowerCase());
             clause.append(AND);
-            clause.append(searchPattern.matcher(searchClauseQuery).replaceFirst(formattedQuery));
+            clause.append(searchPattern.matcher(clauseQuery).replaceFirst(formattedQuery));
         });
     }
 
@@ -394,7 +410,9 @@ public class MetadataEntityDao extends NamedParameterJdbcDaoSupport {
         TYPE,
         EXTERNAL_CLASS_NAME,
         FOLDER_ID,
-        PARENT_FOLDER_ID;
+        PARENT_FOLDER_ID,
+        SOURCE_IDS,
+        TARGET_IDS;
 
         protected static Map<String, MetadataField> fieldNames = new HashMap<>();
 
@@ -577,6 +595,11 @@ public class MetadataEntityDao extends NamedParameterJdbcDaoSupport {
         this.searchClauseQuery = searchClauseQuery;
     }
 
+    @Required
+    public void setPrefixSearchClauseQuery(String prefixSearchClauseQuery) {
+        this.prefixSearchClauseQuery = prefixSearchClauseQuery;
+    }
+
     @Required
     public void setRecursiveFilterCountQuery(String recursiveFilterCountQuery) {
         this.recursiveFilterCountQuery = recursiveFilterCountQuery;
@@ -65,6 +65,7 @@ public class FolderDao extends NamedParameterJdbcDaoSupport {
 
     private String folderSequence;
     private String createFolderQuery;
+    private String cloneFoldersQuery;
     private String updateFolderQuery;
     private String loadAllFoldersQuery;
     private String deleteFolderQuery;
@@ -87,6 +88,31 @@ public class FolderDao extends NamedParameterJdbcDaoSupport {
                 .update(createFolderQuery, FolderParameters.getParameters(folder));
     }
 
+    /**
+     * Copies folders specified by {@code sourceIds} with a single statement. Copies of child folders are placed
+     * into copies of their parents, copies of the rest folders are placed into {@code parentId} folder.
+     * @param sourceIds ids of folders to copy
+     * @param parentId id of a folder receiving copies of top level folders
+     * @param owner owner of the copies
+     * @param createdDate creation date of the copies
+     * @return ids of folder copies in the same order as {@code sourceIds}
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Long> cloneFolders(final List<Long> sourceIds, final Long parentId,
+                                   final String owner, final Date createdDate) {
+        final List<Long> targetIds = daoHelper.createIds(folderSequence, sourceIds.size());
+        final MapSqlParameterSource params = new MapSqlParameterSource();
+        params.addValue(FolderParameters.PARENT_ID.name(), parentId);
+        params.addValue(FolderParameters.OWNER.name(), owner);
+        params.addValue(FolderParameters.CREATED_DATE.name(), createdDate);
+        params.addValue(FolderParameters.SOURCE_IDS.name(),
+                DaoHelper.mapListLongToSqlArray(sourceIds, getConnection()));
+        params.addValue(FolderParameters.TARGET_IDS.name(),
+                DaoHelper.mapListLongToSqlArray(targetIds, getConnection()));
+        getNamedParameterJdbcTemplate().update(cloneFoldersQuery, params);
+        return targetIds;
+    }
+
     @Transactional(propagation = Propagation.MANDATORY)
     public void updateFolder(Folder folder) {
         getNamedParameterJdbcTemplate()
@@ -193,7 +219,9 @@ public class FolderDao extends NamedParameterJdbcDaoSupport {
         ENTITY_ID,
         CLASS_NAME,
         CONFIG_ID,
-        DATA;
+        DATA,
+        SOURCE_IDS,
+        TARGET_IDS;
 
         static MapSqlParameterSource getParameters(Folder folder) {
             MapSqlParameterSource params = new MapSqlParameterSource();
@@ -352,6 +380,11 @@ public class FolderDao extends NamedParameterJdbcDaoSupport {
         this.createFolderQuery = createFolderQuery;
     }
 
+    @Required
+    public void setCloneFoldersQuery(String cloneFoldersQuery) {
+        this.cloneFoldersQuery = cloneFoldersQuery;
+    }
+
     @Required
     public void setUpdateFolderQuery(String updateFolderQuery) {
         this.updateFolderQuery = updateFolderQuery;
@@ -147,6 +147,35 @@ public class PipelineRunDao extends NamedParameterJdbcDaoSupport {
         createRunSids(run.getId(), run.getRunSids());
     }
 
+    /**
+     * Creates several runs with a single batch of run inserts and a single batch of run sids inserts
+     * @param runs to create, runs without id get a new one from the sequence
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void createPipelineRuns(Collection<PipelineRun> runs) {
+        if (CollectionUtils.isEmpty(runs)) {
+            return;
+        }
+        runs.forEach(run -> {
+            if (run.getId() == null) {
+                run.setId(createRunId());
+            }
+            if (run.getPipelineId() == null) {
+                run.setPipelineName(null);
+            }
+        });
+        getNamedParameterJdbcTemplate().batchUpdate(createPipelineRunQuery, getParamsForBatchUpdate(runs));
+
+        MapSqlParameterSource[] sidsParams = runs.stream()
+                .filter(run -> CollectionUtils.isNotEmpty(run.getRunSids()))
+                .flatMap(run -> Arrays.stream(
+                        PipelineRunParameters.getRunSidsParameters(run.getId(), run.getRunSids())))
+                .toArray(MapSqlParameterSource[]::new);
+        if (sidsParams.length > 0) {
+            getNamedParameterJdbcTemplate().batchUpdate(createPipelineRunSidsQuery, sidsParams);
+        }
+    }
+
     @Transactional(propagation = Propagation.REQUIRED)
     public PipelineRun loadPipelineRun(Long id) {
         MapSqlParameterSource params = new MapSqlParameterSource();
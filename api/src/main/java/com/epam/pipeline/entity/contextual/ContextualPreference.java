@@ -17,6 +17,7 @@
 package com.epam.pipeline.entity.contextual;
 
 import com.epam.pipeline.entity.preference.PreferenceType;
+import java.io.Serializable;
 import java.util.Date;
 import lombok.AllArgsConstructor;
 import lombok.Value;
@@ -32,7 +33,7 @@ import lombok.experimental.Wither;
 @Value
 @Wither
 @AllArgsConstructor
-public class ContextualPreference {
+public class ContextualPreference implements Serializable {
     private final String name;
     private final String value;
     private final PreferenceType type;
@@ -20,6 +20,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.Value;
 import lombok.experimental.Wither;
 
+import java.io.Serializable;
+
 /**
  * External resource contextual preference can be associated with.
  *
@@ -28,7 +30,7 @@ import lombok.experimental.Wither;
 @Value
 @Wither
 @RequiredArgsConstructor
-public class ContextualPreferenceExternalResource {
+public class ContextualPreferenceExternalResource implements Serializable {
     private final ContextualPreferenceLevel level;
     private final String resourceId;
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of commands executed by {@link CmdExecutor}s exposed by actuator metrics endpoint.
+ */
+public class CmdExecutionMetrics implements PublicMetrics {
+
+    private static final String PREFIX = "cmd.executor.";
+
+    private final AtomicLong activeCommands = new AtomicLong();
+    private final AtomicLong finishedCommands = new AtomicLong();
+    private final AtomicLong failedCommands = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    void started() {
+        activeCommands.incrementAndGet();
+    }
+
+    void finished(final long latencyNanos, final boolean failed) {
+        activeCommands.decrementAndGet();
+        finishedCommands.incrementAndGet();
+        if (failed) {
+            failedCommands.incrementAndGet();
+        }
+        totalLatency.addAndGet(latencyNanos);
+        maxLatency.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    public long getActiveCommands() {
+        return activeCommands.get();
+    }
+
+    public long getFinishedCommands() {
+        return finishedCommands.get();
+    }
+
+    public long getFailedCommands() {
+        return failedCommands.get();
+    }
+
+    public long getAverageLatencyMillis() {
+        final long finished = finishedCommands.get();
+        return finished == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLatency.get() / finished);
+    }
+
+    public long getMaxLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLatency.get());
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        return Arrays.asList(
+                new Metric<>(PREFIX + "active", getActiveCommands()),
+                new Metric<>(PREFIX + "finished", getFinishedCommands()),
+                new Metric<>(PREFIX + "failed", getFailedCommands()),
+                new Metric<>(PREFIX + "latency.average", getAverageLatencyMillis()),
+                new Metric<>(PREFIX + "latency.max", getMaxLatencyMillis()));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2019 EPAM Systems, Inc. (https://www.epam.com/)
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,10 +27,68 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Executes commands.
+ *
+ * Command outputs are drained by a pool shared by all the executors which runs at most
+ * {@link #MAX_CONCURRENT_COMMANDS} commands at once, the others wait for a free slot before they are launched.
+ * A command fails if its std out exceeds {@link #DEFAULT_OUTPUT_LIMIT} characters. Commands are not limited in time
+ * unless a timeout is specified for an executor.
+ */
 public class CmdExecutor {
 
+    public static final int DEFAULT_OUTPUT_LIMIT = 1024 * 1024;
+    public static final long NO_TIMEOUT = 0L;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(CmdExecutor.class);
+    private static final int MAX_CONCURRENT_COMMANDS = 64;
+    private static final int ERRORS_LIMIT = 64 * 1024;
+    private static final long IDLE_THREAD_KEEP_ALIVE = 60L;
+    private static final Semaphore PERMITS = new Semaphore(MAX_CONCURRENT_COMMANDS, true);
+    private static final ThreadPoolExecutor IO_POOL = ioPool();
+    private static final CmdExecutionMetrics METRICS = new CmdExecutionMetrics();
+
+    private final long timeout;
+    private final int outputLimit;
+
+    public CmdExecutor() {
+        this(NO_TIMEOUT);
+    }
+
+    /**
+     * @param timeout command execution timeout in milliseconds including waiting for a free slot,
+     *                {@link #NO_TIMEOUT} disables it
+     */
+    public CmdExecutor(final long timeout) {
+        this(timeout, DEFAULT_OUTPUT_LIMIT);
+    }
+
+    /**
+     * @param timeout command execution timeout in milliseconds including waiting for a free slot,
+     *                {@link #NO_TIMEOUT} disables it
+     * @param outputLimit maximum number of std out characters, commands exceeding it fail
+     */
+    public CmdExecutor(final long timeout, final int outputLimit) {
+        this.timeout = timeout;
+        this.outputLimit = outputLimit;
+    }
+
+    /**
+     * @return metrics of commands executed by all executors
+     */
+    public static CmdExecutionMetrics getMetrics() {
+        return METRICS;
+    }
 
     public String executeCommand(String command) {
         return executeCommand(command, false);
@@ -56,36 +114,133 @@ public class CmdExecutor {
     }
 
     public String executeCommand(String command, String[] envVars, File context, boolean silent) {
-        StringBuilder output = new StringBuilder();
-        StringBuilder errors = new StringBuilder();
-        Process p;
+        final long deadline = timeout > 0
+                ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout)
+                : Long.MAX_VALUE;
+        acquire(command, deadline);
+        final AtomicInteger permitHolders = new AtomicInteger(1);
+        final long start = System.nanoTime();
+        boolean failed = true;
+        METRICS.started();
+        try {
+            final String output = execute(command, envVars, context, silent, deadline, permitHolders);
+            failed = false;
+            return output;
+        } finally {
+            METRICS.finished(System.nanoTime() - start, failed);
+            releasePermit(permitHolders);
+        }
+    }
+
+    private String execute(final String command, final String[] envVars, final File context, final boolean silent,
+                           final long deadline, final AtomicInteger permitHolders) {
+        final LimitedOutput output = new LimitedOutput(outputLimit);
+        final LimitedOutput errors = new LimitedOutput(ERRORS_LIMIT);
+        Process p = null;
         try {
             p = Runtime.getRuntime().exec(command, envVars, context);
-            Thread stdReader = new Thread(() -> readOutputStream(command, output,
-                    new InputStreamReader(p.getInputStream())));
-            Thread errReader = new Thread(() -> readOutputStream(command, errors,
-                    new InputStreamReader(p.getErrorStream())));
-            stdReader.start();
-            errReader.start();
-            int exitCode = p.waitFor();
-            stdReader.join();
-            errReader.join();
+            final Process process = p;
+            final Future<?> stdReader = submitReader(command, permitHolders, () -> readOutputStream(command, output,
+                    new InputStreamReader(process.getInputStream())));
+            final Future<?> errReader = submitReader(command, permitHolders, () -> readOutputStream(command, errors,
+                    new InputStreamReader(process.getErrorStream())));
+            if (!waitFor(p, deadline) || !awaitReader(command, stdReader, deadline)
+                    || !awaitReader(command, errReader, deadline)) {
+                p.destroyForcibly();
+                stdReader.cancel(true);
+                errReader.cancel(true);
+                LOGGER.error("Command '{}' has not finished in {} ms and was killed.", command, timeout);
+                throw new CmdExecutionException(command);
+            }
+            int exitCode = p.exitValue();
             if (exitCode != 0) {
                 if (!silent) {
                     LOGGER.error("Command '{}' err output: {}.", command, errors.toString());
                 }
                 throw new CmdExecutionException(command, exitCode, errors.toString());
             }
+            if (output.isExceeded()) {
+                LOGGER.error("Command '{}' output exceeded the limit of {} characters.", command, outputLimit);
+                throw new CmdExecutionException(command);
+            }
         } catch (IOException e) {
             throw new CmdExecutionException(command, e);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
+            if (p != null) {
+                p.destroyForcibly();
+            }
             throw new CmdExecutionException(command, e);
         }
         return output.toString();
     }
 
-    private void readOutputStream(String command, StringBuilder content, InputStreamReader in) {
+    private void acquire(final String command, final long deadline) {
+        try {
+            if (deadline == Long.MAX_VALUE) {
+                PERMITS.acquire();
+            } else if (!PERMITS.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                LOGGER.error("Command '{}' has not been started in {} ms because of too many running commands.",
+                        command, timeout);
+                throw new CmdExecutionException(command);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CmdExecutionException(command, e);
+        }
+    }
+
+    /**
+     * Output readers hold the command slot together with the command itself, so the slot is returned
+     * only when the reader threads are free to drain outputs of another command.
+     */
+    private Future<?> submitReader(final String command, final AtomicInteger permitHolders, final Runnable reader) {
+        permitHolders.incrementAndGet();
+        try {
+            return IO_POOL.submit(() -> {
+                try {
+                    reader.run();
+                } finally {
+                    releasePermit(permitHolders);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            releasePermit(permitHolders);
+            throw new CmdExecutionException(command, e);
+        }
+    }
+
+    private void releasePermit(final AtomicInteger permitHolders) {
+        if (permitHolders.decrementAndGet() == 0) {
+            PERMITS.release();
+        }
+    }
+
+    private boolean waitFor(final Process process, final long deadline) throws InterruptedException {
+        if (deadline == Long.MAX_VALUE) {
+            process.waitFor();
+            return true;
+        }
+        return process.waitFor(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
+    private boolean awaitReader(final String command, final Future<?> reader, final long deadline)
+            throws InterruptedException {
+        try {
+            if (deadline == Long.MAX_VALUE) {
+                reader.get();
+            } else {
+                reader.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            throw new CmdExecutionException(command, e.getCause());
+        }
+    }
+
+    private void readOutputStream(String command, LimitedOutput content, InputStreamReader in) {
         try (BufferedReader reader = new BufferedReader(in)) {
             appendReaderContent(content, reader);
         } catch (IOException e) {
@@ -93,11 +248,52 @@ public class CmdExecutor {
         }
     }
 
-    private void appendReaderContent(StringBuilder output, BufferedReader reader)
+    private void appendReaderContent(LimitedOutput output, BufferedReader reader)
             throws IOException {
         String line;
         while ((line = reader.readLine()) != null) {
-            output.append(line).append('\n');
+            output.append(line);
+        }
+    }
+
+    private static ThreadPoolExecutor ioPool() {
+        final AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(0, MAX_CONCURRENT_COMMANDS * 2, IDLE_THREAD_KEEP_ALIVE, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    final Thread thread = new Thread(runnable, "cmd-io-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Keeps the first output lines which fit into the limit and drops the rest.
+     */
+    private static class LimitedOutput {
+
+        private final StringBuilder content = new StringBuilder();
+        private final int limit;
+        private boolean exceeded;
+
+        LimitedOutput(final int limit) {
+            this.limit = limit;
+        }
+
+        synchronized void append(final String line) {
+            if (exceeded || content.length() + line.length() + 1 > limit) {
+                exceeded = true;
+                return;
+            }
+            content.append(line).append('\n');
+        }
+
+        synchronized boolean isExceeded() {
+            return exceeded;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return content.toString();
         }
     }
 }
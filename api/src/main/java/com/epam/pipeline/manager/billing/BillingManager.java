@@ -57,6 +57,7 @@ import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
 import org.elasticsearch.search.aggregations.AggregationBuilder;
 import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.bucket.MultiBucketsAggregation;
 import org.elasticsearch.search.aggregations.Aggregations;
 import org.elasticsearch.search.aggregations.bucket.histogram.DateHistogramInterval;
 import org.elasticsearch.search.aggregations.bucket.histogram.Histogram;
@@ -84,12 +85,14 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAdjuster;
 import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -97,8 +100,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 @Service
@@ -133,6 +140,11 @@ public class BillingManager {
     private static final String FIRST_LEVEL_TERMS_AGG_BUCKETS_PATTERN = FIRST_LEVEL_AGG_PATTERN + ".buckets";
     private static final String ES_TERMS_AGG_BUCKET_KEY = "key";
     private static final String BUCKET_DOCUMENTS = "bucketDocs";
+    private static final String ROLLUP_DAILY_INDEX = "rollup-daily";
+    private static final String ROLLUP_MONTHLY_INDEX = "rollup-monthly";
+    private static final String ES_MONTHLY_ROLLUP_DATE_FORMAT = "%d-%02d";
+    private static final String HISTOGRAM_KEY_FORMAT = "yyyy-MM-dd";
+    private static final String CACHE_KEY_SEPARATOR = "|";
 
     private final AuthManager authManager;
     private final MessageHelper messageHelper;
@@ -151,6 +163,10 @@ public class BillingManager {
     private final String emptyValue;
     private final String billingCenterKey;
     private final List<NamedXContentRegistry.Entry> requiredGroupingAggregationsEntries;
+    private final String billingRollupIndexPrefix;
+    private final boolean rollupEnabled;
+    private final Set<String> rollupDimensions;
+    private final BillingResultCache resultCache;
 
     @Autowired
     public BillingManager(final AuthManager authManager,
@@ -160,6 +176,9 @@ public class BillingManager {
                           final @Value("${billing.index.common.prefix}") String commonPrefix,
                           final @Value("${billing.empty.report.value:unknown}") String emptyValue,
                           final @Value("${billing.center.key}") String billingCenterKey,
+                          final @Value("${billing.rollup.enabled:false}") boolean rollupEnabled,
+                          final @Value("${billing.rollup.cache.size:1000}") int resultCacheSize,
+                          final @Value("${billing.rollup.cache.ttl:3600}") long resultCacheTtl,
                           final List<EntityBillingDetailsLoader> billingDetailsLoaders) {
         this.authManager = authManager;
         this.messageHelper = messageHelper;
@@ -171,6 +190,12 @@ public class BillingManager {
                                                         commonPrefix,
                                                         ES_WILDCARD,
                                                         ES_MONTHLY_DATE_REGEXP);
+        this.billingRollupIndexPrefix = commonPrefix;
+        this.rollupEnabled = rollupEnabled;
+        this.rollupDimensions = Arrays.stream(BillingGrouping.values())
+            .map(BillingGrouping::getCorrespondingField)
+            .collect(Collectors.toSet());
+        this.resultCache = new BillingResultCache(resultCacheSize, TimeUnit.SECONDS.toMillis(resultCacheTtl));
         this.periodAdjusters = new HashMap<DateHistogramInterval, TemporalAdjuster>() {{
                 put(DateHistogramInterval.MONTH, TemporalAdjusters.lastDayOfMonth());
                 put(DateHistogramInterval.YEAR, TemporalAdjusters.lastDayOfYear());
@@ -202,16 +227,28 @@ public class BillingManager {
 
     public List<BillingChartInfo> getBillingChartInfo(final BillingChartRequest request) {
         verifyRequest(request);
-        try (RestClient lowLevelEsClient = elasticHelper.buildLowLevelClient()) {
-            final RestHighLevelClient elasticsearchClient = new RestHighLevelClient(lowLevelEsClient);
+        final Map<String, List<String>> filters = MapUtils.isEmpty(request.getFilters())
+                                                  ? new HashMap<>()
+                                                  : new HashMap<>(request.getFilters());
+        setAuthorizationFilters(filters);
+        if (rollupEnabled && isClosedPeriod(request.getTo())) {
+            return resultCache.get(buildCacheKey(request, filters), () -> loadBillingChartInfo(request, filters));
+        }
+        return loadBillingChartInfo(request, filters);
+    }
+
+    private List<BillingChartInfo> loadBillingChartInfo(final BillingChartRequest request,
+                                                        final Map<String, List<String>> filters) {
+        try {
+            final RestClient lowLevelEsClient = elasticHelper.getLowLevelClient();
+            final RestHighLevelClient elasticsearchClient = elasticHelper.getClient();
             final LocalDate from = request.getFrom();
             final LocalDate to = request.getTo();
             final BillingGrouping grouping = request.getGrouping();
             final DateHistogramInterval interval = request.getInterval();
-            final Map<String, List<String>> filters = MapUtils.isEmpty(request.getFilters())
-                                                      ? new HashMap<>()
-                                                      : request.getFilters();
-            setAuthorizationFilters(filters);
+            if (isRollupApplicable(request, filters)) {
+                return getRollupBillingStats(elasticsearchClient, from, to, filters, interval, grouping);
+            }
             if (interval != null) {
                 return getBillingStats(elasticsearchClient, from, to, filters, interval);
             } else {
@@ -535,16 +572,183 @@ public class BillingManager {
             filters.forEach((k, v) -> compoundQuery.filter(QueryBuilders.termsQuery(k, v)));
         }
         compoundQuery.filter(QueryBuilders.rangeQuery(BILLING_DATE_FIELD).from(from, true).to(to, true));
-        final String[] indices = Stream.iterate(from, d -> d.plus(1, ChronoUnit.MONTHS))
-            .limit(ChronoUnit.MONTHS.between(YearMonth.from(from), YearMonth.from(to)) + 1)
-            .map(date -> String.format(billingIndicesMonthlyPattern, date.getYear(), date.getMonthValue()))
-            .toArray(String[]::new);
-        searchRequest.indices(indices);
+        searchRequest.indices(getMonthlyIndices(from, to, billingIndicesMonthlyPattern));
         searchSource.query(compoundQuery);
         searchSource.size(0);
         searchRequest.source(searchSource);
     }
 
+    private String[] getMonthlyIndices(final LocalDate from, final LocalDate to, final String monthlyPattern) {
+        return Stream.iterate(from, d -> d.plus(1, ChronoUnit.MONTHS))
+            .limit(ChronoUnit.MONTHS.between(YearMonth.from(from), YearMonth.from(to)) + 1)
+            .map(date -> String.format(monthlyPattern, date.getYear(), date.getMonthValue()))
+            .toArray(String[]::new);
+    }
+
+    private String[] getYearlyIndices(final LocalDate from, final LocalDate to, final String yearlyPattern) {
+        return IntStream.rangeClosed(from.getYear(), to.getYear())
+            .mapToObj(year -> String.format(yearlyPattern, year))
+            .toArray(String[]::new);
+    }
+
+    private LocalDate getLastClosedDay() {
+        return LocalDate.now(Clock.systemUTC()).minusDays(1);
+    }
+
+    private boolean isClosedPeriod(final LocalDate to) {
+        return to != null && to.isBefore(getLastClosedDay());
+    }
+
+    private String buildCacheKey(final BillingChartRequest request, final Map<String, List<String>> filters) {
+        final Map<String, List<String>> sortedFilters = new TreeMap<>();
+        filters.forEach((key, values) -> sortedFilters.put(key, values.stream().sorted().collect(Collectors.toList())));
+        return Stream.of(request.getFrom(), request.getTo(), request.getInterval(), request.getGrouping(),
+                         request.isLoadDetails(), sortedFilters)
+            .map(String::valueOf)
+            .collect(Collectors.joining(CACHE_KEY_SEPARATOR));
+    }
+
+    /**
+     * Pre-aggregated billing documents hold costs only, thus they can be used for requests without details and
+     * with filters by the pre-aggregated dimensions.
+     */
+    private boolean isRollupApplicable(final BillingChartRequest request, final Map<String, List<String>> filters) {
+        return rollupEnabled
+               && !request.isLoadDetails()
+               && (request.getInterval() != null && validIntervals.contains(request.getInterval())
+                   || request.getGrouping() != null)
+               && !request.getFrom().isAfter(getLastClosedDay())
+               && rollupDimensions.containsAll(filters.keySet());
+    }
+
+    private List<BillingChartInfo> getRollupBillingStats(final RestHighLevelClient elasticsearchClient,
+                                                         final LocalDate from, final LocalDate to,
+                                                         final Map<String, List<String>> filters,
+                                                         final DateHistogramInterval interval,
+                                                         final BillingGrouping grouping) throws IOException {
+        final AggregationBuilder keyAggregation = interval != null
+            ? AggregationBuilders.dateHistogram(HISTOGRAM_AGGREGATION_NAME)
+                .field(BILLING_DATE_FIELD)
+                .dateHistogramInterval(interval)
+                .format(HISTOGRAM_KEY_FORMAT)
+                .subAggregation(costAggregation)
+            : AggregationBuilders.terms(grouping.getCorrespondingField())
+                .field(grouping.getCorrespondingField())
+                .size(Integer.MAX_VALUE)
+                .subAggregation(costAggregation);
+        final Map<String, Long> costs = new HashMap<>();
+        for (BillingRollupPeriod period : BillingRollupPeriod.split(from, to, getLastClosedDay(), interval)) {
+            aggregateCosts(elasticsearchClient, getIndices(period), period.getFrom(), period.getTo(),
+                           filters, keyAggregation, costs);
+        }
+        if (interval != null) {
+            return getRollupHistogram(interval, costs);
+        }
+        final List<BillingChartInfo> groupingInfo = costs.entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+            .map(entry -> getRollupCostInfo(from, to, grouping, entry.getKey(), entry.getValue()))
+            .collect(Collectors.toList());
+        return CollectionUtils.isEmpty(groupingInfo)
+               ? getEmptyGroupingResponse(grouping)
+               : groupingInfo;
+    }
+
+    private String[] getIndices(final BillingRollupPeriod period) {
+        switch (period.getSource()) {
+            case MONTHLY_ROLLUP:
+                return getYearlyIndices(period.getFrom(), period.getTo(),
+                                        String.join("-", billingRollupIndexPrefix, ROLLUP_MONTHLY_INDEX, "%d"));
+            case DAILY_ROLLUP:
+                return getMonthlyIndices(period.getFrom(), period.getTo(),
+                                         String.join("-", billingRollupIndexPrefix, ROLLUP_DAILY_INDEX,
+                                                     ES_MONTHLY_ROLLUP_DATE_FORMAT));
+            default:
+                return getMonthlyIndices(period.getFrom(), period.getTo(), billingIndicesMonthlyPattern);
+        }
+    }
+
+    private void aggregateCosts(final RestHighLevelClient elasticsearchClient, final String[] indices,
+                                final LocalDate from, final LocalDate to,
+                                final Map<String, List<String>> filters,
+                                final AggregationBuilder keyAggregation,
+                                final Map<String, Long> costs) throws IOException {
+        final SearchRequest searchRequest = new SearchRequest();
+        final SearchSourceBuilder searchSource = new SearchSourceBuilder();
+        searchSource.aggregation(keyAggregation);
+        setFiltersAndPeriodForSearchRequest(from, to, filters, searchSource, searchRequest);
+        searchRequest.indices(indices);
+        searchRequest.indicesOptions(IndicesOptions.lenientExpandOpen());
+        final SearchResponse searchResponse = elasticsearchClient.search(searchRequest);
+        Optional.ofNullable(searchResponse.getAggregations())
+            .map(aggs -> aggs.get(keyAggregation.getName()))
+            .map(MultiBucketsAggregation.class::cast)
+            .map(MultiBucketsAggregation::getBuckets)
+            .ifPresent(buckets -> buckets.forEach(bucket -> {
+                final ParsedSum sumAggResult = bucket.getAggregations().get(COST_FIELD);
+                costs.merge(bucket.getKeyAsString(), new Double(sumAggResult.getValue()).longValue(), Long::sum);
+            }));
+    }
+
+    private List<BillingChartInfo> getRollupHistogram(final DateHistogramInterval interval,
+                                                      final Map<String, Long> costs) {
+        if (MapUtils.isEmpty(costs)) {
+            return Collections.emptyList();
+        }
+        final List<LocalDate> keys = costs.keySet().stream()
+            .map(LocalDate::parse)
+            .sorted()
+            .collect(Collectors.toList());
+        final LocalDate last = keys.get(keys.size() - 1);
+        final TemporalAdjuster adjuster = periodAdjusters.get(interval);
+        final List<BillingChartInfo> result = new ArrayList<>();
+        long accumulatedCost = 0;
+        for (LocalDate periodStart = keys.get(0); !periodStart.isAfter(last);
+             periodStart = nextPeriodStart(periodStart, interval)) {
+            final long cost = costs.getOrDefault(periodStart.toString(), 0L);
+            accumulatedCost += cost;
+            result.add(BillingChartInfo.builder()
+                           .groupingInfo(null)
+                           .cost(cost)
+                           .accumulatedCost(accumulatedCost)
+                           .periodStart(periodStart.atStartOfDay())
+                           .periodEnd(adjuster != null
+                                      ? periodStart.with(adjuster).atTime(LocalTime.MAX)
+                                      : periodStart.atTime(LocalTime.MAX))
+                           .build());
+        }
+        return result;
+    }
+
+    private LocalDate nextPeriodStart(final LocalDate periodStart, final DateHistogramInterval interval) {
+        if (DateHistogramInterval.YEAR.equals(interval)) {
+            return periodStart.plusYears(1);
+        }
+        if (DateHistogramInterval.MONTH.equals(interval)) {
+            return periodStart.plusMonths(1);
+        }
+        return periodStart.plusDays(1);
+    }
+
+    private BillingChartInfo getRollupCostInfo(final LocalDate from, final LocalDate to,
+                                               final BillingGrouping grouping,
+                                               final String groupValue,
+                                               final Long cost) {
+        final Map<String, String> groupingInfo = new HashMap<>();
+        final EntityBillingDetailsLoader detailsLoader = billingDetailsLoaders.get(grouping);
+        if (detailsLoader == null) {
+            groupingInfo.put(grouping.toString(), groupValue);
+        } else {
+            groupingInfo.put(grouping.name(),
+                             detailsLoader.loadInformation(groupValue, false).get(EntityBillingDetailsLoader.NAME));
+        }
+        return BillingChartInfo.builder()
+            .periodStart(from.atStartOfDay())
+            .periodEnd(to.atTime(LocalTime.MAX))
+            .cost(cost)
+            .groupingInfo(groupingInfo)
+            .build();
+    }
+
     private List<BillingChartInfo> parseHistogram(final DateHistogramInterval interval,
                                                   final ParsedDateHistogram histogram) {
         return histogram.getBuckets().stream()
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.billing;
+
+import com.epam.pipeline.entity.billing.BillingChartInfo;
+import lombok.Value;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded LRU cache for billing reports of closed periods. Billing documents of a closed period are
+ * expected to stay unchanged, though late billing documents and indices resynchronization still may change them.
+ * Therefore cached reports expire after the configured time to live.
+ */
+public class BillingResultCache {
+
+    private final Map<String, CachedResult> cache;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    public BillingResultCache(final int maxSize, final long ttlMillis) {
+        this(maxSize, ttlMillis, System::currentTimeMillis);
+    }
+
+    BillingResultCache(final int maxSize, final long ttlMillis, final LongSupplier clock) {
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<String, CachedResult>(
+            maxSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CachedResult> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    public List<BillingChartInfo> get(final String key, final Supplier<List<BillingChartInfo>> loader) {
+        final long now = clock.getAsLong();
+        final List<BillingChartInfo> cached = Optional.ofNullable(cache.get(key))
+            .filter(result -> now - result.getLoadedAt() < ttlMillis)
+            .map(CachedResult::getInfos)
+            .orElseGet(() -> {
+                final List<BillingChartInfo> loaded = loader.get();
+                cache.put(key, new CachedResult(loaded, now));
+                return loaded;
+            });
+        return copy(cached);
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    private List<BillingChartInfo> copy(final List<BillingChartInfo> infos) {
+        return infos.stream()
+            .map(info -> BillingChartInfo.builder()
+                .groupingInfo(info.getGroupingInfo() == null ? null : new HashMap<>(info.getGroupingInfo()))
+                .periodStart(info.getPeriodStart())
+                .periodEnd(info.getPeriodEnd())
+                .cost(info.getCost())
+                .accumulatedCost(info.getAccumulatedCost())
+                .build())
+            .collect(Collectors.toList());
+    }
+
+    @Value
+    private static class CachedResult {
+        List<BillingChartInfo> infos;
+        long loadedAt;
+    }
+}
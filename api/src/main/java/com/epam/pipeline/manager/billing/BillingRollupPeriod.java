@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.billing;
+
+import lombok.Value;
+import org.elasticsearch.search.aggregations.bucket.histogram.DateHistogramInterval;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Part of a billing report period which is served from a single kind of billing indices.
+ */
+@Value
+class BillingRollupPeriod {
+
+    enum Source { MONTHLY_ROLLUP, DAILY_ROLLUP, RAW }
+
+    Source source;
+    LocalDate from;
+    LocalDate to;
+
+    /**
+     * Splits a report period into full closed months served from monthly rollups, the rest of closed days served
+     * from daily rollups and days after the last closed day served from raw billing indices.
+     *
+     * @param from first day of a report period
+     * @param to last day of a report period
+     * @param lastClosedDay last day which billing documents are not changed anymore
+     * @param interval report histogram interval, monthly rollups are not used for daily histograms
+     */
+    static List<BillingRollupPeriod> split(final LocalDate from, final LocalDate to, final LocalDate lastClosedDay,
+                                           final DateHistogramInterval interval) {
+        final List<BillingRollupPeriod> periods = new ArrayList<>();
+        final LocalDate closedTo = to.isAfter(lastClosedDay) ? lastClosedDay : to;
+        final YearMonth firstFullMonth = from.getDayOfMonth() == 1
+                                         ? YearMonth.from(from)
+                                         : YearMonth.from(from).plusMonths(1);
+        final YearMonth lastFullMonth = closedTo.equals(YearMonth.from(closedTo).atEndOfMonth())
+                                        ? YearMonth.from(closedTo)
+                                        : YearMonth.from(closedTo).minusMonths(1);
+        if (!DateHistogramInterval.DAY.equals(interval) && !firstFullMonth.isAfter(lastFullMonth)) {
+            final LocalDate monthlyFrom = firstFullMonth.atDay(1);
+            final LocalDate monthlyTo = lastFullMonth.atEndOfMonth();
+            if (from.isBefore(monthlyFrom)) {
+                periods.add(new BillingRollupPeriod(Source.DAILY_ROLLUP, from, monthlyFrom.minusDays(1)));
+            }
+            periods.add(new BillingRollupPeriod(Source.MONTHLY_ROLLUP, monthlyFrom, monthlyTo));
+            if (closedTo.isAfter(monthlyTo)) {
+                periods.add(new BillingRollupPeriod(Source.DAILY_ROLLUP, monthlyTo.plusDays(1), closedTo));
+            }
+        } else if (!from.isAfter(closedTo)) {
+            periods.add(new BillingRollupPeriod(Source.DAILY_ROLLUP, from, closedTo));
+        }
+        if (to.isAfter(closedTo)) {
+            periods.add(new BillingRollupPeriod(Source.RAW, closedTo.plusDays(1), to));
+        }
+        return periods;
+    }
+}
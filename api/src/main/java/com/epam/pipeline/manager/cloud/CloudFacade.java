@@ -28,6 +28,7 @@ import com.epam.pipeline.entity.pipeline.DiskAttachRequest;
 import com.epam.pipeline.entity.pipeline.RunInstance;
 import com.epam.pipeline.entity.region.AbstractCloudRegion;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -61,6 +62,12 @@ public interface CloudFacade {
      */
     RunInstance describeAliveInstance(Long runId, RunInstance instance);
 
+    /**
+     * Loads running instances associated with runs in batches per region, so the following
+     * {@link #describeInstance(Long, RunInstance)} calls of the same monitoring cycle reuse them.
+     */
+    void prefetchInstances(Collection<Long> runIds);
+
     RunInstance describeDefaultInstance(String nodeLabel, RunInstance instance);
 
     void stopInstance(Long regionId, String instanceId);
@@ -46,6 +46,9 @@ import org.apache.commons.collections4.MapUtils;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -152,6 +155,21 @@ public class CloudFacadeImpl implements CloudFacade {
         return getInstanceService(region).describeAliveInstance(region, String.valueOf(runId), instance);
     }
 
+    @Override
+    public void prefetchInstances(final Collection<Long> runIds) {
+        final Map<Long, AbstractCloudRegion> regions = new HashMap<>();
+        final Map<Long, List<String>> regionNodeLabels = new HashMap<>();
+        runIds.forEach(runId -> {
+            final AbstractCloudRegion region = getRegionByRunId(runId);
+            regions.putIfAbsent(region.getId(), region);
+            regionNodeLabels.computeIfAbsent(region.getId(), id -> new ArrayList<>()).add(String.valueOf(runId));
+        });
+        regionNodeLabels.forEach((regionId, nodeLabels) -> {
+            final AbstractCloudRegion region = regions.get(regionId);
+            getInstanceService(region).prefetchInstances(region, nodeLabels);
+        });
+    }
+
     @Override
     public RunInstance describeDefaultInstance(final String nodeLabel, final RunInstance instance) {
         final AbstractCloudRegion region = regionManager.loadDefaultRegion();
@@ -34,6 +34,7 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -132,6 +133,17 @@ public interface CloudInstanceService<T extends AbstractCloudRegion>
      */
     RunInstance describeAliveInstance(T region, String nodeLabel, RunInstance instance);
 
+    /**
+     * Loads running instances associated with labels in a batch, so the following
+     * {@link #describeInstance(AbstractCloudRegion, String, RunInstance)} calls of the same monitoring cycle
+     * do not request them one by one. Does nothing unless supported by cloud provider.
+     * @param region
+     * @param nodeLabels
+     */
+    default void prefetchInstances(T region, Collection<String> nodeLabels) {
+        // no op
+    }
+
     /**
      * Reassigns node from one run to a new one
      * @param oldId
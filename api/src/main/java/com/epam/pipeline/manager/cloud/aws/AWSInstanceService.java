@@ -47,6 +47,7 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -205,6 +206,11 @@ public class AWSInstanceService implements CloudInstanceService<AwsRegion> {
             () -> ec2Helper.getAliveInstance(nodeLabel, region.getRegionCode()));
     }
 
+    @Override
+    public void prefetchInstances(final AwsRegion region, final Collection<String> nodeLabels) {
+        ec2Helper.prefetchActiveInstances(nodeLabels, region.getRegionCode());
+    }
+
     private RunInstance describeInstance(final String nodeLabel,
                                          final RunInstance instance,
                                          final Supplier<Instance> supplier) {
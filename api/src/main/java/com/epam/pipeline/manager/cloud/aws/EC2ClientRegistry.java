@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.cloud.aws;
+
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.services.ec2.AmazonEC2;
+import com.amazonaws.services.ec2.AmazonEC2ClientBuilder;
+import io.reactivex.schedulers.Schedulers;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Keeps a single {@link AmazonEC2} client per region and credentials profile. Each client holds its own
+ * connections pool, so clients are reused between operations instead of being built for each of them.
+ *
+ * A client is rebuilt once the access key of its credentials profile is rotated. A replaced client is shut down
+ * with a delay to let already running requests finish.
+ */
+@Slf4j
+@Component
+public class EC2ClientRegistry {
+
+    private static final long SHUTDOWN_DELAY = TimeUnit.MINUTES.toMillis(1);
+
+    private final Map<ClientKey, RegisteredClient> clients = new ConcurrentHashMap<>();
+    private final Function<String, AWSCredentialsProvider> credentialsProviderFactory;
+    private final BiFunction<String, AWSCredentialsProvider, AmazonEC2> clientFactory;
+
+    public EC2ClientRegistry() {
+        this(AWSUtils::getCredentialsProvider, (regionCode, credentialsProvider) -> AmazonEC2ClientBuilder.standard()
+                .withRegion(regionCode)
+                .withCredentials(credentialsProvider)
+                .build());
+    }
+
+    EC2ClientRegistry(final Function<String, AWSCredentialsProvider> credentialsProviderFactory,
+                      final BiFunction<String, AWSCredentialsProvider, AmazonEC2> clientFactory) {
+        this.credentialsProviderFactory = credentialsProviderFactory;
+        this.clientFactory = clientFactory;
+    }
+
+    /**
+     * @param regionCode aws region code
+     * @param profile credentials profile, default credentials chain is used if it is not specified
+     * @return shared client, it shall not be shut down by callers
+     */
+    public AmazonEC2 getClient(final String regionCode, final String profile) {
+        return clients.compute(new ClientKey(regionCode, profile), this::getOrRebuild).getClient();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        clients.values().forEach(client -> client.getClient().shutdown());
+        clients.clear();
+    }
+
+    private RegisteredClient getOrRebuild(final ClientKey key, final RegisteredClient current) {
+        if (current == null) {
+            return build(key, credentialsProviderFactory.apply(key.getProfile()));
+        }
+        final String accessKeyId = current.getCredentialsProvider().getCredentials().getAWSAccessKeyId();
+        if (Objects.equals(accessKeyId, current.getAccessKeyId())) {
+            return current;
+        }
+        log.info("Credentials of profile '{}' were rotated, EC2 client for region {} will be rebuilt.",
+                key.getProfile(), key.getRegionCode());
+        Schedulers.io().scheduleDirect(() -> current.getClient().shutdown(), SHUTDOWN_DELAY, TimeUnit.MILLISECONDS);
+        return build(key, current.getCredentialsProvider());
+    }
+
+    private RegisteredClient build(final ClientKey key, final AWSCredentialsProvider credentialsProvider) {
+        log.debug("Building EC2 client for region {} and profile '{}'.", key.getRegionCode(), key.getProfile());
+        return new RegisteredClient(clientFactory.apply(key.getRegionCode(), credentialsProvider),
+                credentialsProvider, credentialsProvider.getCredentials().getAWSAccessKeyId());
+    }
+
+    @Value
+    private static class ClientKey {
+        String regionCode;
+        String profile;
+    }
+
+    @Value
+    private static class RegisteredClient {
+        AmazonEC2 client;
+        AWSCredentialsProvider credentialsProvider;
+        String accessKeyId;
+    }
+}
@@ -18,13 +18,13 @@ package com.epam.pipeline.manager.cloud.aws;
 
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.ec2.AmazonEC2;
-import com.amazonaws.services.ec2.AmazonEC2ClientBuilder;
 import com.amazonaws.services.ec2.model.AmazonEC2Exception;
 import com.amazonaws.services.ec2.model.AttachVolumeRequest;
 import com.amazonaws.services.ec2.model.AvailabilityZone;
 import com.amazonaws.services.ec2.model.CreateVolumeRequest;
 import com.amazonaws.services.ec2.model.DeleteVolumeRequest;
 import com.amazonaws.services.ec2.model.DescribeInstancesRequest;
+import com.amazonaws.services.ec2.model.DescribeInstancesResult;
 import com.amazonaws.services.ec2.model.DescribeSpotPriceHistoryRequest;
 import com.amazonaws.services.ec2.model.DescribeSpotPriceHistoryResult;
 import com.amazonaws.services.ec2.model.DescribeVolumesRequest;
@@ -42,6 +42,7 @@ import com.amazonaws.services.ec2.model.SpotPrice;
 import com.amazonaws.services.ec2.model.StartInstancesRequest;
 import com.amazonaws.services.ec2.model.StateReason;
 import com.amazonaws.services.ec2.model.StopInstancesRequest;
+import com.amazonaws.services.ec2.model.Tag;
 import com.amazonaws.services.ec2.model.TerminateInstancesRequest;
 import com.amazonaws.services.ec2.model.Volume;
 import com.amazonaws.services.ec2.model.VolumeType;
@@ -58,6 +59,7 @@ import com.epam.pipeline.manager.preference.PreferenceManager;
 import com.epam.pipeline.manager.preference.SystemPreferences;
 import com.fasterxml.jackson.core.type.TypeReference;
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.collections4.MapUtils;
@@ -72,8 +74,13 @@ import java.time.ZoneId;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -93,17 +100,53 @@ public class EC2Helper {
     private static final String INSUFFICIENT_INSTANCE_CAPACITY = "InsufficientInstanceCapacity";
     private static final String ALLOWED_DEVICE_PREFIX = "/dev/sd";
     private static final String ALLOWED_DEVICE_SUFFIXES = "defghijklmnopqrstuvwxyz";
+    private static final String NAME_TAG_KEY = "Name";
+    private static final int MAX_FILTER_VALUES = 200;
 
     private final PreferenceManager preferenceManager;
     private final MessageHelper messageHelper;
+    private final EC2ClientRegistry clientRegistry;
+    private final Map<String, Expirable<Double>> spotPrices = new ConcurrentHashMap<>();
+    private final Map<String, Expirable<Collection<String>>> availabilityZones = new ConcurrentHashMap<>();
+    private final Map<String, Expirable<Optional<Instance>>> prefetchedActiveInstances = new ConcurrentHashMap<>();
 
     public AmazonEC2 getEC2Client(String awsRegion) {
-        AmazonEC2ClientBuilder builder = AmazonEC2ClientBuilder.standard();
-        builder.setRegion(awsRegion);
-        return builder.build();
+        return clientRegistry.getClient(awsRegion, null);
     }
 
+    /**
+     * Retrieves the lowest of availability zones mean spot prices for the last hours.
+     * Prices are cached for {@link SystemPreferences#CLUSTER_SPOT_PRICE_CACHE_TTL} seconds.
+     */
     public double getSpotPrice(final String instanceType, final AwsRegion region) {
+        return getCached(spotPrices, region.getRegionCode() + ":" + instanceType,
+            () -> loadSpotPrice(instanceType, region));
+    }
+
+    /**
+     * Loads pending or running instances of the given runs with a few filter requests and keeps them
+     * for the following {@link #getActiveInstance(String, String)} calls of the same monitoring cycle.
+     * Each prefetched instance can be used only once and only during the next
+     * {@link SystemPreferences#CLUSTER_AUTOSCALE_RATE} milliseconds.
+     *
+     * @param runIds Instances run ids.
+     * @param awsRegion Instances aws region.
+     */
+    public void prefetchActiveInstances(final Collection<String> runIds, final String awsRegion) {
+        final long now = System.currentTimeMillis();
+        prefetchedActiveInstances.values().removeIf(instance -> instance.isExpired(now));
+        if (CollectionUtils.isEmpty(runIds)) {
+            return;
+        }
+        final Map<String, Instance> instances = loadActiveInstances(runIds, awsRegion);
+        final long expiration = now + preferenceManager.getPreference(SystemPreferences.CLUSTER_AUTOSCALE_RATE);
+        runIds.forEach(runId -> prefetchedActiveInstances.put(getInstanceKey(awsRegion, runId),
+                new Expirable<>(Optional.ofNullable(instances.get(runId)), expiration)));
+        LOGGER.debug("Prefetched {} active instances of {} runs in {} region.", instances.size(), runIds.size(),
+                awsRegion);
+    }
+
+    private double loadSpotPrice(final String instanceType, final AwsRegion region) {
         AmazonEC2 client = getEC2Client(region.getRegionCode());
         Collection<String> availabilityZones = getAvailabilityZones(client, region.getRegionCode());
         if (CollectionUtils.isEmpty(availabilityZones)) {
@@ -211,6 +254,12 @@ public class EC2Helper {
      * @return Required instance.
      */
     public Instance getActiveInstance(final String runId, final String awsRegion) {
+        final Expirable<Optional<Instance>> prefetched =
+                prefetchedActiveInstances.remove(getInstanceKey(awsRegion, runId));
+        if (prefetched != null && !prefetched.isExpired(System.currentTimeMillis())) {
+            return prefetched.getValue().orElseThrow(() -> new AwsEc2Exception(String.format(
+                    "No reservations found with name tag '%s' in %s region", runId, awsRegion)));
+        }
         return getInstance(runId, awsRegion, new Filter().withName(NAME_TAG).withValues(runId),
                 new Filter().withName(INSTANCE_STATE_NAME).withValues(RUNNING_STATE, PENDING_STATE));
     }
@@ -246,6 +295,39 @@ public class EC2Helper {
         return instances.get(0);
     }
 
+    private Map<String, Instance> loadActiveInstances(final Collection<String> runIds, final String awsRegion) {
+        final AmazonEC2 client = getEC2Client(awsRegion);
+        final Map<String, Instance> instances = new HashMap<>();
+        ListUtils.partition(runIds.stream().distinct().collect(Collectors.toList()), MAX_FILTER_VALUES)
+                .forEach(chunk -> {
+                    final DescribeInstancesRequest request = new DescribeInstancesRequest()
+                            .withFilters(new Filter().withName(NAME_TAG).withValues(chunk),
+                                    new Filter().withName(INSTANCE_STATE_NAME)
+                                            .withValues(RUNNING_STATE, PENDING_STATE));
+                    DescribeInstancesResult result;
+                    do {
+                        result = client.describeInstances(request);
+                        ListUtils.emptyIfNull(result.getReservations()).stream()
+                                .flatMap(reservation -> ListUtils.emptyIfNull(reservation.getInstances()).stream())
+                                .forEach(instance -> getNameTag(instance)
+                                        .ifPresent(name -> instances.putIfAbsent(name, instance)));
+                        request.setNextToken(result.getNextToken());
+                    } while (StringUtils.isNotBlank(result.getNextToken()));
+                });
+        return instances;
+    }
+
+    private Optional<String> getNameTag(final Instance instance) {
+        return ListUtils.emptyIfNull(instance.getTags()).stream()
+                .filter(tag -> NAME_TAG_KEY.equals(tag.getKey()))
+                .map(Tag::getValue)
+                .findFirst();
+    }
+
+    private String getInstanceKey(final String awsRegion, final String runId) {
+        return awsRegion + ":" + runId;
+    }
+
     public Optional<Instance> findInstance(final String instanceId, final String awsRegion) {
         return getEC2Client(awsRegion)
                 .describeInstances(new DescribeInstancesRequest()
@@ -405,8 +487,25 @@ public class EC2Helper {
         if (CollectionUtils.isNotEmpty(allowedNetworks)) {
             return allowedNetworks;
         }
-        return client.describeAvailabilityZones().getAvailabilityZones().stream()
-                .map(AvailabilityZone::getZoneName).collect(Collectors.toList());
+        return getCached(availabilityZones, awsRegion, () -> client.describeAvailabilityZones()
+                .getAvailabilityZones().stream()
+                .map(AvailabilityZone::getZoneName).collect(Collectors.toList()));
+    }
+
+    private <T> T getCached(final Map<String, Expirable<T>> cache, final String key, final Supplier<T> loader) {
+        final long ttl = TimeUnit.SECONDS.toMillis(
+                preferenceManager.getPreference(SystemPreferences.CLUSTER_SPOT_PRICE_CACHE_TTL));
+        if (ttl <= 0) {
+            return loader.get();
+        }
+        final long now = System.currentTimeMillis();
+        final Expirable<T> cached = cache.get(key);
+        if (cached != null && !cached.isExpired(now)) {
+            return cached.getValue();
+        }
+        final T loaded = loader.get();
+        cache.put(key, new Expirable<>(loaded, now + ttl));
+        return loaded;
     }
 
     private Collection<String> getAllowedNetworks(String awsRegion) {
@@ -422,4 +521,14 @@ public class EC2Helper {
                 .map(region -> region.getAllowedNetworks().keySet())
                 .orElse(Collections.emptySet());
     }
+
+    @Value
+    private static class Expirable<T> {
+        T value;
+        long expiration;
+
+        boolean isExpired(final long now) {
+            return now >= expiration;
+        }
+    }
 }
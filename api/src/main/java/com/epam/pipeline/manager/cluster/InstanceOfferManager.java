@@ -53,7 +53,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
 
 import javax.annotation.PostConstruct;
@@ -64,6 +63,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static java.util.stream.Collectors.groupingBy;
@@ -110,7 +110,17 @@ public class InstanceOfferManager {
     private final AtomicReference<Map<Long, Map<PriceType, Set<String>>>> offeredInstanceTypesMap =
             new AtomicReference<>(Collections.emptyMap());
 
-    private final AntPathMatcher matcher = new AntPathMatcher();
+    /**
+     * Reference holds prices of the instance offers from all regions used for the run price estimations.
+     */
+    private final AtomicReference<InstancePriceIndex> priceIndex =
+            new AtomicReference<>(InstancePriceIndex.empty());
+
+    /**
+     * Map collects parsed allowed instance type patterns by the resolved preference values.
+     */
+    private final Map<String, InstanceTypePatterns> instanceTypePatterns = new ConcurrentHashMap<>();
+
     private final Subject<List<InstanceType>> updatedInstanceTypesSubject = BehaviorSubject.create();
 
     private static final double ONE_SECOND = 1000;
@@ -118,6 +128,7 @@ public class InstanceOfferManager {
     private static final double ONE_HOUR = 60 * ONE_MINUTE;
 
     private static final String DELIMITER = ",";
+    private static final int MAX_CACHED_INSTANCE_TYPE_PATTERNS = 1000;
 
     private static final List<String> INSTANCE_TYPES_PREFERENCES = Collections.singletonList(
             SystemPreferences.CLUSTER_ALLOWED_INSTANCE_TYPES.getKey());
@@ -132,6 +143,7 @@ public class InstanceOfferManager {
     @PostConstruct
     public void init() {
         updateOfferedInstanceTypes(instanceOfferDao.loadInstanceTypes());
+        reloadPriceIndex();
         updateOfferedInstanceTypesOnPreferenceChange(SystemPreferences.CLUSTER_ALLOWED_INSTANCE_TYPES);
         updateOfferedInstanceTypesOnPreferenceChange(SystemPreferences.CLUSTER_ALLOWED_INSTANCE_TYPES_DOCKER);
 
@@ -167,6 +179,26 @@ public class InstanceOfferManager {
         offeredInstanceTypesMap.set(extendInstanceTypesForAws(offeredInstanceTypes));
     }
 
+    /**
+     * Rebuilds instance prices index for all regions from the stored instance offers.
+     */
+    public void reloadPriceIndex() {
+        final InstancePriceIndex index = InstancePriceIndex.of(ListUtils.union(
+                instanceOfferDao.loadInstanceOffers(computeOffersRequest(null)),
+                instanceOfferDao.loadInstanceOffers(diskOffersRequest(null))));
+        priceIndex.set(index);
+    }
+
+    /**
+     * Rebuilds instance prices index for the specified region from the stored instance offers.
+     */
+    public void reloadPriceIndex(final Long regionId) {
+        final List<InstanceOffer> offers = ListUtils.union(
+                instanceOfferDao.loadInstanceOffers(computeOffersRequest(regionId)),
+                instanceOfferDao.loadInstanceOffers(diskOffersRequest(regionId)));
+        priceIndex.updateAndGet(index -> index.withRegion(regionId, offers));
+    }
+
     public Date getPriceListPublishDate() {
         return instanceOfferDao.getPriceListPublishDate();
     }
@@ -289,20 +321,9 @@ public class InstanceOfferManager {
     }
 
     public double getPricePerHourForInstance(final String instanceType, final Long regionId) {
-        final InstanceOfferRequestVO requestVO = new InstanceOfferRequestVO();
-        requestVO.setInstanceType(instanceType);
-        requestVO.setTermType(CloudInstancePriceService.TermType.ON_DEMAND.getName());
-        requestVO.setOperatingSystem(CloudInstancePriceService.LINUX_OPERATING_SYSTEM);
-        requestVO.setTenancy(CloudInstancePriceService.SHARED_TENANCY);
-        requestVO.setUnit(CloudInstancePriceService.HOURS_UNIT);
-        requestVO.setProductFamily(CloudInstancePriceService.INSTANCE_PRODUCT_FAMILY);
-        requestVO.setRegionId(regionId);
-        return ListUtils.emptyIfNull(instanceOfferDao.loadInstanceOffers(requestVO))
-                .stream()
-                .map(InstanceOffer::getPricePerUnit)
-                .filter(price -> Double.compare(price, 0.0) > 0)
-                .min(Double::compareTo)
-                .orElse(0.0);
+        return priceIndex.get().getPricePerHour(regionId, instanceType,
+                CloudInstancePriceService.TermType.ON_DEMAND.getName(),
+                CloudInstancePriceService.LINUX_OPERATING_SYSTEM);
     }
 
     /**
@@ -395,8 +416,8 @@ public class InstanceOfferManager {
     private boolean isInstanceTypeMatchesAllowedPatterns(final String instanceType,
                                                          final ContextualPreferenceExternalResource resource,
                                                          final List<String> instanceTypesPreferences) {
-        return getContextualPreferenceValueAsList(resource, instanceTypesPreferences).stream()
-                .anyMatch(pattern -> matcher.match(pattern, instanceType));
+        return getInstanceTypePatterns(getContextualPreferenceValue(resource, instanceTypesPreferences))
+                .matches(instanceType);
     }
 
     private boolean isInstanceTypeOffered(final String instanceType, final Long regionId, final boolean spot) {
@@ -499,12 +520,25 @@ public class InstanceOfferManager {
     }
 
     private double getPriceForDisk(int instanceDisk, Long regionId, String instanceType, boolean spot) {
-        InstanceOfferRequestVO requestVO = new InstanceOfferRequestVO();
+        final List<InstanceOffer> offers = priceIndex.get().getDiskOffers(regionId);
+        return cloudFacade.getPriceForDisk(regionId, offers, instanceDisk, instanceType, spot);
+    }
+
+    private InstanceOfferRequestVO computeOffersRequest(final Long regionId) {
+        final InstanceOfferRequestVO requestVO = new InstanceOfferRequestVO();
+        requestVO.setTenancy(CloudInstancePriceService.SHARED_TENANCY);
+        requestVO.setUnit(CloudInstancePriceService.HOURS_UNIT);
+        requestVO.setProductFamily(CloudInstancePriceService.INSTANCE_PRODUCT_FAMILY);
+        requestVO.setRegionId(regionId);
+        return requestVO;
+    }
+
+    private InstanceOfferRequestVO diskOffersRequest(final Long regionId) {
+        final InstanceOfferRequestVO requestVO = new InstanceOfferRequestVO();
         requestVO.setProductFamily(CloudInstancePriceService.STORAGE_PRODUCT_FAMILY);
         requestVO.setVolumeType(CloudInstancePriceService.GENERAL_PURPOSE_VOLUME_TYPE);
         requestVO.setRegionId(regionId);
-        List<InstanceOffer> offers = instanceOfferDao.loadInstanceOffers(requestVO);
-        return cloudFacade.getPriceForDisk(regionId, offers, instanceDisk, instanceType, spot);
+        return requestVO;
     }
 
     private boolean isInstanceTypeAllowed(final String instanceType) {
@@ -524,8 +558,7 @@ public class InstanceOfferManager {
         if (StringUtils.isBlank(pattern)) {
             return true;
         }
-        List<String> allowedInstancePatterns = Arrays.asList(pattern.split(","));
-        return allowedInstancePatterns.stream().anyMatch(type -> matcher.match(type, instanceType));
+        return getInstanceTypePatterns(pattern).matches(instanceType);
     }
 
     /**
@@ -569,13 +602,23 @@ public class InstanceOfferManager {
             final List<InstanceType> instanceTypes,
             final ContextualPreferenceExternalResource resource,
             final AbstractSystemPreference.StringPreference... preferences) {
-        final List<String> allowedInstanceTypePatterns = getContextualPreferenceValueAsList(resource, preferences);
+        final List<String> preferenceNames = Arrays.stream(preferences)
+                .map(AbstractSystemPreference::getKey)
+                .collect(toList());
+        final InstanceTypePatterns allowedInstanceTypePatterns =
+                getInstanceTypePatterns(getContextualPreferenceValue(resource, preferenceNames));
         return instanceTypes.stream()
-                .filter(instanceType -> allowedInstanceTypePatterns.stream()
-                        .anyMatch(pattern -> matcher.match(pattern, instanceType.getName())))
+                .filter(instanceType -> allowedInstanceTypePatterns.matches(instanceType.getName()))
                 .collect(toList());
     }
 
+    private InstanceTypePatterns getInstanceTypePatterns(final String value) {
+        if (instanceTypePatterns.size() >= MAX_CACHED_INSTANCE_TYPE_PATTERNS) {
+            instanceTypePatterns.clear();
+        }
+        return instanceTypePatterns.computeIfAbsent(value, InstanceTypePatterns::of);
+    }
+
     private List<String> getContextualPreferenceValueAsList(
             final ContextualPreferenceExternalResource resource,
             final AbstractSystemPreference.StringPreference... preferences) {
@@ -587,6 +630,11 @@ public class InstanceOfferManager {
 
     private List<String> getContextualPreferenceValueAsList(final ContextualPreferenceExternalResource resource,
                                                             final List<String> preferences) {
-        return Arrays.asList(contextualPreferenceManager.search(preferences, resource).getValue().split(DELIMITER));
+        return Arrays.asList(getContextualPreferenceValue(resource, preferences).split(DELIMITER));
+    }
+
+    private String getContextualPreferenceValue(final ContextualPreferenceExternalResource resource,
+                                                final List<String> preferences) {
+        return contextualPreferenceManager.search(preferences, resource).getValue();
     }
 }
@@ -38,6 +38,9 @@ public class InstanceOfferScheduler extends AbstractSchedulingManager {
         scheduleFixedDelay(core::checkAndUpdatePriceListIfNecessary,
                 SystemPreferences.CLUSTER_INSTANCE_OFFER_UPDATE_RATE,
                 "Instance Offers Expiration Status Check");
+        scheduleFixedDelay(core::reloadPriceIndex,
+                SystemPreferences.CLUSTER_INSTANCE_OFFER_INDEX_REFRESH_RATE,
+                "Instance Offers Price Index Reload");
     }
 
     public void checkAndUpdatePriceListIfNecessary() {
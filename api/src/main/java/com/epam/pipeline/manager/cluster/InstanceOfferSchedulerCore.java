@@ -63,6 +63,7 @@ public class InstanceOfferSchedulerCore {
         try {
             priceUpdateLock.lock();
             instanceOfferManager.refreshPriceList();
+            instanceOfferManager.reloadPriceIndex();
         } finally {
             priceUpdateLock.unlock();
         }
@@ -72,12 +73,21 @@ public class InstanceOfferSchedulerCore {
         try {
             priceUpdateLock.lock();
             instanceOfferManager.updatePriceListForRegion(region);
+            instanceOfferManager.reloadPriceIndex(region.getId());
             instanceOfferManager.updateOfferedInstanceTypes();
         } finally {
             priceUpdateLock.unlock();
         }
     }
 
+    /**
+     * Reloads instance prices index from the stored instance offers, so the price list updates performed
+     * by other API instances are picked up as well.
+     */
+    public void reloadPriceIndex() {
+        instanceOfferManager.reloadPriceIndex();
+    }
+
     private boolean isPriceListExpired(final Date publishDate) {
         return DateUtils.now().after(org.apache.commons.lang3.time.DateUtils.addHours(
                 publishDate, PRICE_LIST_REFRESH_PERIOD));
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.cluster;
+
+import com.epam.pipeline.entity.cluster.InstanceOffer;
+import com.epam.pipeline.manager.cloud.CloudInstancePriceService;
+import lombok.Value;
+import org.apache.commons.collections4.ListUtils;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Immutable in-memory index of the instance offers, that are used for the run price estimations.
+ *
+ * Index holds the lowest positive hourly price of each shared tenancy compute instance offer by
+ * instance type, term type and operating system and general purpose disk offers of each region.
+ * Index is never modified, it is replaced as a whole once price list is updated.
+ */
+public final class InstancePriceIndex {
+
+    private static final InstancePriceIndex EMPTY = new InstancePriceIndex(Collections.emptyMap());
+
+    private final Map<Long, RegionPrices> regions;
+
+    private InstancePriceIndex(final Map<Long, RegionPrices> regions) {
+        this.regions = regions;
+    }
+
+    public static InstancePriceIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds index for all regions of the given offers.
+     */
+    public static InstancePriceIndex of(final List<InstanceOffer> offers) {
+        final Map<Long, RegionPrices> regions = new HashMap<>();
+        ListUtils.emptyIfNull(offers).stream()
+                .filter(offer -> offer.getRegionId() != null)
+                .collect(groupingBy(InstanceOffer::getRegionId))
+                .forEach((regionId, regionOffers) -> regions.put(regionId, RegionPrices.of(regionOffers)));
+        return new InstancePriceIndex(Collections.unmodifiableMap(regions));
+    }
+
+    /**
+     * Returns a new index with the offers of the given region replaced by the specified offers.
+     */
+    public InstancePriceIndex withRegion(final Long regionId, final List<InstanceOffer> offers) {
+        final Map<Long, RegionPrices> updated = new HashMap<>(regions);
+        updated.put(regionId, RegionPrices.of(ListUtils.emptyIfNull(offers).stream()
+                .filter(offer -> regionId.equals(offer.getRegionId()))
+                .collect(toList())));
+        return new InstancePriceIndex(Collections.unmodifiableMap(updated));
+    }
+
+    /**
+     * Returns the lowest positive hourly price of a shared tenancy compute instance or 0 if there is no such offer.
+     */
+    public double getPricePerHour(final Long regionId, final String instanceType, final String termType,
+                                  final String operatingSystem) {
+        return Optional.ofNullable(regions.get(regionId))
+                .map(prices -> prices.computePrices.get(new PriceKey(instanceType, termType, operatingSystem)))
+                .orElse(0.0);
+    }
+
+    /**
+     * Returns general purpose disk offers of the region sorted by price in ascending order.
+     */
+    public List<InstanceOffer> getDiskOffers(final Long regionId) {
+        return Optional.ofNullable(regions.get(regionId))
+                .map(prices -> prices.diskOffers)
+                .orElse(Collections.emptyList());
+    }
+
+    @Value
+    private static class PriceKey {
+        String instanceType;
+        String termType;
+        String operatingSystem;
+    }
+
+    private static final class RegionPrices {
+
+        private final Map<PriceKey, Double> computePrices;
+        private final List<InstanceOffer> diskOffers;
+
+        private RegionPrices(final Map<PriceKey, Double> computePrices, final List<InstanceOffer> diskOffers) {
+            this.computePrices = computePrices;
+            this.diskOffers = diskOffers;
+        }
+
+        private static RegionPrices of(final List<InstanceOffer> offers) {
+            final Map<PriceKey, Double> computePrices = new HashMap<>();
+            offers.stream()
+                    .filter(RegionPrices::isComputeOffer)
+                    .filter(offer -> Double.compare(offer.getPricePerUnit(), 0.0) > 0)
+                    .forEach(offer -> computePrices.merge(
+                            new PriceKey(offer.getInstanceType(), offer.getTermType(), offer.getOperatingSystem()),
+                            offer.getPricePerUnit(), Math::min));
+            final List<InstanceOffer> diskOffers = offers.stream()
+                    .filter(RegionPrices::isDiskOffer)
+                    .sorted(Comparator.comparingDouble(InstanceOffer::getPricePerUnit))
+                    .collect(toList());
+            return new RegionPrices(Collections.unmodifiableMap(computePrices),
+                    Collections.unmodifiableList(diskOffers));
+        }
+
+        private static boolean isComputeOffer(final InstanceOffer offer) {
+            return Objects.equals(offer.getProductFamily(), CloudInstancePriceService.INSTANCE_PRODUCT_FAMILY)
+                    && Objects.equals(offer.getTenancy(), CloudInstancePriceService.SHARED_TENANCY)
+                    && Objects.equals(offer.getUnit(), CloudInstancePriceService.HOURS_UNIT);
+        }
+
+        private static boolean isDiskOffer(final InstanceOffer offer) {
+            return Objects.equals(offer.getProductFamily(), CloudInstancePriceService.STORAGE_PRODUCT_FAMILY)
+                    && Objects.equals(offer.getVolumeType(), CloudInstancePriceService.GENERAL_PURPOSE_VOLUME_TYPE);
+        }
+    }
+}
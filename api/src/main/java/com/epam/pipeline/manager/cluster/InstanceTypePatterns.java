@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.cluster;
+
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Pre-parsed comma separated list of allowed instance type patterns, e.g. {@code m5.*,c5.large}.
+ *
+ * Plain instance type names are checked with a single set lookup, only the actual Ant-style patterns
+ * are matched one by one.
+ */
+public final class InstanceTypePatterns {
+
+    private static final String DELIMITER = ",";
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    private final Set<String> names;
+    private final List<String> patterns;
+
+    private InstanceTypePatterns(final Set<String> names, final List<String> patterns) {
+        this.names = names;
+        this.patterns = patterns;
+    }
+
+    public static InstanceTypePatterns of(final String value) {
+        final Set<String> names = new HashSet<>();
+        final List<String> patterns = new ArrayList<>();
+        Arrays.stream(value.split(DELIMITER)).forEach(pattern -> {
+            if (MATCHER.isPattern(pattern)) {
+                patterns.add(pattern);
+            } else {
+                names.add(pattern);
+            }
+        });
+        return new InstanceTypePatterns(Collections.unmodifiableSet(names), Collections.unmodifiableList(patterns));
+    }
+
+    public boolean matches(final String instanceType) {
+        return names.contains(instanceType)
+                || patterns.stream().anyMatch(pattern -> MATCHER.match(pattern, instanceType));
+    }
+}
@@ -19,7 +19,6 @@ package com.epam.pipeline.manager.cluster;
 import com.epam.pipeline.common.MessageConstants;
 import com.epam.pipeline.common.MessageHelper;
 import com.epam.pipeline.config.JsonMapper;
-import com.epam.pipeline.entity.cluster.MasterPodInfo;
 import com.epam.pipeline.entity.cluster.NodeRegionLabels;
 import com.epam.pipeline.entity.cluster.ServiceDescription;
 import com.epam.pipeline.entity.docker.DockerRegistrySecret;
@@ -43,7 +42,6 @@ import io.fabric8.kubernetes.client.DefaultKubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientException;
 import lombok.extern.slf4j.Slf4j;
-import okhttp3.OkHttpClient;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.ListUtils;
@@ -56,10 +54,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
-import retrofit2.Retrofit;
-import retrofit2.converter.jackson.JacksonConverterFactory;
 
-import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -105,12 +100,6 @@ public class KubernetesManager {
     @Value("${kube.edge.scheme.label:cloud-pipeline/external-scheme}")
     private String kubeEdgeSchemeLabel;
 
-    @Value("${kube.master.pod.check.url}")
-    private String kubePodLeaderElectionUrl;
-
-    @Value("${kube.current.pod.name}")
-    private String kubePodName;
-
     public ServiceDescription getServiceByLabel(final String label) {
         try (KubernetesClient client = getKubernetesClient()) {
             return findServiceByLabel(client, SERVICE_ROLE_LABEL, label)
@@ -308,44 +297,6 @@ public class KubernetesManager {
         }
     }
 
-    /**
-     * Obtains a master pod name.
-     *
-     * @return master name or <code>null</code> if no such found
-     */
-    public String getMasterPodName() {
-        final PodMasterStatusApi client = buildMasterStatusClient();
-        try {
-            final MasterPodInfo info = client.getMasterName()
-                    .execute()
-                    .body();
-            if (info != null) {
-                return info.getName();
-            }
-        } catch (IOException e) {
-            log.warn("No leader pod for cluster found!");
-        }
-        return null;
-    }
-
-    /**
-     * Obtains a name of pod, containing service instance.
-     *
-     * @return name of pod or <code>null</code> if no such name specified.
-     */
-    public String getCurrentPodName() {
-        return kubePodName;
-    }
-
-    private PodMasterStatusApi buildMasterStatusClient() {
-        return new Retrofit.Builder()
-                .baseUrl(kubePodLeaderElectionUrl)
-                .addConverterFactory(JacksonConverterFactory.create())
-                .client(new OkHttpClient())
-                .build()
-                .create(PodMasterStatusApi.class);
-    }
-
     public Optional<Node> findNodeByName(final String nodeName) {
         try (KubernetesClient client = getKubernetesClient()) {
             return Optional.ofNullable(client.nodes().withName(nodeName).get());
@@ -537,17 +488,6 @@ public class KubernetesManager {
         return name.toLowerCase().replaceAll("[^a-z0-9\\-]+", "-");
     }
 
-    /**
-     * Check if current host is master or not
-     *
-     * @return true - if a host is master or no master found, false - otherwise
-     */
-    public boolean isMasterHost() {
-        return Optional.ofNullable(getMasterPodName())
-                .map(masterName -> masterName.equals(getCurrentPodName()))
-                .orElse(true);
-    }
-
     public List<Node> getNodes(KubernetesClient client) {
         return getAvailableNodes(client).getItems();
     }
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.pipeline.manager.cluster;
+
+import com.epam.pipeline.dao.cluster.LeaderLeaseDao;
+import com.epam.pipeline.entity.cluster.LeaderLease;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Elects a leader for scheduled tasks between API replicas using renewable leases stored in the database.
+ *
+ * Leadership state is cached and refreshed by a background renewal, so {@link #isLeader(String)} doesn't
+ * perform any remote calls. A lost replica's leases are taken over by the others at most after
+ * {@code ha.leader.lease.duration} + {@code ha.leader.lease.renew.interval} ms.
+ *
+ * If sharding is enabled, each group of scheduled tasks (defined by the lock name prefix, e.g. {@code PodMonitor}
+ * for {@code PodMonitor_updateStatus}) has its own lease and leases are evenly distributed between live replicas.
+ * Otherwise a single lease is used for all tasks.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "ha.deploy.enabled", havingValue = "true")
+public class LeaderElectionManager {
+
+    static final String DEFAULT_LEASE = "master";
+    static final String MEMBER_LEASE_PREFIX = "member:";
+    private static final String TASK_GROUP_DELIMITER = "_";
+
+    private final LeaderLeaseDao leaderLeaseDao;
+    private final String holder;
+    private final long leaseDuration;
+    private final boolean sharding;
+    private final Set<String> leases = ConcurrentHashMap.newKeySet();
+    private final Set<String> heldLeases = ConcurrentHashMap.newKeySet();
+    private final List<LeadershipListener> listeners = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public LeaderElectionManager(final LeaderLeaseDao leaderLeaseDao,
+                                 @Value("${kube.current.pod.name:}") final String podName,
+                                 @Value("${ha.leader.lease.duration:30000}") final long leaseDuration,
+                                 @Value("${ha.leader.sharding.enabled:false}") final boolean sharding) {
+        this.leaderLeaseDao = leaderLeaseDao;
+        this.holder = StringUtils.isNotBlank(podName) ? podName : UUID.randomUUID().toString();
+        this.leaseDuration = leaseDuration;
+        this.sharding = sharding;
+    }
+
+    @Autowired(required = false)
+    public void setListeners(final List<LeadershipListener> listeners) {
+        this.listeners.addAll(listeners);
+    }
+
+    public void addListener(final LeadershipListener listener) {
+        listeners.add(listener);
+    }
+
+    public String getHolder() {
+        return holder;
+    }
+
+    /**
+     * Checks if the current replica shall run the scheduled task. The first check of a task group registers
+     * its lease and tries to acquire it, subsequent checks use the cached leadership state only.
+     *
+     * @param taskName scheduled task lock name
+     * @return true if the current replica holds the task lease
+     */
+    public boolean isLeader(final String taskName) {
+        final String lease = getLeaseName(taskName);
+        if (leases.add(lease)) {
+            renewLeases();
+        }
+        return heldLeases.contains(lease);
+    }
+
+    public Set<String> getHeldLeases() {
+        return new TreeSet<>(heldLeases);
+    }
+
+    @Scheduled(fixedDelayString = "${ha.leader.lease.renew.interval:10000}")
+    public synchronized void renewLeases() {
+        try {
+            leaderLeaseDao.acquireLease(MEMBER_LEASE_PREFIX + holder, holder, leaseDuration);
+            final List<LeaderLease> activeLeases = leaderLeaseDao.loadActiveLeases();
+            final long members = Math.max(1, activeLeases.stream().filter(this::isMemberLease).count());
+            final int fairShare = (int) Math.ceil((double) leases.size() / members);
+            final Map<String, String> holders = activeLeases.stream()
+                    .filter(lease -> !isMemberLease(lease))
+                    .collect(Collectors.toMap(LeaderLease::getName, LeaderLease::getHolder));
+            for (final String lease : new TreeSet<>(leases)) {
+                if (heldLeases.contains(lease) || heldLeases.size() < fairShare && !isHeldByOther(holders, lease)) {
+                    updateLeadership(lease, leaderLeaseDao.acquireLease(lease, holder, leaseDuration));
+                }
+            }
+            if (heldLeases.size() > fairShare) {
+                final String excessLease = new TreeSet<>(heldLeases).last();
+                log.info("Releasing lease {} to balance scheduled tasks between {} replicas.", excessLease, members);
+                leaderLeaseDao.releaseLease(excessLease, holder);
+                updateLeadership(excessLease, false);
+            }
+        } catch (DataAccessException e) {
+            log.error("Failed to renew leader leases: {}", e.getMessage());
+            new ArrayList<>(heldLeases).forEach(lease -> updateLeadership(lease, false));
+        }
+    }
+
+    @PreDestroy
+    public synchronized void releaseLeases() {
+        try {
+            new ArrayList<>(heldLeases).forEach(lease -> {
+                leaderLeaseDao.releaseLease(lease, holder);
+                updateLeadership(lease, false);
+            });
+            leaderLeaseDao.releaseLease(MEMBER_LEASE_PREFIX + holder, holder);
+        } catch (DataAccessException e) {
+            log.error("Failed to release leader leases: {}", e.getMessage());
+        }
+    }
+
+    String getLeaseName(final String taskName) {
+        if (!sharding || StringUtils.isBlank(taskName)) {
+            return DEFAULT_LEASE;
+        }
+        return StringUtils.substringBefore(taskName, TASK_GROUP_DELIMITER);
+    }
+
+    private boolean isMemberLease(final LeaderLease lease) {
+        return lease.getName().startsWith(MEMBER_LEASE_PREFIX);
+    }
+
+    private boolean isHeldByOther(final Map<String, String> holders, final String lease) {
+        return holders.containsKey(lease) && !holder.equals(holders.get(lease));
+    }
+
+    private void updateLeadership(final String lease, final boolean leader) {
+        if (leader && heldLeases.add(lease)) {
+            log.info("Replica {} became a leader for {}.", holder, lease);
+            listeners.forEach(listener -> listener.onLeadershipAcquired(lease));
+        } else if (!leader && heldLeases.remove(lease)) {
+            log.info("Replica {} is no longer a leader for {}.", holder, lease);
+            listeners.forEach(listener -> listener.onLeadershipLost(lease));
+        }
+    }
+}
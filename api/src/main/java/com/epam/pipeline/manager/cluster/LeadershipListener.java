@@ -13,18 +13,14 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.epam.pipeline.manager.cluster;
 
-import com.epam.pipeline.entity.cluster.MasterPodInfo;
-import retrofit2.Call;
-import retrofit2.http.GET;
+/**
+ * Receives notifications when the current API replica acquires or loses a leader lease.
+ */
+public interface LeadershipListener {
 
-public interface PodMasterStatusApi {
+    void onLeadershipAcquired(String lease);
 
-    /**
-     * Get a master pod name.
-     */
-    @GET("/")
-    Call<MasterPodInfo> getMasterName();
+    void onLeadershipLost(String lease);
 }
@@ -11,6 +11,7 @@ import org.springframework.util.Assert;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
@@ -47,6 +48,10 @@ public class NodeDiskManager {
         return nodeDiskDao.loadByNodeId(nodeId);
     }
 
+    public List<NodeDisk> loadByNodeIds(final Collection<String> nodeIds) {
+        return nodeDiskDao.loadByNodeIds(nodeIds);
+    }
+
     private void validateNodeId(final String nodeId) {
         Assert.notNull(nodeId, messageHelper.getMessage(MessageConstants.ERROR_DISK_NODE_MISSING));
     }
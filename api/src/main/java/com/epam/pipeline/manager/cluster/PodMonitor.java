@@ -29,7 +29,7 @@ import com.epam.pipeline.entity.pipeline.TaskStatus;
 import com.epam.pipeline.entity.pipeline.run.RunStatus;
 import com.epam.pipeline.entity.utils.DateUtils;
 import com.epam.pipeline.manager.cloud.CloudFacade;
-import com.epam.pipeline.manager.cluster.cleaner.RunCleaner;
+import com.epam.pipeline.manager.cluster.cleaner.RunCleanupManager;
 import com.epam.pipeline.manager.notification.NotificationManager;
 import com.epam.pipeline.manager.notification.NotificationSettingsManager;
 import com.epam.pipeline.manager.pipeline.PipelineRunManager;
@@ -49,7 +49,6 @@ import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientException;
 import net.javacrumbs.shedlock.core.SchedulerLock;
 import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -121,7 +120,7 @@ public class PodMonitor extends AbstractSchedulingManager {
         private final RestartRunManager restartRunManager;
         private final CloudFacade cloudFacade;
         private final PreferenceManager preferenceManager;
-        private final List<RunCleaner> cleaners;
+        private final RunCleanupManager runCleanupManager;
 
         @Autowired
         PodMonitorCore(final RunLogManager runLogManager,
@@ -135,7 +134,7 @@ public class PodMonitor extends AbstractSchedulingManager {
                        final RestartRunManager restartRunManager,
                        final CloudFacade cloudFacade,
                        final PreferenceManager preferenceManager,
-                       final List<RunCleaner> cleaners,
+                       final RunCleanupManager runCleanupManager,
                        final @Value("${kube.namespace}") String kubeNamespace) {
             this.runLogManager = runLogManager;
             this.pipelineRunManager = pipelineRunManager;
@@ -149,7 +148,7 @@ public class PodMonitor extends AbstractSchedulingManager {
             this.cloudFacade = cloudFacade;
             this.preferenceManager = preferenceManager;
             this.kubeNamespace = kubeNamespace;
-            this.cleaners = ListUtils.emptyIfNull(cleaners);
+            this.runCleanupManager = runCleanupManager;
         }
 
         /**
@@ -472,8 +471,7 @@ public class PodMonitor extends AbstractSchedulingManager {
         }
 
         private void cleanRunResources(final PipelineRun run) {
-            LOGGER.debug("Clearing resources for run {}.", run.getId());
-            cleaners.forEach(cleaner -> cleaner.cleanResources(run));
+            runCleanupManager.enqueue(run);
         }
 
         private void savePodStatus(PipelineRun run, Pod pod, KubernetesClient client) {
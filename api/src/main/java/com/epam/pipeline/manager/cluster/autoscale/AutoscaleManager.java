@@ -29,7 +29,7 @@ import com.epam.pipeline.manager.cloud.CloudFacade;
 import com.epam.pipeline.manager.cluster.KubernetesConstants;
 import com.epam.pipeline.manager.cluster.KubernetesManager;
 import com.epam.pipeline.manager.cluster.NodesManager;
-import com.epam.pipeline.manager.cluster.cleaner.RunCleaner;
+import com.epam.pipeline.manager.cluster.cleaner.RunCleanupManager;
 import com.epam.pipeline.manager.cluster.pool.NodePoolManager;
 import com.epam.pipeline.manager.parallel.ParallelExecutorService;
 import com.epam.pipeline.manager.pipeline.PipelineRunManager;
@@ -107,7 +107,7 @@ public class AutoscaleManager extends AbstractSchedulingManager {
         private final NodePoolManager nodePoolManager;
         private final ReassignHandler reassignHandler;
         private final ScaleDownHandler scaleDownHandler;
-        private final List<RunCleaner> runCleaners;
+        private final RunCleanupManager runCleanupManager;
         private final PoolAutoscaler poolAutoscaler;
         private final Set<Long> nodeUpTaskInProgress = ConcurrentHashMap.newKeySet();
         private final Map<Long, Integer> nodeUpAttempts = new ConcurrentHashMap<>();
@@ -126,7 +126,7 @@ public class AutoscaleManager extends AbstractSchedulingManager {
                              final NodePoolManager nodePoolManager,
                              final ReassignHandler reassignHandler,
                              final ScaleDownHandler scaleDownHandler,
-                             final List<RunCleaner> runCleaners,
+                             final RunCleanupManager runCleanupManager,
                              final PoolAutoscaler poolAutoscaler) {
             this.pipelineRunManager = pipelineRunManager;
             this.executorService = executorService;
@@ -139,7 +139,7 @@ public class AutoscaleManager extends AbstractSchedulingManager {
             this.nodePoolManager = nodePoolManager;
             this.reassignHandler = reassignHandler;
             this.scaleDownHandler = scaleDownHandler;
-            this.runCleaners = runCleaners;
+            this.runCleanupManager = runCleanupManager;
             this.poolAutoscaler = poolAutoscaler;
         }
 
@@ -179,6 +179,7 @@ public class AutoscaleManager extends AbstractSchedulingManager {
             List<Pod> orderedPipelines = getOrderedPipelines(podList.getItems(), client);
             Set<String> allPods = kubernetesManager.convertKubeItemsToRunIdSet(podList.getItems());
             Set<String> reassignedNodes = new HashSet<>();
+            prefetchInstances(orderedPipelines, nodes);
             orderedPipelines.forEach(pod -> {
                 if (kubernetesManager.isPodUnscheduled(pod)) {
                     processPod(pod, client, scheduledRuns, tasks, allPods, nodes, reassignedNodes);
@@ -190,6 +191,24 @@ public class AutoscaleManager extends AbstractSchedulingManager {
             log.debug("In progress {} nodeup tasks.", nodeUpTaskInProgress.size());
         }
 
+        private void prefetchInstances(final List<Pod> pods, final Set<String> nodes) {
+            final List<Long> runIds = pods.stream()
+                    .filter(kubernetesManager::isPodUnscheduled)
+                    .map(pod -> pod.getMetadata().getLabels().get(KubernetesConstants.RUN_ID_LABEL))
+                    .filter(runId -> !nodes.contains(runId))
+                    .map(Long::parseLong)
+                    .filter(runId -> !nodeUpTaskInProgress.contains(runId))
+                    .collect(Collectors.toList());
+            if (runIds.isEmpty()) {
+                return;
+            }
+            try {
+                cloudFacade.prefetchInstances(runIds);
+            } catch (Exception e) {
+                log.error("Failed to prefetch instances of pending runs: {}", e.getMessage());
+            }
+        }
+
         private void checkPoolNodes(final KubernetesClient client) {
             final List<NodePool> activePools = nodePoolManager.getActivePools();
             if (CollectionUtils.isEmpty(activePools)) {
@@ -415,9 +434,8 @@ public class AutoscaleManager extends AbstractSchedulingManager {
         private void cleanDeletedRun(final KubernetesClient client, final Pod pod, final Long runId) {
             // If we failed to load a matching pipeline run for a pod, we delete it here, since
             // PodMonitor wont't process it either
-            log.debug("Trying to clear resources for run {}.", runId);
             try {
-                runCleaners.forEach(cleaner -> cleaner.cleanResources(runId));
+                runCleanupManager.enqueue(runId);
             } catch (Exception e) {
                 log.error("Error during resources clean up: {}", e.getMessage());
             }
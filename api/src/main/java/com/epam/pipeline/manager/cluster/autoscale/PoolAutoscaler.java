@@ -17,11 +17,17 @@ package com.epam.pipeline.manager.cluster.autoscale;
 
 import com.epam.pipeline.controller.vo.cluster.pool.NodePoolVO;
 import com.epam.pipeline.entity.cluster.pool.NodePool;
+import com.epam.pipeline.entity.utils.DateUtils;
 import com.epam.pipeline.manager.cluster.KubernetesConstants;
 import com.epam.pipeline.manager.cluster.KubernetesManager;
+import com.epam.pipeline.manager.cluster.autoscale.pool.PoolDemandForecaster;
+import com.epam.pipeline.manager.cluster.autoscale.pool.PoolScalingPolicy;
+import com.epam.pipeline.manager.cluster.autoscale.pool.PoolUsage;
+import com.epam.pipeline.manager.cluster.autoscale.pool.ReactivePoolScalingPolicy;
 import com.epam.pipeline.manager.cluster.pool.NodePoolManager;
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
 import com.epam.pipeline.mapper.cluster.pool.NodePoolMapper;
-import com.epam.pipeline.utils.DoubleUtils;
 import io.fabric8.kubernetes.api.model.Node;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import lombok.RequiredArgsConstructor;
@@ -32,37 +38,52 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class PoolAutoscaler {
 
-    public static final int PERCENT_MULTIPLIER = 100;
     private final NodePoolManager poolManager;
     private final NodePoolMapper poolMapper;
     private final KubernetesManager kubernetesManager;
+    private final PreferenceManager preferenceManager;
+    private final PoolDemandForecaster demandForecaster;
+    private final PoolScalingPolicy reactivePolicy = new ReactivePoolScalingPolicy();
 
     public void adjustPoolSizes() {
         try (KubernetesClient kubernetesClient = kubernetesManager.getKubernetesClient()) {
+            final List<NodePool> pools = poolManager.getActivePools()
+                    .stream()
+                    .filter(NodePool::isAutoscaled)
+                    .collect(Collectors.toList());
+            if (pools.isEmpty()) {
+                return;
+            }
             final List<Node> availableNodes = kubernetesManager.getNodes(kubernetesClient);
             final Set<String> activePodIds = kubernetesManager.getAllPodIds(kubernetesClient);
-            poolManager.getActivePools()
-                    .forEach(pool ->
-                            adjustPoolSize(pool, availableNodes, activePodIds));
+            final boolean forecast = preferenceManager.getPreference(SystemPreferences.CLUSTER_POOL_FORECAST_ENABLED);
+            final PoolScalingPolicy policy = forecast ? demandForecaster.getPolicy(pools) : reactivePolicy;
+            final Map<Long, Long> queuedRuns = forecast
+                    ? demandForecaster.countQueuedRuns(pools, kubernetesClient)
+                    : Collections.emptyMap();
+            final LocalDateTime now = DateUtils.nowUTC();
+            pools.forEach(pool -> adjustPoolSize(pool, policy, new PoolUsage(now,
+                    countOccupiedNodes(pool, availableNodes, activePodIds),
+                    queuedRuns.getOrDefault(pool.getId(), 0L))));
         }
     }
 
-    private void adjustPoolSize(final NodePool pool,
-                                final List<Node> availableNodes,
-                                final Set<String> activePodIds) {
-        if (!pool.isAutoscaled()) {
-            return;
-        }
-        final long activePoolNodes = ListUtils.emptyIfNull(availableNodes)
+    private long countOccupiedNodes(final NodePool pool,
+                                    final List<Node> availableNodes,
+                                    final Set<String> activePodIds) {
+        return ListUtils.emptyIfNull(availableNodes)
                 .stream()
                 .filter(currentNode -> {
                     final Map<String, String> labels = MapUtils.emptyIfNull(currentNode.getMetadata().getLabels());
@@ -74,21 +95,16 @@ public class PoolAutoscaler {
                             activePodIds.contains(labels.get(KubernetesConstants.RUN_ID_LABEL));
                 })
                 .count();
-        final double occupiedPercent = pool.getCount() == 0 ? PERCENT_MULTIPLIER :
-                (double)activePoolNodes / pool.getCount() * PERCENT_MULTIPLIER;
-        log.debug("{} occupied node(s) match pool[{}] with total size {}, {}% is occupied",
-                activePoolNodes, pool.getId(), pool.getCount(), occupiedPercent);
+    }
 
-        if (pool.getCount() < pool.getMaxSize() &&
-                DoubleUtils.compare(occupiedPercent, pool.getScaleUpThreshold()) > 0) {
-            final int increasedSize = Math.min(pool.getMaxSize(), pool.getCount() + pool.getScaleStep());
-            log.debug("Increasing pool[{}] size from {} to {}", pool.getId(), pool.getCount(), increasedSize);
-            updatePoolSize(pool, increasedSize);
-        } else if (pool.getCount() > pool.getMinSize() &&
-                DoubleUtils.compare(occupiedPercent, pool.getScaleDownThreshold()) < 0) {
-            final int decreasedSize = Math.max(pool.getMinSize(), pool.getCount() - pool.getScaleStep());
-            log.debug("Decreasing pool[{}] size from {} to {}", pool.getId(), pool.getCount(), decreasedSize);
-            updatePoolSize(pool, decreasedSize);
+    private void adjustPoolSize(final NodePool pool, final PoolScalingPolicy policy, final PoolUsage usage) {
+        final int targetSize = policy.getTargetSize(pool, usage);
+        if (targetSize > pool.getCount()) {
+            log.debug("Increasing pool[{}] size from {} to {}", pool.getId(), pool.getCount(), targetSize);
+            updatePoolSize(pool, targetSize);
+        } else if (targetSize < pool.getCount()) {
+            log.debug("Decreasing pool[{}] size from {} to {}", pool.getId(), pool.getCount(), targetSize);
+            updatePoolSize(pool, targetSize);
         }
     }
 
@@ -112,6 +112,14 @@ public class ReassignHandler {
                 });
     }
 
+    /**
+     * Checks whether a run passes filter of a node pool, pools without filter accept any run
+     */
+    public boolean matchesPoolFilter(final NodePool pool, final PipelineRun run) {
+        final PoolFilter filter = pool.getFilter();
+        return filter == null || filter.isEmpty() || matchRun(filter, run);
+    }
+
     private boolean matchesPoolFilter(final NodePool pool, final Long runId) {
         final PoolFilter filter = pool.getFilter();
         if (filter == null || filter.isEmpty()) {
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.cluster.autoscale.pool;
+
+import com.epam.pipeline.entity.cluster.pool.NodePool;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Sizes a pool for the peak demand expected during the next {@code leadMinutes}, so nodes are provisioned before
+ * runs are submitted. The pool is never sized below the current demand (occupied nodes and queued runs)
+ * and is released by at most {@code scaleStep} nodes per cycle. Forecast takes into account only
+ * the periods when the pool schedule is active.
+ */
+@Slf4j
+public class ForecastPoolScalingPolicy implements PoolScalingPolicy {
+
+    private final Map<Long, PoolDemandProfile> profiles;
+    private final int leadMinutes;
+
+    public ForecastPoolScalingPolicy(final Map<Long, PoolDemandProfile> profiles, final int leadMinutes) {
+        this.profiles = profiles;
+        this.leadMinutes = leadMinutes;
+    }
+
+    @Override
+    public int getTargetSize(final NodePool pool, final PoolUsage usage) {
+        final LocalDateTime now = usage.getTimestamp();
+        final double forecast = Optional.ofNullable(profiles.get(pool.getId()))
+                .map(profile -> profile.getPeakDemand(now, now.plusMinutes(leadMinutes),
+                    timestamp -> isScheduled(pool, timestamp)))
+                .orElse(0.0);
+        final long currentDemand = usage.getOccupiedNodes() + usage.getQueuedRuns();
+        long target = Math.max(currentDemand, (long) Math.ceil(forecast));
+        if (target < pool.getCount()) {
+            target = Math.max(target, pool.getCount() - (long) pool.getScaleStep());
+        }
+        final int size = (int) Math.max(pool.getMinSize(), Math.min(pool.getMaxSize(), target));
+        log.debug("Pool[{}] with size {} has {} occupied node(s), {} queued run(s) and forecasted demand {}, "
+                        + "target size is {}", pool.getId(), pool.getCount(), usage.getOccupiedNodes(),
+                usage.getQueuedRuns(), forecast, size);
+        return size;
+    }
+
+    private static boolean isScheduled(final NodePool pool, final LocalDateTime timestamp) {
+        return pool.getSchedule() == null || pool.getSchedule().isActive(timestamp);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.cluster.autoscale.pool;
+
+import com.epam.pipeline.entity.cluster.PriceType;
+import com.epam.pipeline.entity.cluster.pool.NodePool;
+import com.epam.pipeline.entity.pipeline.PipelineRun;
+import com.epam.pipeline.entity.pipeline.RunInstance;
+import com.epam.pipeline.entity.utils.DateUtils;
+import com.epam.pipeline.manager.cluster.KubernetesConstants;
+import com.epam.pipeline.manager.cluster.KubernetesManager;
+import com.epam.pipeline.manager.cluster.autoscale.ReassignHandler;
+import com.epam.pipeline.manager.pipeline.PipelineRunManager;
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Provides {@link ForecastPoolScalingPolicy} with per pool demand profiles learned from the runs history
+ * and counts runs queued for pool nodes.
+ *
+ * Runs are not bound to pools, so a run is attributed to the first pool (by id), which instance type, disk, region,
+ * price type and filter match the run. Profiles are reloaded each {@code cluster.pool.forecast.refresh.rate} ms.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PoolDemandForecaster {
+
+    private final PipelineRunManager pipelineRunManager;
+    private final KubernetesManager kubernetesManager;
+    private final ReassignHandler reassignHandler;
+    private final PreferenceManager preferenceManager;
+
+    private volatile Map<Long, PoolDemandProfile> profiles = Collections.emptyMap();
+    private volatile LocalDateTime profilesUpdated;
+
+    public PoolScalingPolicy getPolicy(final List<NodePool> pools) {
+        return new ForecastPoolScalingPolicy(getProfiles(pools),
+                preferenceManager.getPreference(SystemPreferences.CLUSTER_POOL_FORECAST_LEAD_MINUTES));
+    }
+
+    /**
+     * @return number of unscheduled run pods by the ids of the pools matching the runs
+     */
+    public Map<Long, Long> countQueuedRuns(final List<NodePool> pools, final KubernetesClient client) {
+        final List<Long> queuedRunIds = ListUtils.emptyIfNull(kubernetesManager.getPodList(client).getItems())
+                .stream()
+                .filter(kubernetesManager::isPodUnscheduled)
+                .map(PoolDemandForecaster::getRunId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        if (queuedRunIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final List<NodePool> orderedPools = order(pools);
+        return ListUtils.emptyIfNull(pipelineRunManager.loadPipelineRuns(queuedRunIds))
+                .stream()
+                .map(run -> findPool(orderedPools, run))
+                .filter(Optional::isPresent)
+                .collect(Collectors.groupingBy(pool -> pool.get().getId(), Collectors.counting()));
+    }
+
+    private Map<Long, PoolDemandProfile> getProfiles(final List<NodePool> pools) {
+        final LocalDateTime now = DateUtils.nowUTC();
+        final int refreshRate = preferenceManager.getPreference(SystemPreferences.CLUSTER_POOL_FORECAST_REFRESH_RATE);
+        final boolean upToDate = profilesUpdated != null
+                && profilesUpdated.plus(refreshRate, ChronoUnit.MILLIS).isAfter(now)
+                && pools.stream().allMatch(pool -> profiles.containsKey(pool.getId()));
+        if (!upToDate) {
+            profiles = learnProfiles(pools, now);
+            profilesUpdated = now;
+        }
+        return profiles;
+    }
+
+    private Map<Long, PoolDemandProfile> learnProfiles(final List<NodePool> pools, final LocalDateTime now) {
+        final int historyDays = preferenceManager.getPreference(SystemPreferences.CLUSTER_POOL_FORECAST_HISTORY_DAYS);
+        final int slotMinutes = preferenceManager.getPreference(SystemPreferences.CLUSTER_POOL_FORECAST_SLOT_MINUTES);
+        final int percentile = preferenceManager.getPreference(SystemPreferences.CLUSTER_POOL_FORECAST_PERCENTILE);
+        final LocalDateTime to = now.truncatedTo(ChronoUnit.DAYS);
+        final LocalDateTime from = to.minusDays(historyDays);
+        final List<NodePool> orderedPools = order(pools);
+        final Map<Long, List<RunInterval>> history = new HashMap<>();
+        ListUtils.emptyIfNull(pipelineRunManager.loadRunsActiveInPeriod(from, to))
+                .stream()
+                .filter(run -> run.getStartDate() != null)
+                .forEach(run -> findPool(orderedPools, run).ifPresent(pool ->
+                        history.computeIfAbsent(pool.getId(), id -> new ArrayList<>()).add(toInterval(run))));
+        final Map<Long, PoolDemandProfile> learned = pools.stream()
+                .collect(Collectors.toMap(NodePool::getId, pool -> PoolDemandProfile.learn(
+                        history.getOrDefault(pool.getId(), Collections.emptyList()),
+                        from, to, slotMinutes, percentile), (first, second) -> first));
+        log.debug("Learned demand profiles of {} pool(s) from {} run(s) since {}.", learned.size(),
+                history.values().stream().mapToInt(List::size).sum(), from);
+        return learned;
+    }
+
+    private Optional<NodePool> findPool(final List<NodePool> pools, final PipelineRun run) {
+        return pools.stream()
+                .filter(pool -> matchesInstance(pool, run.getInstance()))
+                .filter(pool -> reassignHandler.matchesPoolFilter(pool, run))
+                .findFirst();
+    }
+
+    static boolean matchesInstance(final NodePool pool, final RunInstance instance) {
+        return instance != null
+                && Objects.equals(pool.getInstanceType(), instance.getNodeType())
+                && Objects.equals(pool.getRegionId(), instance.getCloudRegionId())
+                && PriceType.SPOT.equals(pool.getPriceType()) == BooleanUtils.isTrue(instance.getSpot())
+                && (instance.getNodeDisk() == null || instance.getNodeDisk() <= pool.getInstanceDisk());
+    }
+
+    private static List<NodePool> order(final List<NodePool> pools) {
+        return pools.stream()
+                .sorted(Comparator.comparing(NodePool::getId))
+                .collect(Collectors.toList());
+    }
+
+    private static Long getRunId(final Pod pod) {
+        final String runId = MapUtils.emptyIfNull(pod.getMetadata().getLabels())
+                .get(KubernetesConstants.RUN_ID_LABEL);
+        return NumberUtils.isDigits(runId) ? Long.parseLong(runId) : null;
+    }
+
+    private static RunInterval toInterval(final PipelineRun run) {
+        return new RunInterval(toUTC(run.getStartDate()), toUTC(run.getEndDate()));
+    }
+
+    private static LocalDateTime toUTC(final Date date) {
+        return Optional.ofNullable(date)
+                .map(value -> LocalDateTime.ofInstant(value.toInstant(), ZoneOffset.UTC))
+                .orElse(null);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.cluster.autoscale.pool;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Expected number of simultaneously running runs of a node pool per time of day slot.
+ *
+ * A profile is learned from runs executed during the whole days of a history period: for each day the number of runs
+ * active during each slot is counted and the demand of a slot is a percentile of its daily values.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PoolDemandProfile {
+
+    private static final int MINUTES_PER_HOUR = 60;
+    private static final int MINUTES_PER_DAY = 24 * MINUTES_PER_HOUR;
+    private static final double PERCENT = 100.0;
+
+    private final int slotMinutes;
+    private final double[] demand;
+
+    public static PoolDemandProfile empty(final int slotMinutes) {
+        return new PoolDemandProfile(slotMinutes, new double[getSlotsPerDay(slotMinutes)]);
+    }
+
+    /**
+     * @param runs runs executed during the history period
+     * @param from history period start, truncated to the start of a day
+     * @param to history period end, truncated to the start of a day
+     * @param slotMinutes duration of a time of day slot
+     * @param percentile percentile of daily values used as a slot demand
+     */
+    public static PoolDemandProfile learn(final List<RunInterval> runs, final LocalDateTime from,
+                                          final LocalDateTime to, final int slotMinutes, final double percentile) {
+        final LocalDateTime start = from.truncatedTo(ChronoUnit.DAYS);
+        final LocalDateTime end = to.truncatedTo(ChronoUnit.DAYS);
+        final int days = (int) Math.max(0, ChronoUnit.DAYS.between(start, end));
+        final int slotsPerDay = getSlotsPerDay(slotMinutes);
+        if (days == 0) {
+            return empty(slotMinutes);
+        }
+        final int[] changes = new int[days * slotsPerDay + 1];
+        for (final RunInterval run : runs) {
+            final LocalDateTime runStart = max(run.getStart(), start);
+            final LocalDateTime runEnd = Optional.ofNullable(run.getEnd())
+                    .filter(date -> date.isBefore(end))
+                    .orElse(end);
+            if (!runEnd.isAfter(runStart)) {
+                continue;
+            }
+            changes[getSlot(start, runStart, slotMinutes, slotsPerDay)]++;
+            changes[getSlot(start, runEnd.minusNanos(1), slotMinutes, slotsPerDay) + 1]--;
+        }
+        final int[][] daily = new int[slotsPerDay][days];
+        int active = 0;
+        for (int slot = 0; slot < days * slotsPerDay; slot++) {
+            active += changes[slot];
+            daily[slot % slotsPerDay][slot / slotsPerDay] = active;
+        }
+        final double[] demand = new double[slotsPerDay];
+        for (int slot = 0; slot < slotsPerDay; slot++) {
+            demand[slot] = percentile(daily[slot], percentile);
+        }
+        return new PoolDemandProfile(slotMinutes, demand);
+    }
+
+    public double getDemand(final LocalDateTime timestamp) {
+        return demand[getSlotOfDay(timestamp)];
+    }
+
+    /**
+     * @return maximum demand of slots between {@code from} and {@code to} inclusively,
+     * only the slots starting at {@code active} timestamps are taken into account
+     */
+    public double getPeakDemand(final LocalDateTime from, final LocalDateTime to,
+                                final Predicate<LocalDateTime> active) {
+        double peak = 0;
+        for (LocalDateTime timestamp = from; !timestamp.isAfter(to); timestamp = timestamp.plusMinutes(slotMinutes)) {
+            if (active.test(timestamp)) {
+                peak = Math.max(peak, getDemand(timestamp));
+            }
+        }
+        if (active.test(to)) {
+            peak = Math.max(peak, getDemand(to));
+        }
+        return peak;
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolDemandProfile{slotMinutes=" + slotMinutes + ", demand=" + Arrays.toString(demand) + '}';
+    }
+
+    private int getSlotOfDay(final LocalDateTime timestamp) {
+        return (timestamp.getHour() * MINUTES_PER_HOUR + timestamp.getMinute()) / slotMinutes;
+    }
+
+    private static int getSlot(final LocalDateTime start, final LocalDateTime timestamp,
+                               final int slotMinutes, final int slotsPerDay) {
+        final int day = (int) ChronoUnit.DAYS.between(start, timestamp);
+        return day * slotsPerDay + (timestamp.getHour() * MINUTES_PER_HOUR + timestamp.getMinute()) / slotMinutes;
+    }
+
+    private static int getSlotsPerDay(final int slotMinutes) {
+        return (MINUTES_PER_DAY + slotMinutes - 1) / slotMinutes;
+    }
+
+    private static double percentile(final int[] values, final double percentile) {
+        final int[] sorted = Arrays.copyOf(values, values.length);
+        Arrays.sort(sorted);
+        final int rank = (int) Math.ceil(percentile / PERCENT * sorted.length);
+        return sorted[Math.min(sorted.length, Math.max(rank, 1)) - 1];
+    }
+
+    private static LocalDateTime max(final LocalDateTime first, final LocalDateTime second) {
+        return first.isAfter(second) ? first : second;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.cluster.autoscale.pool;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Result of a node pool scaling policy replay by {@link PoolScalingSimulator}.
+ */
+@Value
+@Builder
+public class PoolScalingReport {
+    private final String policy;
+    private final int runs;
+    /**
+     * Number of runs, that were not served by the pool in time and were launched on dedicated nodes
+     */
+    private final int coldStarts;
+    private final double averageWaitSeconds;
+    private final long maxWaitSeconds;
+    private final double poolNodeHours;
+    private final double idleNodeHours;
+    private final double idleCost;
+
+    @Override
+    public String toString() {
+        return String.format("%s: runs=%d, cold starts=%d, average wait=%.1f s, max wait=%d s, "
+                        + "pool node hours=%.1f, idle node hours=%.1f, idle cost=%.2f",
+                policy, runs, coldStarts, averageWaitSeconds, maxWaitSeconds, poolNodeHours, idleNodeHours,
+                idleCost);
+    }
+}
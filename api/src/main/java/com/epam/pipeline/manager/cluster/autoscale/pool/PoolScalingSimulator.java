@@ -0,0 +1,170 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.cluster.autoscale.pool;
+
+import com.epam.pipeline.entity.cluster.pool.NodePool;
+import lombok.AllArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Offline evaluation harness for node pool scaling policies. Replays recorded runs against a single pool
+ * with the autoscaler cycle granularity and reports runs queue wait time versus idle pool nodes cost.
+ *
+ * Replay model:
+ * - a run waits for a free pool node, if none becomes free during {@code provisioningTime},
+ * the run is launched on a dedicated node (cold start), so no run waits longer than {@code provisioningTime};
+ * - a pool node becomes available {@code provisioningTime} after the pool size is increased;
+ * - on the pool size decrease only free nodes are terminated, the nodes being provisioned first;
+ * - all pool nodes are billed, the nodes, that are not occupied by runs, are considered idle.
+ */
+public class PoolScalingSimulator {
+
+    private static final double SECONDS_PER_HOUR = 3600.0;
+
+    private final Duration cycle;
+    private final Duration provisioningTime;
+    private final double nodePricePerHour;
+
+    public PoolScalingSimulator(final Duration cycle, final Duration provisioningTime,
+                                final double nodePricePerHour) {
+        this.cycle = cycle;
+        this.provisioningTime = provisioningTime;
+        this.nodePricePerHour = nodePricePerHour;
+    }
+
+    /**
+     * Replays runs started in [{@code from}, {@code to}) against a copy of a pool.
+     */
+    public PoolScalingReport simulate(final String name, final NodePool pool, final PoolScalingPolicy policy,
+                                      final List<RunInterval> history, final LocalDateTime from,
+                                      final LocalDateTime to) {
+        final NodePool state = copy(pool);
+        final Deque<RunInterval> arrivals = history.stream()
+                .filter(run -> !run.getStart().isBefore(from) && run.getStart().isBefore(to))
+                .sorted(Comparator.comparing(RunInterval::getStart))
+                .collect(Collectors.toCollection(ArrayDeque::new));
+        final Deque<RunInterval> queue = new ArrayDeque<>();
+        final List<SimulatedNode> nodes = new ArrayList<>();
+        for (int i = 0; i < state.getCount(); i++) {
+            nodes.add(new SimulatedNode(from, null));
+        }
+        final int runs = arrivals.size();
+        int coldStarts = 0;
+        long totalWait = 0;
+        long maxWait = 0;
+        long poolNodeSeconds = 0;
+        long busyNodeSeconds = 0;
+        for (LocalDateTime now = from; now.isBefore(to) || !queue.isEmpty(); now = now.plus(cycle)) {
+            final LocalDateTime timestamp = now;
+            nodes.stream()
+                    .filter(node -> node.busyUntil != null && !node.busyUntil.isAfter(timestamp))
+                    .forEach(node -> node.busyUntil = null);
+            while (!arrivals.isEmpty() && !arrivals.peek().getStart().isAfter(now)) {
+                queue.add(arrivals.poll());
+            }
+            final Iterator<RunInterval> queued = queue.iterator();
+            while (queued.hasNext()) {
+                final RunInterval run = queued.next();
+                final long wait = Duration.between(run.getStart(), now).getSeconds();
+                final Optional<SimulatedNode> freeNode = nodes.stream()
+                        .filter(node -> node.isFree(timestamp))
+                        .findFirst();
+                if (freeNode.isPresent()) {
+                    freeNode.get().busyUntil = now.plus(getDuration(run, to));
+                } else if (wait >= provisioningTime.getSeconds()) {
+                    coldStarts++;
+                } else {
+                    continue;
+                }
+                final long servedWait = Math.min(wait, provisioningTime.getSeconds());
+                totalWait += servedWait;
+                maxWait = Math.max(maxWait, servedWait);
+                queued.remove();
+            }
+            final long occupied = nodes.stream().filter(node -> node.busyUntil != null).count();
+            final int target = policy.getTargetSize(state, new PoolUsage(now, occupied, queue.size()));
+            resize(nodes, target, now);
+            state.setCount(nodes.size());
+            poolNodeSeconds += nodes.size() * cycle.getSeconds();
+            busyNodeSeconds += occupied * cycle.getSeconds();
+        }
+        final double idleNodeHours = (poolNodeSeconds - busyNodeSeconds) / SECONDS_PER_HOUR;
+        return PoolScalingReport.builder()
+                .policy(name)
+                .runs(runs)
+                .coldStarts(coldStarts)
+                .averageWaitSeconds(runs == 0 ? 0 : (double) totalWait / runs)
+                .maxWaitSeconds(maxWait)
+                .poolNodeHours(poolNodeSeconds / SECONDS_PER_HOUR)
+                .idleNodeHours(idleNodeHours)
+                .idleCost(idleNodeHours * nodePricePerHour)
+                .build();
+    }
+
+    private void resize(final List<SimulatedNode> nodes, final int target, final LocalDateTime now) {
+        while (nodes.size() < target) {
+            nodes.add(new SimulatedNode(now.plus(provisioningTime), null));
+        }
+        if (nodes.size() > target) {
+            final List<SimulatedNode> removable = nodes.stream()
+                    .filter(node -> node.busyUntil == null)
+                    .sorted(Comparator.comparing((SimulatedNode node) -> node.readyAt).reversed())
+                    .limit(nodes.size() - target)
+                    .collect(Collectors.toList());
+            nodes.removeAll(removable);
+        }
+    }
+
+    private static Duration getDuration(final RunInterval run, final LocalDateTime to) {
+        return Duration.between(run.getStart(), Optional.ofNullable(run.getEnd()).orElse(to));
+    }
+
+    private static NodePool copy(final NodePool pool) {
+        final NodePool copy = new NodePool();
+        copy.setId(pool.getId());
+        copy.setCount(pool.getCount());
+        copy.setSchedule(pool.getSchedule());
+        copy.setAutoscaled(pool.isAutoscaled());
+        copy.setMinSize(pool.getMinSize());
+        copy.setMaxSize(pool.getMaxSize());
+        copy.setScaleUpThreshold(pool.getScaleUpThreshold());
+        copy.setScaleDownThreshold(pool.getScaleDownThreshold());
+        copy.setScaleStep(pool.getScaleStep());
+        return copy;
+    }
+
+    @AllArgsConstructor
+    private static final class SimulatedNode {
+        private final LocalDateTime readyAt;
+        private LocalDateTime busyUntil;
+
+        private boolean isFree(final LocalDateTime now) {
+            return busyUntil == null && !readyAt.isAfter(now);
+        }
+    }
+}
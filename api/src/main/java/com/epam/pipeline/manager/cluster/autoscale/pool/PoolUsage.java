@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.cluster.autoscale.pool;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Node pool state observed by the autoscaler.
+ */
+@Value
+public class PoolUsage {
+    private final LocalDateTime timestamp;
+    /**
+     * Number of pool nodes occupied by runs
+     */
+    private final long occupiedNodes;
+    /**
+     * Number of runs matching the pool, that are waiting for a node
+     */
+    private final long queuedRuns;
+}
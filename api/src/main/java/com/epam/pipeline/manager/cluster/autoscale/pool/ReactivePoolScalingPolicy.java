@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.cluster.autoscale.pool;
+
+import com.epam.pipeline.entity.cluster.pool.NodePool;
+import com.epam.pipeline.utils.DoubleUtils;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Changes a pool size by {@code scaleStep} nodes when pool occupancy exceeds {@code scaleUpThreshold}
+ * or falls below {@code scaleDownThreshold}.
+ */
+@Slf4j
+public class ReactivePoolScalingPolicy implements PoolScalingPolicy {
+
+    public static final int PERCENT_MULTIPLIER = 100;
+
+    @Override
+    public int getTargetSize(final NodePool pool, final PoolUsage usage) {
+        final double occupiedPercent = pool.getCount() == 0 ? PERCENT_MULTIPLIER :
+                (double) usage.getOccupiedNodes() / pool.getCount() * PERCENT_MULTIPLIER;
+        log.debug("{} occupied node(s) match pool[{}] with total size {}, {}% is occupied",
+                usage.getOccupiedNodes(), pool.getId(), pool.getCount(), occupiedPercent);
+
+        if (pool.getCount() < pool.getMaxSize() &&
+                DoubleUtils.compare(occupiedPercent, pool.getScaleUpThreshold()) > 0) {
+            return Math.min(pool.getMaxSize(), pool.getCount() + pool.getScaleStep());
+        }
+        if (pool.getCount() > pool.getMinSize() &&
+                DoubleUtils.compare(occupiedPercent, pool.getScaleDownThreshold()) < 0) {
+            return Math.max(pool.getMinSize(), pool.getCount() - pool.getScaleStep());
+        }
+        return pool.getCount();
+    }
+}
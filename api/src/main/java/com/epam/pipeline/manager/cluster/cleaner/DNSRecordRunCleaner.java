@@ -86,7 +86,17 @@ public class DNSRecordRunCleaner implements RunCleaner {
 
     @Override
     public void cleanResources(final Long runId) {
-        log.error("Clearing resource via runId is not supported.");
+        log.debug("DNS records of run {} can't be removed since the run doesn't exist anymore.", runId);
+    }
+
+    @Override
+    public boolean isApplicable(final PipelineRun run) {
+        return !StringUtils.isEmpty(run.getServiceUrl());
+    }
+
+    @Override
+    public boolean supportsRunId() {
+        return false;
     }
 
     private static String unify(final String url) {
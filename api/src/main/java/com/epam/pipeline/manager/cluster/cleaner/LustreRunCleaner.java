@@ -16,7 +16,6 @@
 package com.epam.pipeline.manager.cluster.cleaner;
 
 import com.epam.pipeline.entity.pipeline.PipelineRun;
-import com.epam.pipeline.exception.datastorage.exception.LustreFSException;
 import com.epam.pipeline.manager.datastorage.lustre.LustreFSManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -48,12 +47,7 @@ public class LustreRunCleaner implements RunCleaner {
 
     private void deleteLustreFs(final Long runId) {
         log.debug("Clearing lustre fs for run {}.", runId);
-        try {
-            lustreFSManager.deleteLustreFs(runId);
-        } catch (LustreFSException e) {
-            log.error("Failed to clean up lustre for run {}.", runId);
-            log.error(e.getMessage(), e);
-        }
+        lustreFSManager.deleteLustreFsIfExists(runId);
     }
 
     private boolean isLustreRequested(PipelineRun run) {
@@ -21,4 +21,19 @@ public interface RunCleaner {
 
     void cleanResources(PipelineRun run);
     void cleanResources(Long runId);
+
+    /**
+     * @return false if the cleaner has nothing to clean up for the given run, so its clean up is not enqueued
+     */
+    default boolean isApplicable(PipelineRun run) {
+        return true;
+    }
+
+    /**
+     * @return false if the cleaner can't clean up resources of a run which doesn't exist anymore,
+     * so its clean ups are not enqueued by a run id only and are skipped if the run is deleted meanwhile
+     */
+    default boolean supportsRunId() {
+        return true;
+    }
 }
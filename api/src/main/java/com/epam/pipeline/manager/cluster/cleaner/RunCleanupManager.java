@@ -0,0 +1,282 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.cluster.cleaner;
+
+import com.epam.pipeline.dao.cluster.RunCleanupTaskDao;
+import com.epam.pipeline.dao.pipeline.PipelineRunDao;
+import com.epam.pipeline.entity.cluster.RunCleanupTask;
+import com.epam.pipeline.entity.pipeline.PipelineRun;
+import com.epam.pipeline.entity.utils.DateUtils;
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.core.SchedulerLock;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Persistent queue of run resources clean ups performed by {@link RunCleaner}s.
+ *
+ * Monitoring jobs only enqueue a task per cleaner for a finished run, while the clean ups are performed by
+ * {@link #processQueue()} on a separate bounded pool. The number of simultaneous clean ups is limited both in total
+ * ({@code cluster.run.cleanup.threads}) and per cleaner ({@code cluster.run.cleanup.cleaner.threads}),
+ * so a slow cleaner can't occupy all threads. Failed clean ups are retried with an exponential backoff starting
+ * from {@code cluster.run.cleanup.retry.delay} ms up to {@code cluster.run.cleanup.max.attempts} times. Clean ups
+ * which cleaners have nothing to do with are not enqueued, see {@link RunCleaner#isApplicable(PipelineRun)}
+ * and {@link RunCleaner#supportsRunId()}.
+ *
+ * {@link #processQueue()} returns only after all clean ups it has started are finished, so its scheduler lock
+ * keeps other API instances from processing the same tasks meanwhile.
+ */
+@Slf4j
+@Service
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+public class RunCleanupManager {
+
+    private static final long THREAD_KEEP_ALIVE_SECONDS = 60L;
+    private static final int MAX_BACKOFF_SHIFT = 30;
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    private final RunCleanupTaskDao runCleanupTaskDao;
+    private final PipelineRunDao pipelineRunDao;
+    private final PreferenceManager preferenceManager;
+    private final Map<String, RunCleaner> cleaners;
+    private final Map<String, AtomicInteger> activeCleanerTasks = new ConcurrentHashMap<>();
+    private final Set<Long> activeTasks = ConcurrentHashMap.newKeySet();
+    private final RunCleanupMetrics metrics;
+    private final ThreadPoolExecutor executor;
+
+    @Autowired
+    public RunCleanupManager(final RunCleanupTaskDao runCleanupTaskDao,
+                             final PipelineRunDao pipelineRunDao,
+                             final PreferenceManager preferenceManager,
+                             final RunCleanupMetrics metrics,
+                             final List<RunCleaner> cleaners) {
+        this.runCleanupTaskDao = runCleanupTaskDao;
+        this.pipelineRunDao = pipelineRunDao;
+        this.preferenceManager = preferenceManager;
+        this.metrics = metrics;
+        this.cleaners = ListUtils.emptyIfNull(cleaners).stream()
+                .collect(Collectors.toMap(RunCleanupManager::getCleanerName, Function.identity()));
+        final int threads = preferenceManager.getPreference(SystemPreferences.CLUSTER_RUN_CLEANUP_THREADS);
+        this.executor = new ThreadPoolExecutor(threads, threads, THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Enqueues clean up of all run resources. Clean up of a run, that doesn't exist anymore at the moment
+     * of processing, is performed by its id only.
+     */
+    public void enqueue(final PipelineRun run) {
+        enqueue(run.getId(), cleaner -> cleaner.isApplicable(run));
+    }
+
+    public void enqueue(final Long runId) {
+        enqueue(runId, RunCleaner::supportsRunId);
+    }
+
+    private void enqueue(final Long runId, final Predicate<RunCleaner> applicable) {
+        final List<String> applicableCleaners = cleaners.entrySet().stream()
+                .filter(entry -> applicable.test(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        if (applicableCleaners.isEmpty()) {
+            return;
+        }
+        log.debug("Enqueueing resources clean up for run {}.", runId);
+        final LocalDateTime now = DateUtils.nowUTC();
+        runCleanupTaskDao.createTasks(applicableCleaners.stream()
+                .map(cleaner -> RunCleanupTask.builder()
+                        .runId(runId)
+                        .cleaner(cleaner)
+                        .created(now)
+                        .nextAttempt(now)
+                        .build())
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Performs up to {@code cluster.run.cleanup.batch.size} due clean ups. Free threads are refilled with due tasks
+     * as soon as clean ups finish, the method returns once all started clean ups are finished.
+     */
+    @SchedulerLock(name = "RunCleanupManager_processQueue", lockAtMostForString = "PT30M")
+    public void processQueue() {
+        final int threads = preferenceManager.getPreference(SystemPreferences.CLUSTER_RUN_CLEANUP_THREADS);
+        final int cleanerThreads = preferenceManager.getPreference(
+                SystemPreferences.CLUSTER_RUN_CLEANUP_CLEANER_THREADS);
+        final int batchSize = preferenceManager.getPreference(SystemPreferences.CLUSTER_RUN_CLEANUP_BATCH_SIZE);
+        resizeExecutor(threads);
+        final CompletionService<Void> completion = new ExecutorCompletionService<>(executor);
+        int submitted = submitDueTasks(completion, threads, cleanerThreads, batchSize);
+        int running = submitted;
+        try {
+            while (running > 0) {
+                completion.take();
+                running--;
+                final int started = submitDueTasks(completion, threads, cleanerThreads, batchSize - submitted);
+                submitted += started;
+                running += started;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Run resources clean up queue processing was interrupted.");
+        }
+        metrics.backlog(runCleanupTaskDao.countTasks());
+        log.debug("Run resources clean up queue: {}.", metrics);
+    }
+
+    public RunCleanupMetrics getMetrics() {
+        return metrics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private int submitDueTasks(final CompletionService<Void> completion, final int threads,
+                               final int cleanerThreads, final int limit) {
+        if (limit <= 0 || activeTasks.size() >= threads) {
+            return 0;
+        }
+        int started = 0;
+        final List<RunCleanupTask> tasks = runCleanupTaskDao.loadDueTasks(DateUtils.nowUTC(),
+                limit + activeTasks.size());
+        for (final RunCleanupTask task : tasks) {
+            if (activeTasks.size() >= threads || started >= limit) {
+                break;
+            }
+            if (activeTasks.contains(task.getId())) {
+                continue;
+            }
+            final RunCleaner cleaner = cleaners.get(task.getCleaner());
+            if (cleaner == null) {
+                log.warn("Dropping resources clean up of run {} by unknown cleaner {}.",
+                        task.getRunId(), task.getCleaner());
+                runCleanupTaskDao.deleteTask(task.getId());
+                continue;
+            }
+            final AtomicInteger cleanerTasks = activeCleanerTasks.computeIfAbsent(task.getCleaner(),
+                key -> new AtomicInteger());
+            if (cleanerTasks.get() >= cleanerThreads) {
+                continue;
+            }
+            cleanerTasks.incrementAndGet();
+            activeTasks.add(task.getId());
+            metrics.started();
+            completion.submit(() -> cleanUp(task, cleaner, cleanerTasks), null);
+            started++;
+        }
+        return started;
+    }
+
+    private void cleanUp(final RunCleanupTask task, final RunCleaner cleaner, final AtomicInteger cleanerTasks) {
+        try {
+            log.debug("Clearing resources for run {} by {}.", task.getRunId(), task.getCleaner());
+            final PipelineRun run = pipelineRunDao.loadPipelineRun(task.getRunId());
+            if (run != null) {
+                cleaner.cleanResources(run);
+            } else if (cleaner.supportsRunId()) {
+                cleaner.cleanResources(task.getRunId());
+            } else {
+                log.debug("Skipping resources clean up for run {} by {} since the run doesn't exist anymore.",
+                        task.getRunId(), task.getCleaner());
+            }
+            runCleanupTaskDao.deleteTask(task.getId());
+            metrics.completed(ChronoUnit.MILLIS.between(task.getCreated(), DateUtils.nowUTC()));
+        } catch (Exception e) {
+            handleFailure(task, e);
+        } finally {
+            cleanerTasks.decrementAndGet();
+            activeTasks.remove(task.getId());
+            metrics.finished();
+        }
+    }
+
+    private void handleFailure(final RunCleanupTask task, final Exception error) {
+        final int attempts = task.getAttempts() + 1;
+        final int maxAttempts = preferenceManager.getPreference(SystemPreferences.CLUSTER_RUN_CLEANUP_MAX_ATTEMPTS);
+        try {
+            if (attempts >= maxAttempts) {
+                log.error("Failed to clean up resources for run {} by {} after {} attempts.",
+                        task.getRunId(), task.getCleaner(), attempts, error);
+                runCleanupTaskDao.deleteTask(task.getId());
+                metrics.failed();
+                return;
+            }
+            final long delay = getRetryDelay(attempts,
+                    preferenceManager.getPreference(SystemPreferences.CLUSTER_RUN_CLEANUP_RETRY_DELAY),
+                    preferenceManager.getPreference(SystemPreferences.CLUSTER_RUN_CLEANUP_MAX_RETRY_DELAY));
+            log.warn("Failed to clean up resources for run {} by {}, attempt {} will be performed in {} ms: {}",
+                    task.getRunId(), task.getCleaner(), attempts + 1, delay, error.getMessage());
+            task.setAttempts(attempts);
+            task.setNextAttempt(DateUtils.nowUTC().plus(delay, ChronoUnit.MILLIS));
+            task.setLastError(StringUtils.abbreviate(
+                    Optional.ofNullable(error.getMessage()).orElseGet(error::toString), MAX_ERROR_LENGTH));
+            runCleanupTaskDao.updateTask(task);
+            metrics.retried();
+        } catch (Exception e) {
+            log.error("Failed to reschedule resources clean up for run {} by {}.",
+                    task.getRunId(), task.getCleaner(), e);
+        }
+    }
+
+    private void resizeExecutor(final int threads) {
+        if (threads > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(threads);
+            executor.setCorePoolSize(threads);
+        } else if (threads < executor.getMaximumPoolSize()) {
+            executor.setCorePoolSize(threads);
+            executor.setMaximumPoolSize(threads);
+        }
+    }
+
+    /**
+     * @return delay before the next attempt, that doubles with each failed attempt up to {@code maxDelay}
+     */
+    static long getRetryDelay(final int attempts, final long initialDelay, final long maxDelay) {
+        final int shift = Math.min(Math.max(attempts - 1, 0), MAX_BACKOFF_SHIFT);
+        return initialDelay > maxDelay >> shift ? maxDelay : Math.min(initialDelay << shift, maxDelay);
+    }
+
+    static String getCleanerName(final RunCleaner cleaner) {
+        return ClassUtils.getUserClass(cleaner).getSimpleName();
+    }
+}
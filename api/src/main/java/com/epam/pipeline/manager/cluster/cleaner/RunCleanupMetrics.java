@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.cluster.cleaner;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of the run resources clean up queue processed by {@link RunCleanupManager}
+ * exposed by actuator metrics endpoint.
+ */
+@Component
+public class RunCleanupMetrics implements PublicMetrics {
+
+    private static final String PREFIX = "cluster.run.cleanup.";
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong activeCleanups = new AtomicLong();
+    private final AtomicLong completedCleanups = new AtomicLong();
+    private final AtomicLong retriedCleanups = new AtomicLong();
+    private final AtomicLong failedCleanups = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    void backlog(final long size) {
+        backlog.set(size);
+    }
+
+    void started() {
+        activeCleanups.incrementAndGet();
+    }
+
+    void finished() {
+        activeCleanups.decrementAndGet();
+    }
+
+    void completed(final long latencyMillis) {
+        completedCleanups.incrementAndGet();
+        totalLatency.addAndGet(latencyMillis);
+        maxLatency.accumulateAndGet(latencyMillis, Math::max);
+    }
+
+    void retried() {
+        retriedCleanups.incrementAndGet();
+    }
+
+    void failed() {
+        failedCleanups.incrementAndGet();
+    }
+
+    /**
+     * @return number of queued clean up tasks at the moment of the latest queue poll
+     */
+    public long getBacklog() {
+        return backlog.get();
+    }
+
+    public long getActiveCleanups() {
+        return activeCleanups.get();
+    }
+
+    public long getCompletedCleanups() {
+        return completedCleanups.get();
+    }
+
+    public long getRetriedCleanups() {
+        return retriedCleanups.get();
+    }
+
+    /**
+     * @return number of clean up tasks dropped after all attempts failed
+     */
+    public long getFailedCleanups() {
+        return failedCleanups.get();
+    }
+
+    /**
+     * @return average time between a clean up enqueueing and its successful completion
+     */
+    public long getAverageLatencyMillis() {
+        final long completed = completedCleanups.get();
+        return completed == 0 ? 0 : totalLatency.get() / completed;
+    }
+
+    public long getMaxLatencyMillis() {
+        return maxLatency.get();
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        return Arrays.asList(
+                new Metric<>(PREFIX + "backlog", getBacklog()),
+                new Metric<>(PREFIX + "active", getActiveCleanups()),
+                new Metric<>(PREFIX + "completed", getCompletedCleanups()),
+                new Metric<>(PREFIX + "retried", getRetriedCleanups()),
+                new Metric<>(PREFIX + "failed", getFailedCleanups()),
+                new Metric<>(PREFIX + "latency.average", getAverageLatencyMillis()),
+                new Metric<>(PREFIX + "latency.max", getMaxLatencyMillis()));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("backlog=%d, active=%d, completed=%d, retried=%d, failed=%d, "
+                        + "average latency=%d ms, max latency=%d ms",
+                getBacklog(), getActiveCleanups(), getCompletedCleanups(), getRetriedCleanups(),
+                getFailedCleanups(), getAverageLatencyMillis(), getMaxLatencyMillis());
+    }
+}
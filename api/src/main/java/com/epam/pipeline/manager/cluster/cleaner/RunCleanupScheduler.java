@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.cluster.cleaner;
+
+import com.epam.pipeline.manager.preference.SystemPreferences;
+import com.epam.pipeline.manager.scheduling.AbstractSchedulingManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * A class, that schedules processing of the run resources clean up queue
+ */
+@Service
+@RequiredArgsConstructor
+public class RunCleanupScheduler extends AbstractSchedulingManager {
+
+    private final RunCleanupManager runCleanupManager;
+
+    @PostConstruct
+    public void init() {
+        scheduleFixedDelay(runCleanupManager::processQueue, SystemPreferences.CLUSTER_RUN_CLEANUP_RATE,
+                "Run Resources Clean Up");
+    }
+}
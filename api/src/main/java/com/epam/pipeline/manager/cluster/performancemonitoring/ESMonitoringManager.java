@@ -32,17 +32,25 @@ import com.epam.pipeline.manager.preference.PreferenceManager;
 import com.epam.pipeline.manager.preference.SystemPreferences;
 import com.epam.pipeline.utils.CommonUtils;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
-import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -57,6 +65,7 @@ public class ESMonitoringManager implements UsageMonitoringManager {
     private static final int FALLBACK_INTERVALS_NUMBER = 10;
     private static final int TWO = 2;
     private static final String SWAP_FILESYSTEM = "tmpfs";
+    private static final int REPORT_CHUNK_INTERVALS = 1000;
 
     private final RestHighLevelClient client;
     private final MonitoringESDao monitoringDao;
@@ -64,19 +73,22 @@ public class ESMonitoringManager implements UsageMonitoringManager {
     private final PreferenceManager preferenceManager;
     private final NodesManager nodesManager;
     private final Map<MonitoringReportType, AbstractMonitoringStatsWriter> statsWriters;
+    private final Executor monitoringExecutor;
 
     public ESMonitoringManager(final RestHighLevelClient client,
                                final MonitoringESDao monitoringDao,
                                final MessageHelper messageHelper,
                                final PreferenceManager preferenceManager,
                                final NodesManager nodesManager,
-                               final List<AbstractMonitoringStatsWriter> writers) {
+                               final List<AbstractMonitoringStatsWriter> writers,
+                               @Qualifier("monitoringExecutor") final Executor monitoringExecutor) {
         this.client = client;
         this.monitoringDao = monitoringDao;
         this.messageHelper = messageHelper;
         this.preferenceManager = preferenceManager;
         this.nodesManager = nodesManager;
         this.statsWriters = CommonUtils.groupByKey(writers, AbstractMonitoringStatsWriter::getReportType);
+        this.monitoringExecutor = monitoringExecutor;
     }
 
     @Override
@@ -93,11 +105,13 @@ public class ESMonitoringManager implements UsageMonitoringManager {
     }
 
     @Override
-    public InputStream getStatsForNodeAsInputStream(final String nodeName,
-                                                    final LocalDateTime from,
-                                                    final LocalDateTime to,
-                                                    final Duration interval,
-                                                    final MonitoringReportType type) {
+    public void writeStatsForNode(final String nodeName,
+                                  final LocalDateTime from,
+                                  final LocalDateTime to,
+                                  final Duration interval,
+                                  final MonitoringReportType type,
+                                  final OutputStream outputStream) {
+        final AbstractMonitoringStatsWriter statsWriter = getStatsWriter(type);
         final LocalDateTime requestedStart = Optional.ofNullable(from).orElseGet(() -> creationDate(nodeName));
         final LocalDateTime oldestMonitoring = oldestMonitoringDate();
         final LocalDateTime start = requestedStart.isAfter(oldestMonitoring) ? requestedStart : oldestMonitoring;
@@ -106,10 +120,12 @@ public class ESMonitoringManager implements UsageMonitoringManager {
         final Duration adjustedDuration = interval.compareTo(minDuration) < 0
                                           ? minDuration
                                           : interval;
-        final AbstractMonitoringStatsWriter statsWriter = Optional.ofNullable(statsWriters.get(type))
-            .orElseThrow(() -> new IllegalArgumentException(
-                messageHelper.getMessage(MessageConstants.ERROR_UNSUPPORTED_STATS_FILE_TYPE)));
-        return statsWriter.convertStatsToFile(getStats(nodeName, start, end, adjustedDuration));
+        if (!end.isAfter(start)) {
+            statsWriter.writeStats(Collections.emptyList(), outputStream);
+            return;
+        }
+        statsWriter.writeStats(getStatsInChunks(nodeName, start, end, adjustedDuration),
+                getColumnStats(nodeName, start, end), outputStream);
     }
 
     @Override
@@ -156,26 +172,95 @@ public class ESMonitoringManager implements UsageMonitoringManager {
         return DateUtils.nowUTC().minus(FALLBACK_MONITORING_PERIOD);
     }
 
+    /**
+     * Requests stats lazily in chunks of a limited number of intervals, so only a single chunk is kept in memory
+     * while a report is written. Chunk bounds are aligned to the interval to prevent splitting of histogram buckets.
+     */
+    private Stream<MonitoringStats> getStatsInChunks(final String nodeName, final LocalDateTime start,
+                                                     final LocalDateTime end, final Duration interval) {
+        final long chunkMillis = interval.toMillis() * REPORT_CHUNK_INTERVALS;
+        final List<LocalDateTime> chunkStarts = new ArrayList<>();
+        for (LocalDateTime chunkStart = start; chunkStart.isBefore(end);
+             chunkStart = nextChunkStart(chunkStart, chunkMillis)) {
+            chunkStarts.add(chunkStart);
+        }
+        return chunkStarts.stream()
+                .flatMap(chunkStart -> {
+                    final LocalDateTime chunkEnd = nextChunkStart(chunkStart, chunkMillis);
+                    return getStats(nodeName, chunkStart, chunkEnd.isBefore(end) ? chunkEnd : end, interval)
+                            .stream();
+                });
+    }
+
+    private LocalDateTime nextChunkStart(final LocalDateTime chunkStart, final long chunkMillis) {
+        final long startMillis = chunkStart.toInstant(ZoneOffset.UTC).toEpochMilli();
+        final long nextMillis = (startMillis / chunkMillis + 1) * chunkMillis;
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(nextMillis), ZoneOffset.UTC);
+    }
+
+    /**
+     * Requests disk and network stats for the whole period as a single interval to resolve all the disks and
+     * network interfaces which become report columns before any of the report rows is written.
+     */
+    private List<MonitoringStats> getColumnStats(final String nodeName, final LocalDateTime start,
+                                                 final LocalDateTime end) {
+        final Duration period = Duration.between(start, end);
+        final Duration minDuration = minimalDuration();
+        final Duration interval = period.compareTo(minDuration) < 0 ? minDuration : period;
+        return Stream.of(ELKUsageMetric.FS, ELKUsageMetric.NETWORK)
+                .map(it -> AbstractMetricRequester.getStatsRequester(it, client))
+                .map(it -> CompletableFuture.supplyAsync(() -> it.requestStats(nodeName, start, end, interval),
+                        monitoringExecutor))
+                .collect(Collectors.toList())
+                .stream()
+                .map(this::getRequestResult)
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    private AbstractMonitoringStatsWriter getStatsWriter(final MonitoringReportType type) {
+        return Optional.ofNullable(statsWriters.get(type))
+            .orElseThrow(() -> new IllegalArgumentException(
+                messageHelper.getMessage(MessageConstants.ERROR_UNSUPPORTED_STATS_FILE_TYPE)));
+    }
+
+    /**
+     * Requests all the metrics concurrently and merges them by timestamp as soon as each of
+     * the requests completes. Merged stats are kept ordered by their start time.
+     */
     private List<MonitoringStats> getStats(final String nodeName, final LocalDateTime start, final LocalDateTime end,
                                            final Duration interval) {
-        return Stream.of(MONITORING_METRICS)
+        final List<CompletableFuture<List<MonitoringStats>>> requests = Stream.of(MONITORING_METRICS)
                 .map(it -> AbstractMetricRequester.getStatsRequester(it, client))
-                .map(it -> it.requestStats(nodeName, start, end, interval))
+                .map(it -> CompletableFuture.supplyAsync(() -> it.requestStats(nodeName, start, end, interval),
+                        monitoringExecutor))
+                .collect(Collectors.toList());
+        final Map<LocalDateTime, MonitoringStats> mergedStats = new TreeMap<>();
+        requests.stream()
+                .map(this::getRequestResult)
                 .flatMap(List::stream)
-                .collect(Collectors.groupingBy(MonitoringStats::getStartTime, Collectors.reducing(this::mergeStats)))
-                .values()
+                .forEach(stats -> mergedStats.merge(asMonitoringDateTime(stats.getStartTime()), stats,
+                        this::mergeStats));
+        return mergedStats.values()
                 .stream()
-                .filter(Optional::isPresent)
-                .map(Optional::get)
                 .filter(this::isMonitoringStatsComplete)
                 .map(stats -> statsWithinRegion(stats, start, end, interval))
                 .filter(Optional::isPresent)
                 .map(Optional::get)
-                .sorted(Comparator.comparing(MonitoringStats::getStartTime,
-                        Comparator.comparing(this::asMonitoringDateTime)))
                 .collect(Collectors.toList());
     }
 
+    private List<MonitoringStats> getRequestResult(final CompletableFuture<List<MonitoringStats>> request) {
+        try {
+            return request.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
     private Duration interval(final LocalDateTime start, final LocalDateTime end) {
         final Duration requested = Duration.between(start, end).dividedBy(Math.max(1, numberOfIntervals() - 1));
         final Duration minimal = minimalDuration();
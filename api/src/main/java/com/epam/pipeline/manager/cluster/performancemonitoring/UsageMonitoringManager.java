@@ -20,7 +20,7 @@ import com.epam.pipeline.entity.cluster.monitoring.MonitoringStats;
 import com.epam.pipeline.manager.cluster.MonitoringReportType;
 
 import javax.annotation.Nullable;
-import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -53,19 +53,21 @@ public interface UsageMonitoringManager {
                                           @Nullable LocalDateTime to);
 
     /**
-     * Retrieves monitoring stats for node as input stream.
+     * Writes monitoring stats report for node directly to the given output stream.
      *
      * @param nodeName Cluster node name.
      * @param from Minimal date for collecting stats.
      * @param to Maximal date for collecting stats.
      * @param interval period of stats collecting
-     * @return stream, containing required information in .csv format
+     * @param type report type
+     * @param outputStream stream to write the report to, it is not closed by the method
      */
-    InputStream getStatsForNodeAsInputStream(String nodeName,
-                                             @Nullable LocalDateTime from,
-                                             @Nullable LocalDateTime to,
-                                             Duration interval,
-                                             MonitoringReportType type);
+    void writeStatsForNode(String nodeName,
+                           @Nullable LocalDateTime from,
+                           @Nullable LocalDateTime to,
+                           Duration interval,
+                           MonitoringReportType type,
+                           OutputStream outputStream);
 
     /**
      * Retrieves number of bytes that available on a pod or node disk.
@@ -19,14 +19,19 @@ package com.epam.pipeline.manager.cluster.writer;
 import com.epam.pipeline.entity.cluster.monitoring.MonitoringStats;
 import com.epam.pipeline.manager.cluster.MonitoringReportType;
 import lombok.Value;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -42,25 +47,39 @@ public abstract class AbstractMonitoringStatsWriter {
     private static final String NETWORK_USAGE_OUT_HEADER_TEMPLATE = "%s_out[bytes]";
     private static final double HUNDRED_PERCENTS = 100.0;
 
-    public abstract InputStream convertStatsToFile(List<MonitoringStats> stats);
+    /**
+     * Writes report directly to the given stream. The stream is flushed but not closed.
+     *
+     * @param stats report rows, they are consumed one by one
+     * @param columnStats stats which disks and network interfaces define report columns
+     * @param outputStream stream to write the report to
+     */
+    public abstract void writeStats(Stream<MonitoringStats> stats, List<MonitoringStats> columnStats,
+                                    OutputStream outputStream);
 
     public abstract MonitoringReportType getReportType();
 
-    protected List<String[]> extractTable(final List<MonitoringStats> stats) {
-        final List<String[]> allLines = new ArrayList<>();
-        final MonitoringStatsHeader header = extractHeader(stats);
-        allLines.add(header.getColumnNames().toArray(new String[0]));
-        final List<String[]> entities = stats.stream()
-            .map(stat -> createNewLine(header, stat))
-            .collect(Collectors.toList());
-        allLines.addAll(entities);
-        return allLines;
+    public void writeStats(final List<MonitoringStats> stats, final OutputStream outputStream) {
+        writeStats(stats.stream(), stats, outputStream);
+    }
+
+    /**
+     * Passes report header and then report lines one by one to the consumer
+     * without materializing the whole table. Disk and network columns are omitted if column stats have none.
+     */
+    protected void forEachTableLine(final Stream<MonitoringStats> stats, final List<MonitoringStats> columnStats,
+                                    final Consumer<String[]> lineConsumer) {
+        final MonitoringStatsHeader header = extractHeader(ListUtils.emptyIfNull(columnStats));
+        lineConsumer.accept(header.getColumnNames().toArray(new String[0]));
+        stats.forEach(stat -> lineConsumer.accept(createNewLine(header, stat)));
     }
 
     protected Stream<String> getDiskNamesStream(final List<MonitoringStats> stats) {
         return stats.stream()
             .map(MonitoringStats::getDisksUsage)
+            .filter(Objects::nonNull)
             .map(MonitoringStats.DisksUsage::getStatsByDevices)
+            .filter(Objects::nonNull)
             .map(Map::keySet)
             .flatMap(Set::stream)
             .distinct();
@@ -80,7 +99,9 @@ public abstract class AbstractMonitoringStatsWriter {
             .collect(Collectors.toList());
         final List<String> networkInterfaces = stats.stream()
             .map(MonitoringStats::getNetworkUsage)
+            .filter(Objects::nonNull)
             .map(MonitoringStats.NetworkUsage::getStatsByInterface)
+            .filter(Objects::nonNull)
             .map(Map::keySet)
             .flatMap(Set::stream)
             .distinct()
@@ -119,10 +140,17 @@ public abstract class AbstractMonitoringStatsWriter {
             .mapToObj(i -> StringUtils.EMPTY)
             .collect(Collectors.toList());
         newLine.addAll(newEmptyColumns);
-        stat.getDisksUsage().getStatsByDevices().forEach((diskName, diskStatValue) -> {
+        final Map<String, MonitoringStats.DisksUsage.DiskStats> disksStats = Optional.ofNullable(stat.getDisksUsage())
+            .map(MonitoringStats.DisksUsage::getStatsByDevices)
+            .orElseGet(Collections::emptyMap);
+        disksStats.forEach((diskName, diskStatValue) -> {
+            final int diskIndex = diskNames.indexOf(diskName);
+            if (diskIndex < 0) {
+                return;
+            }
             final long diskCapacity = diskStatValue.getCapacity();
             final double diskUsage = HUNDRED_PERCENTS * diskStatValue.getUsableSpace() / diskCapacity;
-            final int columnIndex = COMMON_STATS_HEADER.size() + 2 * diskNames.indexOf(diskName);
+            final int columnIndex = COMMON_STATS_HEADER.size() + 2 * diskIndex;
             newLine.set(columnIndex, Long.toString(diskCapacity));
             newLine.set(columnIndex + 1, Double.toString(diskUsage));
         });
@@ -136,9 +164,16 @@ public abstract class AbstractMonitoringStatsWriter {
             .mapToObj(i -> StringUtils.EMPTY)
             .collect(Collectors.toList());
         newLine.addAll(newEmptyColumns);
-        stat.getNetworkUsage().getStatsByInterface().forEach((interfaceName, networkStats) -> {
-            final int columnIndex =
-                COMMON_STATS_HEADER.size() + disksColumnShift + 2 * interfaceNames.indexOf(interfaceName);
+        final Map<String, MonitoringStats.NetworkUsage.NetworkStats> interfacesStats =
+            Optional.ofNullable(stat.getNetworkUsage())
+                .map(MonitoringStats.NetworkUsage::getStatsByInterface)
+                .orElseGet(Collections::emptyMap);
+        interfacesStats.forEach((interfaceName, networkStats) -> {
+            final int interfaceIndex = interfaceNames.indexOf(interfaceName);
+            if (interfaceIndex < 0) {
+                return;
+            }
+            final int columnIndex = COMMON_STATS_HEADER.size() + disksColumnShift + 2 * interfaceIndex;
             newLine.set(columnIndex, Long.toString(networkStats.getRxBytes()));
             newLine.set(columnIndex + 1, Long.toString(networkStats.getTxBytes()));
         });
@@ -16,21 +16,26 @@
 
 package com.epam.pipeline.manager.cluster.writer;
 
-import com.amazonaws.util.StringInputStream;
 import com.epam.pipeline.common.MessageConstants;
 import com.epam.pipeline.common.MessageHelper;
 import com.epam.pipeline.entity.cluster.monitoring.MonitoringStats;
 import com.epam.pipeline.manager.cluster.MonitoringReportType;
 import com.opencsv.CSVWriter;
 import lombok.RequiredArgsConstructor;
-import org.apache.commons.collections.CollectionUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
 
-import java.io.InputStream;
-import java.io.StringWriter;
-import java.io.UnsupportedEncodingException;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Service
 @RequiredArgsConstructor
@@ -44,23 +49,20 @@ public class CsvMonitoringStatsWriter extends AbstractMonitoringStatsWriter{
     }
 
     @Override
-    public InputStream convertStatsToFile(final List<MonitoringStats> stats) {
-        try {
-            return new StringInputStream(convertStatsToCsvString(stats));
-        } catch (UnsupportedEncodingException e) {
-            throw new IllegalStateException(messageHelper.getMessage(MessageConstants.ERROR_BAD_STATS_FILE_ENCODING),
-                                            e);
+    public void writeStats(final Stream<MonitoringStats> stats, final List<MonitoringStats> columnStats,
+                           final OutputStream outputStream) {
+        final Iterator<MonitoringStats> rows = stats.iterator();
+        if (!rows.hasNext()) {
+            return;
         }
-    }
-
-    public String convertStatsToCsvString(final List<MonitoringStats> stats) {
-        if (CollectionUtils.isEmpty(stats)) {
-            return StringUtils.EMPTY;
+        try {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            final CSVWriter csvWriter = new CSVWriter(writer);
+            forEachTableLine(StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED),
+                    false), columnStats, csvWriter::writeNext);
+            csvWriter.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException(messageHelper.getMessage(MessageConstants.ERROR_STATS_FILE_WRITE), e);
         }
-        final StringWriter stringWriter = new StringWriter();
-        final CSVWriter csvWriter = new CSVWriter(stringWriter);
-        final List<String[]> allLines = extractTable(stats);
-        csvWriter.writeAll(allLines);
-        return stringWriter.toString();
     }
 }
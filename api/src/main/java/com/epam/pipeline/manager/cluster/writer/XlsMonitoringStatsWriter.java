@@ -35,12 +35,13 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.ResourceUtils;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @SuppressWarnings("checkstyle:MagicNumber")
@@ -71,21 +72,25 @@ public class XlsMonitoringStatsWriter extends AbstractMonitoringStatsWriter {
         this.messageHelper = messageHelper;
     }
 
+    /**
+     * HSSF workbooks are built in memory, so the whole report is collected before it is written.
+     */
     @Override
-    public InputStream convertStatsToFile(final List<MonitoringStats> stats) {
+    public void writeStats(final Stream<MonitoringStats> statsStream, final List<MonitoringStats> columnStats,
+                           final OutputStream outputStream) {
         if (StringUtils.isBlank(templatePath)) {
             throw new IllegalStateException(
                 messageHelper.getMessage(MessageConstants.ERROR_STATS_EMPTY_XLS_TEMPLATE_PATH));
         }
-        try (Workbook wb = getTemplateWorkbook();
-             ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
+        final List<MonitoringStats> stats = statsStream.collect(Collectors.toList());
+        try (Workbook wb = getTemplateWorkbook()) {
             fillInRawData(wb, stats);
             fillInScaledData(wb, stats);
             fillInDiskStats(wb, stats);
             fillInEmptyCells(wb, stats);
             HSSFFormulaEvaluator.evaluateAllFormulaCells(wb);
-            wb.write(bos);
-            return new ByteArrayInputStream(bos.toByteArray());
+            wb.write(outputStream);
+            outputStream.flush();
         } catch (IOException | InvalidFormatException e) {
             throw new IllegalStateException(messageHelper.getMessage(MessageConstants.ERROR_STATS_FILE_XLS_CONVERSION));
         }
@@ -126,11 +131,11 @@ public class XlsMonitoringStatsWriter extends AbstractMonitoringStatsWriter {
     }
 
     private void fillInRawData(final Workbook wb, final List<MonitoringStats> stats) {
-        final List<String[]> statsTable = extractTable(stats);
         final Sheet rawDataSheet = wb.getSheet(RAW_DATA_SHEET);
-        for (int i = 0; i < statsTable.size(); i++) {
+        final AtomicInteger rowIndex = new AtomicInteger();
+        forEachTableLine(stats.stream(), stats, statsRow -> {
+            final int i = rowIndex.getAndIncrement();
             final Row row = rawDataSheet.createRow(i);
-            final String[] statsRow = statsTable.get(i);
             for (int j = 0; j < statsRow.length; j++) {
                 final Cell cell = row.createCell(j);
                 if (i != 0 && j != 0) {
@@ -142,7 +147,7 @@ public class XlsMonitoringStatsWriter extends AbstractMonitoringStatsWriter {
                     cell.setCellValue(statsRow[j]);
                 }
             }
-        }
+        });
     }
 
     private void fillInDiskStats(final Workbook wb, final List<MonitoringStats> stats) {
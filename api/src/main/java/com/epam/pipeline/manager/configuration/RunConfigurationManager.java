@@ -28,6 +28,7 @@ import com.epam.pipeline.entity.configuration.RunConfiguration;
 import com.epam.pipeline.entity.pipeline.Folder;
 import com.epam.pipeline.entity.pipeline.run.ScheduleType;
 import com.epam.pipeline.entity.security.acl.AclClass;
+import com.epam.pipeline.entity.utils.DateUtils;
 import com.epam.pipeline.manager.pipeline.FolderManager;
 import com.epam.pipeline.manager.pipeline.runner.ConfigurationProviderManager;
 import com.epam.pipeline.manager.security.AuthManager;
@@ -43,9 +44,13 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 @AclSync
@@ -112,6 +117,40 @@ public class RunConfigurationManager implements SecuredEntityManager {
         return runConfigurationDao.create(newConfig);
     }
 
+    /**
+     * Copies configurations into copies of their folders without validation, since source configurations
+     * are already valid. Copies are owned by the current user.
+     * @param configurations configurations to copy
+     * @param folderIds mapping of source folders ids to their copies ids
+     * @return copies of configurations
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public List<RunConfiguration> cloneConfigurations(final List<RunConfiguration> configurations,
+                                                      final Map<Long, Long> folderIds) {
+        if (CollectionUtils.isEmpty(configurations)) {
+            return Collections.emptyList();
+        }
+        final String owner = authManager.getAuthorizedUser();
+        final Date createdDate = DateUtils.now();
+        final List<Long> ids = runConfigurationDao.cloneConfigurations(configurations.stream()
+                .map(RunConfiguration::getId)
+                .collect(Collectors.toList()), folderIds, owner, createdDate);
+        return IntStream.range(0, configurations.size())
+                .mapToObj(i -> {
+                    final RunConfiguration source = configurations.get(i);
+                    final RunConfiguration clone = new RunConfiguration();
+                    clone.setId(ids.get(i));
+                    clone.setName(source.getName());
+                    clone.setDescription(source.getDescription());
+                    clone.setEntries(source.getEntries());
+                    clone.setOwner(owner);
+                    clone.setCreatedDate(createdDate);
+                    clone.setParent(new Folder(folderIds.get(source.getParent().getId())));
+                    return clone;
+                })
+                .collect(Collectors.toList());
+    }
+
     @Transactional(propagation = Propagation.REQUIRED)
     public RunConfiguration update(RunConfigurationVO configuration) {
         validateConfiguration(runConfigurationMapper.toRunConfiguration(configuration));
@@ -16,6 +16,7 @@
 
 package com.epam.pipeline.manager.contextual;
 
+import com.epam.pipeline.app.CacheConfiguration;
 import com.epam.pipeline.common.MessageConstants;
 import com.epam.pipeline.common.MessageHelper;
 import com.epam.pipeline.controller.vo.ContextualPreferenceVO;
@@ -35,6 +36,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
@@ -185,6 +187,7 @@ public class ContextualPreferenceManager {
      * @throws IllegalArgumentException if preference can't be inserted or updated.
      */
     @Transactional
+    @CacheEvict(value = CacheConfiguration.CONTEXTUAL_PREFERENCE_CACHE, allEntries = true)
     public ContextualPreference upsert(final ContextualPreferenceVO preferenceVO) {
         validatePreferenceFields(preferenceVO);
         validatePreferenceTypeAccordingToPreferencesWithTheSameName(preferenceVO);
@@ -239,6 +242,7 @@ public class ContextualPreferenceManager {
      * @throws IllegalArgumentException if there is no preference with such parameters.
      */
     @Transactional
+    @CacheEvict(value = CacheConfiguration.CONTEXTUAL_PREFERENCE_CACHE, allEntries = true)
     public ContextualPreference delete(final String name, final ContextualPreferenceExternalResource resource) {
         validateName(name);
         validateResource(resource);
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.contextual.handler;
+
+import com.epam.pipeline.app.CacheConfiguration;
+import com.epam.pipeline.entity.contextual.ContextualPreference;
+import com.epam.pipeline.entity.contextual.ContextualPreferenceExternalResource;
+import org.springframework.cache.annotation.Cacheable;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Contextual preference handler that caches preferences resolved by the underlying handlers chain.
+ *
+ * Preferences are cached by the requested preference names and resources. Resources include current user
+ * and its roles, so user role membership changes lead to a different cache key rather than a stale preference.
+ * The whole cache is evicted once any contextual or system preference is changed.
+ *
+ * Caching is enabled only if a cache manager is configured, see {@link CacheConfiguration}.
+ */
+public class CachingContextualPreferenceHandler implements ContextualPreferenceHandler {
+
+    private final ContextualPreferenceHandler handler;
+
+    public CachingContextualPreferenceHandler(final ContextualPreferenceHandler handler) {
+        this.handler = handler;
+    }
+
+    @Override
+    public boolean isValid(final ContextualPreference preference) {
+        return handler.isValid(preference);
+    }
+
+    @Override
+    @Cacheable(value = CacheConfiguration.CONTEXTUAL_PREFERENCE_CACHE, key = "{#root.args[0], #root.args[1]}",
+            unless = "#result == null")
+    public Optional<ContextualPreference> search(final List<String> preferences,
+                                                 final List<ContextualPreferenceExternalResource> resources) {
+        return handler.search(preferences, resources);
+    }
+}
@@ -87,13 +87,24 @@ public class LustreFSManager {
     }
 
     public LustreFS deleteLustreFs(final Long runId) {
-        final AmazonFSx fsxClient = buildFsxClient(runId);
-        return findFsForRun(runId, null, fsxClient)
-                .map(fs -> deleteFs(fs, fsxClient))
+        return deleteLustreFsIfExists(runId)
                 .orElseThrow(() -> new LustreFSException(
                         messageHelper.getMessage(MessageConstants.ERROR_LUSTRE_NOT_FOUND, runId)));
     }
 
+    /**
+     * Deletes lustre fs of a run if it exists. Runs of non AWS regions are considered to have no lustre fs.
+     */
+    public Optional<LustreFS> deleteLustreFsIfExists(final Long runId) {
+        final AbstractCloudRegion region = loadRegionForRun(runId);
+        if (!(region instanceof AwsRegion)) {
+            return Optional.empty();
+        }
+        final AmazonFSx fsxClient = buildFsxClient((AwsRegion) region);
+        return findFsForRun(runId, null, fsxClient)
+                .map(fs -> deleteFs(fs, fsxClient));
+    }
+
     private LustreFS deleteFs(final FileSystem fs, final AmazonFSx fsxClient) {
         log.debug("Deleting lustre fs with id {}.", fs.getFileSystemId());
         fsxClient.deleteFileSystem(new DeleteFileSystemRequest()
@@ -225,19 +236,22 @@ public class LustreFSManager {
     }
 
     private AmazonFSx buildFsxClient(Long runId) {
-        final AwsRegion region = getRegionForRun(runId);
+        return buildFsxClient(getAwsRegion(loadRegionForRun(runId)));
+    }
+
+    private AmazonFSx buildFsxClient(final AwsRegion region) {
         return AmazonFSxClient.builder()
                 .withCredentials(AWSUtils.getCredentialsProvider(region.getProfile()))
                 .withRegion(region.getRegionCode())
                 .build();
     }
 
-    private AwsRegion getRegionForRun(Long runId) {
+    private AbstractCloudRegion loadRegionForRun(Long runId) {
         try {
             final PipelineRun pipelineRun = runManager.loadPipelineRun(runId);
-            return getRegion(pipelineRun);
+            return regionManager.load(pipelineRun.getInstance().getCloudRegionId());
         } catch (IllegalArgumentException e) {
-            return getAwsRegion(regionManager.loadDefaultRegion());
+            return regionManager.loadDefaultRegion();
         }
     }
 
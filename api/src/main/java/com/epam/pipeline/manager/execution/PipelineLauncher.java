@@ -118,6 +118,25 @@ public class PipelineLauncher {
     public String launch(PipelineRun run, PipelineConfiguration configuration,
                          List<String> endpoints, String nodeIdLabel, boolean useLaunch,
                          String pipelineId, String clusterId, ImagePullPolicy imagePullPolicy) {
+        final RootPodLaunch launch = prepareLaunch(run, configuration, endpoints, nodeIdLabel, useLaunch,
+                pipelineId, clusterId, imagePullPolicy);
+        launch.launch();
+        return launch.getCommand();
+    }
+
+    /**
+     * Resolves command and environment of a run root pod without launching it
+     * @return a launch, that shall be performed after the run is saved
+     */
+    public RootPodLaunch prepareLaunch(PipelineRun run, PipelineConfiguration configuration,
+                                       List<String> endpoints, String nodeIdLabel, String clusterId) {
+        return prepareLaunch(run, configuration, endpoints, nodeIdLabel, true, run.getPodId(), clusterId,
+                getImagePullPolicy(configuration));
+    }
+
+    private RootPodLaunch prepareLaunch(PipelineRun run, PipelineConfiguration configuration,
+                                        List<String> endpoints, String nodeIdLabel, boolean useLaunch,
+                                        String pipelineId, String clusterId, ImagePullPolicy imagePullPolicy) {
         GitCredentials gitCredentials = configuration.getGitCredentials();
         //TODO: AZURE fix
         Map<SystemParams, String> systemParams = matchSystemParams(
@@ -139,9 +158,9 @@ public class PipelineLauncher {
                 launchScriptUrl, gitCloneUrl, run.getRevisionName(), pipelineCommand)
                 : pipelineCommand;
         LOGGER.debug("Start script command: {}", rootPodCommand);
-        executor.launchRootPod(rootPodCommand, run, envVars,
-                endpoints, pipelineId, nodeIdLabel, configuration.getSecretName(), clusterId, imagePullPolicy);
-        return pipelineCommand;
+        String secretName = configuration.getSecretName();
+        return new RootPodLaunch(run, pipelineCommand, () -> executor.launchRootPod(rootPodCommand, run, envVars,
+                endpoints, pipelineId, nodeIdLabel, secretName, clusterId, imagePullPolicy));
     }
 
     private Map<String, String> buildRegionSpecificEnvVars(final Long cloudRegionId,
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.execution;
+
+import com.epam.pipeline.entity.pipeline.PipelineRun;
+
+/**
+ * A root pod launch of a {@link PipelineRun} prepared by {@link PipelineLauncher}. The run command and
+ * environment are already resolved, so the run can be saved before its pod is actually launched.
+ */
+public class RootPodLaunch {
+
+    private final PipelineRun run;
+    private final String command;
+    private final Runnable launcher;
+
+    public RootPodLaunch(final PipelineRun run, final String command, final Runnable launcher) {
+        this.run = run;
+        this.command = command;
+        this.launcher = launcher;
+    }
+
+    public PipelineRun getRun() {
+        return run;
+    }
+
+    /**
+     * @return pipeline command, that is executed by the root pod
+     */
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * Launches the root pod of the run
+     */
+    public void launch() {
+        launcher.run();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.job;
+
+import com.epam.pipeline.dao.job.BackgroundJobDao;
+import com.epam.pipeline.entity.job.BackgroundJob;
+import com.epam.pipeline.entity.job.BackgroundJobType;
+import com.epam.pipeline.entity.utils.DateUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks progress of {@link BackgroundJob}s in the database, so that a job submitted to one API instance
+ * can be loaded from any other one. Jobs are available during their execution and for an hour after
+ * they are finished. Note that a job is executed only by the instance it was submitted to, so if that instance
+ * is stopped, the job stays unfinished and has to be resubmitted.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BackgroundJobManager {
+
+    private static final long FINISHED_JOB_EXPIRATION = TimeUnit.HOURS.toMillis(1);
+
+    private final BackgroundJobDao jobDao;
+
+    /**
+     * Assigns an id to a new {@code job} and saves it
+     * @return state of the job which shall be used for its further updates
+     */
+    public <T extends BackgroundJob> BackgroundJobState<T> create(final BackgroundJobType type, final T job) {
+        removeExpiredJobs();
+        job.setId(UUID.randomUUID().toString());
+        jobDao.saveJob(type, job);
+        return new BackgroundJobState<>(this, type, job);
+    }
+
+    public <T extends BackgroundJob> Optional<T> load(final BackgroundJobType type, final String id,
+                                                      final Class<T> jobClass) {
+        return jobDao.loadJob(type, id, jobClass);
+    }
+
+    void save(final BackgroundJobType type, final BackgroundJob job) {
+        jobDao.saveJob(type, job);
+    }
+
+    private void removeExpiredJobs() {
+        try {
+            jobDao.deleteJobsFinishedBefore(new Date(DateUtils.now().getTime() - FINISHED_JOB_EXPIRATION));
+        } catch (RuntimeException e) {
+            log.error("Failed to remove expired background jobs: {}", e.getMessage());
+        }
+    }
+}
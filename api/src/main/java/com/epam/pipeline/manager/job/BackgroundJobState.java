@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.job;
+
+import com.epam.pipeline.entity.job.BackgroundJob;
+import com.epam.pipeline.entity.job.BackgroundJobType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.function.Consumer;
+
+/**
+ * Current state of a {@link BackgroundJob} created by {@link BackgroundJobManager}. Updates may be performed
+ * from several threads, each of them is saved to the database.
+ */
+@Slf4j
+public class BackgroundJobState<T extends BackgroundJob> {
+
+    private final BackgroundJobManager jobManager;
+    private final BackgroundJobType type;
+    private final T job;
+
+    BackgroundJobState(final BackgroundJobManager jobManager, final BackgroundJobType type, final T job) {
+        this.jobManager = jobManager;
+        this.type = type;
+        this.job = job;
+    }
+
+    public String getId() {
+        return job.getId();
+    }
+
+    /**
+     * Applies a {@code change} to the job and saves it. A failure to save the job doesn't interrupt the job,
+     * the change is saved along with the next one.
+     */
+    public synchronized void update(final Consumer<T> change) {
+        change.accept(job);
+        try {
+            jobManager.save(type, job);
+        } catch (RuntimeException e) {
+            log.error("Failed to save state of background job {}: {}", job.getId(), e.getMessage());
+        }
+    }
+}
@@ -213,6 +213,15 @@ public class MetadataEntityManager implements SecuredEntityManager {
         metadataEntityDao.insertCopiesOfExistentMetadataEntities(existentParentId, parentIdToAdd);
     }
 
+    /**
+     * Copies metadata entities of several folders at once.
+     * @param parentIds mapping of source folders ids to ids of folders receiving copies of their entities
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void insertCopiesOfExistentMetadataEntities(final Map<Long, Long> parentIds) {
+        metadataEntityDao.insertCopiesOfExistentMetadataEntities(parentIds);
+    }
+
     @Transactional(propagation = Propagation.REQUIRED)
     public MetadataEntity deleteMetadataEntity(Long id) {
         Assert.notNull(id, messageHelper.getMessage(MessageConstants.ERROR_INVALID_METADATA_ENTITY_ID, id));
@@ -185,6 +185,15 @@ public class MetadataManager {
         return metadataDao.deleteMetadataItemKeys(metadataEntry, keysToDelete);
     }
 
+    /**
+     * Copies metadata of several entities of the same class at once.
+     * @param entityIds mapping of source entities ids to ids of entities receiving a copy of their metadata
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void copyMetadataItems(final Map<Long, Long> entityIds, final AclClass entityClass) {
+        metadataDao.copyMetadataItems(entityIds, entityClass);
+    }
+
     @Transactional(propagation = Propagation.REQUIRED)
     public void deleteMetadata(EntityVO entityVO) {
         metadataDao.deleteMetadataItem(entityVO);
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.pipeline;
+
+import com.epam.pipeline.common.MessageConstants;
+import com.epam.pipeline.common.MessageHelper;
+import com.epam.pipeline.entity.datastorage.AbstractDataStorage;
+import com.epam.pipeline.entity.job.BackgroundJobType;
+import com.epam.pipeline.entity.pipeline.FolderCloneJob;
+import com.epam.pipeline.entity.pipeline.FolderCloneStatus;
+import com.epam.pipeline.entity.utils.DateUtils;
+import com.epam.pipeline.manager.job.BackgroundJobManager;
+import com.epam.pipeline.manager.job.BackgroundJobState;
+import com.epam.pipeline.manager.security.AuthManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Clones {@link com.epam.pipeline.entity.pipeline.Folder} hierarchies in background. Folders, configurations
+ * and metadata of a hierarchy are copied within a single transaction, then data storages are created
+ * by the shared {@code folderCloneStorageExecutor} pool. If any of data storages fails to be created,
+ * the cloned hierarchy is removed along with already created cloud storages.
+ * Note that the cloned hierarchy is committed before its data storages are created, so a partial clone
+ * is visible to other requests until it is completed or removed by {@link FolderManager#deleteForce(Long)}.
+ * Progress of a clone is tracked by {@link BackgroundJobManager}, so it is available by {@link #load(String)}
+ * on any API instance.
+ */
+@Slf4j
+@Service
+public class FolderCloneManager {
+
+    private final FolderManager folderManager;
+    private final AuthManager authManager;
+    private final MessageHelper messageHelper;
+    private final BackgroundJobManager jobManager;
+    private final Executor cloneExecutor;
+    private final Executor storageExecutor;
+
+    public FolderCloneManager(final FolderManager folderManager,
+                              final AuthManager authManager,
+                              final MessageHelper messageHelper,
+                              final BackgroundJobManager jobManager,
+                              @Qualifier("folderCloneExecutor") final Executor cloneExecutor,
+                              @Qualifier("folderCloneStorageExecutor") final Executor storageExecutor) {
+        this.folderManager = folderManager;
+        this.authManager = authManager;
+        this.messageHelper = messageHelper;
+        this.jobManager = jobManager;
+        this.cloneExecutor = cloneExecutor;
+        this.storageExecutor = storageExecutor;
+    }
+
+    /**
+     * Submits a background clone of a folder. Clones are performed one by one, so a submitted clone
+     * stays in {@link FolderCloneStatus#QUEUED} status until previous clones are finished.
+     * @param id ID of a folder to be cloned
+     * @param destinationFolderId ID of a parent folder for storing clone
+     * @param name clone name
+     * @return submitted clone
+     */
+    public FolderCloneJob submit(final Long id, final Long destinationFolderId, final String name) {
+        final FolderCloneJob job = new FolderCloneJob();
+        job.setFolderId(id);
+        job.setDestinationFolderId(destinationFolderId);
+        job.setName(name);
+        job.setOwner(authManager.getAuthorizedUser());
+        job.setStatus(FolderCloneStatus.QUEUED);
+        final BackgroundJobState<FolderCloneJob> state = jobManager.create(BackgroundJobType.FOLDER_CLONE, job);
+        cloneExecutor.execute(new DelegatingSecurityContextRunnable(() -> clone(state, id, destinationFolderId,
+                name), SecurityContextHolder.getContext()));
+        return load(state.getId());
+    }
+
+    /**
+     * @return current progress of a clone
+     */
+    public FolderCloneJob load(final String id) {
+        return jobManager.load(BackgroundJobType.FOLDER_CLONE, id, FolderCloneJob.class)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        messageHelper.getMessage(MessageConstants.ERROR_FOLDER_CLONE_NOT_FOUND, id)));
+    }
+
+    private void clone(final BackgroundJobState<FolderCloneJob> state, final Long folderId,
+                       final Long destinationFolderId, final String name) {
+        final ClonedFolderHierarchy hierarchy;
+        try {
+            hierarchy = folderManager.cloneFolderHierarchy(folderId, destinationFolderId, name);
+        } catch (RuntimeException e) {
+            log.error("Failed to clone folder {} for clone {}: {}", folderId, state.getId(), e.getMessage());
+            fail(state, e.getMessage());
+            return;
+        }
+        final Long clonedFolderId = hierarchy.getFolder().getId();
+        start(state, clonedFolderId, hierarchy.getStorages().size());
+        try {
+            createStorages(state, hierarchy.getStorages());
+            finish(state);
+        } catch (RuntimeException e) {
+            log.error("Failed to create data storages for clone {}, cloned folder {} will be removed: {}",
+                    state.getId(), clonedFolderId, e.getMessage());
+            removeClonedFolder(state, clonedFolderId);
+            fail(state, e.getMessage());
+        }
+    }
+
+    private void createStorages(final BackgroundJobState<FolderCloneJob> state,
+                                final List<AbstractDataStorage> storages) {
+        final CompletionService<Void> completionService = new ExecutorCompletionService<>(
+                new DelegatingSecurityContextExecutor(storageExecutor, SecurityContextHolder.getContext()));
+        final AtomicBoolean failed = new AtomicBoolean();
+        storages.forEach(storage -> completionService.submit(() -> createStorage(state, storage, failed), null));
+        // all the submitted storages are awaited, so none of them is created after the clone removal
+        RuntimeException error = null;
+        try {
+            for (int i = 0; i < storages.size(); i++) {
+                try {
+                    completionService.take().get();
+                } catch (ExecutionException e) {
+                    if (error == null) {
+                        error = new IllegalStateException(e.getCause().getMessage(), e.getCause());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void createStorage(final BackgroundJobState<FolderCloneJob> state, final AbstractDataStorage storage,
+                               final AtomicBoolean failed) {
+        if (failed.get()) {
+            return;
+        }
+        try {
+            folderManager.createClonedStorage(storage);
+            state.update(job -> job.setCreatedStorages(job.getCreatedStorages() + 1));
+        } catch (RuntimeException e) {
+            log.error("Failed to create data storage {} for clone {}: {}", storage.getName(), state.getId(),
+                    e.getMessage());
+            failed.set(true);
+            throw e;
+        }
+    }
+
+    private void removeClonedFolder(final BackgroundJobState<FolderCloneJob> state, final Long clonedFolderId) {
+        try {
+            folderManager.deleteForce(clonedFolderId);
+        } catch (RuntimeException e) {
+            log.error("Failed to remove cloned folder {} for clone {}: {}", clonedFolderId, state.getId(),
+                    e.getMessage());
+        }
+    }
+
+    private static void start(final BackgroundJobState<FolderCloneJob> state, final Long clonedFolderId,
+                              final int totalStorages) {
+        state.update(job -> {
+            job.setStatus(FolderCloneStatus.RUNNING);
+            job.setStartDate(DateUtils.now());
+            job.setClonedFolderId(clonedFolderId);
+            job.setTotalStorages(totalStorages);
+        });
+    }
+
+    private static void finish(final BackgroundJobState<FolderCloneJob> state) {
+        state.update(job -> {
+            job.setStatus(FolderCloneStatus.COMPLETED);
+            job.setEndDate(DateUtils.now());
+        });
+    }
+
+    private static void fail(final BackgroundJobState<FolderCloneJob> state, final String message) {
+        state.update(job -> {
+            job.setStatus(FolderCloneStatus.FAILED);
+            job.setMessage(message);
+            job.setEndDate(DateUtils.now());
+        });
+    }
+}
@@ -21,6 +21,8 @@ import static com.epam.pipeline.utils.PasswordGenerator.generateRandomString;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -29,7 +31,6 @@ import java.util.stream.Collectors;
 
 import com.epam.pipeline.common.MessageConstants;
 import com.epam.pipeline.common.MessageHelper;
-import com.epam.pipeline.controller.vo.EntityVO;
 import com.epam.pipeline.dao.pipeline.FolderDao;
 import com.epam.pipeline.entity.AbstractHierarchicalEntity;
 import com.epam.pipeline.entity.AbstractSecuredEntity;
@@ -37,7 +38,6 @@ import com.epam.pipeline.entity.BaseEntity;
 import com.epam.pipeline.entity.configuration.RunConfiguration;
 import com.epam.pipeline.entity.datastorage.AbstractDataStorage;
 import com.epam.pipeline.entity.metadata.FolderWithMetadata;
-import com.epam.pipeline.entity.metadata.MetadataEntry;
 import com.epam.pipeline.entity.metadata.PipeConfValue;
 import com.epam.pipeline.entity.pipeline.Folder;
 import com.epam.pipeline.entity.pipeline.Pipeline;
@@ -49,10 +49,10 @@ import com.epam.pipeline.manager.metadata.MetadataEntityManager;
 import com.epam.pipeline.manager.metadata.MetadataManager;
 import com.epam.pipeline.manager.preference.PreferenceManager;
 import com.epam.pipeline.manager.preference.SystemPreferences;
+import com.epam.pipeline.manager.security.AuthManager;
 import com.epam.pipeline.manager.security.GrantPermissionManager;
-import com.epam.pipeline.mapper.AbstractRunConfigurationMapper;
 import com.epam.pipeline.mapper.AbstractDataStorageMapper;
-import com.epam.pipeline.mapper.MetadataEntryMapper;
+import com.epam.pipeline.security.acl.JdbcMutableAclServiceImpl;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
@@ -61,6 +61,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.acls.model.MutableAcl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -102,12 +103,6 @@ public class FolderManager {
     @Autowired
     private GrantPermissionManager permissionManager;
 
-    @Autowired
-    private AbstractRunConfigurationMapper runConfigurationMapper;
-
-    @Autowired
-    private MetadataEntryMapper metadataEntryMapper;
-
     @Autowired
     private AbstractDataStorageMapper dataStorageMapper;
 
@@ -117,6 +112,9 @@ public class FolderManager {
     @Autowired
     private FolderTemplateManager folderTemplateManager;
 
+    @Autowired
+    private JdbcMutableAclServiceImpl aclService;
+
     @Value("${storage.clone.name.suffix:}")
     private String storageSuffix;
 
@@ -210,14 +208,68 @@ public class FolderManager {
      */
     @Transactional(propagation = Propagation.REQUIRED)
     public Folder cloneFolder(Long id, Long destinationFolderId, String name) {
+        ClonedFolderHierarchy clone = cloneFolderHierarchy(id, destinationFolderId, name);
+        clone.getStorages().forEach(this::createClonedStorage);
+        return clone.getFolder();
+    }
+
+    /**
+     * Clones folder specified by ID except for its data storages. Child folders, configurations,
+     * folder metadata and metadata entities of the whole hierarchy are copied by a fixed number of statements
+     * regardless of the hierarchy size. Data storages are only prepared for creation in the cloned folders,
+     * they shall be created by {@link #createClonedStorage(AbstractDataStorage)}.
+     * @param id ID of {@link Folder} to be cloned
+     * @param destinationFolderId ID of parent {@link Folder} for storing clone
+     * @param name {@link Folder} clone name
+     * @return resulting {@link Folder} instance and data storages to be created
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public ClonedFolderHierarchy cloneFolderHierarchy(Long id, Long destinationFolderId, String name) {
         Folder folderToClone = crudManager.load(id);
         Folder destinationFolder = crudManager.load(destinationFolderId);
         verifyFolderNames(destinationFolder.getChildFolders(), name);
         prepareStoragesForClone(folderToClone, name + storageSuffix, countDataStorages(folderToClone) > 1);
-        folderToClone.setName(name);
-        Folder clonedFolder = createCloneFolder(folderToClone, destinationFolderId);
-        clonedFolder.setChildFolders(Collections.emptyList());
-        return clonedFolder;
+        Folder clonedFolder = new Folder();
+        clonedFolder.setName(name);
+        clonedFolder.setParentId(destinationFolderId);
+        crudManager.create(clonedFolder);
+
+        List<Folder> childFolders = new ArrayList<>();
+        collectChildFolders(folderToClone, childFolders);
+        Map<Long, Long> folderIds = new LinkedHashMap<>();
+        folderIds.put(folderToClone.getId(), clonedFolder.getId());
+        if (!childFolders.isEmpty()) {
+            List<Long> clonedFolderIds = folderDao.cloneFolders(
+                    childFolders.stream().map(BaseEntity::getId).collect(Collectors.toList()),
+                    clonedFolder.getId(), clonedFolder.getOwner(), clonedFolder.getCreatedDate());
+            for (int i = 0; i < childFolders.size(); i++) {
+                folderIds.put(childFolders.get(i).getId(), clonedFolderIds.get(i));
+            }
+        }
+        metadataManager.copyMetadataItems(folderIds, AclClass.FOLDER);
+        metadataEntityManager.insertCopiesOfExistentMetadataEntities(folderIds);
+
+        List<Folder> sourceFolders = new ArrayList<>();
+        sourceFolders.add(folderToClone);
+        sourceFolders.addAll(childFolders);
+        List<RunConfiguration> clonedConfigurations = configurationManager.cloneConfigurations(
+                collectChildren(sourceFolders, Folder::getConfigurations), folderIds);
+        createClonedAcls(clonedFolder, childFolders, folderIds, clonedConfigurations);
+
+        List<AbstractDataStorage> storages = collectChildren(sourceFolders, Folder::getStorages);
+        storages.forEach(storage -> storage.setParentFolderId(folderIds.get(storage.getParentFolderId())));
+        return new ClonedFolderHierarchy(clonedFolder, storages);
+    }
+
+    /**
+     * Creates data storage prepared by {@link #cloneFolderHierarchy(Long, Long, String)} along with its
+     * cloud storage.
+     * @param storage data storage to be created
+     * @return created data storage
+     */
+    public AbstractDataStorage createClonedStorage(AbstractDataStorage storage) {
+        return dataStorageManager.create(dataStorageMapper.toDataStorageVO(storage), true, true, false)
+                .getEntity();
     }
 
     public FolderWithMetadata getProject(Long entityId, AclClass entityClass) {
@@ -366,33 +418,47 @@ public class FolderManager {
                 }).collect(Collectors.toSet());
     }
 
-    private Folder createCloneFolder(Folder folderToClone, Long parentId) {
-        Long sourceFolderId = folderToClone.getId();
-        folderToClone.setParentId(parentId);
-        Folder clonedFolder = crudManager.create(folderToClone);
-        if (!CollectionUtils.isEmpty(folderToClone.getStorages())) {
-            folderToClone.getStorages().forEach(storage -> {
-                storage.setParentFolderId(clonedFolder.getId());
-                dataStorageManager.create(dataStorageMapper.toDataStorageVO(storage), true, true, false);
-            });
-        }
-        if (!CollectionUtils.isEmpty(folderToClone.getConfigurations())) {
-            folderToClone.getConfigurations().forEach(runConfiguration -> {
-                runConfiguration.setParent(new Folder(clonedFolder.getId()));
-                configurationManager.create(runConfigurationMapper.toRunConfigurationVO(runConfiguration));
+    private void collectChildFolders(Folder folder, List<Folder> childFolders) {
+        if (CollectionUtils.isNotEmpty(folder.getChildFolders())) {
+            folder.getChildFolders().forEach(child -> {
+                childFolders.add(child);
+                collectChildFolders(child, childFolders);
             });
         }
-        MetadataEntry metadataEntry = metadataManager.loadMetadataItem(sourceFolderId, AclClass.FOLDER);
-        if (metadataEntry != null && !MapUtils.isEmpty(metadataEntry.getData())) {
-            metadataEntry.setEntity(new EntityVO(clonedFolder.getId(), AclClass.FOLDER));
-            metadataManager.updateMetadataItem(metadataEntryMapper.toMetadataVO(metadataEntry));
-        }
-        metadataEntityManager.insertCopiesOfExistentMetadataEntities(sourceFolderId, clonedFolder.getId());
-        if (!CollectionUtils.isEmpty(folderToClone.getChildFolders())) {
-            folderToClone.getChildFolders()
-                    .forEach(child -> createCloneFolder(child, clonedFolder.getId()));
+    }
+
+    private <T> List<T> collectChildren(List<Folder> folders, Function<Folder, List<T>> children) {
+        return folders.stream()
+                .map(children)
+                .filter(CollectionUtils::isNotEmpty)
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    private void createClonedAcls(Folder clonedFolder, List<Folder> childFolders, Map<Long, Long> folderIds,
+                                  List<RunConfiguration> clonedConfigurations) {
+        if (AuthManager.UNAUTHORIZED_USER.equals(clonedFolder.getOwner())) {
+            return;
         }
-        return clonedFolder;
+        // folders are ordered from parents to children, so the parent acl is always created before its children
+        Map<Long, MutableAcl> folderAcls = new HashMap<>();
+        folderAcls.put(clonedFolder.getId(), aclService.getOrCreateObjectIdentity(clonedFolder));
+        childFolders.forEach(child -> {
+            Folder folder = new Folder(folderIds.get(child.getId()));
+            folder.setName(child.getName());
+            folder.setOwner(clonedFolder.getOwner());
+            folder.setParentId(folderIds.get(child.getParentId()));
+            folderAcls.put(folder.getId(), createClonedAcl(folder, folderAcls.get(folder.getParentId())));
+        });
+        clonedConfigurations.forEach(configuration ->
+                createClonedAcl(configuration, folderAcls.get(configuration.getParent().getId())));
+    }
+
+    private MutableAcl createClonedAcl(AbstractSecuredEntity entity, MutableAcl parentAcl) {
+        MutableAcl acl = aclService.createAcl(entity);
+        acl.setParent(parentAcl);
+        aclService.updateAcl(acl);
+        return acl;
     }
 
     private void prepareStoragesForClone(Folder folderHierarchy, String storageName, boolean generateRandomUID) {
@@ -99,11 +99,17 @@ public class ParameterMapper {
         Map<Long, List<MetadataEntity>> targetEntities =
                 fetchAndExpandInputEntities(configuration);
 
+        // references of all target entities are loaded at once instead of a query per entity
+        Map<Long, MetadataEntity> uniqueEntities = targetEntities.values().stream()
+                .flatMap(Collection::stream)
+                .collect(Collectors.toMap(BaseEntity::getId, Function.identity()));
+        Map<Long, Map<MetadataKey, MetadataEntity>> references = loadReferences(uniqueEntities.values());
+
         // resolve all parameter references in configurations
-        Map<Long, ResolvedConfiguration> resolvedConfigurations =
-                targetEntities.values().stream().flatMap(Collection::stream)
-                        .collect(Collectors.toMap(BaseEntity::getId,
-                            entity -> resolveParameters(entity, entries, projectData)));
+        Map<Long, ResolvedConfiguration> resolvedConfigurations = uniqueEntities.values().stream()
+                .collect(Collectors.toMap(BaseEntity::getId,
+                    entity -> resolveParameters(entity, entries, projectData,
+                            getFolderReferences(references, entity))));
 
         return targetEntities.entrySet().stream()
                 .map(idToEntities -> idToEntities.getValue().stream()
@@ -134,6 +140,9 @@ public class ParameterMapper {
                 .getMessage(MessageConstants.ERROR_EXPRESSION_INVALID_FORMAT, expansionExpression));
 
         String valueToResolve = expansionExpression.substring(ENTITY_PREFIX.length());
+        Map<Long, Map<MetadataKey, MetadataEntity>> references = loadReferences(entitiesIds.stream()
+                .map(entities::get)
+                .collect(Collectors.toList()));
 
         return entitiesIds.stream()
                 .map(entities::get)
@@ -142,7 +151,7 @@ public class ParameterMapper {
                             entity -> {
                                 List<MetadataEntity> resolved = resolveReferences(valueToResolve,
                                             valueToResolve.split(REFERENCE_DELIMITER),
-                                            loadReferences(entity), entity, true).stream()
+                                            getFolderReferences(references, entity), entity, true).stream()
                                             .peek(ref -> checkClassIdMatch(ref, rootEntityId))
                                             .collect(Collectors.toList());
 
@@ -176,6 +185,14 @@ public class ParameterMapper {
     public ResolvedConfiguration resolveParameters(MetadataEntity entity,
                                                    List<? extends AbstractRunConfigurationEntry> entries,
                                                    Map<String, PipeConfValue> projectData) {
+        return resolveParameters(entity, entries, projectData,
+            entity == null ? Collections.emptyMap() : loadReferences(entity));
+    }
+
+    private ResolvedConfiguration resolveParameters(MetadataEntity entity,
+                                                    List<? extends AbstractRunConfigurationEntry> entries,
+                                                    Map<String, PipeConfValue> projectData,
+                                                    Map<MetadataKey, MetadataEntity> entityReferences) {
         if (CollectionUtils.isEmpty(entries)) {
             return new ResolvedConfiguration(entity, Collections.emptyMap());
         }
@@ -185,8 +202,6 @@ public class ParameterMapper {
                             .collect(Collectors.toMap(AbstractRunConfigurationEntry::getName,
                                     this::getEntryConfiguration)));
         }
-        Map<MetadataKey, MetadataEntity> entityReferences = loadReferences(entity);
-
         Map<String, PipelineConfiguration> resolved = new HashMap<>();
         entries.forEach(entry -> {
             checkClassIdMatch(entity, entry.getRootEntityId());
@@ -255,6 +270,30 @@ public class ParameterMapper {
                         Function.identity()));
     }
 
+    /**
+     * Loads references of all {@code entities} with a single query per parent folder
+     * @return references grouped by parent folder id
+     */
+    private Map<Long, Map<MetadataKey, MetadataEntity>> loadReferences(Collection<MetadataEntity> entities) {
+        return entities.stream()
+                .collect(Collectors.groupingBy(entity -> entity.getParent().getId(),
+                        Collectors.mapping(BaseEntity::getId, Collectors.toList())))
+                .entrySet()
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey,
+                    folderEntities -> entityManager.loadReferencesForEntities(
+                            folderEntities.getValue(), folderEntities.getKey())
+                            .stream()
+                            .collect(Collectors.toMap(
+                                e -> new MetadataKey(e.getClassEntity().getName(), e.getExternalId()),
+                                Function.identity(), (e1, e2) -> e1))));
+    }
+
+    private Map<MetadataKey, MetadataEntity> getFolderReferences(
+            Map<Long, Map<MetadataKey, MetadataEntity>> references, MetadataEntity entity) {
+        return references.getOrDefault(entity.getParent().getId(), Collections.emptyMap());
+    }
+
     private void checkClassIdMatch(MetadataEntity entity, Long expectedClassId) {
         Assert.isTrue(Objects.equals(entity.getClassEntity().getId(), expectedClassId),
                 messageHelper.getMessage(MessageConstants.ERROR_INVALID_ENTITY_CLASS,
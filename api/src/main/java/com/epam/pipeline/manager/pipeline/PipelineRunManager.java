@@ -66,6 +66,7 @@ import com.epam.pipeline.manager.datastorage.DataStorageManager;
 import com.epam.pipeline.manager.docker.DockerRegistryManager;
 import com.epam.pipeline.manager.docker.scan.ToolSecurityPolicyCheck;
 import com.epam.pipeline.manager.execution.PipelineLauncher;
+import com.epam.pipeline.manager.execution.RootPodLaunch;
 import com.epam.pipeline.manager.git.GitManager;
 import com.epam.pipeline.manager.pipeline.runner.ConfigurationProviderManager;
 import com.epam.pipeline.manager.pipeline.runner.PipeRunCmdBuilder;
@@ -336,7 +337,43 @@ public class PipelineRunManager {
     public PipelineRun launchPipeline(PipelineConfiguration configuration, Pipeline pipeline, String version,
             String instanceType, Long parentNodeId, String configurationName, String clusterId,
             Long parentRunId, List<Long> entityIds, Long configurationId, List<RunSid> runSids) {
-        Optional<PipelineRun> parentRun = resolveParentRun(parentRunId, configuration);
+        RunLaunchContext context = createRunForLaunch(configuration, pipeline, version, instanceType, parentNodeId,
+                configurationName, parentRunId, null, entityIds, configurationId, runSids);
+        PipelineRun run = context.run;
+        String launchedCommand = pipelineLauncher.launch(run, configuration, context.endpoints,
+                context.nodeIdLabel, clusterId);
+        //update instance info according to evaluated command
+        run.setActualCmd(launchedCommand);
+        save(run);
+        dataStorageManager.analyzePipelineRunsParameters(Collections.singletonList(run));
+        return run;
+    }
+
+    /**
+     * Internal method for preparing a pipeline run without saving it to the database and launching its pod,
+     * it is used by batch launches which save prepared runs with {@link #saveRuns(List)} and only then
+     * launch their pods. It assumes that ACL filtering was already applied to input arguments.
+     * @param preparedParentRun a parent run which is prepared but not saved yet, e.g. a master run of a cluster,
+     *                          it is used instead of loading a parent run with the same id from the database
+     * @return a launch of the prepared run with an assigned id
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public RootPodLaunch preparePipelineRun(PipelineConfiguration configuration, Pipeline pipeline,
+            String version, String instanceType, Long parentNodeId, String configurationName, String clusterId,
+            PipelineRun preparedParentRun, List<Long> entityIds, Long configurationId, List<RunSid> runSids) {
+        RunLaunchContext context = createRunForLaunch(configuration, pipeline, version, instanceType, parentNodeId,
+                configurationName, null, preparedParentRun, entityIds, configurationId, runSids);
+        RootPodLaunch launch = pipelineLauncher.prepareLaunch(context.run, configuration, context.endpoints,
+                context.nodeIdLabel, clusterId);
+        context.run.setActualCmd(launch.getCommand());
+        return launch;
+    }
+
+    private RunLaunchContext createRunForLaunch(PipelineConfiguration configuration, Pipeline pipeline,
+            String version, String instanceType, Long parentNodeId, String configurationName,
+            Long parentRunId, PipelineRun preparedParentRun, List<Long> entityIds, Long configurationId,
+            List<RunSid> runSids) {
+        Optional<PipelineRun> parentRun = resolveParentRun(parentRunId, configuration, preparedParentRun);
         Tool tool = getToolForRun(configuration);
         PipelineConfiguration toolConfiguration = configurationManager.getConfigurationForTool(tool, configuration);
         AbstractCloudRegion region = resolveCloudRegion(parentRun.orElse(null), configuration, toolConfiguration);
@@ -366,12 +403,7 @@ public class PipelineRunManager {
         String useNodeLabel = parentNodeId != null ? parentNodeId.toString() : run.getId().toString();
         run.setConfigName(configurationName);
         run.setRunSids(runSids);
-        String launchedCommand = pipelineLauncher.launch(run, configuration, endpoints, useNodeLabel, clusterId);
-        //update instance info according to evaluated command
-        run.setActualCmd(launchedCommand);
-        save(run);
-        dataStorageManager.analyzePipelineRunsParameters(Collections.singletonList(run));
-        return run;
+        return new RunLaunchContext(run, endpoints, useNodeLabel);
     }
 
     private AbstractCloudRegion resolveCloudRegion(final PipelineRun parentRun,
@@ -448,8 +480,12 @@ public class PipelineRunManager {
                 messageHelper.getMessage(MessageConstants.ERROR_PRICE_TYPE_IS_NOT_ALLOWED, priceType));
     }
 
-    private Optional<PipelineRun> resolveParentRun(final Long parentRunId, final PipelineConfiguration configuration) {
-        return resolveParentRunId(parentRunId, configuration).map(this::loadPipelineRun);
+    private Optional<PipelineRun> resolveParentRun(final Long parentRunId, final PipelineConfiguration configuration,
+                                                   final PipelineRun preparedParentRun) {
+        return resolveParentRunId(parentRunId, configuration)
+                .map(id -> preparedParentRun != null && id.equals(preparedParentRun.getId())
+                        ? preparedParentRun
+                        : loadPipelineRun(id));
     }
 
     private Optional<Long> resolveParentRunId(final Long parentRunId, final PipelineConfiguration configuration) {
@@ -614,6 +650,11 @@ public class PipelineRunManager {
         return pipelineRunDao.loadRunningPipelineRuns();
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<PipelineRun> loadRunsActiveInPeriod(final LocalDateTime start, final LocalDateTime end) {
+        return pipelineRunDao.loadPipelineRunsActiveInPeriod(start, end);
+    }
+
     @Transactional(propagation = Propagation.REQUIRED)
     public PipelineRun loadPipelineRunWithRestartedRuns(Long id) {
         PipelineRun run = loadPipelineRun(id);
@@ -844,6 +885,21 @@ public class PipelineRunManager {
         return pipelineRun;
     }
 
+    /**
+     * Saves several launched runs using batch inserts
+     * @param runs prepared by {@link #preparePipelineRun}
+     * @return saved runs
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public List<PipelineRun> saveRuns(List<PipelineRun> runs) {
+        if (CollectionUtils.isEmpty(runs)) {
+            return runs;
+        }
+        pipelineRunDao.createPipelineRuns(runs);
+        dataStorageManager.analyzePipelineRunsParameters(runs);
+        return runs;
+    }
+
     public Tool getToolForRun(PipelineConfiguration configuration) {
         return toolManager.resolveSymlinks(configuration.getDockerImage());
     }
@@ -1465,4 +1521,17 @@ public class PipelineRunManager {
                 ? null
                 : formatRegistryPath(parsedImage.getKey(), parsedImage.getValue());
     }
+
+    private static final class RunLaunchContext {
+
+        private final PipelineRun run;
+        private final List<String> endpoints;
+        private final String nodeIdLabel;
+
+        private RunLaunchContext(PipelineRun run, List<String> endpoints, String nodeIdLabel) {
+            this.run = run;
+            this.endpoints = endpoints;
+            this.nodeIdLabel = nodeIdLabel;
+        }
+    }
 }
@@ -25,6 +25,7 @@ import com.epam.pipeline.entity.pipeline.Pipeline;
 import com.epam.pipeline.entity.pipeline.PipelineRun;
 import com.epam.pipeline.entity.pipeline.ResolvedConfiguration;
 import com.epam.pipeline.entity.pipeline.run.PipelineStart;
+import com.epam.pipeline.manager.execution.RootPodLaunch;
 import com.epam.pipeline.manager.pipeline.ParameterMapper;
 import com.epam.pipeline.manager.pipeline.PipelineConfigurationManager;
 import com.epam.pipeline.manager.pipeline.PipelineManager;
@@ -66,14 +67,41 @@ public class CloudPlatformRunner implements ExecutionRunner<RunConfigurationEntr
 
     @Override
     public List<PipelineRun> runAnalysis(AnalysisConfiguration<RunConfigurationEntry> configuration) {
-        checkRunsNumber(configuration.getEntries(), configuration.getEntitiesIds());
-        return parameterMapper.resolveConfigurations(configuration)
+        return resolveConfigurations(configuration)
                 .stream()
-                .map(conf -> runConfiguration(configuration.getConfigurationId(), configuration.getEntries(), conf))
+                .map(conf -> {
+                    List<PipelineRun> launched = new ArrayList<>();
+                    runConfiguration(configuration.getConfigurationId(), configuration.getEntries(), conf,
+                            launched, null);
+                    return launched;
+                })
                 .flatMap(Collection::stream)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Resolves run parameters of the {@code configuration} for each of the input entities
+     * @return resolved configurations, each of them is launched as a separate run or a cluster
+     */
+    public List<ResolvedConfiguration> resolveConfigurations(
+            AnalysisConfiguration<RunConfigurationEntry> configuration) {
+        checkRunsNumber(configuration.getEntries(), configuration.getEntitiesIds());
+        return parameterMapper.resolveConfigurations(configuration);
+    }
+
+    /**
+     * Prepares runs of a single resolved configuration without saving them and launching their pods.
+     * Runs shall be saved by {@link PipelineRunManager#saveRuns(List)} before their pods are launched,
+     * so that each launched pod has a run.
+     * @return launches of the master run followed by its workers
+     */
+    public List<RootPodLaunch> prepareConfiguration(Long configurationId, List<RunConfigurationEntry> entries,
+                                                    ResolvedConfiguration resolvedConfiguration) {
+        List<RootPodLaunch> prepared = new ArrayList<>();
+        runConfiguration(configurationId, entries, resolvedConfiguration, new ArrayList<>(), prepared);
+        return prepared;
+    }
+
     private void checkRunsNumber(List<RunConfigurationEntry> entries, List<Long> entitiesIds) {
         int entitiesIdsCount = CollectionUtils.isEmpty(entitiesIds) ? 1 : entitiesIds.size();
         int totalNodeCount = entries.stream()
@@ -89,9 +117,10 @@ public class CloudPlatformRunner implements ExecutionRunner<RunConfigurationEntr
                 MessageConstants.ERROR_EXCEED_MAX_RUNS_COUNT, maxRunsNumber, numberOfRuns));
     }
 
-    private List<PipelineRun> runConfiguration(Long configurationId,
-                                               List<RunConfigurationEntry> entries,
-                                               ResolvedConfiguration resolvedConfigurations) {
+    private void runConfiguration(Long configurationId,
+                                  List<RunConfigurationEntry> entries,
+                                  ResolvedConfiguration resolvedConfigurations,
+                                  List<PipelineRun> launched, List<RootPodLaunch> prepared) {
 
         SplitConfig splitConfig = new SplitConfig(entries);
         RunConfigurationEntry mainEntry = splitConfig.getMain();
@@ -124,18 +153,18 @@ public class CloudPlatformRunner implements ExecutionRunner<RunConfigurationEntr
         mainConfiguration.setNodeCount(totalNodes);
 
         //create master run
-        List<PipelineRun> masterRun =
-                runConfigurationEntry(mainEntry, mainConfiguration, 1, null,
-                        isMasterNFSServer, resolvedConfigurations.getAllAssociatedIds(), configurationId);
-        List<PipelineRun> launched = new ArrayList<>(masterRun);
-        String clusterId = String.valueOf(masterRun.get(0).getId());
+        int masterIndex = launched.size();
+        runConfigurationEntry(mainEntry, mainConfiguration, 1, null,
+                isMasterNFSServer, null, resolvedConfigurations.getAllAssociatedIds(), configurationId,
+                launched, prepared);
+        PipelineRun masterRun = launched.get(masterIndex);
+        String clusterId = String.valueOf(masterRun.getId());
         //create master workers
         if (masterNodeCount > 0) {
             mainEntry.getConfiguration().setWorkerCmd(WORKER_CMD_TEMPLATE);
-            launched.addAll(
-                    runConfigurationEntry(mainEntry, mainConfiguration,
-                            masterNodeCount, clusterId, false,
-                            resolvedConfigurations.getAllAssociatedIds(), configurationId));
+            runConfigurationEntry(mainEntry, mainConfiguration,
+                    masterNodeCount, clusterId, false, masterRun,
+                    resolvedConfigurations.getAllAssociatedIds(), configurationId, launched, prepared);
         }
         //create all other workers
         for (int i = 0; i < childConfigurations.size(); i++) {
@@ -144,18 +173,17 @@ public class CloudPlatformRunner implements ExecutionRunner<RunConfigurationEntr
             boolean startNFS = !nfsStarted && pipelineConfigurationManager.hasNFSParameter(childConfig);
             nfsStarted = nfsStarted || startNFS;
             int copies = getNodeCount(childConfig.getNodeCount(), 1);
-            launched.addAll(
-                    runConfigurationEntry(childEntries.get(i),
-                            childConfig, copies, clusterId, startNFS,
-                            resolvedConfigurations.getAllAssociatedIds(), configurationId));
+            runConfigurationEntry(childEntries.get(i),
+                    childConfig, copies, clusterId, startNFS, masterRun,
+                    resolvedConfigurations.getAllAssociatedIds(), configurationId, launched, prepared);
         }
-        return launched;
     }
 
-    private List<PipelineRun> runConfigurationEntry(RunConfigurationEntry entry,
-                                                    PipelineConfiguration configuration,
-                                                    int copies, String clusterId, boolean startNFS,
-                                                    List<Long> entityIds, Long configurationId) {
+    private void runConfigurationEntry(RunConfigurationEntry entry,
+                                       PipelineConfiguration configuration,
+                                       int copies, String clusterId, boolean startNFS, PipelineRun masterRun,
+                                       List<Long> entityIds, Long configurationId,
+                                       List<PipelineRun> launched, List<RootPodLaunch> prepared) {
 
         PipelineStart startVO = entry.toPipelineStart();
         if (!StringUtils.hasText(clusterId)) {
@@ -166,7 +194,6 @@ public class CloudPlatformRunner implements ExecutionRunner<RunConfigurationEntr
             pipelineConfigurationManager.updateWorkerConfiguration(clusterId, startVO, configuration, startNFS, true);
         }
         Pipeline pipeline = entry.getPipelineId() != null ? pipelineManager.load(entry.getPipelineId()) : null;
-        List<PipelineRun> result = new ArrayList<>();
         log.debug("Launching total {} copies of entry {}", copies, entry.getName());
         for (int i = 0; i < copies; i++) {
             //only first node may be a NFS server
@@ -175,11 +202,19 @@ public class CloudPlatformRunner implements ExecutionRunner<RunConfigurationEntr
                 configuration.getParameters().remove(NFS_CLUSTER_ROLE);
                 configuration.buildEnvVariables();
             }
-            result.add(pipelineRunManager.launchPipeline(configuration, pipeline, entry.getPipelineVersion(),
-                    startVO.getInstanceType(), startVO.getParentNodeId(),
-                    startVO.getConfigurationName(), clusterId, null, entityIds, configurationId, startVO.getRunSids()));
+            if (prepared == null) {
+                launched.add(pipelineRunManager.launchPipeline(configuration, pipeline, entry.getPipelineVersion(),
+                        startVO.getInstanceType(), startVO.getParentNodeId(), startVO.getConfigurationName(),
+                        clusterId, null, entityIds, configurationId, startVO.getRunSids()));
+            } else {
+                RootPodLaunch launch = pipelineRunManager.preparePipelineRun(configuration, pipeline,
+                        entry.getPipelineVersion(), startVO.getInstanceType(), startVO.getParentNodeId(),
+                        startVO.getConfigurationName(), clusterId, masterRun, entityIds, configurationId,
+                        startVO.getRunSids());
+                prepared.add(launch);
+                launched.add(launch.getRun());
+            }
         }
-        return result;
     }
 
     @Data
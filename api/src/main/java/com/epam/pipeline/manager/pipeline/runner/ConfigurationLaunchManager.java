@@ -0,0 +1,295 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.pipeline.runner;
+
+import com.epam.pipeline.common.MessageConstants;
+import com.epam.pipeline.common.MessageHelper;
+import com.epam.pipeline.entity.configuration.ConfigurationLaunchError;
+import com.epam.pipeline.entity.configuration.ConfigurationLaunchJob;
+import com.epam.pipeline.entity.configuration.ConfigurationLaunchStatus;
+import com.epam.pipeline.entity.configuration.RunConfigurationEntry;
+import com.epam.pipeline.entity.job.BackgroundJobType;
+import com.epam.pipeline.entity.pipeline.PipelineRun;
+import com.epam.pipeline.entity.pipeline.ResolvedConfiguration;
+import com.epam.pipeline.entity.pipeline.TaskStatus;
+import com.epam.pipeline.entity.utils.DateUtils;
+import com.epam.pipeline.manager.execution.RootPodLaunch;
+import com.epam.pipeline.manager.job.BackgroundJobManager;
+import com.epam.pipeline.manager.job.BackgroundJobState;
+import com.epam.pipeline.manager.pipeline.PipelineRunManager;
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
+import com.epam.pipeline.manager.security.AuthManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.stream.Collectors;
+
+/**
+ * Launches {@link com.epam.pipeline.entity.configuration.RunConfiguration} for a large number of
+ * metadata entities in background. Parameters of all entities are resolved at once, prepared runs are saved
+ * by batches of {@link SystemPreferences#LAUNCH_BATCH_INSERT_SIZE} runs and only then their pods are launched
+ * by the shared {@code configurationLaunchPodExecutor} pool, so each launched pod has a run. Progress of a launch
+ * is tracked by {@link BackgroundJobManager}, so it is available by {@link #load(String)} on any API instance.
+ */
+@Slf4j
+@Service
+public class ConfigurationLaunchManager {
+
+    private final CloudPlatformRunner runner;
+    private final PipelineRunManager runManager;
+    private final PreferenceManager preferenceManager;
+    private final AuthManager authManager;
+    private final MessageHelper messageHelper;
+    private final BackgroundJobManager jobManager;
+    private final Executor launchExecutor;
+    private final Executor podExecutor;
+
+    public ConfigurationLaunchManager(final CloudPlatformRunner runner,
+                                      final PipelineRunManager runManager,
+                                      final PreferenceManager preferenceManager,
+                                      final AuthManager authManager,
+                                      final MessageHelper messageHelper,
+                                      final BackgroundJobManager jobManager,
+                                      @Qualifier("configurationLaunchExecutor") final Executor launchExecutor,
+                                      @Qualifier("configurationLaunchPodExecutor") final Executor podExecutor) {
+        this.runner = runner;
+        this.runManager = runManager;
+        this.preferenceManager = preferenceManager;
+        this.authManager = authManager;
+        this.messageHelper = messageHelper;
+        this.jobManager = jobManager;
+        this.launchExecutor = launchExecutor;
+        this.podExecutor = podExecutor;
+    }
+
+    /**
+     * Submits a batch launch of a {@code configuration}. Launches are performed one by one,
+     * so a submitted launch stays in {@link ConfigurationLaunchStatus#QUEUED} status until
+     * previous launches are finished.
+     * @return submitted launch
+     */
+    public ConfigurationLaunchJob submit(final AnalysisConfiguration<RunConfigurationEntry> configuration) {
+        final ConfigurationLaunchJob job = new ConfigurationLaunchJob();
+        job.setConfigurationId(configuration.getConfigurationId());
+        job.setOwner(authManager.getAuthorizedUser());
+        job.setStatus(ConfigurationLaunchStatus.QUEUED);
+        job.setRunIds(new ArrayList<>());
+        job.setErrors(new ArrayList<>());
+        final BackgroundJobState<ConfigurationLaunchJob> state = jobManager.create(
+                BackgroundJobType.CONFIGURATION_LAUNCH, job);
+        launchExecutor.execute(new DelegatingSecurityContextRunnable(() -> launch(state, configuration),
+                SecurityContextHolder.getContext()));
+        return load(state.getId());
+    }
+
+    /**
+     * @return current progress of a launch
+     */
+    public ConfigurationLaunchJob load(final String id) {
+        return jobManager.load(BackgroundJobType.CONFIGURATION_LAUNCH, id, ConfigurationLaunchJob.class)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        messageHelper.getMessage(MessageConstants.ERROR_RUN_CONFIG_LAUNCH_NOT_FOUND, id)));
+    }
+
+    private void launch(final BackgroundJobState<ConfigurationLaunchJob> state,
+                        final AnalysisConfiguration<RunConfigurationEntry> configuration) {
+        final List<ResolvedConfiguration> resolvedConfigurations;
+        try {
+            resolvedConfigurations = runner.resolveConfigurations(configuration);
+        } catch (RuntimeException e) {
+            log.error("Failed to resolve configuration {} for launch {}: {}",
+                    configuration.getConfigurationId(), state.getId(), e.getMessage());
+            fail(state, e.getMessage());
+            return;
+        }
+        start(state, resolvedConfigurations.size());
+        final int insertSize = preferenceManager.getPreference(SystemPreferences.LAUNCH_BATCH_INSERT_SIZE);
+        try {
+            List<PreparedConfiguration> batch = new ArrayList<>();
+            int batchRuns = 0;
+            for (final ResolvedConfiguration resolved : resolvedConfigurations) {
+                final PreparedConfiguration prepared = prepare(configuration, resolved);
+                if (prepared.error != null) {
+                    processed(state, Collections.singletonList(new LaunchResult(prepared.entitiesIds,
+                            Collections.emptyList(), prepared.error)));
+                    continue;
+                }
+                batch.add(prepared);
+                batchRuns += prepared.launches.size();
+                if (batchRuns >= insertSize) {
+                    saveAndLaunch(state, batch);
+                    batch = new ArrayList<>();
+                    batchRuns = 0;
+                }
+            }
+            saveAndLaunch(state, batch);
+            finish(state);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(state, e.getMessage());
+        } catch (ExecutionException e) {
+            log.error("Unexpected error during launch {}: {}", state.getId(), e.getMessage());
+            fail(state, e.getMessage());
+        }
+    }
+
+    private PreparedConfiguration prepare(final AnalysisConfiguration<RunConfigurationEntry> configuration,
+                                          final ResolvedConfiguration resolved) {
+        try {
+            return new PreparedConfiguration(resolved.getAllAssociatedIds(), runner.prepareConfiguration(
+                    configuration.getConfigurationId(), configuration.getEntries(), resolved), null);
+        } catch (RuntimeException e) {
+            log.error("Failed to prepare configuration {} for entities {}: {}", configuration.getConfigurationId(),
+                    resolved.getAllAssociatedIds(), e.getMessage());
+            return new PreparedConfiguration(resolved.getAllAssociatedIds(), Collections.emptyList(),
+                    e.getMessage());
+        }
+    }
+
+    private void saveAndLaunch(final BackgroundJobState<ConfigurationLaunchJob> state,
+                               final List<PreparedConfiguration> batch)
+            throws InterruptedException, ExecutionException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        final List<PipelineRun> runs = batch.stream()
+                .flatMap(prepared -> prepared.getRuns().stream())
+                .collect(Collectors.toList());
+        try {
+            runManager.saveRuns(runs);
+        } catch (RuntimeException e) {
+            log.error("Failed to save {} runs of launch {}: {}", runs.size(), state.getId(), e.getMessage());
+            processed(state, batch.stream()
+                    .map(prepared -> new LaunchResult(prepared.entitiesIds, Collections.emptyList(), e.getMessage()))
+                    .collect(Collectors.toList()));
+            return;
+        }
+        final CompletionService<LaunchResult> completionService = new ExecutorCompletionService<>(
+                new DelegatingSecurityContextExecutor(podExecutor, SecurityContextHolder.getContext()));
+        batch.forEach(prepared -> completionService.submit(() -> launchPods(prepared)));
+        final List<LaunchResult> results = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            results.add(completionService.take().get());
+        }
+        processed(state, results);
+    }
+
+    private LaunchResult launchPods(final PreparedConfiguration prepared) {
+        for (int i = 0; i < prepared.launches.size(); i++) {
+            try {
+                prepared.launches.get(i).launch();
+            } catch (RuntimeException e) {
+                log.error("Failed to launch pods for entities {}: {}", prepared.entitiesIds, e.getMessage());
+                // runs are already saved, so the ones without pods are failed to be visible as not launched
+                prepared.launches.subList(i, prepared.launches.size())
+                        .forEach(launch -> fail(launch.getRun()));
+                return new LaunchResult(prepared.entitiesIds, prepared.getRuns(), e.getMessage());
+            }
+        }
+        return new LaunchResult(prepared.entitiesIds, prepared.getRuns(), null);
+    }
+
+    private void fail(final PipelineRun run) {
+        try {
+            runManager.updatePipelineStatusIfNotFinal(run.getId(), TaskStatus.FAILURE);
+        } catch (RuntimeException e) {
+            log.error("Failed to update status of not launched run {}: {}", run.getId(), e.getMessage());
+        }
+    }
+
+    private static void start(final BackgroundJobState<ConfigurationLaunchJob> state, final int total) {
+        state.update(job -> {
+            job.setStatus(ConfigurationLaunchStatus.RUNNING);
+            job.setStartDate(DateUtils.now());
+            job.setTotal(total);
+        });
+    }
+
+    private static void processed(final BackgroundJobState<ConfigurationLaunchJob> state,
+                                  final List<LaunchResult> results) {
+        state.update(job -> results.forEach(result -> {
+            job.setProcessed(job.getProcessed() + 1);
+            result.runs.forEach(run -> job.getRunIds().add(run.getId()));
+            if (result.error != null) {
+                job.getErrors().add(new ConfigurationLaunchError(result.entitiesIds, result.error));
+            }
+        }));
+    }
+
+    private static void finish(final BackgroundJobState<ConfigurationLaunchJob> state) {
+        state.update(job -> {
+            job.setStatus(job.getErrors().isEmpty()
+                    ? ConfigurationLaunchStatus.COMPLETED
+                    : ConfigurationLaunchStatus.COMPLETED_WITH_ERRORS);
+            job.setEndDate(DateUtils.now());
+        });
+    }
+
+    private static void fail(final BackgroundJobState<ConfigurationLaunchJob> state, final String message) {
+        state.update(job -> {
+            job.setStatus(ConfigurationLaunchStatus.FAILED);
+            job.setMessage(message);
+            job.setEndDate(DateUtils.now());
+        });
+    }
+
+    private static final class PreparedConfiguration {
+
+        private final List<Long> entitiesIds;
+        private final List<RootPodLaunch> launches;
+        private final String error;
+
+        private PreparedConfiguration(final List<Long> entitiesIds, final List<RootPodLaunch> launches,
+                                      final String error) {
+            this.entitiesIds = entitiesIds;
+            this.launches = launches;
+            this.error = error;
+        }
+
+        private List<PipelineRun> getRuns() {
+            return launches.stream()
+                    .map(RootPodLaunch::getRun)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static final class LaunchResult {
+
+        private final List<Long> entitiesIds;
+        private final List<PipelineRun> runs;
+        private final String error;
+
+        private LaunchResult(final List<Long> entitiesIds, final List<PipelineRun> runs, final String error) {
+            this.entitiesIds = entitiesIds;
+            this.runs = runs;
+            this.error = error;
+        }
+    }
+}
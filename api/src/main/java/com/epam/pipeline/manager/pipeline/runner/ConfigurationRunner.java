@@ -16,9 +16,13 @@
 
 package com.epam.pipeline.manager.pipeline.runner;
 
+import com.epam.pipeline.common.MessageConstants;
+import com.epam.pipeline.common.MessageHelper;
 import com.epam.pipeline.controller.vo.configuration.RunConfigurationWithEntitiesVO;
 import com.epam.pipeline.entity.BaseEntity;
 import com.epam.pipeline.entity.configuration.AbstractRunConfigurationEntry;
+import com.epam.pipeline.entity.configuration.ConfigurationLaunchJob;
+import com.epam.pipeline.entity.configuration.ExecutionEnvironment;
 import com.epam.pipeline.entity.configuration.RunConfiguration;
 import com.epam.pipeline.entity.configuration.RunConfigurationEntry;
 import com.epam.pipeline.entity.metadata.MetadataClass;
@@ -64,6 +68,12 @@ public class ConfigurationRunner {
     @Autowired
     private ConfigurationProviderManager configurationProvider;
 
+    @Autowired
+    private ConfigurationLaunchManager launchManager;
+
+    @Autowired
+    private MessageHelper messageHelper;
+
     /**
      * Schedules execution of a {@link RunConfiguration} and creates a number
      * of associated {@link PipelineRun} instances. Default values of {@link RunConfiguration}
@@ -92,11 +102,7 @@ public class ConfigurationRunner {
     public List<PipelineRun> runConfiguration(String refreshToken,
                                               RunConfigurationWithEntitiesVO runConfiguration,
                                               String expansionExpression) {
-        RunConfiguration dbConfiguration = configurationManager.load(runConfiguration.getId());
-        RunConfiguration configuration = mergeRunConfigurations(dbConfiguration, runConfigurationMapper
-                .toRunConfiguration(runConfiguration));
-        configurationManager.validateConfiguration(configuration);
-        configuration.getEntries().forEach(entry -> configurationProvider.assertExecutionEnvironment(entry));
+        RunConfiguration configuration = prepareConfiguration(runConfiguration);
 
         List<Long> entitiesIds = getIdsToProcess(runConfiguration);
         return configuration.getEntries().stream()
@@ -118,6 +124,49 @@ public class ConfigurationRunner {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Submits a background launch of a {@link RunConfiguration}, that is intended for a large number of
+     * {@link MetadataEntity} instances. Parameters are the same as for
+     * {@link #runConfiguration(String, RunConfigurationWithEntitiesVO, String)}, but only
+     * {@link ExecutionEnvironment#CLOUD_PLATFORM} entries are supported.
+     *
+     * @return submitted launch, its progress is available by {@link #loadLaunch(String)}
+     */
+    public ConfigurationLaunchJob launchConfiguration(RunConfigurationWithEntitiesVO runConfiguration,
+                                                      String expansionExpression) {
+        RunConfiguration configuration = prepareConfiguration(runConfiguration);
+        configuration.getEntries().forEach(entry -> Assert.isTrue(
+                entry.getExecutionEnvironment() == ExecutionEnvironment.CLOUD_PLATFORM,
+                messageHelper.getMessage(MessageConstants.ERROR_RUN_CONFIG_LAUNCH_UNSUPPORTED,
+                        entry.getExecutionEnvironment())));
+        AnalysisConfiguration<RunConfigurationEntry> conf = AnalysisConfiguration
+                .<RunConfigurationEntry>builder()
+                .configurationId(configuration.getId())
+                .entries(configuration.getEntries().stream()
+                        .map(RunConfigurationEntry.class::cast)
+                        .collect(Collectors.toList()))
+                .entitiesIds(getIdsToProcess(runConfiguration))
+                .expansionExpression(expansionExpression)
+                .build();
+        return launchManager.submit(conf);
+    }
+
+    /**
+     * @return progress of a launch submitted by {@link #launchConfiguration(RunConfigurationWithEntitiesVO, String)}
+     */
+    public ConfigurationLaunchJob loadLaunch(String launchId) {
+        return launchManager.load(launchId);
+    }
+
+    private RunConfiguration prepareConfiguration(RunConfigurationWithEntitiesVO runConfiguration) {
+        RunConfiguration dbConfiguration = configurationManager.load(runConfiguration.getId());
+        RunConfiguration configuration = mergeRunConfigurations(dbConfiguration, runConfigurationMapper
+                .toRunConfiguration(runConfiguration));
+        configurationManager.validateConfiguration(configuration);
+        configuration.getEntries().forEach(entry -> configurationProvider.assertExecutionEnvironment(entry));
+        return configuration;
+    }
+
     private List<Long> getIdsToProcess(RunConfigurationWithEntitiesVO runConfiguration) {
         if (CollectionUtils.isNotEmpty(runConfiguration.getEntitiesIds())) {
             return runConfiguration.getEntitiesIds();
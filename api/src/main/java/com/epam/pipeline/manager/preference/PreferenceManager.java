@@ -16,6 +16,7 @@
 
 package com.epam.pipeline.manager.preference;
 
+import com.epam.pipeline.app.CacheConfiguration;
 import com.epam.pipeline.common.MessageConstants;
 import com.epam.pipeline.common.MessageHelper;
 import com.epam.pipeline.config.JsonMapper;
@@ -30,6 +31,7 @@ import io.reactivex.subjects.PublishSubject;
 import io.reactivex.subjects.Subject;
 import org.apache.commons.lang.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -70,6 +72,7 @@ public class PreferenceManager {
      * @return updated preferences
      */
     @Transactional(propagation = Propagation.REQUIRED)
+    @CacheEvict(value = CacheConfiguration.CONTEXTUAL_PREFERENCE_CACHE, allEntries = true)
     public List<Preference> update(List<Preference> preferences) {
         Assert.isTrue(preferences.stream().allMatch(p -> StringUtils.isNotBlank(p.getName())),
                 messageHelper.getMessage(MessageConstants.ERROR_PREFERENCE_NAME_NOT_SPECIFIED));
@@ -141,6 +144,7 @@ public class PreferenceManager {
      * @return
      */
     @Transactional(propagation = Propagation.REQUIRED)
+    @CacheEvict(value = CacheConfiguration.CONTEXTUAL_PREFERENCE_CACHE, allEntries = true)
     public void delete(String name) {
         preferenceDao.deletePreference(name);
 
@@ -311,6 +311,27 @@ public class SystemPreferences {
         "cluster.enable.autoscaling", true, CLUSTER_GROUP, pass);
     public static final IntPreference CLUSTER_AUTOSCALE_RATE = new IntPreference("cluster.autoscale.rate",
                                                     40000, CLUSTER_GROUP, isGreaterThan(1000));
+    /**
+     * If enabled, autoscaled node pools are sized ahead of demand forecasted from the runs of the last
+     * {@code cluster.pool.forecast.history.days} days instead of reacting to the current pool occupancy.
+     * Demand is learned per time of day slot of {@code cluster.pool.forecast.slot.minutes} minutes as
+     * the {@code cluster.pool.forecast.percentile} of daily values, pools are sized for the peak demand expected
+     * in the next {@code cluster.pool.forecast.lead.minutes} minutes and demand history is reloaded each
+     * {@code cluster.pool.forecast.refresh.rate} ms.
+     */
+    public static final BooleanPreference CLUSTER_POOL_FORECAST_ENABLED = new BooleanPreference(
+            "cluster.pool.forecast.enabled", false, CLUSTER_GROUP, pass);
+    public static final IntPreference CLUSTER_POOL_FORECAST_HISTORY_DAYS = new IntPreference(
+            "cluster.pool.forecast.history.days", 14, CLUSTER_GROUP, isGreaterThan(0));
+    public static final IntPreference CLUSTER_POOL_FORECAST_SLOT_MINUTES = new IntPreference(
+            "cluster.pool.forecast.slot.minutes", 15, CLUSTER_GROUP, isGreaterThan(0));
+    public static final IntPreference CLUSTER_POOL_FORECAST_LEAD_MINUTES = new IntPreference(
+            "cluster.pool.forecast.lead.minutes", 15, CLUSTER_GROUP, isGreaterThanOrEquals(0));
+    public static final IntPreference CLUSTER_POOL_FORECAST_PERCENTILE = new IntPreference(
+            "cluster.pool.forecast.percentile", 90, CLUSTER_GROUP,
+            isGreaterThan(0).and(isLessThan(101)));
+    public static final IntPreference CLUSTER_POOL_FORECAST_REFRESH_RATE = new IntPreference(
+            "cluster.pool.forecast.refresh.rate", 3600000, CLUSTER_GROUP, isGreaterThan(0));
     public static final IntPreference CLUSTER_MAX_SIZE = new IntPreference("cluster.max.size", 50,
                                                                            CLUSTER_GROUP, isGreaterThan(0));
     public static final IntPreference CLUSTER_MIN_SIZE = new IntPreference("cluster.min.size", 0,
@@ -321,6 +342,30 @@ public class SystemPreferences {
                                                                                 5, CLUSTER_GROUP, isGreaterThan(0));
     public static final IntPreference CLUSTER_SPOT_MAX_ATTEMPTS = new IntPreference("cluster.spot.max.attempts", 2,
                                                                                     CLUSTER_GROUP, isGreaterThan(0));
+    /**
+     * Controls for how long spot prices and region availability zones are cached in seconds, 0 disables caching.
+     */
+    public static final IntPreference CLUSTER_SPOT_PRICE_CACHE_TTL = new IntPreference(
+            "cluster.spot.price.cache.ttl", 300, CLUSTER_GROUP, isGreaterThanOrEquals(0));
+    /**
+     * Run resources clean up queue settings: queue polling rate (ms), total number of clean up threads,
+     * maximum number of concurrent clean ups of a single cleaner, number of attempts per clean up,
+     * initial and maximum delay between attempts (ms) and number of tasks loaded per queue poll
+     */
+    public static final IntPreference CLUSTER_RUN_CLEANUP_RATE = new IntPreference("cluster.run.cleanup.rate",
+            5000, CLUSTER_GROUP, isGreaterThan(0));
+    public static final IntPreference CLUSTER_RUN_CLEANUP_THREADS = new IntPreference(
+            "cluster.run.cleanup.threads", 8, CLUSTER_GROUP, isGreaterThan(0));
+    public static final IntPreference CLUSTER_RUN_CLEANUP_CLEANER_THREADS = new IntPreference(
+            "cluster.run.cleanup.cleaner.threads", 4, CLUSTER_GROUP, isGreaterThan(0));
+    public static final IntPreference CLUSTER_RUN_CLEANUP_MAX_ATTEMPTS = new IntPreference(
+            "cluster.run.cleanup.max.attempts", 10, CLUSTER_GROUP, isGreaterThan(0));
+    public static final LongPreference CLUSTER_RUN_CLEANUP_RETRY_DELAY = new LongPreference(
+            "cluster.run.cleanup.retry.delay", 10000L, CLUSTER_GROUP, isGreaterThan(0L));
+    public static final LongPreference CLUSTER_RUN_CLEANUP_MAX_RETRY_DELAY = new LongPreference(
+            "cluster.run.cleanup.max.retry.delay", 3600000L, CLUSTER_GROUP, isGreaterThan(0L));
+    public static final IntPreference CLUSTER_RUN_CLEANUP_BATCH_SIZE = new IntPreference(
+            "cluster.run.cleanup.batch.size", 100, CLUSTER_GROUP, isGreaterThan(0));
     public static final StringPreference CLOUD_DEFAULT_PROVIDER = new StringPreference(
             "cloud.provider.default", CloudProvider.AWS.name(), CLUSTER_GROUP, pass);
     /**
@@ -378,6 +423,12 @@ public class SystemPreferences {
         "cluster.allowed.instance.types.docker", "m5.*,c5.*,r4.*,t2.*", CLUSTER_GROUP, pass);
     public static final IntPreference CLUSTER_INSTANCE_OFFER_UPDATE_RATE = new IntPreference(
         "instance.offer.update.rate", 3600000, CLUSTER_GROUP, isGreaterThan(10000));
+    /**
+     * Controls how often (in milliseconds) the in-memory index of the instance prices is reloaded
+     * from the stored instance offers
+     */
+    public static final IntPreference CLUSTER_INSTANCE_OFFER_INDEX_REFRESH_RATE = new IntPreference(
+        "instance.offer.index.refresh.rate", 600000, CLUSTER_GROUP, isGreaterThan(10000));
     public static final IntPreference CLUSTER_BATCH_RETRY_COUNT = new IntPreference("cluster.batch.retry.count",
             0, CLUSTER_GROUP, isGreaterThanOrEquals(0));
     public static final ObjectPreference<List<String>> INSTANCE_RESTART_STATE_REASONS = new ObjectPreference<>(
@@ -457,6 +508,11 @@ public class SystemPreferences {
      */
     public static final IntPreference LAUNCH_MAX_SCHEDULED_NUMBER = new IntPreference(
         "launch.max.scheduled.number", 10, LAUNCH_GROUP, isGreaterThan(0));
+    /**
+     * Controls number of launched runs saved by a single batch insert during a batch configuration launch
+     */
+    public static final IntPreference LAUNCH_BATCH_INSERT_SIZE = new IntPreference(
+        "launch.batch.insert.size", 100, LAUNCH_GROUP, isGreaterThan(0));
     public static final ObjectPreference<List<DefaultSystemParameter>> LAUNCH_SYSTEM_PARAMETERS =
         new ObjectPreference<>("launch.system.parameters", null,
                                new TypeReference<List<DefaultSystemParameter>>() {},
@@ -669,6 +725,42 @@ public class SystemPreferences {
     public static final StringPreference SEARCH_ELASTIC_DENIED_GROUPS_FIELD = new StringPreference(
             "search.elastic.denied.groups.field", null, SEARCH_GROUP, pass);
 
+    /**
+     * Controls maximum number of connections of the shared search Elasticsearch client
+     */
+    public static final IntPreference SEARCH_ELASTIC_CLIENT_MAX_CONNECTIONS = new IntPreference(
+            "search.elastic.client.max.connections", 100, SEARCH_GROUP, isGreaterThan(0));
+
+    /**
+     * Controls maximum number of connections of the shared search Elasticsearch client to a single node
+     */
+    public static final IntPreference SEARCH_ELASTIC_CLIENT_MAX_CONNECTIONS_PER_ROUTE = new IntPreference(
+            "search.elastic.client.max.connections.per.route", 50, SEARCH_GROUP, isGreaterThan(0));
+
+    /**
+     * Controls connection timeout of the shared search Elasticsearch client in milliseconds
+     */
+    public static final IntPreference SEARCH_ELASTIC_CLIENT_CONNECT_TIMEOUT = new IntPreference(
+            "search.elastic.client.connect.timeout", 5000, SEARCH_GROUP, isGreaterThan(0));
+
+    /**
+     * Controls socket timeout of the shared search Elasticsearch client in milliseconds
+     */
+    public static final IntPreference SEARCH_ELASTIC_CLIENT_SOCKET_TIMEOUT = new IntPreference(
+            "search.elastic.client.socket.timeout", 30000, SEARCH_GROUP, isGreaterThan(0));
+
+    /**
+     * Controls for how long faceted search aggregations are cached in seconds, 0 disables caching
+     */
+    public static final IntPreference SEARCH_ELASTIC_FACETS_CACHE_TTL = new IntPreference(
+            "search.elastic.facets.cache.ttl", 30, SEARCH_GROUP, isGreaterThanOrEquals(0));
+
+    /**
+     * Controls maximum number of cached faceted search aggregations
+     */
+    public static final IntPreference SEARCH_ELASTIC_FACETS_CACHE_SIZE = new IntPreference(
+            "search.elastic.facets.cache.size", 1000, SEARCH_GROUP, isGreaterThanOrEquals(0));
+
     // Grid engine autoscaling
     public static final IntPreference GE_AUTOSCALING_SCALE_UP_TIMEOUT =
             new IntPreference("ge.autoscaling.scale.up.timeout", 30,
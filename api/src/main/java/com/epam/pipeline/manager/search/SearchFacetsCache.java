@@ -0,0 +1,131 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.search;
+
+import lombok.Value;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded LRU cache for faceted search aggregations.
+ *
+ * Facets are cached per query, filters, requested facets and ACL fingerprint of a user. Cached facets are
+ * reused while both their TTL is not expired and the search index refresh generation is not changed.
+ * The refresh generation is requested from the provided supplier at most once per
+ * {@code generationCheckIntervalMs} to keep the generation check cheaper than facets aggregations.
+ */
+public class SearchFacetsCache {
+
+    private final Map<FacetsKey, Entry> cache;
+    private final IntSupplier maxSize;
+    private final long generationCheckIntervalMs;
+    private final LongSupplier clock;
+
+    private volatile long generation = -1;
+    private volatile long generationCheckedAt;
+
+    public SearchFacetsCache(final IntSupplier maxSize, final long generationCheckIntervalMs,
+                             final LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.generationCheckIntervalMs = generationCheckIntervalMs;
+        this.clock = clock;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<FacetsKey, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<FacetsKey, Entry> eldest) {
+                return size() > maxSize.getAsInt();
+            }
+        });
+    }
+
+    public static FacetsKey key(final String query, final Map<String, List<String>> filters,
+                                final List<String> facets, final String aclFingerprint) {
+        final Map<String, List<String>> sortedFilters = new TreeMap<>();
+        filters.forEach((field, values) -> sortedFilters.put(field,
+                values.stream().sorted().collect(Collectors.toList())));
+        return new FacetsKey(query, sortedFilters, facets.stream().sorted().collect(Collectors.toList()),
+                aclFingerprint);
+    }
+
+    public Map<String, Map<String, Long>> get(final FacetsKey key, final long ttlMs,
+                                              final LongSupplier generationSupplier,
+                                              final Supplier<Map<String, Map<String, Long>>> loader) {
+        if (ttlMs <= 0 || maxSize.getAsInt() <= 0) {
+            return loader.get();
+        }
+        final long currentGeneration = getGeneration(generationSupplier);
+        final long now = clock.getAsLong();
+        final Entry cached = cache.get(key);
+        if (cached != null && cached.getGeneration() == currentGeneration && now - cached.getCreated() < ttlMs) {
+            return copy(cached.getFacets());
+        }
+        final Map<String, Map<String, Long>> loaded = loader.get();
+        cache.put(key, new Entry(copy(loaded), currentGeneration, now));
+        return loaded;
+    }
+
+    public void clear() {
+        cache.clear();
+        generation = -1;
+        generationCheckedAt = 0;
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private long getGeneration(final LongSupplier generationSupplier) {
+        final long now = clock.getAsLong();
+        if (generation < 0 || now - generationCheckedAt >= generationCheckIntervalMs) {
+            final long currentGeneration = generationSupplier.getAsLong();
+            if (currentGeneration != generation) {
+                cache.clear();
+            }
+            generation = currentGeneration;
+            generationCheckedAt = now;
+        }
+        return generation;
+    }
+
+    private Map<String, Map<String, Long>> copy(final Map<String, Map<String, Long>> facets) {
+        return facets.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> new HashMap<>(entry.getValue())));
+    }
+
+    @Value
+    public static class FacetsKey {
+        String query;
+        Map<String, List<String>> filters;
+        List<String> facets;
+        String aclFingerprint;
+    }
+
+    @Value
+    private static class Entry {
+        Map<String, Map<String, Long>> facets;
+        long generation;
+        long created;
+    }
+}
@@ -26,34 +26,60 @@ import com.epam.pipeline.exception.search.SearchException;
 import com.epam.pipeline.manager.preference.PreferenceManager;
 import com.epam.pipeline.manager.preference.SystemPreferences;
 import com.epam.pipeline.manager.utils.GlobalSearchElasticHelper;
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.client.methods.HttpGet;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.Response;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class SearchManager {
 
     private static final String TYPE_AGGREGATION = "by_type";
-    
+    private static final String REFRESH_STATS_ENDPOINT = "/%s/_stats/refresh";
+    private static final String[] REFRESH_TOTAL_PATH = {"_all", "primaries", "refresh", "total"};
+    private static final long REFRESH_GENERATION_CHECK_INTERVAL = TimeUnit.SECONDS.toMillis(1);
+
     private final PreferenceManager preferenceManager;
     private final GlobalSearchElasticHelper globalSearchElasticHelper;
     private final SearchResultConverter resultConverter;
     private final SearchRequestBuilder requestBuilder;
+    private final SearchFacetsCache facetsCache;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public SearchManager(final PreferenceManager preferenceManager,
+                         final GlobalSearchElasticHelper globalSearchElasticHelper,
+                         final SearchResultConverter resultConverter,
+                         final SearchRequestBuilder requestBuilder) {
+        this.preferenceManager = preferenceManager;
+        this.globalSearchElasticHelper = globalSearchElasticHelper;
+        this.resultConverter = resultConverter;
+        this.requestBuilder = requestBuilder;
+        this.facetsCache = new SearchFacetsCache(
+            () -> preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_FACETS_CACHE_SIZE),
+            REFRESH_GENERATION_CHECK_INTERVAL, System::currentTimeMillis);
+    }
 
     public SearchResult search(final ElasticSearchRequest searchRequest) {
         validateRequest(searchRequest);
         try {
             final String typeFieldName = getTypeFieldName();
-            final SearchResponse searchResult = globalSearchElasticHelper.buildClient().search(
+            final SearchResponse searchResult = globalSearchElasticHelper.getClient().search(
                     requestBuilder.buildRequest(searchRequest, typeFieldName, TYPE_AGGREGATION));
             return resultConverter.buildResult(searchResult, TYPE_AGGREGATION, typeFieldName, getAclFilterFields());
         } catch (IOException e) {
@@ -64,7 +90,7 @@ public class SearchManager {
 
     public StorageUsage getStorageUsage(final AbstractDataStorage dataStorage, final String path) {
         try {
-            final SearchResponse searchResponse = globalSearchElasticHelper.buildClient().search(requestBuilder
+            final SearchResponse searchResponse = globalSearchElasticHelper.getClient().search(requestBuilder
                     .buildSumAggregationForStorage(dataStorage.getId(), dataStorage.getType(), path));
             return resultConverter.buildStorageUsageResponse(searchResponse, dataStorage, path);
         } catch (IOException e) {
@@ -73,14 +99,61 @@ public class SearchManager {
         }
     }
 
+    /**
+     * Searches a page of documents and facets for them. Facets are requested separately from the documents page
+     * and cached, so paging and repeated queries do not recompute facets aggregations.
+     */
     public FacetedSearchResult facetedSearch(final FacetedSearchRequest searchRequest) {
         Assert.notNull(searchRequest.getPageSize(), "Page Size is required");
         Assert.notNull(searchRequest.getOffset(), "Offset is required");
         try {
             final String typeFieldName = getTypeFieldName();
-            final SearchResponse response = globalSearchElasticHelper.buildClient()
+            final SearchResponse response = globalSearchElasticHelper.getClient()
                     .search(requestBuilder.buildFacetedRequest(searchRequest, typeFieldName));
-            return resultConverter.buildFacetedResult(response, typeFieldName, getAclFilterFields());
+            return resultConverter.buildFacetedResult(response, getFacets(searchRequest), typeFieldName,
+                    getAclFilterFields());
+        } catch (IOException e) {
+            log.error(e.getMessage(), e);
+            throw new SearchException(e.getMessage(), e);
+        }
+    }
+
+    private Map<String, Map<String, Long>> getFacets(final FacetedSearchRequest searchRequest) {
+        final List<String> facets = ListUtils.emptyIfNull(searchRequest.getFacets());
+        if (facets.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final SearchFacetsCache.FacetsKey key = SearchFacetsCache.key(searchRequest.getQuery(),
+                MapUtils.emptyIfNull(searchRequest.getFilters()), facets, requestBuilder.buildAclFingerprint());
+        final long ttl = TimeUnit.SECONDS.toMillis(
+                preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_FACETS_CACHE_TTL));
+        return facetsCache.get(key, ttl, this::loadRefreshGeneration, () -> loadFacets(searchRequest));
+    }
+
+    private Map<String, Map<String, Long>> loadFacets(final FacetedSearchRequest searchRequest) {
+        try {
+            return resultConverter.buildFacets(globalSearchElasticHelper.getClient()
+                    .search(requestBuilder.buildFacetsRequest(searchRequest)));
+        } catch (IOException e) {
+            log.error(e.getMessage(), e);
+            throw new SearchException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns total number of refreshes of the search indices primary shards. It changes once
+     * any new document changes become visible to search.
+     */
+    private long loadRefreshGeneration() {
+        final String indexPrefix = preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_CP_INDEX_PREFIX);
+        try {
+            final Response response = globalSearchElasticHelper.getLowLevelClient()
+                    .performRequest(HttpGet.METHOD_NAME, String.format(REFRESH_STATS_ENDPOINT, indexPrefix));
+            JsonNode node = objectMapper.readTree(response.getEntity().getContent());
+            for (final String field : REFRESH_TOTAL_PATH) {
+                node = node.path(field);
+            }
+            return node.asLong();
         } catch (IOException e) {
             log.error(e.getMessage(), e);
             throw new SearchException(e.getMessage(), e);
@@ -52,6 +52,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 import static com.epam.pipeline.manager.preference.SystemPreferences.SEARCH_ELASTIC_ALLOWED_GROUPS_FIELD;
@@ -117,18 +118,8 @@ public class SearchRequestBuilder {
 
     public SearchRequest buildFacetedRequest(final FacetedSearchRequest facetedSearchRequest,
                                              final String typeFieldName) {
-        final BoolQueryBuilder boolQueryBuilder = QueryBuilders.boolQuery();
-
-        final QueryBuilder queryBuilder = prepareFacetedQuery(facetedSearchRequest.getQuery());
-        boolQueryBuilder.must(queryBuilder);
-
-        MapUtils.emptyIfNull(facetedSearchRequest.getFilters())
-                .forEach((fieldName, values) -> boolQueryBuilder.must(filterToTermsQuery(fieldName, values)));
-
-        log.debug("Search query: {} ", boolQueryBuilder.toString());
-
         final SearchSourceBuilder searchSource = new SearchSourceBuilder()
-                .query(boolQueryBuilder)
+                .query(buildFacetedQuery(facetedSearchRequest))
                 .storedFields(buildStoredFields(typeFieldName))
                 .size(facetedSearchRequest.getPageSize())
                 .from(facetedSearchRequest.getOffset());
@@ -137,6 +128,20 @@ public class SearchRequestBuilder {
             addHighlighterToSource(searchSource);
         }
 
+        return new SearchRequest()
+                .indices(buildAllIndexTypes())
+                .source(searchSource);
+    }
+
+    /**
+     * Builds a request for facets term aggregations only. Facets do not depend on paging,
+     * thus they are requested separately from the documents page and can be cached.
+     */
+    public SearchRequest buildFacetsRequest(final FacetedSearchRequest facetedSearchRequest) {
+        final SearchSourceBuilder searchSource = new SearchSourceBuilder()
+                .query(buildFacetedQuery(facetedSearchRequest))
+                .size(0);
+
         ListUtils.emptyIfNull(facetedSearchRequest.getFacets())
                 .forEach(facet -> addTermAggregationToSource(searchSource, facet));
 
@@ -145,6 +150,31 @@ public class SearchRequestBuilder {
                 .source(searchSource);
     }
 
+    /**
+     * Returns a string that identifies ACL filters applied to search queries of the current user.
+     * All admins share the same fingerprint since no ACL filters are applied for them.
+     */
+    public String buildAclFingerprint() {
+        final PipelineUser pipelineUser = loadCurrentUser();
+        if (isAdmin(pipelineUser)) {
+            return DefaultRoles.ROLE_ADMIN.getName();
+        }
+        return pipelineUser.getUserName() + ":" + new TreeSet<>(getAuthorities(pipelineUser));
+    }
+
+    private BoolQueryBuilder buildFacetedQuery(final FacetedSearchRequest facetedSearchRequest) {
+        final BoolQueryBuilder boolQueryBuilder = QueryBuilders.boolQuery();
+
+        final QueryBuilder queryBuilder = prepareFacetedQuery(facetedSearchRequest.getQuery());
+        boolQueryBuilder.must(queryBuilder);
+
+        MapUtils.emptyIfNull(facetedSearchRequest.getFilters())
+                .forEach((fieldName, values) -> boolQueryBuilder.must(filterToTermsQuery(fieldName, values)));
+
+        log.debug("Search query: {} ", boolQueryBuilder.toString());
+        return boolQueryBuilder;
+    }
+
     private List<String> buildStoredFields(final String typeFieldName) {
         return Arrays.asList("id", typeFieldName, "name", "parentId", "description");
     }
@@ -162,19 +192,28 @@ public class SearchRequestBuilder {
     }
 
     private QueryBuilder prepareAclFiltersOrAdmin(final BoolQueryBuilder queryBuilder) {
-        final PipelineUser pipelineUser = userManager.loadUserByName(authManager.getAuthorizedUser());
-        if (pipelineUser == null) {
-            throw new IllegalArgumentException("Failed to find currently authorized user");
-        }
+        final PipelineUser pipelineUser = loadCurrentUser();
         //no check for admins
-        if (ListUtils.emptyIfNull(pipelineUser.getRoles()).stream()
-                .anyMatch(role -> role.getId().equals(DefaultRoles.ROLE_ADMIN.getId()))) {
+        if (isAdmin(pipelineUser)) {
             return queryBuilder;
         }
         addAclFilters(queryBuilder, pipelineUser);
         return queryBuilder;
     }
 
+    private PipelineUser loadCurrentUser() {
+        final PipelineUser pipelineUser = userManager.loadUserByName(authManager.getAuthorizedUser());
+        if (pipelineUser == null) {
+            throw new IllegalArgumentException("Failed to find currently authorized user");
+        }
+        return pipelineUser;
+    }
+
+    private boolean isAdmin(final PipelineUser pipelineUser) {
+        return ListUtils.emptyIfNull(pipelineUser.getRoles()).stream()
+                .anyMatch(role -> role.getId().equals(DefaultRoles.ROLE_ADMIN.getId()));
+    }
+
     private QueryBuilder getBasicQuery(final String searchQuery) {
         QueryStringQueryBuilder query = QueryBuilders.queryStringQuery(searchQuery);
         ListUtils.emptyIfNull(preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_SEARCH_FIELDS))
@@ -81,15 +81,21 @@ public class SearchResultConverter {
                 .build();
     }
 
-    public FacetedSearchResult buildFacetedResult(final SearchResponse response, final String typeFieldName,
+    public FacetedSearchResult buildFacetedResult(final SearchResponse response,
+                                                  final Map<String, Map<String, Long>> facets,
+                                                  final String typeFieldName,
                                                   final Set<String> aclFilterFields) {
         return FacetedSearchResult.builder()
                 .totalHits(response.getHits().getTotalHits())
                 .documents(buildDocuments(response.getHits(), typeFieldName, aclFilterFields))
-                .facets(buildFacets(response.getAggregations()))
+                .facets(facets)
                 .build();
     }
 
+    public Map<String, Map<String, Long>> buildFacets(final SearchResponse response) {
+        return buildFacets(response.getAggregations());
+    }
+
     private Map<SearchDocumentType, Long> buildAggregates(final Aggregations aggregations,
                                                           final String aggregation) {
         if (aggregations == null || aggregations.get(aggregation) == null) {
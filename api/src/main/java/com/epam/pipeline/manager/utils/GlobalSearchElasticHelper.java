@@ -1,30 +1,123 @@
 package com.epam.pipeline.manager.utils;
 
+import com.epam.pipeline.exception.search.SearchException;
+import com.epam.pipeline.manager.preference.AbstractSystemPreference;
 import com.epam.pipeline.manager.preference.PreferenceManager;
 import com.epam.pipeline.manager.preference.SystemPreferences;
-import lombok.RequiredArgsConstructor;
+import io.reactivex.schedulers.Schedulers;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.HttpHost;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.pool.PoolStats;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Provides a single Elasticsearch client shared by all search, billing and system logs requests.
+ * A client is built lazily on the first request and rebuilt only when one of {@code search.elastic.*}
+ * connection preferences is changed. A replaced client is closed after a socket timeout delay
+ * to let already running requests finish.
+ */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class GlobalSearchElasticHelper {
 
+    private static final List<AbstractSystemPreference<?>> CLIENT_PREFERENCES = Arrays.asList(
+            SystemPreferences.SEARCH_ELASTIC_HOST,
+            SystemPreferences.SEARCH_ELASTIC_PORT,
+            SystemPreferences.SEARCH_ELASTIC_SCHEME,
+            SystemPreferences.SEARCH_ELASTIC_CLIENT_MAX_CONNECTIONS,
+            SystemPreferences.SEARCH_ELASTIC_CLIENT_MAX_CONNECTIONS_PER_ROUTE,
+            SystemPreferences.SEARCH_ELASTIC_CLIENT_CONNECT_TIMEOUT,
+            SystemPreferences.SEARCH_ELASTIC_CLIENT_SOCKET_TIMEOUT);
+
     private final PreferenceManager preferenceManager;
+    private volatile ElasticClient elasticClient;
+
+    public GlobalSearchElasticHelper(final PreferenceManager preferenceManager) {
+        this.preferenceManager = preferenceManager;
+    }
+
+    @PostConstruct
+    public void init() {
+        CLIENT_PREFERENCES.forEach(preference -> preferenceManager.getObservablePreference(preference)
+                .subscribe(value -> resetClient()));
+    }
+
+    /**
+     * @return shared high level client, it shall not be closed by callers
+     */
+    public RestHighLevelClient getClient() {
+        return getElasticClient().getClient();
+    }
+
+    /**
+     * @return shared low level client, it shall not be closed by callers
+     */
+    public RestClient getLowLevelClient() {
+        return getElasticClient().getLowLevelClient();
+    }
+
+    /**
+     * @return connections pool statistics of the shared client, if it is already built
+     */
+    public Optional<PoolStats> getPoolStats() {
+        return Optional.ofNullable(elasticClient)
+                .map(client -> client.getConnectionManager().getTotalStats());
+    }
 
+    @PreDestroy
+    public synchronized void close() {
+        Optional.ofNullable(elasticClient).ifPresent(this::closeClient);
+        elasticClient = null;
+    }
 
-    public RestHighLevelClient buildClient() {
-        return new RestHighLevelClient(buildLowLevelClient());
+    private ElasticClient getElasticClient() {
+        ElasticClient client = elasticClient;
+        if (client == null) {
+            synchronized (this) {
+                client = elasticClient;
+                if (client == null) {
+                    client = buildClient();
+                    elasticClient = client;
+                }
+            }
+        }
+        return client;
     }
 
-    public RestClient buildLowLevelClient() {
+    private synchronized void resetClient() {
+        final ElasticClient replaced = elasticClient;
+        elasticClient = null;
+        if (replaced != null) {
+            log.info("Elasticsearch connection settings were changed, search client will be rebuilt.");
+            Schedulers.io().scheduleDirect(() -> closeClient(replaced),
+                    replaced.getSocketTimeout(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private ElasticClient buildClient() {
         final String host = preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_HOST);
         final Integer port = preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_PORT);
         final String schema = preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_SCHEME);
@@ -35,7 +128,55 @@ public class GlobalSearchElasticHelper {
                         + SystemPreferences.SEARCH_ELASTIC_PORT.getKey() + ", "
                         + SystemPreferences.SEARCH_ELASTIC_SCHEME.getKey()
         );
-        return RestClient.builder(new HttpHost(host, port, schema)).build();
+        final int connectTimeout = preferenceManager.getPreference(
+                SystemPreferences.SEARCH_ELASTIC_CLIENT_CONNECT_TIMEOUT);
+        final int socketTimeout = preferenceManager.getPreference(
+                SystemPreferences.SEARCH_ELASTIC_CLIENT_SOCKET_TIMEOUT);
+        final PoolingNHttpClientConnectionManager connectionManager = buildConnectionManager();
+        connectionManager.setMaxTotal(preferenceManager.getPreference(
+                SystemPreferences.SEARCH_ELASTIC_CLIENT_MAX_CONNECTIONS));
+        connectionManager.setDefaultMaxPerRoute(preferenceManager.getPreference(
+                SystemPreferences.SEARCH_ELASTIC_CLIENT_MAX_CONNECTIONS_PER_ROUTE));
+
+        final RestClient lowLevelClient = RestClient.builder(new HttpHost(host, port, schema))
+                .setMaxRetryTimeoutMillis(socketTimeout)
+                .setRequestConfigCallback(config -> config
+                        .setConnectTimeout(connectTimeout)
+                        .setSocketTimeout(socketTimeout))
+                .setHttpClientConfigCallback(builder -> builder.setConnectionManager(connectionManager))
+                .build();
+        log.debug("Elasticsearch search client is built for {}://{}:{}", schema, host, port);
+        return new ElasticClient(lowLevelClient, new RestHighLevelClient(lowLevelClient), connectionManager,
+                socketTimeout);
     }
 
+    private PoolingNHttpClientConnectionManager buildConnectionManager() {
+        try {
+            return new PoolingNHttpClientConnectionManager(
+                    new DefaultConnectingIOReactor(IOReactorConfig.DEFAULT),
+                    RegistryBuilder.<SchemeIOSessionStrategy>create()
+                            .register("http", NoopIOSessionStrategy.INSTANCE)
+                            .register("https", new SSLIOSessionStrategy(SSLContext.getDefault(),
+                                    SSLIOSessionStrategy.getDefaultHostnameVerifier()))
+                            .build());
+        } catch (IOReactorException | NoSuchAlgorithmException e) {
+            throw new SearchException(e.getMessage(), e);
+        }
+    }
+
+    private void closeClient(final ElasticClient client) {
+        try {
+            client.getLowLevelClient().close();
+        } catch (IOException e) {
+            log.error("Failed to close Elasticsearch search client: {}", e.getMessage());
+        }
+    }
+
+    @Value
+    private static class ElasticClient {
+        RestClient lowLevelClient;
+        RestHighLevelClient client;
+        PoolingNHttpClientConnectionManager connectionManager;
+        int socketTimeout;
+    }
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.utils;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Exposes connections pool statistics of the shared search Elasticsearch client
+ * by actuator metrics endpoint.
+ */
+@Component
+@RequiredArgsConstructor
+public class GlobalSearchElasticMetrics implements PublicMetrics {
+
+    private static final String PREFIX = "search.elastic.pool.";
+
+    private final GlobalSearchElasticHelper elasticHelper;
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        return elasticHelper.getPoolStats()
+                .<Collection<Metric<?>>>map(stats -> Arrays.asList(
+                        new Metric<>(PREFIX + "leased", stats.getLeased()),
+                        new Metric<>(PREFIX + "pending", stats.getPending()),
+                        new Metric<>(PREFIX + "available", stats.getAvailable()),
+                        new Metric<>(PREFIX + "max", stats.getMax())))
+                .orElse(Collections.emptyList());
+    }
+}
@@ -0,0 +1,10 @@
+CREATE OR REPLACE FUNCTION notify_pipeline_event() RETURNS TRIGGER AS $PIPELINE_EVENT_NOTIFY$
+BEGIN
+        PERFORM pg_notify('pipeline_event', NEW.object_type || ':' || NEW.object_id);
+        RETURN NULL;
+END;
+$PIPELINE_EVENT_NOTIFY$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS t_pipeline_event_notify ON pipeline.pipeline_event;
+CREATE TRIGGER t_pipeline_event_notify AFTER INSERT ON pipeline.pipeline_event
+    FOR EACH ROW EXECUTE PROCEDURE notify_pipeline_event();
@@ -0,0 +1,5 @@
+CREATE TABLE IF NOT EXISTS pipeline.leader_lease (
+    lease_name TEXT NOT NULL PRIMARY KEY,
+    holder TEXT NOT NULL,
+    expires TIMESTAMP WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,12 @@
+CREATE SEQUENCE pipeline.s_run_cleanup_task START WITH 1 INCREMENT BY 1;
+CREATE TABLE IF NOT EXISTS pipeline.run_cleanup_task (
+    id BIGINT NOT NULL PRIMARY KEY,
+    run_id BIGINT NOT NULL,
+    cleaner TEXT NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    created TIMESTAMP WITH TIME ZONE NOT NULL,
+    next_attempt TIMESTAMP WITH TIME ZONE NOT NULL,
+    last_error TEXT,
+    CONSTRAINT run_cleanup_task_run_cleaner_unique UNIQUE (run_id, cleaner)
+);
+CREATE INDEX IF NOT EXISTS run_cleanup_task_next_attempt_idx ON pipeline.run_cleanup_task (next_attempt);
@@ -0,0 +1,38 @@
+ALTER TABLE pipeline.metadata_entity ADD COLUMN IF NOT EXISTS search_values TEXT;
+
+-- Flattens lower cased values of the entity attributes into a single text, each value is prefixed
+-- with a line break, so both substring and prefix searches can be served with a single LIKE pattern
+CREATE OR REPLACE FUNCTION pipeline.metadata_entity_search_values(data JSONB) RETURNS TEXT AS $$
+    SELECT string_agg(E'\n' || LOWER(attribute.value ->> 'value'), '')
+    FROM jsonb_each(data) AS attribute(key, value)
+    WHERE jsonb_typeof(attribute.value) = 'object';
+$$ LANGUAGE sql IMMUTABLE;
+
+CREATE OR REPLACE FUNCTION pipeline.update_metadata_entity_search_values() RETURNS TRIGGER AS $SEARCH_VALUES$
+BEGIN
+        IF (TG_OP = 'INSERT' OR NEW.data IS DISTINCT FROM OLD.data) THEN
+            NEW.search_values = pipeline.metadata_entity_search_values(NEW.data);
+        END IF;
+        RETURN NEW;
+END;
+$SEARCH_VALUES$ LANGUAGE plpgsql;
+
+CREATE TRIGGER t_metadata_entity_search_values
+BEFORE INSERT OR UPDATE ON pipeline.metadata_entity FOR EACH ROW
+EXECUTE PROCEDURE pipeline.update_metadata_entity_search_values();
+
+-- search values are not a part of the search index documents, so no pipeline events are required for backfill
+ALTER TABLE pipeline.metadata_entity DISABLE TRIGGER t_metadata_entity;
+UPDATE pipeline.metadata_entity SET search_values = pipeline.metadata_entity_search_values(data);
+ALTER TABLE pipeline.metadata_entity ENABLE TRIGGER t_metadata_entity;
+
+-- pg_trgm may be unavailable for a non privileged database user, search still works without index in this case
+DO $TRGM$
+BEGIN
+        CREATE EXTENSION IF NOT EXISTS pg_trgm;
+        CREATE INDEX IF NOT EXISTS metadata_entity_search_values_trgm_idx
+            ON pipeline.metadata_entity USING gin (search_values gin_trgm_ops);
+EXCEPTION WHEN OTHERS THEN
+        RAISE WARNING 'Trigram index for metadata entity search was not created: %', SQLERRM;
+END;
+$TRGM$;
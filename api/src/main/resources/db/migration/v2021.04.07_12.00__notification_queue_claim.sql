@@ -0,0 +1 @@
+ALTER TABLE pipeline.notification_queue ADD COLUMN IF NOT EXISTS claimed_until TIMESTAMP;
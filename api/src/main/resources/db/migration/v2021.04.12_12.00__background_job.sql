@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS pipeline.background_job (
+    id TEXT NOT NULL PRIMARY KEY,
+    type TEXT NOT NULL,
+    state JSONB NOT NULL,
+    end_date TIMESTAMP WITH TIME ZONE
+);
+CREATE INDEX IF NOT EXISTS background_job_end_date_idx ON pipeline.background_job (end_date);
@@ -44,8 +44,8 @@ import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.test.context.support.WithMockUser;
 
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -58,6 +58,7 @@ import static com.epam.pipeline.util.CustomAssertions.assertThrows;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
 
 public class ClusterApiServiceTest extends AbstractAclTest {
 
@@ -68,7 +69,7 @@ public class ClusterApiServiceTest extends AbstractAclTest {
     private final FilterNodesVO filterNodesVO = NodeCreatorUtils.getDefaultFilterNodesVO();
     private final NodeDisk nodeDisk = NodeCreatorUtils.getDefaultNodeDisk();
     private final MonitoringStats monitoringStats = ClusterCreatorUtils.getMonitoringStats();
-    private final InputStream inputStream = new ByteArrayInputStream(TEST_STRING.getBytes());
+    private final OutputStream outputStream = new ByteArrayOutputStream();
     private final Authentication authentication = new TestingAuthenticationToken(new Object(), new Object());
 
     private final List<NodeDisk> nodeDisks = NodeCreatorUtils.getNodeDiskList();
@@ -320,43 +321,39 @@ public class ClusterApiServiceTest extends AbstractAclTest {
 
     @Test
     @WithMockUser(roles = ADMIN_ROLE)
-    public void shouldReturnUsageStatisticsFileForAdmin() {
-        doReturn(inputStream).when(mockUsageMonitoringManager).getStatsForNodeAsInputStream(
-                nodeInstance.getName(), LocalDateTime.MIN, LocalDateTime.MAX, Duration.ZERO, MonitoringReportType.CSV);
+    public void shouldWriteUsageStatisticsFileForAdmin() {
+        clusterApiService.writeUsageStatisticsFile(nodeInstance.getName(), LocalDateTime.MIN, LocalDateTime.MAX,
+                Duration.ZERO, MonitoringReportType.CSV, outputStream);
 
-        final InputStream returnedInputStream = clusterApiService.getUsageStatisticsFile(
-            nodeInstance.getName(), LocalDateTime.MIN, LocalDateTime.MAX, Duration.ZERO, MonitoringReportType.CSV);
-
-        assertThat(returnedInputStream).isEqualTo(inputStream);
+        verify(mockUsageMonitoringManager).writeStatsForNode(nodeInstance.getName(), LocalDateTime.MIN,
+                LocalDateTime.MAX, Duration.ZERO, MonitoringReportType.CSV, outputStream);
     }
 
     @Test
     @WithMockUser
-    public void shouldReturnUsageStatisticsFileWhenPermissionIsGranted() {
+    public void shouldWriteUsageStatisticsFileWhenPermissionIsGranted() {
         initAclEntity(nodeInstance, AclPermission.READ);
-        doReturn(inputStream).when(mockUsageMonitoringManager).getStatsForNodeAsInputStream(
-                nodeInstance.getName(), LocalDateTime.MIN, LocalDateTime.MAX, Duration.ZERO, MonitoringReportType.CSV);
         mockNode(nodeInstance);
         mockRun(pipelineRun);
         mockUser();
 
-        final InputStream returnedInputStream = clusterApiService.getUsageStatisticsFile(
-                nodeInstance.getName(), LocalDateTime.MIN, LocalDateTime.MAX, Duration.ZERO, MonitoringReportType.CSV);
+        clusterApiService.writeUsageStatisticsFile(nodeInstance.getName(), LocalDateTime.MIN, LocalDateTime.MAX,
+                Duration.ZERO, MonitoringReportType.CSV, outputStream);
 
-        assertThat(returnedInputStream).isEqualTo(inputStream);
+        verify(mockUsageMonitoringManager).writeStatsForNode(nodeInstance.getName(), LocalDateTime.MIN,
+                LocalDateTime.MAX, Duration.ZERO, MonitoringReportType.CSV, outputStream);
     }
 
     @Test
     @WithMockUser
     public void shouldDenyAccessToUsageStatisticsFileWhenPermissionIsNotGranted() {
         initAclEntity(nodeInstance);
-        doReturn(inputStream).when(mockUsageMonitoringManager).getStatsForNodeAsInputStream(
-                nodeInstance.getName(), LocalDateTime.MIN, LocalDateTime.MAX, Duration.ZERO, MonitoringReportType.CSV);
         mockNode(nodeInstance);
         mockRun(pipelineRun);
 
-        assertThrows(AccessDeniedException.class, () -> clusterApiService.getUsageStatisticsFile(
-                nodeInstance.getName(), LocalDateTime.MIN, LocalDateTime.MAX, Duration.ZERO, MonitoringReportType.CSV));
+        assertThrows(AccessDeniedException.class, () -> clusterApiService.writeUsageStatisticsFile(
+                nodeInstance.getName(), LocalDateTime.MIN, LocalDateTime.MAX, Duration.ZERO, MonitoringReportType.CSV,
+                outputStream));
     }
 
     @Test
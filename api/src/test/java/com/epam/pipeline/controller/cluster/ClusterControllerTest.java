@@ -39,8 +39,7 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -290,22 +289,25 @@ public class ClusterControllerTest extends AbstractControllerTest {
     @Test
     @WithMockUser
     public void shouldDownloadNodeUsageStatisticsReport() throws Exception {
-        final InputStream inputStream = new ByteArrayInputStream(TEST_DATA.getBytes());
         final MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
         final String expectedFileName = "testName_2019-04-01T09_08_07-2020-05-02T12_11_10-PT1H.csv";
         params.add(FROM, from.format(REQUEST_FORMATTER));
         params.add(TO, to.format(REQUEST_FORMATTER));
         params.add(INTERVAL, DURATION_AS_STRING);
         params.add(REPORT_TYPE, MonitoringReportType.CSV.toString());
-        Mockito.doReturn(inputStream).when(mockClusterApiService)
-                .getUsageStatisticsFile(NAME, from, to, Duration.ofHours(1), MonitoringReportType.CSV);
+        Mockito.doAnswer(invocation -> {
+            final OutputStream outputStream = (OutputStream) invocation.getArguments()[5];
+            outputStream.write(TEST_DATA.getBytes());
+            return null;
+        }).when(mockClusterApiService).writeUsageStatisticsFile(Mockito.eq(NAME), Mockito.eq(from), Mockito.eq(to),
+                Mockito.eq(Duration.ofHours(1)), Mockito.eq(MonitoringReportType.CSV), Mockito.any());
 
         final MvcResult mvcResult = performRequest(
                 get(String.format(NODE_STATISTICS_URL, NAME)).params(params), OCTET_STREAM_CONTENT_TYPE
         );
 
-        Mockito.verify(mockClusterApiService).getUsageStatisticsFile(NAME, from, to, Duration.ofHours(1),
-                                                                     MonitoringReportType.CSV);
+        Mockito.verify(mockClusterApiService).writeUsageStatisticsFile(Mockito.eq(NAME), Mockito.eq(from),
+                Mockito.eq(to), Mockito.eq(Duration.ofHours(1)), Mockito.eq(MonitoringReportType.CSV), Mockito.any());
         final String actualResponseData = mvcResult.getResponse().getContentAsString();
         final String contentDispositionHeader = mvcResult.getResponse().getHeader(CONTENT_DISPOSITION_HEADER);
         Assert.assertEquals(TEST_DATA, actualResponseData);
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.pipeline.dao.cluster;
+
+import com.epam.pipeline.entity.cluster.LeaderLease;
+import com.epam.pipeline.test.jdbc.AbstractJdbcTest;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+@Transactional
+public class LeaderLeaseDaoTest extends AbstractJdbcTest {
+
+    private static final String LEASE = "PodMonitor";
+    private static final String HOLDER = "api-1";
+    private static final String ANOTHER_HOLDER = "api-2";
+    private static final long DURATION = 60_000L;
+    private static final long EXPIRED_DURATION = -1_000L;
+
+    @Autowired
+    private LeaderLeaseDao dao;
+
+    @Test
+    public void acquireLeaseShouldSucceedForFreeLease() {
+        assertTrue(dao.acquireLease(LEASE, HOLDER, DURATION));
+
+        final List<LeaderLease> leases = dao.loadActiveLeases();
+        assertThat(leases.size(), is(1));
+        assertThat(leases.get(0).getName(), is(LEASE));
+        assertThat(leases.get(0).getHolder(), is(HOLDER));
+    }
+
+    @Test
+    public void acquireLeaseShouldRenewLeaseOfTheSameHolder() {
+        assertTrue(dao.acquireLease(LEASE, HOLDER, DURATION));
+        assertTrue(dao.acquireLease(LEASE, HOLDER, DURATION));
+    }
+
+    @Test
+    public void acquireLeaseShouldFailForLeaseHeldByAnotherHolder() {
+        assertTrue(dao.acquireLease(LEASE, HOLDER, DURATION));
+
+        assertFalse(dao.acquireLease(LEASE, ANOTHER_HOLDER, DURATION));
+        assertThat(dao.loadActiveLeases().get(0).getHolder(), is(HOLDER));
+    }
+
+    @Test
+    public void acquireLeaseShouldTakeOverExpiredLease() {
+        assertTrue(dao.acquireLease(LEASE, HOLDER, EXPIRED_DURATION));
+        assertTrue(dao.loadActiveLeases().isEmpty());
+
+        assertTrue(dao.acquireLease(LEASE, ANOTHER_HOLDER, DURATION));
+        assertThat(dao.loadActiveLeases().get(0).getHolder(), is(ANOTHER_HOLDER));
+    }
+
+    @Test
+    public void releaseLeaseShouldRemoveOnlyLeaseOfTheHolder() {
+        assertTrue(dao.acquireLease(LEASE, HOLDER, DURATION));
+
+        dao.releaseLease(LEASE, ANOTHER_HOLDER);
+        assertThat(dao.loadActiveLeases().size(), is(1));
+
+        dao.releaseLease(LEASE, HOLDER);
+        assertTrue(dao.loadActiveLeases().isEmpty());
+    }
+}
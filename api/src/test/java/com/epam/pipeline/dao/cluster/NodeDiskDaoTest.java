@@ -26,6 +26,7 @@ import org.springframework.dao.DataIntegrityViolationException;
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -40,6 +41,7 @@ public class NodeDiskDaoTest extends AbstractJdbcTest {
     
     private static final String NODE_ID = "NODE_ID";
     private static final String ANOTHER_NODE_ID = "ANOTHER_NODE_ID";
+    private static final String YET_ANOTHER_NODE_ID = "YET_ANOTHER_NODE_ID";
     private static final String NULL_NODE_ID = null;
     private static final Long SIZE = 1L;
     private static final Long NULL_SIZE = null;
@@ -118,6 +120,25 @@ public class NodeDiskDaoTest extends AbstractJdbcTest {
         assertThat(disks.size(), is(3));
     }
 
+    @Test
+    public void loadByNodeIdsShouldReturnDisksOfAllSpecifiedNodes() {
+        insert(NODE_ID, diskRequestOf(SIZE), diskRequestOf(SIZE));
+        insert(ANOTHER_NODE_ID, diskRequestOf(SIZE), diskRequestOf(SIZE), diskRequestOf(SIZE));
+        insert(YET_ANOTHER_NODE_ID, diskRequestOf(SIZE));
+
+        final List<NodeDisk> disks = dao.loadByNodeIds(Arrays.asList(NODE_ID, ANOTHER_NODE_ID));
+
+        assertThat(disks.size(), is(5));
+        assertTrue(disks.stream().noneMatch(disk -> YET_ANOTHER_NODE_ID.equals(disk.getNodeId())));
+    }
+
+    @Test
+    public void loadByNodeIdsShouldReturnEmptyListForNoNodes() {
+        insert(NODE_ID, diskRequestOf(SIZE));
+
+        assertTrue(dao.loadByNodeIds(Collections.emptyList()).isEmpty());
+    }
+
     private List<NodeDisk> insert(final String nodeId, final LocalDateTime creationDate, 
                                   final DiskRegistrationRequest... requests) {
         return dao.insert(nodeId, creationDate, Arrays.asList(requests));
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.dao.cluster;
+
+import com.epam.pipeline.entity.cluster.RunCleanupTask;
+import com.epam.pipeline.entity.utils.DateUtils;
+import com.epam.pipeline.test.jdbc.AbstractJdbcTest;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+@Transactional
+public class RunCleanupTaskDaoTest extends AbstractJdbcTest {
+
+    private static final Long RUN_ID = 1L;
+    private static final String CLEANER = "DNSRecordRunCleaner";
+    private static final String ANOTHER_CLEANER = "LustreRunCleaner";
+    private static final String ERROR = "error";
+    private static final int LIMIT = 10;
+
+    @Autowired
+    private RunCleanupTaskDao dao;
+
+    @Test
+    public void createTasksShouldSkipAlreadyQueuedTasks() {
+        final LocalDateTime now = DateUtils.nowUTC();
+        dao.createTasks(Arrays.asList(task(CLEANER, now), task(ANOTHER_CLEANER, now)));
+        dao.createTasks(Collections.singletonList(task(CLEANER, now)));
+
+        assertThat(dao.countTasks(), is(2L));
+        assertThat(dao.loadDueTasks(now, LIMIT).size(), is(2));
+    }
+
+    @Test
+    public void loadDueTasksShouldReturnOnlyTasksWithPassedNextAttempt() {
+        final LocalDateTime now = DateUtils.nowUTC();
+        final RunCleanupTask task = task(CLEANER, now);
+        dao.createTasks(Arrays.asList(task, task(ANOTHER_CLEANER, now.plusMinutes(1))));
+
+        final List<RunCleanupTask> tasks = dao.loadDueTasks(now, LIMIT);
+        assertThat(tasks.size(), is(1));
+        assertThat(tasks.get(0).getId(), is(task.getId()));
+        assertThat(tasks.get(0).getRunId(), is(RUN_ID));
+        assertThat(tasks.get(0).getCleaner(), is(CLEANER));
+    }
+
+    @Test
+    public void updateTaskShouldRescheduleTask() {
+        final LocalDateTime now = DateUtils.nowUTC();
+        final RunCleanupTask task = task(CLEANER, now);
+        dao.createTasks(Collections.singletonList(task));
+
+        task.setAttempts(1);
+        task.setNextAttempt(now.plusMinutes(1));
+        task.setLastError(ERROR);
+        dao.updateTask(task);
+
+        assertTrue(dao.loadDueTasks(now, LIMIT).isEmpty());
+        final RunCleanupTask loaded = dao.loadDueTasks(now.plusMinutes(1), LIMIT).get(0);
+        assertThat(loaded.getAttempts(), is(1));
+        assertThat(loaded.getLastError(), is(ERROR));
+    }
+
+    @Test
+    public void deleteTaskShouldRemoveTask() {
+        final RunCleanupTask task = task(CLEANER, DateUtils.nowUTC());
+        dao.createTasks(Collections.singletonList(task));
+
+        dao.deleteTask(task.getId());
+
+        assertThat(dao.countTasks(), is(0L));
+    }
+
+    private static RunCleanupTask task(final String cleaner, final LocalDateTime nextAttempt) {
+        return RunCleanupTask.builder()
+                .runId(RUN_ID)
+                .cleaner(cleaner)
+                .created(nextAttempt)
+                .nextAttempt(nextAttempt)
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dao.job;
+
+import com.epam.pipeline.entity.configuration.ConfigurationLaunchError;
+import com.epam.pipeline.entity.configuration.ConfigurationLaunchJob;
+import com.epam.pipeline.entity.configuration.ConfigurationLaunchStatus;
+import com.epam.pipeline.entity.job.BackgroundJobType;
+import com.epam.pipeline.test.jdbc.AbstractJdbcTest;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+@Transactional
+public class BackgroundJobDaoTest extends AbstractJdbcTest {
+
+    private static final String ID = "id";
+    private static final String OWNER = "OWNER";
+    private static final String ERROR = "error";
+    private static final long HOUR = 60 * 60 * 1000L;
+
+    @Autowired
+    private BackgroundJobDao dao;
+
+    @Test
+    public void saveJobShouldReplaceStateOfExistingJob() {
+        final ConfigurationLaunchJob job = job(null);
+        dao.saveJob(BackgroundJobType.CONFIGURATION_LAUNCH, job);
+        final Date endDate = new Date();
+        job.setStatus(ConfigurationLaunchStatus.COMPLETED_WITH_ERRORS);
+        job.setRunIds(Arrays.asList(1L, 2L));
+        job.setErrors(Collections.singletonList(new ConfigurationLaunchError(Collections.singletonList(3L), ERROR)));
+        job.setEndDate(endDate);
+        dao.saveJob(BackgroundJobType.CONFIGURATION_LAUNCH, job);
+
+        final ConfigurationLaunchJob loaded = dao.loadJob(BackgroundJobType.CONFIGURATION_LAUNCH, ID,
+                ConfigurationLaunchJob.class).get();
+        assertThat(loaded.getOwner(), is(OWNER));
+        assertThat(loaded.getStatus(), is(ConfigurationLaunchStatus.COMPLETED_WITH_ERRORS));
+        assertThat(loaded.getRunIds(), is(Arrays.asList(1L, 2L)));
+        assertThat(loaded.getErrors().get(0).getMessage(), is(ERROR));
+        assertThat(loaded.getEndDate(), is(endDate));
+    }
+
+    @Test
+    public void loadJobShouldNotReturnJobOfAnotherType() {
+        dao.saveJob(BackgroundJobType.CONFIGURATION_LAUNCH, job(null));
+
+        assertFalse(dao.loadJob(BackgroundJobType.FOLDER_CLONE, ID, ConfigurationLaunchJob.class).isPresent());
+    }
+
+    @Test
+    public void deleteJobsFinishedBeforeShouldKeepRecentAndUnfinishedJobs() {
+        final Date now = new Date();
+        dao.saveJob(BackgroundJobType.CONFIGURATION_LAUNCH, job(null));
+        final ConfigurationLaunchJob expired = job(new Date(now.getTime() - 2 * HOUR));
+        expired.setId("expired");
+        dao.saveJob(BackgroundJobType.CONFIGURATION_LAUNCH, expired);
+        final ConfigurationLaunchJob recent = job(now);
+        recent.setId("recent");
+        dao.saveJob(BackgroundJobType.CONFIGURATION_LAUNCH, recent);
+
+        dao.deleteJobsFinishedBefore(new Date(now.getTime() - HOUR));
+
+        assertTrue(dao.loadJob(BackgroundJobType.CONFIGURATION_LAUNCH, ID, ConfigurationLaunchJob.class)
+                .isPresent());
+        assertTrue(dao.loadJob(BackgroundJobType.CONFIGURATION_LAUNCH, "recent", ConfigurationLaunchJob.class)
+                .isPresent());
+        assertFalse(dao.loadJob(BackgroundJobType.CONFIGURATION_LAUNCH, "expired", ConfigurationLaunchJob.class)
+                .isPresent());
+    }
+
+    private static ConfigurationLaunchJob job(final Date endDate) {
+        final ConfigurationLaunchJob job = new ConfigurationLaunchJob();
+        job.setId(ID);
+        job.setOwner(OWNER);
+        job.setStatus(ConfigurationLaunchStatus.RUNNING);
+        job.setEndDate(endDate);
+        return job;
+    }
+}
@@ -411,6 +411,55 @@ public class MetadataEntityDaoTest extends AbstractJdbcTest {
 
     }
 
+    @Test
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+    public void testPrefixSearch() {
+        MetadataClass metadataClass = createMetadataClass(CLASS_NAME_1);
+        Folder folder = createFolder();
+        Map<String, PipeConfValue> data1 = new HashMap<>();
+        data1.put(DATA_KEY_1, new PipeConfValue(DATA_TYPE_1, DATA_VALUE_1));
+        MetadataEntity sample1 = createMetadataEntity(folder, metadataClass, EXTERNAL_ID_1, data1);
+        Map<String, PipeConfValue> data2 = new HashMap<>();
+        data2.put(DATA_KEY_1, new PipeConfValue(DATA_TYPE_1, DATA_VALUE_2));
+        data2.put(DATA_KEY_2, new PipeConfValue(DATA_TYPE_1, DATA_VALUE_2 + DATA_VALUE_1));
+        MetadataEntity sample2 = createMetadataEntity(folder, metadataClass, EXTERNAL_ID_2, data2);
+
+        MetadataFilter substringSearch = createFilter(folder.getId(), metadataClass.getName(),
+                Collections.singletonList("own"), Collections.emptyList(),
+                Collections.singletonList(new MetadataFilter.OrderBy("id", false)), false);
+        checkFilterRequest(substringSearch, Arrays.asList(sample1, sample2));
+
+        MetadataFilter prefixSearch = createFilter(folder.getId(), metadataClass.getName(),
+                Collections.singletonList("own"), Collections.emptyList(), Collections.emptyList(), false);
+        prefixSearch.setPrefixSearch(true);
+        checkFilterRequest(prefixSearch, Collections.singletonList(sample1));
+
+        MetadataFilter prefixSearchAnyValue = createFilter(folder.getId(), metadataClass.getName(),
+                Collections.singletonList("adm"), Collections.emptyList(), Collections.emptyList(), false);
+        prefixSearchAnyValue.setPrefixSearch(true);
+        checkFilterRequest(prefixSearchAnyValue, Collections.singletonList(sample2));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+    public void testSearchAfterDataUpdate() {
+        MetadataClass metadataClass = createMetadataClass(CLASS_NAME_1);
+        Folder folder = createFolder();
+        Map<String, PipeConfValue> data = new HashMap<>();
+        data.put(DATA_KEY_1, new PipeConfValue(DATA_TYPE_1, DATA_VALUE_1));
+        MetadataEntity sample = createMetadataEntity(folder, metadataClass, EXTERNAL_ID_1, data);
+        MetadataFilter filter = createFilter(folder.getId(), metadataClass.getName(),
+                Collections.singletonList(DATA_VALUE_2), Collections.emptyList(), Collections.emptyList(), false);
+        checkFilterRequest(filter, Collections.emptyList());
+
+        metadataEntityDao.updateMetadataEntityDataKey(sample, DATA_KEY_2, DATA_VALUE_2, DATA_TYPE_1);
+        sample.getData().put(DATA_KEY_2, new PipeConfValue(DATA_TYPE_1, DATA_VALUE_2));
+        checkFilterRequest(filter, Collections.singletonList(sample));
+
+        metadataEntityDao.deleteMetadataItemKey(sample.getId(), DATA_KEY_2);
+        checkFilterRequest(filter, Collections.emptyList());
+    }
+
     @Test
     @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
     public void testGetKeys() {
@@ -587,6 +587,22 @@ public class PipelineRunDaoTest extends AbstractJdbcTest {
         assertEquals(runSids.size(), loadedRun.getRunSids().size());
     }
 
+    @Test
+    public void createPipelineRunsShouldCreateRunsWithRunSids() {
+        PipelineRun run1 = buildPipelineRun(testPipeline.getId(), TEST_SERVICE_URL);
+        run1.setRunSids(Arrays.asList(runSid(TEST_USER, true), runSid(GROUP_NAME, false)));
+        PipelineRun run2 = buildPipelineRun(testPipeline.getId(), TEST_SERVICE_URL);
+
+        pipelineRunDao.createPipelineRuns(Arrays.asList(run1, run2));
+
+        PipelineRun loadedRun1 = pipelineRunDao.loadPipelineRun(run1.getId());
+        PipelineRun loadedRun2 = pipelineRunDao.loadPipelineRun(run2.getId());
+        assertEquals(TEST_PARAMS, loadedRun1.getParams());
+        assertEquals(2, loadedRun1.getRunSids().size());
+        assertEquals(TEST_PARAMS, loadedRun2.getParams());
+        assertTrue(loadedRun2.getRunSids().isEmpty());
+    }
+
     @Test
     public void testUpdateWithRunSids() {
         List<RunSid> runSids = new ArrayList<>();
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.billing;
+
+import com.epam.pipeline.entity.billing.BillingChartInfo;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+
+public class BillingResultCacheTest {
+
+    private static final String KEY = "key";
+    private static final String ANOTHER_KEY = "another";
+    private static final long TTL = 1000L;
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final BillingResultCache cache = new BillingResultCache(1, TTL, now::get);
+    private final Supplier<List<BillingChartInfo>> loader = () -> {
+        loads.incrementAndGet();
+        return Collections.singletonList(BillingChartInfo.builder().cost(1L).build());
+    };
+
+    @Test
+    public void getShouldReuseLoadedResultWithinTtl() {
+        cache.get(KEY, loader);
+        now.addAndGet(TTL - 1);
+
+        assertEquals(1L, (long) cache.get(KEY, loader).get(0).getCost());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void getShouldReloadExpiredResult() {
+        cache.get(KEY, loader);
+        now.addAndGet(TTL);
+
+        cache.get(KEY, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void getShouldEvictEldestResultOnceSizeIsExceeded() {
+        cache.get(KEY, loader);
+        cache.get(ANOTHER_KEY, loader);
+
+        cache.get(KEY, loader);
+
+        assertEquals(3, loads.get());
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.billing;
+
+import com.epam.pipeline.manager.billing.BillingRollupPeriod.Source;
+import org.elasticsearch.search.aggregations.bucket.histogram.DateHistogramInterval;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class BillingRollupPeriodTest {
+
+    private static final LocalDate LAST_CLOSED_DAY = LocalDate.of(2021, 3, 15);
+
+    @Test
+    public void splitShouldUseMonthlyRollupsForFullClosedMonthsAndDailyRollupsForTheRest() {
+        final List<BillingRollupPeriod> periods = BillingRollupPeriod.split(
+            LocalDate.of(2020, 12, 10), LocalDate.of(2021, 3, 10), LAST_CLOSED_DAY, DateHistogramInterval.MONTH);
+
+        assertEquals(Arrays.asList(
+            period(Source.DAILY_ROLLUP, LocalDate.of(2020, 12, 10), LocalDate.of(2020, 12, 31)),
+            period(Source.MONTHLY_ROLLUP, LocalDate.of(2021, 1, 1), LocalDate.of(2021, 2, 28)),
+            period(Source.DAILY_ROLLUP, LocalDate.of(2021, 3, 1), LocalDate.of(2021, 3, 10))), periods);
+    }
+
+    @Test
+    public void splitShouldUseRawIndicesForDaysAfterTheLastClosedDay() {
+        final List<BillingRollupPeriod> periods = BillingRollupPeriod.split(
+            LocalDate.of(2021, 2, 1), LocalDate.of(2021, 3, 31), LAST_CLOSED_DAY, null);
+
+        assertEquals(Arrays.asList(
+            period(Source.MONTHLY_ROLLUP, LocalDate.of(2021, 2, 1), LocalDate.of(2021, 2, 28)),
+            period(Source.DAILY_ROLLUP, LocalDate.of(2021, 3, 1), LAST_CLOSED_DAY),
+            period(Source.RAW, LAST_CLOSED_DAY.plusDays(1), LocalDate.of(2021, 3, 31))), periods);
+    }
+
+    @Test
+    public void splitShouldNotUseMonthlyRollupsForDailyHistograms() {
+        final List<BillingRollupPeriod> periods = BillingRollupPeriod.split(
+            LocalDate.of(2021, 1, 1), LocalDate.of(2021, 2, 28), LAST_CLOSED_DAY, DateHistogramInterval.DAY);
+
+        assertEquals(Collections.singletonList(
+            period(Source.DAILY_ROLLUP, LocalDate.of(2021, 1, 1), LocalDate.of(2021, 2, 28))), periods);
+    }
+
+    @Test
+    public void splitShouldUseOnlyRawIndicesIfPeriodStartsAfterTheLastClosedDay() {
+        final List<BillingRollupPeriod> periods = BillingRollupPeriod.split(
+            LAST_CLOSED_DAY.plusDays(1), LocalDate.of(2021, 3, 20), LAST_CLOSED_DAY, null);
+
+        assertEquals(Collections.singletonList(
+            period(Source.RAW, LAST_CLOSED_DAY.plusDays(1), LocalDate.of(2021, 3, 20))), periods);
+    }
+
+    private BillingRollupPeriod period(final Source source, final LocalDate from, final LocalDate to) {
+        return new BillingRollupPeriod(source, from, to);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.cloud.aws;
+
+import com.amazonaws.auth.AWSCredentials;
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.services.ec2.AmazonEC2;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class EC2ClientRegistryTest {
+
+    private static final String REGION = "us-east-1";
+    private static final String ANOTHER_REGION = "eu-central-1";
+    private static final String PROFILE = "profile";
+    private static final String KEY_ID = "key";
+    private static final String ROTATED_KEY_ID = "rotated";
+
+    private final Map<String, StubCredentialsProvider> providers = new HashMap<>();
+    private final AtomicInteger builtClients = new AtomicInteger();
+    private final EC2ClientRegistry registry = new EC2ClientRegistry(
+        profile -> providers.computeIfAbsent(String.valueOf(profile), p -> new StubCredentialsProvider()),
+        (region, provider) -> {
+            builtClients.incrementAndGet();
+            return mock(AmazonEC2.class);
+        });
+
+    @Test
+    public void getClientShouldReuseClientForTheSameRegionAndProfile() {
+        final AmazonEC2 client = registry.getClient(REGION, null);
+
+        assertSame(client, registry.getClient(REGION, null));
+        assertEquals(1, builtClients.get());
+    }
+
+    @Test
+    public void getClientShouldBuildClientPerRegionAndProfile() {
+        final AmazonEC2 client = registry.getClient(REGION, null);
+
+        assertNotSame(client, registry.getClient(ANOTHER_REGION, null));
+        assertNotSame(client, registry.getClient(REGION, PROFILE));
+        assertEquals(3, builtClients.get());
+    }
+
+    @Test
+    public void getClientShouldRebuildClientOnceCredentialsAreRotated() {
+        final AmazonEC2 client = registry.getClient(REGION, PROFILE);
+        providers.get(PROFILE).keyId = ROTATED_KEY_ID;
+
+        final AmazonEC2 rebuilt = registry.getClient(REGION, PROFILE);
+
+        assertNotSame(client, rebuilt);
+        assertSame(rebuilt, registry.getClient(REGION, PROFILE));
+        assertEquals(2, builtClients.get());
+    }
+
+    @Test
+    public void shutdownShouldShutdownAllClients() {
+        final AmazonEC2 client = registry.getClient(REGION, null);
+        final AmazonEC2 anotherClient = registry.getClient(ANOTHER_REGION, null);
+
+        registry.shutdown();
+
+        verify(client).shutdown();
+        verify(anotherClient).shutdown();
+    }
+
+    private static class StubCredentialsProvider implements AWSCredentialsProvider {
+
+        private String keyId = KEY_ID;
+
+        @Override
+        public AWSCredentials getCredentials() {
+            return new BasicAWSCredentials(keyId, "secret");
+        }
+
+        @Override
+        public void refresh() {
+            // no op
+        }
+    }
+}
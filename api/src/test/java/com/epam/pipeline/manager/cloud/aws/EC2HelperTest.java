@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.cloud.aws;
+
+import com.amazonaws.services.ec2.AmazonEC2;
+import com.amazonaws.services.ec2.model.AvailabilityZone;
+import com.amazonaws.services.ec2.model.DescribeAvailabilityZonesResult;
+import com.amazonaws.services.ec2.model.DescribeInstancesRequest;
+import com.amazonaws.services.ec2.model.DescribeInstancesResult;
+import com.amazonaws.services.ec2.model.DescribeSpotPriceHistoryRequest;
+import com.amazonaws.services.ec2.model.DescribeSpotPriceHistoryResult;
+import com.amazonaws.services.ec2.model.Instance;
+import com.amazonaws.services.ec2.model.Reservation;
+import com.amazonaws.services.ec2.model.SpotPrice;
+import com.amazonaws.services.ec2.model.Tag;
+import com.epam.pipeline.common.MessageHelper;
+import com.epam.pipeline.entity.region.AwsRegion;
+import com.epam.pipeline.exception.cloud.aws.AwsEc2Exception;
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static com.epam.pipeline.util.CustomAssertions.assertThrows;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("checkstyle:MagicNumber")
+public class EC2HelperTest {
+
+    private static final String REGION_CODE = "us-east-1";
+    private static final String INSTANCE_TYPE = "m5.large";
+    private static final String ZONE = "us-east-1a";
+    private static final String RUN_ID = "1";
+    private static final String ANOTHER_RUN_ID = "2";
+    private static final String INSTANCE_ID = "i-1";
+    private static final double DELTA = 0.0001;
+
+    private final PreferenceManager preferenceManager = mock(PreferenceManager.class);
+    private final EC2ClientRegistry clientRegistry = mock(EC2ClientRegistry.class);
+    private final AmazonEC2 client = mock(AmazonEC2.class);
+    private final EC2Helper ec2Helper = new EC2Helper(preferenceManager, mock(MessageHelper.class), clientRegistry);
+    private final AwsRegion region = new AwsRegion();
+
+    @Before
+    public void setUp() {
+        region.setRegionCode(REGION_CODE);
+        when(clientRegistry.getClient(anyString(), any())).thenReturn(client);
+        when(preferenceManager.getPreference(SystemPreferences.CLUSTER_SPOT_PRICE_CACHE_TTL)).thenReturn(300);
+        when(preferenceManager.getPreference(SystemPreferences.CLUSTER_AUTOSCALE_RATE)).thenReturn(40000);
+        when(client.describeAvailabilityZones()).thenReturn(new DescribeAvailabilityZonesResult()
+                .withAvailabilityZones(new AvailabilityZone().withZoneName(ZONE)));
+        when(client.describeSpotPriceHistory(any(DescribeSpotPriceHistoryRequest.class)))
+                .thenReturn(new DescribeSpotPriceHistoryResult().withSpotPriceHistory(
+                        new SpotPrice().withAvailabilityZone(ZONE).withSpotPrice("0.1"),
+                        new SpotPrice().withAvailabilityZone(ZONE).withSpotPrice("0.3")));
+        when(client.describeInstances(any(DescribeInstancesRequest.class)))
+                .thenReturn(new DescribeInstancesResult().withReservations(new Reservation().withInstances(
+                        new Instance().withInstanceId(INSTANCE_ID).withTags(new Tag("Name", RUN_ID)))));
+    }
+
+    @Test
+    public void getSpotPriceShouldBeCachedPerRegionAndInstanceType() {
+        assertEquals(0.2, ec2Helper.getSpotPrice(INSTANCE_TYPE, region), DELTA);
+        assertEquals(0.2, ec2Helper.getSpotPrice(INSTANCE_TYPE, region), DELTA);
+
+        verify(client).describeAvailabilityZones();
+        verify(client).describeSpotPriceHistory(any(DescribeSpotPriceHistoryRequest.class));
+    }
+
+    @Test
+    public void getSpotPriceShouldNotBeCachedIfTtlIsZero() {
+        when(preferenceManager.getPreference(SystemPreferences.CLUSTER_SPOT_PRICE_CACHE_TTL)).thenReturn(0);
+
+        ec2Helper.getSpotPrice(INSTANCE_TYPE, region);
+        ec2Helper.getSpotPrice(INSTANCE_TYPE, region);
+
+        verify(client, times(2)).describeSpotPriceHistory(any(DescribeSpotPriceHistoryRequest.class));
+    }
+
+    @Test
+    public void getActiveInstanceShouldUsePrefetchedInstances() {
+        ec2Helper.prefetchActiveInstances(Arrays.asList(RUN_ID, ANOTHER_RUN_ID), REGION_CODE);
+
+        assertEquals(INSTANCE_ID, ec2Helper.getActiveInstance(RUN_ID, REGION_CODE).getInstanceId());
+        assertThrows(AwsEc2Exception.class, () -> ec2Helper.getActiveInstance(ANOTHER_RUN_ID, REGION_CODE));
+        verify(client).describeInstances(any(DescribeInstancesRequest.class));
+    }
+
+    @Test
+    public void getActiveInstanceShouldUsePrefetchedInstanceOnlyOnce() {
+        ec2Helper.prefetchActiveInstances(Arrays.asList(RUN_ID, ANOTHER_RUN_ID), REGION_CODE);
+
+        ec2Helper.getActiveInstance(RUN_ID, REGION_CODE);
+        ec2Helper.getActiveInstance(RUN_ID, REGION_CODE);
+
+        verify(client, times(2)).describeInstances(any(DescribeInstancesRequest.class));
+    }
+
+    @Test
+    public void getActiveInstanceShouldIgnoreExpiredPrefetchedInstances() {
+        when(preferenceManager.getPreference(SystemPreferences.CLUSTER_AUTOSCALE_RATE)).thenReturn(0);
+        ec2Helper.prefetchActiveInstances(Arrays.asList(RUN_ID, ANOTHER_RUN_ID), REGION_CODE);
+
+        ec2Helper.getActiveInstance(RUN_ID, REGION_CODE);
+
+        verify(client, times(2)).describeInstances(any(DescribeInstancesRequest.class));
+    }
+}
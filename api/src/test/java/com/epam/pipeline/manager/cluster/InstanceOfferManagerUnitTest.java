@@ -19,6 +19,7 @@ package com.epam.pipeline.manager.cluster;
 import com.epam.pipeline.common.MessageHelper;
 import com.epam.pipeline.dao.cluster.InstanceOfferDao;
 import com.epam.pipeline.entity.cluster.AllowedInstanceAndPriceTypes;
+import com.epam.pipeline.entity.cluster.InstanceOffer;
 import com.epam.pipeline.entity.cluster.InstanceType;
 import com.epam.pipeline.entity.cluster.PriceType;
 import com.epam.pipeline.entity.contextual.ContextualPreference;
@@ -28,6 +29,7 @@ import com.epam.pipeline.entity.region.AbstractCloudRegion;
 import com.epam.pipeline.entity.region.AwsRegion;
 import com.epam.pipeline.entity.region.CloudProvider;
 import com.epam.pipeline.manager.cloud.CloudFacade;
+import com.epam.pipeline.manager.cloud.CloudInstancePriceService;
 import com.epam.pipeline.manager.contextual.ContextualPreferenceManager;
 import com.epam.pipeline.manager.pipeline.PipelineRunManager;
 import com.epam.pipeline.manager.pipeline.PipelineVersionManager;
@@ -87,6 +89,7 @@ public class InstanceOfferManagerUnitTest {
     private static final String ON_DEMAND = PriceType.ON_DEMAND.getLiteral();
     private static final String SPOT_AND_ON_DEMAND_TYPES = String.format("%s,%s", PriceType.SPOT, PriceType.ON_DEMAND);
     private static final String TERM_TYPE = "OnDemand";
+    private static final double PRICE = 0.5;
 
     private final AbstractCloudRegion defaultRegion = region(REGION_ID);
     private final AbstractCloudRegion anotherRegion = region(ANOTHER_REGION_ID);
@@ -330,6 +333,37 @@ public class InstanceOfferManagerUnitTest {
         verify(contextualPreferenceManager).search(eq(PRICE_TYPES_PREFERENCES), eq(null));
     }
 
+    @Test
+    public void getPricePerHourForInstanceShouldUsePriceIndexInsteadOfLoadingOffers() {
+        when(instanceOfferDao.loadInstanceOffers(any())).thenReturn(Collections.singletonList(
+                InstanceOffer.builder()
+                        .regionId(REGION_ID)
+                        .instanceType(M4_LARGE)
+                        .termType(TERM_TYPE)
+                        .operatingSystem(CloudInstancePriceService.LINUX_OPERATING_SYSTEM)
+                        .tenancy(CloudInstancePriceService.SHARED_TENANCY)
+                        .unit(CloudInstancePriceService.HOURS_UNIT)
+                        .productFamily(CloudInstancePriceService.INSTANCE_PRODUCT_FAMILY)
+                        .pricePerUnit(PRICE)
+                        .build()));
+        instanceOfferManager.reloadPriceIndex();
+
+        assertThat(instanceOfferManager.getPricePerHourForInstance(M4_LARGE, REGION_ID), is(PRICE));
+        assertThat(instanceOfferManager.getPricePerHourForInstance(M4_LARGE, REGION_ID), is(PRICE));
+        assertThat(instanceOfferManager.getPricePerHourForInstance(M5_LARGE, REGION_ID), is(0.0));
+        verify(instanceOfferDao, times(2)).loadInstanceOffers(any());
+    }
+
+    @Test
+    public void isInstanceAllowedShouldMatchBothInstanceTypeNamesAndPatterns() {
+        when(contextualPreferenceManager.search(eq(INSTANCE_TYPES_PREFERENCES), eq(null)))
+                .thenReturn(new ContextualPreference(ALLOWED_INSTANCE_TYPES_PREFERENCE, M4_PATTERN + "," + T2_LARGE));
+
+        assertTrue(instanceOfferManager.isInstanceAllowed(M4_LARGE, REGION_ID, false));
+        assertTrue(instanceOfferManager.isInstanceAllowed(T2_LARGE, REGION_ID, false));
+        assertFalse(instanceOfferManager.isInstanceAllowed(M5_LARGE, REGION_ID, false));
+    }
+
     private InstanceType instanceType(final String name, final AbstractCloudRegion region) {
         final InstanceType instanceType = new InstanceType();
         instanceType.setName(name);
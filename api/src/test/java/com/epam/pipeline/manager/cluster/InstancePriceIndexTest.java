@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.cluster;
+
+import com.epam.pipeline.entity.cluster.InstanceOffer;
+import com.epam.pipeline.manager.cloud.CloudInstancePriceService;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class InstancePriceIndexTest {
+
+    private static final Long REGION_ID = 1L;
+    private static final Long ANOTHER_REGION_ID = 2L;
+    private static final String M5_LARGE = "m5.large";
+    private static final String WINDOWS = "Windows";
+    private static final String ON_DEMAND = CloudInstancePriceService.TermType.ON_DEMAND.getName();
+    private static final String SPOT = CloudInstancePriceService.TermType.SPOT.getName();
+    private static final String LINUX = CloudInstancePriceService.LINUX_OPERATING_SYSTEM;
+    private static final double PRICE = 0.5;
+    private static final double LOWER_PRICE = 0.25;
+    private static final double HIGHER_PRICE = 1.0;
+
+    @Test
+    public void indexShouldReturnLowestPositivePrice() {
+        final InstancePriceIndex index = InstancePriceIndex.of(Arrays.asList(
+                computeOffer(REGION_ID, ON_DEMAND, LINUX, PRICE),
+                computeOffer(REGION_ID, ON_DEMAND, LINUX, LOWER_PRICE),
+                computeOffer(REGION_ID, ON_DEMAND, LINUX, 0.0)));
+
+        assertThat(index.getPricePerHour(REGION_ID, M5_LARGE, ON_DEMAND, LINUX), is(LOWER_PRICE));
+    }
+
+    @Test
+    public void indexShouldReturnPriceByRegionTermTypeAndOperatingSystem() {
+        final InstancePriceIndex index = InstancePriceIndex.of(Arrays.asList(
+                computeOffer(REGION_ID, ON_DEMAND, LINUX, PRICE),
+                computeOffer(REGION_ID, SPOT, LINUX, LOWER_PRICE),
+                computeOffer(REGION_ID, ON_DEMAND, WINDOWS, HIGHER_PRICE),
+                computeOffer(ANOTHER_REGION_ID, ON_DEMAND, LINUX, HIGHER_PRICE)));
+
+        assertThat(index.getPricePerHour(REGION_ID, M5_LARGE, ON_DEMAND, LINUX), is(PRICE));
+        assertThat(index.getPricePerHour(REGION_ID, M5_LARGE, SPOT, LINUX), is(LOWER_PRICE));
+        assertThat(index.getPricePerHour(REGION_ID, M5_LARGE, ON_DEMAND, WINDOWS), is(HIGHER_PRICE));
+        assertThat(index.getPricePerHour(ANOTHER_REGION_ID, M5_LARGE, ON_DEMAND, LINUX), is(HIGHER_PRICE));
+    }
+
+    @Test
+    public void indexShouldReturnZeroPriceForUnknownOffers() {
+        final InstancePriceIndex index = InstancePriceIndex.of(Collections.singletonList(
+                computeOffer(REGION_ID, ON_DEMAND, LINUX, PRICE)));
+
+        assertThat(index.getPricePerHour(REGION_ID, "c5.large", ON_DEMAND, LINUX), is(0.0));
+        assertThat(index.getPricePerHour(ANOTHER_REGION_ID, M5_LARGE, ON_DEMAND, LINUX), is(0.0));
+        assertThat(InstancePriceIndex.empty().getPricePerHour(REGION_ID, M5_LARGE, ON_DEMAND, LINUX), is(0.0));
+    }
+
+    @Test
+    public void indexShouldIgnoreNotSharedComputeOffers() {
+        final InstanceOffer dedicated = computeOffer(REGION_ID, ON_DEMAND, LINUX, LOWER_PRICE);
+        dedicated.setTenancy("Dedicated");
+        final InstancePriceIndex index = InstancePriceIndex.of(Arrays.asList(
+                computeOffer(REGION_ID, ON_DEMAND, LINUX, PRICE), dedicated));
+
+        assertThat(index.getPricePerHour(REGION_ID, M5_LARGE, ON_DEMAND, LINUX), is(PRICE));
+    }
+
+    @Test
+    public void indexShouldReturnDiskOffersSortedByPrice() {
+        final InstancePriceIndex index = InstancePriceIndex.of(Arrays.asList(
+                diskOffer(REGION_ID, HIGHER_PRICE),
+                computeOffer(REGION_ID, ON_DEMAND, LINUX, PRICE),
+                diskOffer(REGION_ID, LOWER_PRICE),
+                diskOffer(ANOTHER_REGION_ID, PRICE)));
+
+        assertThat(prices(index.getDiskOffers(REGION_ID)), is(Arrays.asList(LOWER_PRICE, HIGHER_PRICE)));
+        assertThat(prices(index.getDiskOffers(ANOTHER_REGION_ID)), is(Collections.singletonList(PRICE)));
+    }
+
+    @Test
+    public void withRegionShouldReplaceOnlySpecifiedRegionOffers() {
+        final InstancePriceIndex index = InstancePriceIndex.of(Arrays.asList(
+                computeOffer(REGION_ID, ON_DEMAND, LINUX, PRICE),
+                computeOffer(ANOTHER_REGION_ID, ON_DEMAND, LINUX, PRICE)));
+
+        final InstancePriceIndex updated = index.withRegion(REGION_ID, Collections.singletonList(
+                computeOffer(REGION_ID, ON_DEMAND, LINUX, HIGHER_PRICE)));
+
+        assertThat(updated.getPricePerHour(REGION_ID, M5_LARGE, ON_DEMAND, LINUX), is(HIGHER_PRICE));
+        assertThat(updated.getPricePerHour(ANOTHER_REGION_ID, M5_LARGE, ON_DEMAND, LINUX), is(PRICE));
+        assertThat(index.getPricePerHour(REGION_ID, M5_LARGE, ON_DEMAND, LINUX), is(PRICE));
+    }
+
+    private static InstanceOffer computeOffer(final Long regionId, final String termType,
+                                              final String operatingSystem, final double price) {
+        return InstanceOffer.builder()
+                .regionId(regionId)
+                .instanceType(M5_LARGE)
+                .termType(termType)
+                .operatingSystem(operatingSystem)
+                .tenancy(CloudInstancePriceService.SHARED_TENANCY)
+                .unit(CloudInstancePriceService.HOURS_UNIT)
+                .productFamily(CloudInstancePriceService.INSTANCE_PRODUCT_FAMILY)
+                .pricePerUnit(price)
+                .build();
+    }
+
+    private static InstanceOffer diskOffer(final Long regionId, final double price) {
+        return InstanceOffer.builder()
+                .regionId(regionId)
+                .productFamily(CloudInstancePriceService.STORAGE_PRODUCT_FAMILY)
+                .volumeType(CloudInstancePriceService.GENERAL_PURPOSE_VOLUME_TYPE)
+                .pricePerUnit(price)
+                .build();
+    }
+
+    private static List<Double> prices(final List<InstanceOffer> offers) {
+        return offers.stream().map(InstanceOffer::getPricePerUnit).collect(Collectors.toList());
+    }
+}
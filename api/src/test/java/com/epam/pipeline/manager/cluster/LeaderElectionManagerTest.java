@@ -0,0 +1,198 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.pipeline.manager.cluster;
+
+import com.epam.pipeline.dao.cluster.LeaderLeaseDao;
+import com.epam.pipeline.entity.cluster.LeaderLease;
+import org.junit.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@SuppressWarnings("checkstyle:MagicNumber")
+public class LeaderElectionManagerTest {
+
+    private static final long LEASE_DURATION = 30_000L;
+    private static final long RENEW_INTERVAL = 10_000L;
+    private static final String POD_MONITOR_TASK = "PodMonitor_updateStatus";
+    private static final String AUTOSCALER_TASK = "AutoscaleManager_runAutoscaling";
+    private static final List<String> TASKS = Arrays.asList(POD_MONITOR_TASK, AUTOSCALER_TASK,
+            "ResourceMonitoringManager_monitorResourceUsage", "InstanceOfferScheduler_checkAndUpdatePriceList");
+    private static final int CHECKS = 100_000;
+
+    private final InMemoryLeaderLeaseDao dao = new InMemoryLeaderLeaseDao();
+
+    @Test
+    public void singleReplicaShouldLeadAllTasksWithoutSharding() {
+        final LeaderElectionManager manager = manager("api-1", false);
+
+        assertTrue(manager.isLeader(POD_MONITOR_TASK));
+        assertTrue(manager.isLeader(AUTOSCALER_TASK));
+        assertThat(manager.getHeldLeases(), is(Collections.singleton(LeaderElectionManager.DEFAULT_LEASE)));
+    }
+
+    @Test
+    public void leadershipCheckShouldNotAccessDatabaseAfterLeaseRegistration() {
+        final LeaderElectionManager manager = manager("api-1", false);
+        manager.isLeader(POD_MONITOR_TASK);
+        final int calls = dao.getCalls();
+
+        final long start = System.nanoTime();
+        for (int i = 0; i < CHECKS; i++) {
+            manager.isLeader(TASKS.get(i % TASKS.size()));
+        }
+        final long averageCheckNanos = (System.nanoTime() - start) / CHECKS;
+
+        assertThat(dao.getCalls(), is(calls));
+        assertTrue(averageCheckNanos < ChronoUnit.MILLIS.getDuration().toNanos());
+    }
+
+    @Test
+    public void anotherReplicaShouldTakeOverLeadershipAfterLeaseExpiration() {
+        final LeaderElectionManager leader = manager("api-1", false);
+        final LeaderElectionManager follower = manager("api-2", false);
+        final LeadershipListener listener = mock(LeadershipListener.class);
+        follower.addListener(listener);
+        assertTrue(leader.isLeader(POD_MONITOR_TASK));
+        assertFalse(follower.isLeader(POD_MONITOR_TASK));
+
+        final LocalDateTime leaderFailure = dao.getNow();
+        while (!follower.isLeader(POD_MONITOR_TASK)) {
+            dao.advance(RENEW_INTERVAL);
+            follower.renewLeases();
+        }
+        final long failoverTime = ChronoUnit.MILLIS.between(leaderFailure, dao.getNow());
+
+        assertTrue(failoverTime <= LEASE_DURATION + RENEW_INTERVAL);
+        verify(listener).onLeadershipAcquired(LeaderElectionManager.DEFAULT_LEASE);
+    }
+
+    @Test
+    public void shardedTasksShouldBeBalancedBetweenReplicas() {
+        final LeaderElectionManager first = manager("api-1", true);
+        final LeaderElectionManager second = manager("api-2", true);
+        TASKS.forEach(first::isLeader);
+        TASKS.forEach(second::isLeader);
+        assertThat(first.getHeldLeases().size(), is(TASKS.size()));
+
+        for (int i = 0; i < TASKS.size(); i++) {
+            first.renewLeases();
+            second.renewLeases();
+        }
+
+        assertThat(first.getHeldLeases().size(), is(TASKS.size() / 2));
+        assertThat(second.getHeldLeases().size(), is(TASKS.size() / 2));
+        final Set<String> allLeases = new HashSet<>(first.getHeldLeases());
+        allLeases.addAll(second.getHeldLeases());
+        assertThat(allLeases.size(), is(TASKS.size()));
+        TASKS.forEach(task -> assertTrue(first.isLeader(task) ^ second.isLeader(task)));
+    }
+
+    @Test
+    public void replicaShouldStepDownIfLeaseCannotBeRenewed() {
+        final LeaderElectionManager manager = manager("api-1", false);
+        final LeadershipListener listener = mock(LeadershipListener.class);
+        manager.addListener(listener);
+        assertTrue(manager.isLeader(POD_MONITOR_TASK));
+
+        dao.setAvailable(false);
+        manager.renewLeases();
+
+        assertFalse(manager.isLeader(POD_MONITOR_TASK));
+        verify(listener).onLeadershipLost(anyString());
+    }
+
+    private LeaderElectionManager manager(final String holder, final boolean sharding) {
+        return new LeaderElectionManager(dao, holder, LEASE_DURATION, sharding);
+    }
+
+    /**
+     * Emulates lease table with a controllable clock.
+     */
+    private static class InMemoryLeaderLeaseDao extends LeaderLeaseDao {
+
+        private final Map<String, LeaderLease> leases = new HashMap<>();
+        private LocalDateTime now = LocalDateTime.now();
+        private boolean available = true;
+        private int calls;
+
+        @Override
+        public boolean acquireLease(final String name, final String holder, final long duration) {
+            checkAvailable();
+            final LeaderLease lease = leases.get(name);
+            if (lease != null && !lease.getHolder().equals(holder) && !lease.getExpires().isBefore(now)) {
+                return false;
+            }
+            leases.put(name, new LeaderLease(name, holder, now.plus(duration, ChronoUnit.MILLIS)));
+            return true;
+        }
+
+        @Override
+        public List<LeaderLease> loadActiveLeases() {
+            checkAvailable();
+            return leases.values().stream()
+                    .filter(lease -> !lease.getExpires().isBefore(now))
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+
+        @Override
+        public void releaseLease(final String name, final String holder) {
+            checkAvailable();
+            leases.computeIfPresent(name, (key, lease) -> lease.getHolder().equals(holder) ? null : lease);
+        }
+
+        LocalDateTime getNow() {
+            return now;
+        }
+
+        void advance(final long millis) {
+            now = now.plus(millis, ChronoUnit.MILLIS);
+        }
+
+        void setAvailable(final boolean available) {
+            this.available = available;
+        }
+
+        int getCalls() {
+            return calls;
+        }
+
+        private void checkAvailable() {
+            calls++;
+            if (!available) {
+                throw new DataAccessResourceFailureException("Database is not available");
+            }
+        }
+    }
+}
@@ -23,6 +23,7 @@ import com.epam.pipeline.manager.cloud.CloudFacade;
 import com.epam.pipeline.manager.cluster.KubernetesConstants;
 import com.epam.pipeline.manager.cluster.KubernetesManager;
 import com.epam.pipeline.manager.cluster.NodesManager;
+import com.epam.pipeline.manager.cluster.cleaner.RunCleanupManager;
 import com.epam.pipeline.manager.cluster.pool.NodePoolManager;
 import com.epam.pipeline.manager.parallel.ParallelExecutorService;
 import com.epam.pipeline.manager.pipeline.PipelineRunManager;
@@ -103,6 +104,9 @@ public class AutoscaleManagerTest {
     @Mock
     private PoolAutoscaler poolAutoscaler;
 
+    @Mock
+    private RunCleanupManager runCleanupManager;
+
     private AutoscaleManager.AutoscaleManagerCore autoscaleManagerCore;
 
     @Before
@@ -113,7 +117,7 @@ public class AutoscaleManagerTest {
                 pipelineRunManager, executorService,
                 autoscalerService, nodesManager, kubernetesManager,
                 preferenceManager, TEST_KUBE_NAMESPACE, cloudFacade,
-                nodePoolManager, reassignHandler, scaleDownHandler, Collections.emptyList(), poolAutoscaler);
+                nodePoolManager, reassignHandler, scaleDownHandler, runCleanupManager, poolAutoscaler);
         Whitebox.setInternalState(autoscaleManagerCore, "preferenceManager", preferenceManager);
 
         when(executorService.getExecutorService()).thenReturn(new CurrentThreadExecutorService());
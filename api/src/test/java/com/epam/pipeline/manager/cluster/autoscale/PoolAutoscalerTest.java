@@ -19,7 +19,12 @@ import com.epam.pipeline.controller.vo.cluster.pool.NodePoolVO;
 import com.epam.pipeline.entity.cluster.pool.NodePool;
 import com.epam.pipeline.manager.cluster.KubernetesConstants;
 import com.epam.pipeline.manager.cluster.KubernetesManager;
+import com.epam.pipeline.manager.cluster.autoscale.pool.PoolDemandForecaster;
+import com.epam.pipeline.manager.cluster.autoscale.pool.PoolScalingPolicy;
+import com.epam.pipeline.manager.cluster.autoscale.pool.PoolUsage;
 import com.epam.pipeline.manager.cluster.pool.NodePoolManager;
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
 import com.epam.pipeline.mapper.cluster.pool.NodePoolMapper;
 import com.epam.pipeline.test.creator.cluster.pool.NodePoolCreatorUtils;
 import io.fabric8.kubernetes.api.model.Node;
@@ -30,6 +35,7 @@ import org.mapstruct.factory.Mappers;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -39,6 +45,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
@@ -52,18 +60,26 @@ public class PoolAutoscalerTest {
     private static final String RUN_ID_2 = "2";
     private static final String RUN_ID_3 = "3";
     private static final String RUN_ID_4 = "4";
+    private static final int FORECASTED_SIZE = 8;
+    private static final long QUEUED_RUNS = 3L;
 
     @Mock
     private KubernetesManager kubernetesManager;
     @Mock
     private NodePoolManager poolManager;
+    @Mock
+    private PreferenceManager preferenceManager;
+    @Mock
+    private PoolDemandForecaster demandForecaster;
     private NodePoolMapper poolMapper = Mappers.getMapper(NodePoolMapper.class);
     private PoolAutoscaler poolAutoscaler;
 
     @Before
     public void setUp() {
         MockitoAnnotations.initMocks(this);
-        poolAutoscaler = new PoolAutoscaler(poolManager, poolMapper, kubernetesManager);
+        poolAutoscaler = new PoolAutoscaler(poolManager, poolMapper, kubernetesManager, preferenceManager,
+                demandForecaster);
+        doReturn(false).when(preferenceManager).getPreference(SystemPreferences.CLUSTER_POOL_FORECAST_ENABLED);
     }
 
     @Test
@@ -100,6 +116,29 @@ public class PoolAutoscalerTest {
         verify(poolManager).createOrUpdate(eq(vo));
     }
 
+    @Test
+    public void shouldSizePoolByForecastWhenForecastingIsEnabled() {
+        initKubeResources(RUN_ID_1, RUN_ID_2);
+        final NodePool pool = initPool();
+        final List<PoolUsage> usages = new ArrayList<>();
+        doReturn(true).when(preferenceManager).getPreference(SystemPreferences.CLUSTER_POOL_FORECAST_ENABLED);
+        doReturn(Collections.singletonMap(POOL_ID, QUEUED_RUNS)).when(demandForecaster)
+                .countQueuedRuns(eq(Collections.singletonList(pool)), any());
+        doReturn((PoolScalingPolicy) (p, usage) -> {
+            usages.add(usage);
+            return FORECASTED_SIZE;
+        }).when(demandForecaster).getPolicy(Collections.singletonList(pool));
+
+        poolAutoscaler.adjustPoolSizes();
+
+        final NodePoolVO vo = poolMapper.toVO(pool);
+        vo.setCount(FORECASTED_SIZE);
+        verify(poolManager).createOrUpdate(eq(vo));
+        assertThat(usages.size(), is(1));
+        assertThat(usages.get(0).getOccupiedNodes(), is(2L));
+        assertThat(usages.get(0).getQueuedRuns(), is(QUEUED_RUNS));
+    }
+
     private List<Node> buildNodes(final Long poolId, final List<String> nodeIds) {
         return nodeIds
                 .stream()
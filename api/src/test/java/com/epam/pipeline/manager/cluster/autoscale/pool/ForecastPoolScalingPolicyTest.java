@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.cluster.autoscale.pool;
+
+import com.epam.pipeline.entity.cluster.pool.NodePool;
+import com.epam.pipeline.test.creator.cluster.pool.NodePoolCreatorUtils;
+import com.epam.pipeline.test.creator.cluster.pool.NodeScheduleCreatorUtils;
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+@SuppressWarnings("checkstyle:MagicNumber")
+public class ForecastPoolScalingPolicyTest {
+
+    private static final Long POOL_ID = 1L;
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(2021, 3, 1, 0, 0);
+    private static final LocalDateTime HISTORY_END = HISTORY_START.plusDays(1);
+    private static final LocalDateTime WAVE_START = HISTORY_END.withHour(9);
+    private static final int WAVE_SIZE = 6;
+    private static final int SLOT_MINUTES = 15;
+    private static final int LEAD_MINUTES = 15;
+    private static final double PERCENTILE = 90.0;
+
+    private final PoolScalingPolicy policy = new ForecastPoolScalingPolicy(
+            Collections.singletonMap(POOL_ID, PoolDemandProfile.learn(wave(HISTORY_START.withHour(9)),
+                    HISTORY_START, HISTORY_END, SLOT_MINUTES, PERCENTILE)),
+            LEAD_MINUTES);
+
+    @Test
+    public void poolShouldBeSizedBeforeForecastedDemand() {
+        final NodePool pool = pool(1);
+
+        assertThat(policy.getTargetSize(pool, usage(WAVE_START.minusMinutes(20), 0, 0)), is(1));
+        assertThat(policy.getTargetSize(pool, usage(WAVE_START.minusMinutes(10), 0, 0)), is(WAVE_SIZE));
+    }
+
+    @Test
+    public void poolShouldNotBeSizedBelowCurrentDemand() {
+        final NodePool pool = pool(1);
+
+        assertThat(policy.getTargetSize(pool, usage(WAVE_START.minusHours(3), 3, 4)), is(7));
+    }
+
+    @Test
+    public void poolShouldBeReleasedByScaleStep() {
+        final NodePool pool = pool(NodePoolCreatorUtils.POOL_MAX_SIZE);
+
+        assertThat(policy.getTargetSize(pool, usage(WAVE_START.plusHours(3), 0, 0)),
+                is(NodePoolCreatorUtils.POOL_MAX_SIZE - NodePoolCreatorUtils.POOL_SCALE_STEP));
+    }
+
+    @Test
+    public void poolSizeShouldBeLimitedByMinAndMaxSize() {
+        final NodePool pool = pool(1);
+        pool.setMinSize(2);
+
+        assertThat(policy.getTargetSize(pool, usage(WAVE_START.minusHours(3), 0, 0)), is(2));
+        assertThat(policy.getTargetSize(pool, usage(WAVE_START, NodePoolCreatorUtils.POOL_MAX_SIZE, 1)),
+                is(NodePoolCreatorUtils.POOL_MAX_SIZE));
+    }
+
+    @Test
+    public void forecastShouldIgnoreInactivePoolSchedule() {
+        final NodePool pool = pool(1);
+        final DayOfWeek day = WAVE_START.getDayOfWeek();
+        pool.setSchedule(NodeScheduleCreatorUtils.getNodeSchedule(day, LocalTime.of(0, 0), day, LocalTime.of(9, 0)));
+
+        assertThat(policy.getTargetSize(pool, usage(WAVE_START.minusMinutes(10), 0, 0)), is(1));
+    }
+
+    private static NodePool pool(final int count) {
+        final NodePool pool = NodePoolCreatorUtils.getPoolWithoutSchedule(POOL_ID);
+        pool.setMinSize(1);
+        pool.setCount(count);
+        return pool;
+    }
+
+    private static PoolUsage usage(final LocalDateTime timestamp, final long occupied, final long queued) {
+        return new PoolUsage(timestamp, occupied, queued);
+    }
+
+    private static List<RunInterval> wave(final LocalDateTime start) {
+        return IntStream.range(0, WAVE_SIZE)
+                .mapToObj(i -> new RunInterval(start.plusMinutes(i), start.plusHours(1)))
+                .collect(Collectors.toList());
+    }
+}
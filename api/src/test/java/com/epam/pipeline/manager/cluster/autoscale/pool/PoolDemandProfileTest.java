@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.cluster.autoscale.pool;
+
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+@SuppressWarnings("checkstyle:MagicNumber")
+public class PoolDemandProfileTest {
+
+    private static final LocalDateTime FIRST_DAY = LocalDateTime.of(2021, 3, 1, 0, 0);
+    private static final LocalDateTime SECOND_DAY = FIRST_DAY.plusDays(1);
+    private static final LocalDateTime THIRD_DAY = FIRST_DAY.plusDays(2);
+    private static final int SLOT_MINUTES = 60;
+    private static final double MAX = 100.0;
+    private static final double MEDIAN = 50.0;
+
+    private final List<RunInterval> runs = Arrays.asList(
+            run(FIRST_DAY.withHour(9), FIRST_DAY.withHour(10)),
+            run(FIRST_DAY.withHour(9), FIRST_DAY.withHour(10)),
+            run(FIRST_DAY.withHour(9).withMinute(30), FIRST_DAY.withHour(10)),
+            run(SECOND_DAY.withHour(9), SECOND_DAY.withHour(10)));
+
+    @Test
+    public void learnShouldUsePercentileOfDailyConcurrentRuns() {
+        assertThat(PoolDemandProfile.learn(runs, FIRST_DAY, THIRD_DAY, SLOT_MINUTES, MAX)
+                .getDemand(THIRD_DAY.withHour(9)), is(3.0));
+        assertThat(PoolDemandProfile.learn(runs, FIRST_DAY, THIRD_DAY, SLOT_MINUTES, MEDIAN)
+                .getDemand(THIRD_DAY.withHour(9)), is(1.0));
+    }
+
+    @Test
+    public void learnShouldNotCountRunsAfterTheirEnd() {
+        final PoolDemandProfile profile = PoolDemandProfile.learn(runs, FIRST_DAY, THIRD_DAY, SLOT_MINUTES, MAX);
+
+        assertThat(profile.getDemand(THIRD_DAY.withHour(8)), is(0.0));
+        assertThat(profile.getDemand(THIRD_DAY.withHour(10)), is(0.0));
+    }
+
+    @Test
+    public void learnShouldCountRunsOverMidnightAndStillRunningRunsInAllSlots() {
+        final List<RunInterval> history = Arrays.asList(
+                run(FIRST_DAY.withHour(23), SECOND_DAY.withHour(1)),
+                run(SECOND_DAY.withHour(12), null));
+
+        final PoolDemandProfile profile = PoolDemandProfile.learn(history, FIRST_DAY, THIRD_DAY, SLOT_MINUTES, MAX);
+
+        assertThat(profile.getDemand(THIRD_DAY.withHour(23)), is(1.0));
+        assertThat(profile.getDemand(THIRD_DAY.withHour(0)), is(1.0));
+        assertThat(profile.getDemand(THIRD_DAY.withHour(1)), is(0.0));
+        assertThat(profile.getDemand(THIRD_DAY.withHour(12)), is(1.0));
+    }
+
+    @Test
+    public void learnShouldIgnoreRunsOutsideOfHistoryPeriod() {
+        final List<RunInterval> history = Arrays.asList(
+                run(FIRST_DAY.minusDays(1).withHour(9), FIRST_DAY.minusDays(1).withHour(10)),
+                run(THIRD_DAY.withHour(9), null));
+
+        final PoolDemandProfile profile = PoolDemandProfile.learn(history, FIRST_DAY, THIRD_DAY, SLOT_MINUTES, MAX);
+
+        assertThat(profile.getDemand(THIRD_DAY.withHour(9)), is(0.0));
+    }
+
+    @Test
+    public void peakDemandShouldIncludeOnlyActiveSlots() {
+        final PoolDemandProfile profile = PoolDemandProfile.learn(runs, FIRST_DAY, THIRD_DAY, SLOT_MINUTES, MAX);
+        final LocalDateTime from = THIRD_DAY.withHour(8).withMinute(30);
+        final LocalDateTime to = THIRD_DAY.withHour(9).withMinute(15);
+
+        assertThat(profile.getPeakDemand(from, to, timestamp -> true), is(3.0));
+        assertThat(profile.getPeakDemand(from, to, timestamp -> timestamp.getHour() < 9), is(0.0));
+    }
+
+    @Test
+    public void emptyHistoryShouldProduceZeroDemand() {
+        final PoolDemandProfile profile = PoolDemandProfile.learn(Collections.emptyList(), FIRST_DAY, FIRST_DAY,
+                SLOT_MINUTES, MAX);
+
+        assertThat(profile.getDemand(FIRST_DAY.withHour(9)), is(0.0));
+    }
+
+    private static RunInterval run(final LocalDateTime start, final LocalDateTime end) {
+        return new RunInterval(start, end);
+    }
+}
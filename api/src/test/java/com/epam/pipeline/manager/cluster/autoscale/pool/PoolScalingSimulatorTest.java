@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.cluster.autoscale.pool;
+
+import com.epam.pipeline.entity.cluster.pool.NodePool;
+import com.epam.pipeline.test.creator.cluster.pool.NodePoolCreatorUtils;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+@SuppressWarnings("checkstyle:MagicNumber")
+public class PoolScalingSimulatorTest {
+
+    private static final Long POOL_ID = 1L;
+    private static final LocalDateTime TRAINING_START = LocalDateTime.of(2021, 3, 1, 0, 0);
+    private static final LocalDateTime EVALUATION_START = TRAINING_START.plusDays(14);
+    private static final LocalDateTime EVALUATION_END = EVALUATION_START.plusDays(7);
+    private static final int WAVE_SIZE = 20;
+    private static final int POOL_MAX_SIZE = 30;
+    private static final double NODE_PRICE = 0.1;
+
+    private final PoolScalingSimulator simulator = new PoolScalingSimulator(Duration.ofMinutes(1),
+            Duration.ofMinutes(10), NODE_PRICE);
+    private final List<RunInterval> history = dailyWaves(TRAINING_START, EVALUATION_END);
+    private final NodePool pool = pool();
+
+    @Test
+    public void forecastPolicyShouldReduceQueueWaitComparingToReactivePolicy() {
+        final PoolScalingReport reactive = simulate("reactive", new ReactivePoolScalingPolicy());
+        final PoolScalingReport forecast = simulate("forecast", forecastPolicy());
+
+        assertThat(forecast.getRuns(), is(WAVE_SIZE * 7));
+        assertThat(reactive.getRuns(), is(WAVE_SIZE * 7));
+        assertThat(forecast.getColdStarts(), lessThan(reactive.getColdStarts()));
+        assertThat(forecast.getAverageWaitSeconds(), lessThan(reactive.getAverageWaitSeconds()));
+    }
+
+    @Test
+    public void forecastPolicyShouldReduceIdleCostComparingToStaticPool() {
+        final PoolScalingReport fixed = simulate("static", (pool, usage) -> pool.getMaxSize());
+        final PoolScalingReport forecast = simulate("forecast", forecastPolicy());
+
+        assertThat(fixed.getColdStarts(), is(0));
+        assertThat(forecast.getIdleCost(), lessThan(fixed.getIdleCost()));
+        assertThat(forecast.getIdleCost(), greaterThan(0.0));
+    }
+
+    @Test
+    public void simulationShouldNotModifyPool() {
+        simulate("forecast", forecastPolicy());
+
+        assertThat(pool.getCount(), is(1));
+    }
+
+    @Test
+    public void runsShouldWaitNoLongerThanProvisioningTime() {
+        final PoolScalingReport report = simulate("none", (pool, usage) -> 0);
+
+        assertThat(report.getColdStarts(), is(WAVE_SIZE * 7));
+        assertThat(report.getMaxWaitSeconds(), is(Duration.ofMinutes(10).getSeconds()));
+        assertThat(report.getPoolNodeHours(), is(0.0));
+    }
+
+    private PoolScalingReport simulate(final String name, final PoolScalingPolicy policy) {
+        return simulator.simulate(name, pool, policy, history, EVALUATION_START, EVALUATION_END);
+    }
+
+    private PoolScalingPolicy forecastPolicy() {
+        return new ForecastPoolScalingPolicy(Collections.singletonMap(POOL_ID,
+                PoolDemandProfile.learn(history, TRAINING_START, EVALUATION_START, 15, 90.0)), 15);
+    }
+
+    private static NodePool pool() {
+        final NodePool pool = NodePoolCreatorUtils.getPoolWithoutSchedule(POOL_ID);
+        pool.setCount(1);
+        pool.setMinSize(1);
+        pool.setMaxSize(POOL_MAX_SIZE);
+        return pool;
+    }
+
+    private static List<RunInterval> dailyWaves(final LocalDateTime from, final LocalDateTime to) {
+        final List<RunInterval> runs = new ArrayList<>();
+        for (LocalDateTime day = from; day.isBefore(to); day = day.plusDays(1)) {
+            final LocalDateTime start = day.withHour(9);
+            for (int i = 0; i < WAVE_SIZE; i++) {
+                runs.add(new RunInterval(start.plusSeconds(i * 30), start.plusHours(2)));
+            }
+        }
+        return runs;
+    }
+}
@@ -0,0 +1,447 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.cluster.cleaner;
+
+import com.epam.pipeline.dao.cluster.RunCleanupTaskDao;
+import com.epam.pipeline.dao.pipeline.PipelineRunDao;
+import com.epam.pipeline.entity.cluster.RunCleanupTask;
+import com.epam.pipeline.entity.pipeline.PipelineRun;
+import com.epam.pipeline.entity.utils.DateUtils;
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.boot.actuate.metrics.Metric;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+@SuppressWarnings("checkstyle:MagicNumber")
+public class RunCleanupManagerTest {
+
+    private static final int THREADS = 8;
+    private static final int CLEANER_THREADS = 2;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_DELAY = 60_000L;
+    private static final long MAX_RETRY_DELAY = 300_000L;
+    private static final long TIMEOUT = 10_000L;
+    private static final int RUNS = 10;
+    private static final long RUN_ID = 1L;
+    private static final String SERVICE_URL = "[]";
+
+    private final InMemoryRunCleanupTaskDao dao = new InMemoryRunCleanupTaskDao();
+    private final PipelineRunDao pipelineRunDao = mock(PipelineRunDao.class);
+    private final PreferenceManager preferenceManager = mock(PreferenceManager.class);
+    private final SlowCleaner slowCleaner = new SlowCleaner();
+    private final FastCleaner fastCleaner = new FastCleaner();
+    private final FailingCleaner failingCleaner = new FailingCleaner();
+    private final RunRequiringCleaner runRequiringCleaner = new RunRequiringCleaner();
+    private RunCleanupManager manager;
+
+    @Before
+    public void setUp() {
+        doReturn(THREADS).when(preferenceManager).getPreference(SystemPreferences.CLUSTER_RUN_CLEANUP_THREADS);
+        doReturn(CLEANER_THREADS).when(preferenceManager)
+                .getPreference(SystemPreferences.CLUSTER_RUN_CLEANUP_CLEANER_THREADS);
+        doReturn(MAX_ATTEMPTS).when(preferenceManager)
+                .getPreference(SystemPreferences.CLUSTER_RUN_CLEANUP_MAX_ATTEMPTS);
+        doReturn(RETRY_DELAY).when(preferenceManager)
+                .getPreference(SystemPreferences.CLUSTER_RUN_CLEANUP_RETRY_DELAY);
+        doReturn(MAX_RETRY_DELAY).when(preferenceManager)
+                .getPreference(SystemPreferences.CLUSTER_RUN_CLEANUP_MAX_RETRY_DELAY);
+        doReturn(100).when(preferenceManager).getPreference(SystemPreferences.CLUSTER_RUN_CLEANUP_BATCH_SIZE);
+        doReturn(null).when(pipelineRunDao).loadPipelineRun(anyLong());
+    }
+
+    @After
+    public void tearDown() {
+        slowCleaner.release();
+        if (manager != null) {
+            manager.shutdown();
+        }
+    }
+
+    @Test
+    public void enqueueShouldOnlyStoreTaskForEachCleaner() {
+        manager = manager(slowCleaner, failingCleaner);
+
+        manager.enqueue(RUN_ID);
+        manager.enqueue(RUN_ID);
+
+        assertThat(dao.getTasks().size(), is(2));
+        assertThat(slowCleaner.getCalls(), is(0));
+        assertThat(failingCleaner.getCalls(), is(0));
+    }
+
+    @Test
+    public void slowCleanerShouldNotExceedItsLimitAndBlockOtherCleaners() throws InterruptedException {
+        manager = manager(slowCleaner, fastCleaner);
+        for (long runId = 1; runId <= RUNS; runId++) {
+            manager.enqueue(runId);
+        }
+
+        final Thread processing = new Thread(manager::processQueue);
+        processing.start();
+        await(() -> manager.getMetrics().getCompletedCleanups() == RUNS
+                && slowCleaner.getActive() == CLEANER_THREADS);
+
+        assertThat(fastCleaner.getCalls(), is(RUNS));
+        assertThat(slowCleaner.getMaxActive(), is(CLEANER_THREADS));
+        assertThat(dao.getTasks().size(), is(RUNS));
+        assertTrue(processing.isAlive());
+
+        slowCleaner.release();
+        processing.join(TIMEOUT);
+
+        assertFalse(processing.isAlive());
+        assertTrue(dao.getTasks().isEmpty());
+        assertThat(slowCleaner.getMaxActive(), is(CLEANER_THREADS));
+        assertThat(slowCleaner.getCalls(), is(RUNS));
+        assertThat(manager.getMetrics().getCompletedCleanups(), is((long) 2 * RUNS));
+        assertThat(manager.getMetrics().getBacklog(), is(0L));
+    }
+
+    @Test
+    public void failedCleanupShouldBeRetriedWithExponentialBackoff() {
+        manager = manager(failingCleaner);
+        manager.enqueue(RUN_ID);
+
+        final List<Long> delays = new ArrayList<>();
+        for (int attempt = 1; attempt < MAX_ATTEMPTS; attempt++) {
+            final LocalDateTime start = DateUtils.nowUTC();
+            manager.processQueue();
+            final int expectedAttempts = attempt;
+            await(() -> dao.getTasks().get(0).getAttempts() == expectedAttempts
+                    && manager.getMetrics().getActiveCleanups() == 0);
+            final RunCleanupTask task = dao.getTasks().get(0);
+            delays.add(ChronoUnit.MILLIS.between(start, task.getNextAttempt()));
+            assertThat(task.getLastError(), is(FailingCleaner.ERROR));
+
+            manager.processQueue();
+            assertThat(failingCleaner.getCalls(), is(attempt));
+            dao.makeDue();
+        }
+
+        assertTrue(delays.get(0) >= RETRY_DELAY && delays.get(0) < 2 * RETRY_DELAY);
+        assertTrue(delays.get(1) >= 2 * RETRY_DELAY && delays.get(1) < 3 * RETRY_DELAY);
+        assertThat(manager.getMetrics().getRetriedCleanups(), is((long) MAX_ATTEMPTS - 1));
+    }
+
+    @Test
+    public void cleanupShouldBeDroppedAfterMaxAttempts() {
+        manager = manager(failingCleaner);
+        manager.enqueue(RUN_ID);
+
+        await(() -> {
+            dao.makeDue();
+            manager.processQueue();
+            return dao.getTasks().isEmpty();
+        });
+
+        assertThat(failingCleaner.getCalls(), is(MAX_ATTEMPTS));
+        assertThat(manager.getMetrics().getFailedCleanups(), is(1L));
+        assertThat(manager.getMetrics().getCompletedCleanups(), is(0L));
+    }
+
+    @Test
+    public void enqueueShouldSkipCleanersNotApplicableToRun() {
+        manager = manager(runRequiringCleaner, fastCleaner);
+        final PipelineRun run = new PipelineRun();
+        run.setId(RUN_ID);
+
+        manager.enqueue(run);
+        manager.enqueue(RUN_ID + 1);
+
+        assertThat(dao.getTasks().size(), is(2));
+        assertTrue(dao.getTasks().stream().allMatch(task ->
+                task.getCleaner().equals(RunCleanupManager.getCleanerName(fastCleaner))));
+    }
+
+    @Test
+    public void cleanupRequiringRunShouldBeSkippedWithoutFailureIfRunIsDeleted() {
+        manager = manager(runRequiringCleaner);
+        final PipelineRun run = new PipelineRun();
+        run.setId(RUN_ID);
+        run.setServiceUrl(SERVICE_URL);
+        manager.enqueue(run);
+
+        manager.processQueue();
+
+        assertTrue(dao.getTasks().isEmpty());
+        assertThat(runRequiringCleaner.getCalls(), is(0));
+        assertThat(manager.getMetrics().getFailedCleanups(), is(0L));
+        assertThat(manager.getMetrics().getRetriedCleanups(), is(0L));
+        assertThat(getMetric("cluster.run.cleanup.failed").longValue(), is(0L));
+    }
+
+    @Test
+    public void cleanupShouldUseRunIfItExists() {
+        final PipelineRun run = new PipelineRun();
+        run.setId(RUN_ID);
+        doReturn(run).when(pipelineRunDao).loadPipelineRun(RUN_ID);
+        manager = manager(fastCleaner);
+        manager.enqueue(run);
+        manager.enqueue(RUN_ID + 1);
+
+        await(() -> {
+            manager.processQueue();
+            return dao.getTasks().isEmpty();
+        });
+
+        assertThat(fastCleaner.getRuns(), is(Collections.singletonList(RUN_ID)));
+        assertThat(fastCleaner.getRunIds(), is(Collections.singletonList(RUN_ID + 1)));
+    }
+
+    @Test
+    public void retryDelayShouldGrowExponentiallyUpToMaxDelay() {
+        assertThat(RunCleanupManager.getRetryDelay(1, RETRY_DELAY, MAX_RETRY_DELAY), is(RETRY_DELAY));
+        assertThat(RunCleanupManager.getRetryDelay(2, RETRY_DELAY, MAX_RETRY_DELAY), is(2 * RETRY_DELAY));
+        assertThat(RunCleanupManager.getRetryDelay(3, RETRY_DELAY, MAX_RETRY_DELAY), is(4 * RETRY_DELAY));
+        assertThat(RunCleanupManager.getRetryDelay(4, RETRY_DELAY, MAX_RETRY_DELAY), is(MAX_RETRY_DELAY));
+        assertThat(RunCleanupManager.getRetryDelay(Integer.MAX_VALUE, RETRY_DELAY, MAX_RETRY_DELAY),
+                is(MAX_RETRY_DELAY));
+        assertThat(RunCleanupManager.getRetryDelay(64, Long.MAX_VALUE, Long.MAX_VALUE), is(Long.MAX_VALUE));
+    }
+
+    private RunCleanupManager manager(final RunCleaner... cleaners) {
+        return new RunCleanupManager(dao, pipelineRunDao, preferenceManager, new RunCleanupMetrics(),
+                Arrays.asList(cleaners));
+    }
+
+    private Number getMetric(final String name) {
+        return manager.getMetrics().metrics().stream()
+                .filter(metric -> metric.getName().equals(name))
+                .findFirst()
+                .<Number>map(Metric::getValue)
+                .orElse(null);
+    }
+
+    private static void await(final BooleanSupplier condition) {
+        final long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (!condition.getAsBoolean()) {
+            assertTrue("Condition is not met in time", System.currentTimeMillis() < deadline);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static class SlowCleaner implements RunCleaner {
+
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger maxActive = new AtomicInteger();
+
+        @Override
+        public void cleanResources(final PipelineRun run) {
+            cleanResources(run.getId());
+        }
+
+        @Override
+        public void cleanResources(final Long runId) {
+            calls.incrementAndGet();
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                latch.await(TIMEOUT, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+
+        void release() {
+            latch.countDown();
+        }
+
+        int getCalls() {
+            return calls.get();
+        }
+
+        int getActive() {
+            return active.get();
+        }
+
+        int getMaxActive() {
+            return maxActive.get();
+        }
+    }
+
+    private static class FastCleaner implements RunCleaner {
+
+        private final List<Long> runs = Collections.synchronizedList(new ArrayList<>());
+        private final List<Long> runIds = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void cleanResources(final PipelineRun run) {
+            runs.add(run.getId());
+        }
+
+        @Override
+        public void cleanResources(final Long runId) {
+            runIds.add(runId);
+        }
+
+        int getCalls() {
+            return runs.size() + runIds.size();
+        }
+
+        List<Long> getRuns() {
+            return new ArrayList<>(runs);
+        }
+
+        List<Long> getRunIds() {
+            return new ArrayList<>(runIds);
+        }
+    }
+
+    private static class FailingCleaner implements RunCleaner {
+
+        static final String ERROR = "Cloud API is not available";
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public void cleanResources(final PipelineRun run) {
+            cleanResources(run.getId());
+        }
+
+        @Override
+        public void cleanResources(final Long runId) {
+            calls.incrementAndGet();
+            throw new IllegalStateException(ERROR);
+        }
+
+        int getCalls() {
+            return calls.get();
+        }
+    }
+
+    private static class RunRequiringCleaner implements RunCleaner {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public void cleanResources(final PipelineRun run) {
+            calls.incrementAndGet();
+        }
+
+        @Override
+        public void cleanResources(final Long runId) {
+            calls.incrementAndGet();
+            throw new IllegalStateException("Run is required");
+        }
+
+        @Override
+        public boolean isApplicable(final PipelineRun run) {
+            return run.getServiceUrl() != null;
+        }
+
+        @Override
+        public boolean supportsRunId() {
+            return false;
+        }
+
+        int getCalls() {
+            return calls.get();
+        }
+    }
+
+    private static class InMemoryRunCleanupTaskDao extends RunCleanupTaskDao {
+
+        private final Map<Long, RunCleanupTask> tasks = new ConcurrentHashMap<>();
+        private final AtomicLong ids = new AtomicLong();
+
+        @Override
+        public synchronized void createTasks(final List<RunCleanupTask> newTasks) {
+            newTasks.stream()
+                    .filter(task -> tasks.values().stream().noneMatch(existing ->
+                            existing.getRunId().equals(task.getRunId())
+                                    && existing.getCleaner().equals(task.getCleaner())))
+                    .forEach(task -> {
+                        task.setId(ids.incrementAndGet());
+                        tasks.put(task.getId(), copy(task));
+                    });
+        }
+
+        @Override
+        public void updateTask(final RunCleanupTask task) {
+            tasks.computeIfPresent(task.getId(), (id, existing) -> copy(task));
+        }
+
+        @Override
+        public void deleteTask(final Long id) {
+            tasks.remove(id);
+        }
+
+        @Override
+        public List<RunCleanupTask> loadDueTasks(final LocalDateTime now, final int limit) {
+            return tasks.values().stream()
+                    .filter(task -> !task.getNextAttempt().isAfter(now))
+                    .sorted((first, second) -> first.getNextAttempt().compareTo(second.getNextAttempt()))
+                    .limit(limit)
+                    .map(InMemoryRunCleanupTaskDao::copy)
+                    .collect(Collectors.toList());
+        }
+
+        @Override
+        public long countTasks() {
+            return tasks.size();
+        }
+
+        List<RunCleanupTask> getTasks() {
+            return tasks.values().stream()
+                    .map(InMemoryRunCleanupTaskDao::copy)
+                    .collect(Collectors.toList());
+        }
+
+        void makeDue() {
+            tasks.values().forEach(task -> task.setNextAttempt(task.getCreated()));
+        }
+
+        private static RunCleanupTask copy(final RunCleanupTask task) {
+            return new RunCleanupTask(task.getId(), task.getRunId(), task.getCleaner(), task.getAttempts(),
+                    task.getCreated(), task.getNextAttempt(), task.getLastError());
+        }
+    }
+}
@@ -24,12 +24,15 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 public class CsvMonitoringStatsWriterTest {
 
@@ -54,7 +57,7 @@ public class CsvMonitoringStatsWriterTest {
     @Test
     public void testMonitoringStatsToCsvConversion() {
         final List<MonitoringStats> stats = createStatsList();
-        final String csvInfo = monitoringStatsWriter.convertStatsToCsvString(stats);
+        final String csvInfo = writeToString(stats.stream(), stats);
         final String[] linesOfTables = csvInfo.split("\\n");
         Assert.assertEquals(3, linesOfTables.length);
         final List<String[]> table = Arrays.stream(linesOfTables)
@@ -99,10 +102,46 @@ public class CsvMonitoringStatsWriterTest {
         Assert.assertEquals(outBytes2, Long.parseLong(secondStatEntry[COMMON_INFO_SIZE + 7]));
     }
 
+    @Test
+    public void testMonitoringStatsColumnsAreResolvedFromColumnStats() {
+        final List<MonitoringStats> stats = createStatsList();
+        final String csvInfo = writeToString(stats.stream().limit(1), stats);
+        final String[] linesOfTables = csvInfo.split("\\n");
+        Assert.assertEquals(2, linesOfTables.length);
+        Arrays.stream(linesOfTables)
+            .map(line -> line.split(",", -1))
+            .forEach(cells ->
+                         Assert.assertEquals(COMMON_INFO_SIZE + 2 * DISK_INFOS.size() + 2 * NETWORK_INTERFACES.size(),
+                                             cells.length));
+    }
+
+    @Test
+    public void testMonitoringStatsWithoutDisksAndNetworkConversion() {
+        final List<MonitoringStats> stats = createStatsList();
+        stats.forEach(stat -> {
+            stat.setDisksUsage(null);
+            stat.setNetworkUsage(null);
+        });
+        final String csvInfo = writeToString(stats.stream(), Collections.emptyList());
+        final String[] linesOfTables = csvInfo.split("\\n");
+        Assert.assertEquals(3, linesOfTables.length);
+        Arrays.stream(linesOfTables)
+            .map(line -> line.replaceAll("\"", ""))
+            .map(line -> line.split(",", -1))
+            .forEach(cells -> Assert.assertEquals(COMMON_INFO_SIZE, cells.length));
+        Assert.assertTrue(linesOfTables[1].startsWith("\"" + END_TIMES.get(0) + "\""));
+    }
+
     @Test
     public void testEmptyStatsConversion() {
         final List<MonitoringStats> stats = Collections.emptyList();
-        Assert.assertEquals(StringUtils.EMPTY, monitoringStatsWriter.convertStatsToCsvString(stats));
+        Assert.assertEquals(StringUtils.EMPTY, writeToString(stats.stream(), stats));
+    }
+
+    private String writeToString(final Stream<MonitoringStats> stats, final List<MonitoringStats> columnStats) {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        monitoringStatsWriter.writeStats(stats, columnStats, outputStream);
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
     }
 
     private List<MonitoringStats> createStatsList() {
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.contextual.handler;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import com.epam.pipeline.app.CacheConfiguration;
+import com.epam.pipeline.common.MessageHelper;
+import com.epam.pipeline.controller.vo.ContextualPreferenceVO;
+import com.epam.pipeline.dao.contextual.ContextualPreferenceDao;
+import com.epam.pipeline.entity.contextual.ContextualPreference;
+import com.epam.pipeline.entity.contextual.ContextualPreferenceExternalResource;
+import com.epam.pipeline.entity.contextual.ContextualPreferenceLevel;
+import com.epam.pipeline.entity.preference.PreferenceType;
+import com.epam.pipeline.manager.contextual.ContextualPreferenceManager;
+import com.epam.pipeline.manager.security.AuthManager;
+import com.epam.pipeline.manager.user.UserManager;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@SuppressWarnings("PMD.TooManyStaticImports")
+public class CachingContextualPreferenceHandlerTest {
+
+    private static final String NAME = "name";
+    private static final String VALUE = "value";
+    private static final List<String> NAMES = Collections.singletonList(NAME);
+    private static final ContextualPreferenceExternalResource USER_RESOURCE =
+            new ContextualPreferenceExternalResource(ContextualPreferenceLevel.USER, "1");
+    private static final ContextualPreferenceExternalResource ROLE_RESOURCE =
+            new ContextualPreferenceExternalResource(ContextualPreferenceLevel.ROLE, "1");
+    private static final ContextualPreferenceExternalResource TOOL_RESOURCE =
+            new ContextualPreferenceExternalResource(ContextualPreferenceLevel.TOOL, "1");
+    private static final List<ContextualPreferenceExternalResource> RESOURCES =
+            Arrays.asList(USER_RESOURCE, ROLE_RESOURCE, TOOL_RESOURCE);
+    private static final ContextualPreference PREFERENCE = new ContextualPreference(NAME, VALUE, TOOL_RESOURCE);
+
+    private static final ContextualPreferenceHandler NEXT_HANDLER = mock(ContextualPreferenceHandler.class);
+    private static final ContextualPreferenceDao CONTEXTUAL_PREFERENCE_DAO = mock(ContextualPreferenceDao.class);
+
+    private AnnotationConfigApplicationContext context;
+    private ContextualPreferenceHandler handler;
+
+    @Before
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(CachingConfiguration.class);
+        handler = context.getBean("contextualPreferenceHandler", ContextualPreferenceHandler.class);
+        when(NEXT_HANDLER.search(any(), any())).thenReturn(Optional.of(PREFERENCE));
+    }
+
+    @After
+    public void tearDown() {
+        context.close();
+        reset(NEXT_HANDLER, CONTEXTUAL_PREFERENCE_DAO);
+    }
+
+    @Test
+    public void searchShouldResolvePreferenceOnceForTheSameNamesAndResources() {
+        assertThat(handler.search(NAMES, RESOURCES), is(Optional.of(PREFERENCE)));
+        assertThat(handler.search(NAMES, RESOURCES), is(Optional.of(PREFERENCE)));
+
+        verify(NEXT_HANDLER, times(1)).search(eq(NAMES), eq(RESOURCES));
+    }
+
+    @Test
+    public void searchShouldResolvePreferenceAgainIfUserRolesChanged() {
+        final List<ContextualPreferenceExternalResource> resourcesWithoutRole =
+                Arrays.asList(USER_RESOURCE, TOOL_RESOURCE);
+
+        handler.search(NAMES, RESOURCES);
+        handler.search(NAMES, resourcesWithoutRole);
+
+        verify(NEXT_HANDLER).search(eq(NAMES), eq(RESOURCES));
+        verify(NEXT_HANDLER).search(eq(NAMES), eq(resourcesWithoutRole));
+    }
+
+    @Test
+    public void searchShouldNotCacheMissingPreferences() {
+        when(NEXT_HANDLER.search(any(), any())).thenReturn(Optional.empty());
+
+        assertFalse(handler.search(NAMES, RESOURCES).isPresent());
+        assertFalse(handler.search(NAMES, RESOURCES).isPresent());
+
+        verify(NEXT_HANDLER, times(2)).search(eq(NAMES), eq(RESOURCES));
+    }
+
+    @Test
+    public void contextualPreferenceUpsertShouldEvictCachedPreferences() {
+        when(NEXT_HANDLER.isValid(any())).thenReturn(true);
+        final ContextualPreferenceManager manager = context.getBean(ContextualPreferenceManager.class);
+
+        handler.search(NAMES, RESOURCES);
+        manager.upsert(new ContextualPreferenceVO(NAME, VALUE, PreferenceType.STRING, TOOL_RESOURCE));
+        handler.search(NAMES, RESOURCES);
+
+        verify(NEXT_HANDLER, times(2)).search(eq(NAMES), eq(RESOURCES));
+    }
+
+    @Test
+    public void contextualPreferenceDeletionShouldEvictCachedPreferences() {
+        when(CONTEXTUAL_PREFERENCE_DAO.load(eq(NAME), eq(TOOL_RESOURCE))).thenReturn(Optional.of(PREFERENCE));
+        final ContextualPreferenceManager manager = context.getBean(ContextualPreferenceManager.class);
+
+        handler.search(NAMES, RESOURCES);
+        manager.delete(NAME, TOOL_RESOURCE);
+        handler.search(NAMES, RESOURCES);
+
+        verify(NEXT_HANDLER, times(2)).search(eq(NAMES), eq(RESOURCES));
+    }
+
+    @Configuration
+    @EnableCaching
+    static class CachingConfiguration {
+
+        @Bean
+        public CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(CacheConfiguration.CONTEXTUAL_PREFERENCE_CACHE);
+        }
+
+        @Bean
+        public ContextualPreferenceHandler contextualPreferenceHandler() {
+            return new CachingContextualPreferenceHandler(NEXT_HANDLER);
+        }
+
+        @Bean
+        public ContextualPreferenceManager contextualPreferenceManager(
+                final ContextualPreferenceHandler contextualPreferenceHandler) {
+            return new ContextualPreferenceManager(CONTEXTUAL_PREFERENCE_DAO, contextualPreferenceHandler,
+                    mock(AuthManager.class), mock(UserManager.class), mock(MessageHelper.class));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.pipeline;
+
+import com.epam.pipeline.common.MessageHelper;
+import com.epam.pipeline.entity.datastorage.AbstractDataStorage;
+import com.epam.pipeline.entity.pipeline.Folder;
+import com.epam.pipeline.entity.pipeline.FolderCloneJob;
+import com.epam.pipeline.entity.pipeline.FolderCloneStatus;
+import com.epam.pipeline.manager.security.AuthManager;
+import com.epam.pipeline.util.BackgroundJobTestUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static com.epam.pipeline.util.CustomAssertions.assertThrows;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FolderCloneManagerTest {
+
+    private static final Long FOLDER_ID = 1L;
+    private static final Long DESTINATION_FOLDER_ID = 2L;
+    private static final Long CLONED_FOLDER_ID = 3L;
+    private static final String NAME = "clone";
+    private static final String OWNER = "OWNER";
+    private static final String ERROR = "error";
+
+    private final FolderManager folderManager = mock(FolderManager.class);
+    private final AuthManager authManager = mock(AuthManager.class);
+    private final FolderCloneManager cloneManager = new FolderCloneManager(folderManager, authManager,
+            mock(MessageHelper.class), BackgroundJobTestUtils.inMemoryJobManager(), Runnable::run, Runnable::run);
+    private final AbstractDataStorage storage = mock(AbstractDataStorage.class);
+    private final AbstractDataStorage anotherStorage = mock(AbstractDataStorage.class);
+
+    @Before
+    public void setUp() {
+        when(authManager.getAuthorizedUser()).thenReturn(OWNER);
+        when(folderManager.cloneFolderHierarchy(FOLDER_ID, DESTINATION_FOLDER_ID, NAME))
+                .thenReturn(new ClonedFolderHierarchy(new Folder(CLONED_FOLDER_ID),
+                        Arrays.asList(storage, anotherStorage)));
+    }
+
+    @Test
+    public void submitShouldCloneHierarchyAndCreateStorages() {
+        final FolderCloneJob job = submit();
+
+        assertEquals(FolderCloneStatus.COMPLETED, job.getStatus());
+        assertEquals(OWNER, job.getOwner());
+        assertEquals(CLONED_FOLDER_ID, job.getClonedFolderId());
+        assertEquals(2, job.getTotalStorages());
+        assertEquals(2, job.getCreatedStorages());
+        verify(folderManager).createClonedStorage(storage);
+        verify(folderManager).createClonedStorage(anotherStorage);
+        verify(folderManager, never()).deleteForce(anyLong());
+    }
+
+    @Test
+    public void submitShouldRemoveClonedFolderIfStorageCreationFails() {
+        when(folderManager.createClonedStorage(storage)).thenThrow(new IllegalStateException(ERROR));
+
+        final FolderCloneJob job = submit();
+
+        assertEquals(FolderCloneStatus.FAILED, job.getStatus());
+        assertEquals(ERROR, job.getMessage());
+        assertEquals(0, job.getCreatedStorages());
+        verify(folderManager, never()).createClonedStorage(anotherStorage);
+        verify(folderManager).deleteForce(CLONED_FOLDER_ID);
+    }
+
+    @Test
+    public void submitShouldNotRemoveAnythingIfHierarchyCloneFails() {
+        when(folderManager.cloneFolderHierarchy(FOLDER_ID, DESTINATION_FOLDER_ID, NAME))
+                .thenThrow(new IllegalStateException(ERROR));
+
+        final FolderCloneJob job = submit();
+
+        assertEquals(FolderCloneStatus.FAILED, job.getStatus());
+        assertEquals(ERROR, job.getMessage());
+        assertNull(job.getClonedFolderId());
+        verify(folderManager, never()).deleteForce(anyLong());
+    }
+
+    @Test
+    public void submitShouldCompleteIfThereAreNoStoragesToCreate() {
+        when(folderManager.cloneFolderHierarchy(FOLDER_ID, DESTINATION_FOLDER_ID, NAME))
+                .thenReturn(new ClonedFolderHierarchy(new Folder(CLONED_FOLDER_ID), Collections.emptyList()));
+
+        final FolderCloneJob job = submit();
+
+        assertEquals(FolderCloneStatus.COMPLETED, job.getStatus());
+        assertEquals(0, job.getTotalStorages());
+        verify(folderManager, never()).createClonedStorage(storage);
+    }
+
+    @Test
+    public void loadShouldFailIfCloneDoesNotExist() {
+        assertThrows(IllegalArgumentException.class, () -> cloneManager.load(NAME));
+    }
+
+    private FolderCloneJob submit() {
+        return cloneManager.load(cloneManager.submit(FOLDER_ID, DESTINATION_FOLDER_ID, NAME).getId());
+    }
+}
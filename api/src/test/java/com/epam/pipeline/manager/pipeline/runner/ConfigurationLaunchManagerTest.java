@@ -0,0 +1,268 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.pipeline.runner;
+
+import com.epam.pipeline.common.MessageHelper;
+import com.epam.pipeline.entity.configuration.ConfigurationLaunchJob;
+import com.epam.pipeline.entity.configuration.ConfigurationLaunchStatus;
+import com.epam.pipeline.entity.configuration.PipelineConfiguration;
+import com.epam.pipeline.entity.configuration.RunConfigurationEntry;
+import com.epam.pipeline.entity.pipeline.PipelineRun;
+import com.epam.pipeline.entity.pipeline.ResolvedConfiguration;
+import com.epam.pipeline.entity.pipeline.TaskStatus;
+import com.epam.pipeline.manager.execution.RootPodLaunch;
+import com.epam.pipeline.manager.job.BackgroundJobManager;
+import com.epam.pipeline.manager.pipeline.ParameterMapper;
+import com.epam.pipeline.manager.pipeline.PipelineConfigurationManager;
+import com.epam.pipeline.manager.pipeline.PipelineManager;
+import com.epam.pipeline.manager.pipeline.PipelineRunManager;
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
+import com.epam.pipeline.manager.security.AuthManager;
+import com.epam.pipeline.util.BackgroundJobTestUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static com.epam.pipeline.util.CustomAssertions.assertThrows;
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings({"PMD.TooManyStaticImports", "unchecked"})
+public class ConfigurationLaunchManagerTest {
+
+    private static final Long CONFIGURATION_ID = 1L;
+    private static final String OWNER = "OWNER";
+    private static final String ERROR = "error";
+    private static final int INSERT_SIZE = 2;
+    private static final int MAX_RUNS = 10;
+    private static final String MASTER = "master";
+    private static final String WORKER = "worker";
+
+    private final CloudPlatformRunner runner = mock(CloudPlatformRunner.class);
+    private final PipelineRunManager runManager = mock(PipelineRunManager.class);
+    private final PreferenceManager preferenceManager = mock(PreferenceManager.class);
+    private final AuthManager authManager = mock(AuthManager.class);
+    private final AtomicLong runIds = new AtomicLong();
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    private final BackgroundJobManager jobManager = BackgroundJobTestUtils.inMemoryJobManager();
+    private final ConfigurationLaunchManager launchManager = new ConfigurationLaunchManager(runner, runManager,
+            preferenceManager, authManager, mock(MessageHelper.class), jobManager, Runnable::run, Runnable::run);
+    private final AnalysisConfiguration<RunConfigurationEntry> configuration = AnalysisConfiguration
+            .<RunConfigurationEntry>builder()
+            .configurationId(CONFIGURATION_ID)
+            .entries(Collections.singletonList(new RunConfigurationEntry()))
+            .build();
+
+    @Before
+    public void setUp() {
+        when(authManager.getAuthorizedUser()).thenReturn(OWNER);
+        when(preferenceManager.getPreference(SystemPreferences.LAUNCH_BATCH_INSERT_SIZE)).thenReturn(INSERT_SIZE);
+        doAnswer(invocation -> Collections.singletonList(launch()))
+                .when(runner).prepareConfiguration(eq(CONFIGURATION_ID), any(), any());
+        doAnswer(invocation -> {
+            final List<PipelineRun> runs = (List<PipelineRun>) invocation.getArguments()[0];
+            events.add("save " + runs.stream().map(run -> String.valueOf(run.getId()))
+                    .collect(Collectors.joining(",")));
+            return runs;
+        }).when(runManager).saveRuns(any());
+    }
+
+    @Test
+    public void submitShouldSaveRunsByBatchesBeforeLaunchingTheirPods() {
+        when(runner.resolveConfigurations(configuration))
+                .thenReturn(Arrays.asList(resolved(1L), resolved(2L), resolved(3L)));
+
+        final ConfigurationLaunchJob job = launchManager.load(launchManager.submit(configuration).getId());
+
+        assertEquals(ConfigurationLaunchStatus.COMPLETED, job.getStatus());
+        assertEquals(OWNER, job.getOwner());
+        assertEquals(3, job.getTotal());
+        assertEquals(3, job.getProcessed());
+        assertEquals(3, job.getRunIds().size());
+        assertTrue(job.getErrors().isEmpty());
+        assertEquals(Arrays.asList("save 1,2", "launch 1", "launch 2", "save 3", "launch 3"), events);
+    }
+
+    @Test
+    public void submitShouldPrepareClusterWorkersWithNotSavedMasterRun() {
+        final ParameterMapper parameterMapper = mock(ParameterMapper.class);
+        final CloudPlatformRunner clusterRunner = new CloudPlatformRunner(parameterMapper,
+                mock(PipelineConfigurationManager.class), mock(PipelineManager.class), runManager,
+                preferenceManager, mock(MessageHelper.class));
+        final ConfigurationLaunchManager clusterLaunchManager = new ConfigurationLaunchManager(clusterRunner,
+                runManager, preferenceManager, authManager, mock(MessageHelper.class), jobManager, Runnable::run,
+                Runnable::run);
+        final AnalysisConfiguration<RunConfigurationEntry> clusterConfiguration = AnalysisConfiguration
+                .<RunConfigurationEntry>builder()
+                .configurationId(CONFIGURATION_ID)
+                .entries(Arrays.asList(entry(MASTER, true), entry(WORKER, false)))
+                .build();
+        final ResolvedConfiguration resolved = resolved(1L);
+        resolved.getConfigurations().put(MASTER, nodes(1));
+        resolved.getConfigurations().put(WORKER, nodes(1));
+        when(preferenceManager.getPreference(SystemPreferences.LAUNCH_MAX_SCHEDULED_NUMBER)).thenReturn(MAX_RUNS);
+        when(parameterMapper.resolveConfigurations(clusterConfiguration))
+                .thenReturn(Collections.singletonList(resolved));
+        final List<PipelineRun> parentRuns = new ArrayList<>();
+        doAnswer(invocation -> {
+            final PipelineRun parentRun = (PipelineRun) invocation.getArguments()[7];
+            parentRuns.add(parentRun);
+            final RootPodLaunch launch = launch();
+            launch.getRun().setParentRunId(parentRun == null ? null : parentRun.getId());
+            return launch;
+        }).when(runManager).preparePipelineRun(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(),
+                any());
+
+        final ConfigurationLaunchJob job = clusterLaunchManager.load(
+                clusterLaunchManager.submit(clusterConfiguration).getId());
+
+        assertEquals(ConfigurationLaunchStatus.COMPLETED, job.getStatus());
+        assertTrue(job.getErrors().isEmpty());
+        assertEquals(Arrays.asList(1L, 2L, 3L), job.getRunIds());
+        assertEquals(3, parentRuns.size());
+        assertNull(parentRuns.get(0));
+        assertEquals(Long.valueOf(1L), parentRuns.get(1).getId());
+        assertEquals(Long.valueOf(1L), parentRuns.get(2).getId());
+        assertEquals(Arrays.asList("save 1,2,3", "launch 1", "launch 2", "launch 3"), events);
+        verify(runManager, never()).loadPipelineRun(anyLong());
+    }
+
+    @Test
+    public void submitShouldFailSavedRunsWhichPodsWereNotLaunched() {
+        final ResolvedConfiguration failed = resolved(2L);
+        when(runner.resolveConfigurations(configuration)).thenReturn(Arrays.asList(resolved(1L), failed));
+        doAnswer(invocation -> Arrays.asList(failingLaunch(), launch()))
+                .when(runner).prepareConfiguration(eq(CONFIGURATION_ID), any(), eq(failed));
+
+        final ConfigurationLaunchJob job = launchManager.load(launchManager.submit(configuration).getId());
+
+        assertEquals(ConfigurationLaunchStatus.COMPLETED_WITH_ERRORS, job.getStatus());
+        assertEquals(2, job.getProcessed());
+        assertEquals(3, job.getRunIds().size());
+        assertEquals(1, job.getErrors().size());
+        assertEquals(ERROR, job.getErrors().get(0).getMessage());
+        assertThat(job.getErrors().get(0).getEntitiesIds(), hasItems(2L));
+        verify(runManager).updatePipelineStatusIfNotFinal(2L, TaskStatus.FAILURE);
+        verify(runManager).updatePipelineStatusIfNotFinal(3L, TaskStatus.FAILURE);
+        verify(runManager, times(2)).updatePipelineStatusIfNotFinal(anyLong(), any());
+    }
+
+    @Test
+    public void submitShouldReportEntitiesThatFailedToPrepare() {
+        final ResolvedConfiguration failed = resolved(2L);
+        when(runner.resolveConfigurations(configuration)).thenReturn(Arrays.asList(resolved(1L), failed));
+        doThrow(new IllegalArgumentException(ERROR))
+                .when(runner).prepareConfiguration(eq(CONFIGURATION_ID), any(), eq(failed));
+
+        final ConfigurationLaunchJob job = launchManager.load(launchManager.submit(configuration).getId());
+
+        assertEquals(ConfigurationLaunchStatus.COMPLETED_WITH_ERRORS, job.getStatus());
+        assertEquals(2, job.getProcessed());
+        assertEquals(Collections.singletonList(1L), job.getRunIds());
+        assertThat(job.getErrors().get(0).getEntitiesIds(), hasItems(2L));
+        assertEquals(Arrays.asList("save 1", "launch 1"), events);
+    }
+
+    @Test
+    public void submitShouldNotLaunchPodsOfRunsThatFailedToSave() {
+        when(runner.resolveConfigurations(configuration)).thenReturn(Arrays.asList(resolved(1L), resolved(2L)));
+        doThrow(new IllegalStateException(ERROR)).when(runManager).saveRuns(any());
+
+        final ConfigurationLaunchJob job = launchManager.load(launchManager.submit(configuration).getId());
+
+        assertEquals(ConfigurationLaunchStatus.COMPLETED_WITH_ERRORS, job.getStatus());
+        assertEquals(2, job.getProcessed());
+        assertTrue(job.getRunIds().isEmpty());
+        assertEquals(2, job.getErrors().size());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void submitShouldFailIfConfigurationCannotBeResolved() {
+        when(runner.resolveConfigurations(configuration)).thenThrow(new IllegalArgumentException(ERROR));
+
+        final ConfigurationLaunchJob job = launchManager.load(launchManager.submit(configuration).getId());
+
+        assertEquals(ConfigurationLaunchStatus.FAILED, job.getStatus());
+        assertEquals(ERROR, job.getMessage());
+        verify(runManager, never()).saveRuns(any());
+    }
+
+    @Test
+    public void loadShouldFailForUnknownLaunch() {
+        assertThrows(IllegalArgumentException.class, () -> launchManager.load("unknown"));
+    }
+
+    private ResolvedConfiguration resolved(final Long entityId) {
+        final ResolvedConfiguration resolved = new ResolvedConfiguration(null, new HashMap<>());
+        resolved.getAssociatedEntityIds().add(entityId);
+        return resolved;
+    }
+
+    private RunConfigurationEntry entry(final String name, final boolean defaultConfiguration) {
+        final RunConfigurationEntry entry = new RunConfigurationEntry();
+        entry.setName(name);
+        entry.setDefaultConfiguration(defaultConfiguration);
+        entry.setConfiguration(new PipelineConfiguration());
+        return entry;
+    }
+
+    private PipelineConfiguration nodes(final int nodeCount) {
+        final PipelineConfiguration configuration = new PipelineConfiguration();
+        configuration.setNodeCount(nodeCount);
+        return configuration;
+    }
+
+    private RootPodLaunch launch() {
+        final PipelineRun run = run();
+        return new RootPodLaunch(run, null, () -> events.add("launch " + run.getId()));
+    }
+
+    private RootPodLaunch failingLaunch() {
+        return new RootPodLaunch(run(), null, () -> {
+            throw new IllegalStateException(ERROR);
+        });
+    }
+
+    private PipelineRun run() {
+        final PipelineRun run = new PipelineRun();
+        run.setId(runIds.incrementAndGet());
+        return run;
+    }
+}
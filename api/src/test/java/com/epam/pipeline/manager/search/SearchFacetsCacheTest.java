@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.search;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+
+@SuppressWarnings("checkstyle:MagicNumber")
+public class SearchFacetsCacheTest {
+
+    private static final long TTL = 30_000;
+    private static final long CHECK_INTERVAL = 1_000;
+    private static final String QUERY = "query";
+    private static final String USER = "user";
+    private static final String FACET = "tag";
+    private static final List<String> FACETS = Collections.singletonList(FACET);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final AtomicLong generation = new AtomicLong(1);
+    private final AtomicInteger generationChecks = new AtomicInteger();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final SearchFacetsCache cache = new SearchFacetsCache(() -> 2, CHECK_INTERVAL, clock::get);
+
+    @Test
+    public void getShouldReuseFacetsForTheSameQueryFiltersAndAcl() {
+        final Map<String, List<String>> filters = new HashMap<>();
+        filters.put("owner", Arrays.asList("b", "a"));
+        final Map<String, List<String>> reordered = new HashMap<>();
+        reordered.put("owner", Arrays.asList("a", "b"));
+
+        get(SearchFacetsCache.key(QUERY, filters, FACETS, USER));
+        get(SearchFacetsCache.key(QUERY, reordered, FACETS, USER));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void getShouldLoadFacetsForDifferentAclFingerprint() {
+        get(key(USER));
+        get(key("another"));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void getShouldReloadFacetsOnceTtlIsExpired() {
+        get(key(USER));
+        clock.addAndGet(TTL);
+        get(key(USER));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void getShouldReloadFacetsOnceRefreshGenerationIsChanged() {
+        get(key(USER));
+        generation.incrementAndGet();
+        get(key(USER));
+        clock.addAndGet(CHECK_INTERVAL);
+        get(key(USER));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void getShouldCheckRefreshGenerationOncePerInterval() {
+        for (int i = 0; i < 100; i++) {
+            get(key(USER));
+        }
+
+        assertEquals(1, generationChecks.get());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void getShouldNotCacheFacetsIfTtlIsZero() {
+        cache.get(key(USER), 0, this::loadGeneration, this::loadFacets);
+        cache.get(key(USER), 0, this::loadGeneration, this::loadFacets);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, generationChecks.get());
+    }
+
+    @Test
+    public void getShouldEvictLeastRecentlyUsedFacets() {
+        get(key("first"));
+        get(key("second"));
+        get(key("third"));
+        get(key("first"));
+
+        assertEquals(2, cache.size());
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void getShouldReturnCopiesOfCachedFacets() {
+        get(key(USER)).get(FACET).put("modified", 1L);
+
+        assertEquals(1, get(key(USER)).get(FACET).size());
+    }
+
+    private SearchFacetsCache.FacetsKey key(final String aclFingerprint) {
+        return SearchFacetsCache.key(QUERY, Collections.emptyMap(), FACETS, aclFingerprint);
+    }
+
+    private Map<String, Map<String, Long>> get(final SearchFacetsCache.FacetsKey key) {
+        return cache.get(key, TTL, this::loadGeneration, this::loadFacets);
+    }
+
+    private long loadGeneration() {
+        generationChecks.incrementAndGet();
+        return generation.get();
+    }
+
+    private Map<String, Map<String, Long>> loadFacets() {
+        loads.incrementAndGet();
+        final Map<String, Long> values = new HashMap<>();
+        values.put("value", 10L);
+        final Map<String, Map<String, Long>> facets = new HashMap<>();
+        facets.put(FACET, values);
+        return facets;
+    }
+}
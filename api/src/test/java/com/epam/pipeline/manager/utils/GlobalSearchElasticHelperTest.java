@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.utils;
+
+import com.epam.pipeline.manager.preference.AbstractSystemPreference;
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.epam.pipeline.util.CustomAssertions.assertThrows;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings({"checkstyle:MagicNumber", "unchecked"})
+public class GlobalSearchElasticHelperTest {
+
+    private static final String IO_THREAD_PREFIX = "I/O dispatcher";
+    private static final int REQUESTS = 1000;
+
+    private final PreferenceManager preferenceManager = mock(PreferenceManager.class);
+    private final Map<AbstractSystemPreference<?>, Subject<Object>> subjects = new HashMap<>();
+    private final GlobalSearchElasticHelper elasticHelper = new GlobalSearchElasticHelper(preferenceManager);
+
+    @Before
+    public void setUp() {
+        when(preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_HOST)).thenReturn("localhost");
+        when(preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_PORT)).thenReturn(9200);
+        when(preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_SCHEME)).thenReturn("http");
+        when(preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_CLIENT_MAX_CONNECTIONS))
+                .thenReturn(20);
+        when(preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_CLIENT_MAX_CONNECTIONS_PER_ROUTE))
+                .thenReturn(10);
+        when(preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_CLIENT_CONNECT_TIMEOUT))
+                .thenReturn(100);
+        when(preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_CLIENT_SOCKET_TIMEOUT))
+                .thenReturn(1);
+        doAnswer(invocation -> subjects.computeIfAbsent(
+                (AbstractSystemPreference<?>) invocation.getArguments()[0], p -> PublishSubject.create()))
+                .when(preferenceManager).getObservablePreference(any());
+        elasticHelper.init();
+    }
+
+    @After
+    public void tearDown() {
+        elasticHelper.close();
+    }
+
+    @Test
+    public void getClientShouldReuseSingleClientWithoutLeakingThreads() {
+        final RestHighLevelClient client = elasticHelper.getClient();
+        final long ioThreads = countIOThreads();
+
+        for (int i = 0; i < REQUESTS; i++) {
+            assertSame(client, elasticHelper.getClient());
+            assertSame(elasticHelper.getLowLevelClient(), elasticHelper.getLowLevelClient());
+        }
+
+        assertEquals(ioThreads, countIOThreads());
+    }
+
+    @Test
+    public void getClientShouldRebuildClientAfterPreferenceChangeAndCloseReplacedOne() throws InterruptedException {
+        final long initialThreads = countIOThreads();
+        final RestHighLevelClient client = elasticHelper.getClient();
+        final long clientThreads = countIOThreads();
+
+        subjects.get(SystemPreferences.SEARCH_ELASTIC_HOST).onNext("elastic");
+        final RestHighLevelClient rebuilt = elasticHelper.getClient();
+
+        assertNotSame(client, rebuilt);
+        assertSame(rebuilt, elasticHelper.getClient());
+        // replaced client is closed with a socket timeout delay
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (countIOThreads() > clientThreads && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(clientThreads, countIOThreads());
+        assertTrue(clientThreads > initialThreads);
+    }
+
+    @Test
+    public void getPoolStatsShouldBeEmptyUntilClientIsBuilt() {
+        assertFalse(elasticHelper.getPoolStats().isPresent());
+
+        elasticHelper.getClient();
+
+        assertEquals(20, elasticHelper.getPoolStats().get().getMax());
+    }
+
+    @Test
+    public void getClientShouldFailIfHostIsNotConfigured() {
+        when(preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_HOST)).thenReturn(null);
+
+        assertThrows(IllegalArgumentException.class, elasticHelper::getClient);
+    }
+
+    private long countIOThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(Thread::isAlive)
+                .filter(thread -> thread.getName().startsWith(IO_THREAD_PREFIX))
+                .count();
+    }
+}
@@ -90,6 +90,7 @@ import com.epam.pipeline.manager.notification.NotificationTemplateManager;
 import com.epam.pipeline.manager.notification.SystemNotificationManager;
 import com.epam.pipeline.manager.ontology.OntologyManager;
 import com.epam.pipeline.manager.pipeline.DocumentGenerationPropertyManager;
+import com.epam.pipeline.manager.pipeline.FolderCloneManager;
 import com.epam.pipeline.manager.pipeline.FolderCrudManager;
 import com.epam.pipeline.manager.pipeline.FolderManager;
 import com.epam.pipeline.manager.pipeline.FolderTemplateManager;
@@ -226,6 +227,9 @@ public class AclTestBeans {
     @MockBean
     protected FolderManager mockFolderManager;
 
+    @MockBean
+    protected FolderCloneManager mockFolderCloneManager;
+
     @MockBean
     protected ConfigurationProviderManager mockConfigurationProviderManager;
 
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.util;
+
+import com.epam.pipeline.dao.job.BackgroundJobDao;
+import com.epam.pipeline.entity.job.BackgroundJob;
+import com.epam.pipeline.entity.job.BackgroundJobType;
+import com.epam.pipeline.manager.job.BackgroundJobManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * A test utils class, that provides {@link BackgroundJobManager} which keeps jobs in memory
+ * instead of the database
+ */
+public final class BackgroundJobTestUtils {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private BackgroundJobTestUtils() {
+    }
+
+    /**
+     * Creates a job manager which stores serialized jobs in memory, so that each load returns a new copy of a job
+     */
+    @SuppressWarnings("unchecked")
+    public static BackgroundJobManager inMemoryJobManager() {
+        final Map<String, String> jobs = new ConcurrentHashMap<>();
+        final BackgroundJobDao jobDao = mock(BackgroundJobDao.class);
+        doAnswer(invocation -> {
+            final BackgroundJobType type = (BackgroundJobType) invocation.getArguments()[0];
+            final BackgroundJob job = (BackgroundJob) invocation.getArguments()[1];
+            jobs.put(type + job.getId(), MAPPER.writeValueAsString(job));
+            return null;
+        }).when(jobDao).saveJob(any(), any());
+        doAnswer(invocation -> {
+            final BackgroundJobType type = (BackgroundJobType) invocation.getArguments()[0];
+            final String id = (String) invocation.getArguments()[1];
+            final Class<? extends BackgroundJob> jobClass = (Class<? extends BackgroundJob>) invocation
+                    .getArguments()[2];
+            return Optional.ofNullable(jobs.get(type + id)).map(state -> read(state, jobClass));
+        }).when(jobDao).loadJob(any(), anyString(), any());
+        return new BackgroundJobManager(jobDao);
+    }
+
+    private static <T> T read(final String state, final Class<T> jobClass) {
+        try {
+            return MAPPER.readValue(state, jobClass);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
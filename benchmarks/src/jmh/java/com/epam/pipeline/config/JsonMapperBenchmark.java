@@ -0,0 +1,166 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.config;
+
+import com.epam.pipeline.entity.datastorage.AbstractDataStorage;
+import com.epam.pipeline.entity.datastorage.StoragePolicy;
+import com.epam.pipeline.entity.datastorage.aws.S3bucketDataStorage;
+import com.epam.pipeline.entity.pipeline.CommitStatus;
+import com.epam.pipeline.entity.pipeline.PipelineRun;
+import com.epam.pipeline.entity.pipeline.RunInstance;
+import com.epam.pipeline.entity.pipeline.TaskStatus;
+import com.epam.pipeline.entity.pipeline.run.RunStatus;
+import com.epam.pipeline.entity.pipeline.run.parameter.PipelineRunParameter;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures JSON (de)serialization of {@link PipelineRun} and {@link AbstractDataStorage} with
+ * the API {@link JsonMapper} configuration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonMapperBenchmark {
+
+    private static final long RUN_ID = 12345L;
+    private static final long STORAGE_ID = 42L;
+    private static final int NODE_DISK = 50;
+    private static final int STS_DURATION = 30;
+    private static final int LTS_DURATION = 365;
+    private static final BigDecimal PRICE_PER_HOUR = new BigDecimal("0.452");
+
+    @Param({"10", "100"})
+    public int parametersCount;
+
+    private ObjectMapper mapper;
+    private PipelineRun run;
+    private S3bucketDataStorage storage;
+    private String runJson;
+    private String storageJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        // storages contain calculated properties, that are not expected during deserialization
+        mapper = new JsonMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        run = run();
+        storage = storage();
+        // PipelineRunParameter can't be deserialized, run parameters are read from a plain string
+        final PipelineRun serializedRun = run();
+        serializedRun.setPipelineRunParameters(null);
+        runJson = mapper.writeValueAsString(serializedRun);
+        storageJson = mapper.writeValueAsString(storage);
+    }
+
+    @Benchmark
+    public String serializeRun() throws IOException {
+        return mapper.writeValueAsString(run);
+    }
+
+    @Benchmark
+    public PipelineRun deserializeRun() throws IOException {
+        return mapper.readValue(runJson, PipelineRun.class);
+    }
+
+    @Benchmark
+    public String serializeStorage() throws IOException {
+        return mapper.writeValueAsString(storage);
+    }
+
+    @Benchmark
+    public AbstractDataStorage deserializeStorage() throws IOException {
+        return mapper.readValue(storageJson, S3bucketDataStorage.class);
+    }
+
+    private PipelineRun run() {
+        final PipelineRun pipelineRun = new PipelineRun(RUN_ID, "pipeline-12345");
+        pipelineRun.setPipelineId(1L);
+        pipelineRun.setVersion("draft-1a2b3c4d");
+        pipelineRun.setStartDate(new Date());
+        pipelineRun.setStatus(TaskStatus.RUNNING);
+        pipelineRun.setCommitStatus(CommitStatus.NOT_COMMITTED);
+        pipelineRun.setDockerImage("registry:5000/library/centos:7");
+        pipelineRun.setActualDockerImage("registry:5000/library/centos:7");
+        pipelineRun.setCmdTemplate("sleep infinity");
+        pipelineRun.setActualCmd("sleep infinity");
+        pipelineRun.setPodId("pipeline-12345");
+        pipelineRun.setPodIP("10.244.0.15");
+        pipelineRun.setOwner("USER1");
+        pipelineRun.setPricePerHour(PRICE_PER_HOUR);
+        pipelineRun.setPipelineRunParameters(IntStream.range(0, parametersCount)
+                .mapToObj(i -> new PipelineRunParameter("param" + i, "s3://bucket/input/" + i, "input"))
+                .collect(Collectors.toList()));
+        pipelineRun.setParams(pipelineRun.getPipelineRunParameters().stream()
+                .map(parameter -> parameter.getName() + "=" + parameter.getValue())
+                .collect(Collectors.joining(PipelineRun.PARAM_DELIMITER)));
+        final RunInstance instance = new RunInstance();
+        instance.setNodeType("m5.large");
+        instance.setNodeDisk(NODE_DISK);
+        instance.setNodeIP("10.0.0.15");
+        instance.setNodeId("i-0123456789abcdef0");
+        instance.setNodeName("ip-10-0-0-15");
+        instance.setSpot(true);
+        instance.setCloudRegionId(1L);
+        pipelineRun.setInstance(instance);
+        pipelineRun.setRunStatuses(Arrays.asList(
+                new RunStatus(RUN_ID, TaskStatus.RUNNING, null, LocalDateTime.now()),
+                new RunStatus(RUN_ID, TaskStatus.PAUSED, "Paused by user", LocalDateTime.now())));
+        final Map<String, String> envVars = new HashMap<>();
+        envVars.put("CP_CAP_SGE", "true");
+        envVars.put("CP_CAP_AUTOSCALE", "false");
+        pipelineRun.setEnvVars(envVars);
+        pipelineRun.setTags(Collections.singletonMap("project", "benchmark"));
+        return pipelineRun;
+    }
+
+    private S3bucketDataStorage storage() {
+        final StoragePolicy policy = new StoragePolicy();
+        policy.setVersioningEnabled(true);
+        policy.setShortTermStorageDuration(STS_DURATION);
+        policy.setLongTermStorageDuration(LTS_DURATION);
+        final S3bucketDataStorage bucket = new S3bucketDataStorage(STORAGE_ID, "benchmark-storage",
+                "benchmark-bucket/data", policy, "/cloud-data/benchmark");
+        bucket.setOwner("USER1");
+        bucket.setDescription("Benchmark storage");
+        bucket.setParentFolderId(1L);
+        bucket.setRegionId(1L);
+        bucket.setAllowedCidrs(Arrays.asList("10.0.0.0/8", "192.168.0.0/16"));
+        bucket.setCreatedDate(new Date());
+        return bucket;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.dao.pipeline;
+
+import com.epam.pipeline.controller.vo.PagingRunFilterVO;
+import com.epam.pipeline.controller.vo.PipelineRunFilterVO;
+import com.epam.pipeline.entity.pipeline.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.SqlProvider;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Measures search query building of {@link PipelineRunDao}: filter conditions, named parameters
+ * expansion and statement creation. Queries are taken from the DAO configuration and are captured
+ * instead of being sent to a database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PipelineRunDaoBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1", "100"})
+    public int idsCount;
+
+    private PipelineRunDao pipelineRunDao;
+    private QueryCapturingJdbcTemplate jdbcTemplate;
+    private PagingRunFilterVO filter;
+    private PipelineRunFilterVO.ProjectFilter projectFilter;
+
+    @Setup
+    public void setUp() {
+        final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        jdbcTemplate = new QueryCapturingJdbcTemplate();
+        beanFactory.registerSingleton("jdbcTemplate", jdbcTemplate);
+        new XmlBeanDefinitionReader(beanFactory).loadBeanDefinitions("classpath:dao/pipeline-run-dao.xml");
+        pipelineRunDao = beanFactory.getBean(PipelineRunDao.class);
+
+        final List<Long> ids = LongStream.rangeClosed(1, idsCount).boxed().collect(Collectors.toList());
+        filter = new PagingRunFilterVO();
+        filter.setPage(1);
+        filter.setPageSize(PAGE_SIZE);
+        filter.setPipelineIds(ids);
+        filter.setVersions(Arrays.asList("draft-1", "draft-2", "v1"));
+        filter.setStatuses(Arrays.asList(TaskStatus.RUNNING, TaskStatus.PAUSED, TaskStatus.FAILURE));
+        filter.setOwners(Arrays.asList("USER1", "User2"));
+        filter.setDockerImages(Collections.singletonList("registry:5000/library/centos"));
+        filter.setStartDateFrom(new Date(0));
+        filter.setEndDateTo(new Date());
+        filter.setPartialParameters("sample=");
+        filter.setConfigurationIds(ids);
+        filter.setOwnershipFilter("USER1");
+        filter.setAllowedPipelines(ids);
+        projectFilter = new PipelineRunFilterVO.ProjectFilter(ids, ids);
+    }
+
+    @Benchmark
+    public String searchPipelineRuns() {
+        pipelineRunDao.searchPipelineRuns(filter, projectFilter);
+        return jdbcTemplate.getLastQuery();
+    }
+
+    @Benchmark
+    public String searchPipelineGroups() {
+        pipelineRunDao.searchPipelineGroups(filter, projectFilter);
+        return jdbcTemplate.getLastQuery();
+    }
+
+    /**
+     * Builds prepared statement creators exactly as a regular {@link JdbcTemplate} does, but returns
+     * no rows instead of executing them.
+     */
+    private static final class QueryCapturingJdbcTemplate extends JdbcTemplate {
+
+        private String lastQuery;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T query(final PreparedStatementCreator psc, final PreparedStatementSetter pss,
+                           final ResultSetExtractor<T> rse) {
+            lastQuery = ((SqlProvider) psc).getSql();
+            return (T) Collections.emptyList();
+        }
+
+        String getLastQuery() {
+            return lastQuery;
+        }
+    }
+}
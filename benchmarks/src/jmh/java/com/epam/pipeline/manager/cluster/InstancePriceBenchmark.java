@@ -0,0 +1,196 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.cluster;
+
+import com.epam.pipeline.controller.vo.InstanceOfferRequestVO;
+import com.epam.pipeline.dao.cluster.InstanceOfferDao;
+import com.epam.pipeline.entity.cluster.InstanceOffer;
+import com.epam.pipeline.manager.cloud.CloudInstancePriceService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures hourly price estimation of a batch of runs: compute instance price and disk offers lookup.
+ * {@code estimateWithQueries} issues the offer queries per run as {@link InstanceOfferManager} did before
+ * the price index was introduced, {@code estimateWithIndex} uses the {@link InstancePriceIndex} it now keeps.
+ * Offers are stored in an embedded H2 database, so the query variant doesn't include network round trips.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InstancePriceBenchmark {
+
+    private static final long REGIONS_COUNT = 3;
+    private static final int INSTANCE_TYPES_COUNT = 200;
+    private static final String[] TERM_TYPES = {
+        CloudInstancePriceService.TermType.ON_DEMAND.getName(),
+        CloudInstancePriceService.TermType.SPOT.getName()
+    };
+    private static final String[] OPERATING_SYSTEMS = {CloudInstancePriceService.LINUX_OPERATING_SYSTEM, "Windows"};
+    private static final String ON_DEMAND = CloudInstancePriceService.TermType.ON_DEMAND.getName();
+    private static final double MAX_PRICE = 10.0;
+
+    @Param({"10000"})
+    public int runsCount;
+
+    private EmbeddedDatabase database;
+    private InstanceOfferDao instanceOfferDao;
+    private InstancePriceIndex priceIndex;
+    private List<Run> runs;
+
+    @Setup
+    public void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("instance-offer-schema.sql")
+                .build();
+        final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("dataSource", database);
+        new XmlBeanDefinitionReader(beanFactory).loadBeanDefinitions("classpath:dao/instance-offer-dao.xml");
+        instanceOfferDao = beanFactory.getBean(InstanceOfferDao.class);
+        populate();
+        priceIndex = InstancePriceIndex.of(instanceOfferDao.loadInstanceOffers(new InstanceOfferRequestVO()));
+        final Random random = new Random(1);
+        runs = IntStream.range(0, runsCount)
+                .mapToObj(i -> new Run(instanceType(random.nextInt(INSTANCE_TYPES_COUNT)),
+                        1 + (long) random.nextInt((int) REGIONS_COUNT)))
+                .collect(Collectors.toList());
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    @Benchmark
+    public double estimateWithQueries() {
+        double total = 0;
+        for (final Run run : runs) {
+            final InstanceOfferRequestVO computeRequest = new InstanceOfferRequestVO();
+            computeRequest.setInstanceType(run.instanceType);
+            computeRequest.setTermType(ON_DEMAND);
+            computeRequest.setOperatingSystem(CloudInstancePriceService.LINUX_OPERATING_SYSTEM);
+            computeRequest.setTenancy(CloudInstancePriceService.SHARED_TENANCY);
+            computeRequest.setUnit(CloudInstancePriceService.HOURS_UNIT);
+            computeRequest.setProductFamily(CloudInstancePriceService.INSTANCE_PRODUCT_FAMILY);
+            computeRequest.setRegionId(run.regionId);
+            total += instanceOfferDao.loadInstanceOffers(computeRequest).stream()
+                    .map(InstanceOffer::getPricePerUnit)
+                    .filter(price -> Double.compare(price, 0.0) > 0)
+                    .min(Double::compareTo)
+                    .orElse(0.0);
+            final InstanceOfferRequestVO diskRequest = new InstanceOfferRequestVO();
+            diskRequest.setProductFamily(CloudInstancePriceService.STORAGE_PRODUCT_FAMILY);
+            diskRequest.setVolumeType(CloudInstancePriceService.GENERAL_PURPOSE_VOLUME_TYPE);
+            diskRequest.setRegionId(run.regionId);
+            total += instanceOfferDao.loadInstanceOffers(diskRequest).get(0).getPricePerUnit();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double estimateWithIndex() {
+        double total = 0;
+        for (final Run run : runs) {
+            total += priceIndex.getPricePerHour(run.regionId, run.instanceType, ON_DEMAND,
+                    CloudInstancePriceService.LINUX_OPERATING_SYSTEM);
+            total += priceIndex.getDiskOffers(run.regionId).get(0).getPricePerUnit();
+        }
+        return total;
+    }
+
+    private void populate() {
+        final Random random = new Random(0);
+        final List<InstanceOffer> offers = new ArrayList<>();
+        for (long regionId = 1; regionId <= REGIONS_COUNT; regionId++) {
+            for (int type = 0; type < INSTANCE_TYPES_COUNT; type++) {
+                for (final String termType : TERM_TYPES) {
+                    for (final String operatingSystem : OPERATING_SYSTEMS) {
+                        offers.add(InstanceOffer.builder()
+                                .sku("sku")
+                                .regionId(regionId)
+                                .instanceType(instanceType(type))
+                                .termType(termType)
+                                .operatingSystem(operatingSystem)
+                                .tenancy(CloudInstancePriceService.SHARED_TENANCY)
+                                .unit(CloudInstancePriceService.HOURS_UNIT)
+                                .productFamily(CloudInstancePriceService.INSTANCE_PRODUCT_FAMILY)
+                                .pricePerUnit(random.nextDouble() * MAX_PRICE)
+                                .priceListPublishDate(new Date())
+                                .build());
+                    }
+                }
+            }
+            offers.add(InstanceOffer.builder()
+                    .sku("sku")
+                    .regionId(regionId)
+                    .productFamily(CloudInstancePriceService.STORAGE_PRODUCT_FAMILY)
+                    .volumeType(CloudInstancePriceService.GENERAL_PURPOSE_VOLUME_TYPE)
+                    .pricePerUnit(random.nextDouble())
+                    .priceListPublishDate(new Date())
+                    .build());
+        }
+        final JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        for (long regionId = 1; regionId <= REGIONS_COUNT; regionId++) {
+            jdbcTemplate.update("INSERT INTO pipeline.cloud_region (region_id, cloud_provider) VALUES (?, ?)",
+                    regionId, "AWS");
+        }
+        new TransactionTemplate(new DataSourceTransactionManager(database)).execute(status -> {
+            instanceOfferDao.insertInstanceOffers(offers);
+            return null;
+        });
+    }
+
+    private static String instanceType(final int index) {
+        return "m" + (index % 10) + "." + index + "xlarge";
+    }
+
+    private static final class Run {
+        private final String instanceType;
+        private final Long regionId;
+
+        private Run(final String instanceType, final Long regionId) {
+            this.instanceType = instanceType;
+            this.regionId = regionId;
+        }
+    }
+}
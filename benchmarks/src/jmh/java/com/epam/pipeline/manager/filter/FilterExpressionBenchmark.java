@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.filter;
+
+import com.epam.pipeline.dao.filter.FilterRunParameters;
+import com.epam.pipeline.manager.filter.converters.DateConverter;
+import com.epam.pipeline.manager.filter.converters.LongListConverter;
+import com.epam.pipeline.manager.filter.converters.PipelineRunParameterConverter;
+import com.epam.pipeline.manager.filter.converters.RunStatusConverter;
+import com.epam.pipeline.manager.filter.converters.WildCardConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Measures conversion of a run filter expression into an SQL condition: expression preparation,
+ * field resolution against {@link FilterRunParameters}, value converters and composers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FilterExpressionBenchmark {
+
+    private static final int ALLOWED_PIPELINES_COUNT = 100;
+    private static final String OWNER = "user1";
+    private static final String TIMEZONE_OFFSET = "-180";
+
+    private final DateConverter dateConverter = new DateConverter();
+    private final RunStatusConverter runStatusConverter = new RunStatusConverter();
+    private final LongListConverter longListConverter = new LongListConverter();
+    private final WildCardConverter wildCardConverter = new WildCardConverter();
+    private final PipelineRunParameterConverter parameterConverter = new PipelineRunParameterConverter();
+
+    private FilterExpression expression;
+    private List<Long> allowedPipelines;
+    private Map<String, Object> converterParams;
+
+    @Setup
+    public void setUp() {
+        // logical expressions are binary, so the filter is represented as a tree of AND/OR pairs
+        expression = expression(FilterExpressionType.AND,
+                expression(FilterExpressionType.AND,
+                        logical("status", "=", "RUNNING"),
+                        logical("run.start", ">=", "2020-01-01")),
+                expression(FilterExpressionType.AND,
+                        expression(FilterExpressionType.AND,
+                                logical("pipeline.ids", "=", "[1, 2, 3, 4, 5]"),
+                                expression(FilterExpressionType.OR,
+                                        logical("pipeline.version", "=", "draft-*"),
+                                        logical("docker.image", "=", "library/centos*"))),
+                        expression(FilterExpressionType.AND,
+                                logical("parameter.sample", "=", "'sample1'"),
+                                logical("owner", "!=", "'USER2'"))));
+        allowedPipelines = LongStream.rangeClosed(1, ALLOWED_PIPELINES_COUNT).boxed().collect(Collectors.toList());
+        converterParams = new HashMap<>();
+        converterParams.put(DateConverter.TIMEZONE_OFFSET_PARAMETER, TIMEZONE_OFFSET);
+    }
+
+    @Benchmark
+    public String toSQLStatement() throws WrongFilterException {
+        return FilterExpression.generate(expression, allowedPipelines, OWNER)
+                .preProcessExpression(FilterRunParameters.class, new MapSqlParameterSource(),
+                        new HashMap<>(), converterParams)
+                .toSQLStatement();
+    }
+
+    @Benchmark
+    public Object convertDate() throws WrongFilterException {
+        return dateConverter.convert("run.start", "2020-01-01", FilterOperandType.MORE_OR_EQUALS, converterParams);
+    }
+
+    @Benchmark
+    public Object convertRunStatus() throws WrongFilterException {
+        return runStatusConverter.convert("status", "'running'", FilterOperandType.EQUALS,
+                Collections.emptyMap());
+    }
+
+    @Benchmark
+    public Object convertLongList() throws WrongFilterException {
+        return longListConverter.convert("pipeline.ids", "[1, 2, 3; 4, 5]", FilterOperandType.EQUALS,
+                Collections.emptyMap());
+    }
+
+    @Benchmark
+    public Object convertWildCard() throws WrongFilterException {
+        return wildCardConverter.convert("docker.image", "\"library/centos*\"", FilterOperandType.EQUALS,
+                Collections.emptyMap());
+    }
+
+    @Benchmark
+    public Object convertRunParameter() throws WrongFilterException {
+        return parameterConverter.convert("parameter.sample", "sample1", FilterOperandType.EQUALS,
+                Collections.emptyMap());
+    }
+
+    private static FilterExpression logical(final String field, final String operand, final String value) {
+        final FilterExpression expression = new FilterExpression();
+        expression.setFilterExpressionType(FilterExpressionType.LOGICAL);
+        expression.setField(field);
+        expression.setOperand(operand);
+        expression.setValue(value);
+        return expression;
+    }
+
+    private static FilterExpression expression(final FilterExpressionType type,
+                                               final FilterExpression left, final FilterExpression right) {
+        final FilterExpression expression = new FilterExpression();
+        expression.setFilterExpressionType(type);
+        expression.setExpressions(Arrays.asList(left, right));
+        return expression;
+    }
+}
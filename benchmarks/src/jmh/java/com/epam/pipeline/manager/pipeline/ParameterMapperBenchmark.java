@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.pipeline;
+
+import com.epam.pipeline.common.MessageHelper;
+import com.epam.pipeline.config.JsonMapper;
+import com.epam.pipeline.entity.configuration.PipeConfValueVO;
+import com.epam.pipeline.entity.metadata.MetadataEntity;
+import com.epam.pipeline.entity.metadata.PipeConfValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures template parameters resolution of {@link ParameterMapper} against an in-memory
+ * graph of metadata entities: scalar, project, reference and array reference parameters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParameterMapperBenchmark {
+
+    private static final String SAMPLE_CLASS = "Sample";
+    private static final String PARTICIPANT_CLASS = "Participant";
+    private static final String BATCH_CLASS = "Batch";
+    private static final String STRING_TYPE = PipeConfValueVO.DEFAULT_TYPE;
+
+    @Param({"10", "100"})
+    public int parametersCount;
+
+    @Param({"2", "50"})
+    public int batchesCount;
+
+    private ParameterMapper parameterMapper;
+    private MetadataEntity sample;
+    private Map<String, PipeConfValue> projectData;
+    private Map<String, PipeConfValueVO> parameters;
+    private Map<ParameterMapper.MetadataKey, MetadataEntity> references;
+
+    @Setup
+    public void setUp() {
+        new JsonMapper().init();
+        parameterMapper = new ParameterMapper(mock(MessageHelper.class), null, null, null);
+        references = new HashMap<>();
+
+        final String batchIds = IntStream.range(0, batchesCount)
+                .mapToObj(i -> "\"b" + i + "\"")
+                .collect(Collectors.joining(",", "[", "]"));
+        IntStream.range(0, batchesCount).forEach(i ->
+                addReference(BATCH_CLASS, "b" + i, data("Batch_Name", STRING_TYPE, "BATCH" + i)));
+
+        final MetadataEntity participant = addReference(PARTICIPANT_CLASS, "p1",
+                data("Patient_ID", STRING_TYPE, "UID123"));
+        participant.getData().put(BATCH_CLASS, new PipeConfValue("Array[Batch]", batchIds));
+
+        sample = addReference(SAMPLE_CLASS, "s1", data("Sample_Name", STRING_TYPE, "sample1"));
+        sample.getData().put("Patient", new PipeConfValue("Participant:ID", "p1"));
+        sample.getData().put("Reads", new PipeConfValue("Path", "s3://bucket/reads/sample1.fastq"));
+
+        projectData = data("Reference", STRING_TYPE, "s3://bucket/hg38/ref.fa");
+
+        final String[] templates = {
+            "this.Sample_Name", "this.Reads", "project.Reference", "this.Patient.Patient_ID",
+            "this.Patient.Batch.Batch_Name", "/hg38/test/ref.fa"
+        };
+        parameters = new HashMap<>();
+        IntStream.range(0, parametersCount).forEach(i ->
+                parameters.put("param" + i, new PipeConfValueVO(templates[i % templates.length])));
+    }
+
+    @Benchmark
+    public Map<String, PipeConfValueVO> mapParameters() {
+        return parameterMapper.mapParameters(sample, projectData, parameters, references);
+    }
+
+    private MetadataEntity addReference(final String className, final String externalId,
+                                        final Map<String, PipeConfValue> data) {
+        final MetadataEntity entity = new MetadataEntity();
+        entity.setExternalId(externalId);
+        entity.setData(data);
+        references.put(new ParameterMapper.MetadataKey(className, externalId), entity);
+        return entity;
+    }
+
+    private static Map<String, PipeConfValue> data(final String name, final String type, final String value) {
+        final Map<String, PipeConfValue> data = new HashMap<>();
+        data.put(name, new PipeConfValue(type, value));
+        return data;
+    }
+}
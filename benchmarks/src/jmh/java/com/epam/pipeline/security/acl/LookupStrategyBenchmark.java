@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.security.acl;
+
+import com.epam.pipeline.entity.pipeline.Folder;
+import com.epam.pipeline.entity.pipeline.Pipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.acls.domain.AclAuthorizationStrategyImpl;
+import org.springframework.security.acls.domain.ConsoleAuditLogger;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.AclCache;
+import org.springframework.security.acls.model.MutableAcl;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Measures ACL assembly of {@link LookupStrategyImpl} for a batch of pipelines that inherit
+ * permissions from a common folder. ACLs are loaded from an embedded H2 database and are never
+ * cached, so every invocation performs the complete lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LookupStrategyBenchmark {
+
+    private static final long FOLDER_CLASS_ID = 1L;
+    private static final long PIPELINE_CLASS_ID = 2L;
+    private static final long FOLDER_ACL_ID = 1L;
+    private static final long OWNER_SID_ID = 1L;
+
+    @Param({"10", "200"})
+    public int objectsCount;
+
+    @Param({"5", "20"})
+    public int entriesCount;
+
+    private EmbeddedDatabase database;
+    private LookupStrategyImpl lookupStrategy;
+    private List<ObjectIdentity> identities;
+
+    @Setup
+    public void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("acl-schema.sql")
+                .build();
+        populate(new JdbcTemplate(database));
+        final ConsoleAuditLogger auditLogger = new ConsoleAuditLogger();
+        lookupStrategy = new LookupStrategyImpl(database, new NoOpAclCache(),
+                new AclAuthorizationStrategyImpl(new SimpleGrantedAuthority("ROLE_ADMIN")), auditLogger,
+                new AclPermissionFactory(), new PermissionGrantingStrategyImpl(auditLogger));
+        identities = LongStream.rangeClosed(1, objectsCount)
+                .mapToObj(id -> new ObjectIdentityImpl(Pipeline.class, id))
+                .collect(Collectors.toList());
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    @Benchmark
+    public Map<ObjectIdentity, Acl> readAclsById() {
+        return lookupStrategy.readAclsById(identities, Collections.emptyList());
+    }
+
+    private void populate(final JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("INSERT INTO acl_class (id, class) VALUES (?, ?)",
+                FOLDER_CLASS_ID, Folder.class.getCanonicalName());
+        jdbcTemplate.update("INSERT INTO acl_class (id, class) VALUES (?, ?)",
+                PIPELINE_CLASS_ID, Pipeline.class.getCanonicalName());
+
+        final List<Object[]> sids = LongStream.rangeClosed(OWNER_SID_ID, entriesCount)
+                .mapToObj(id -> new Object[]{id, id % 2 == 1, "SID_" + id})
+                .collect(Collectors.toList());
+        jdbcTemplate.batchUpdate("INSERT INTO acl_sid (id, principal, sid) VALUES (?, ?, ?)", sids);
+
+        final List<Object[]> objects = new ArrayList<>();
+        objects.add(new Object[]{FOLDER_ACL_ID, FOLDER_CLASS_ID, 1L, null, OWNER_SID_ID, false});
+        LongStream.rangeClosed(1, objectsCount).forEach(id ->
+                objects.add(new Object[]{FOLDER_ACL_ID + id, PIPELINE_CLASS_ID, id, FOLDER_ACL_ID,
+                    OWNER_SID_ID, true}));
+        jdbcTemplate.batchUpdate("INSERT INTO acl_object_identity (id, object_id_class, object_id_identity, "
+                + "parent_object, owner_sid, entries_inheriting) VALUES (?, ?, ?, ?, ?, ?)", objects);
+
+        final List<Object[]> entries = new ArrayList<>();
+        objects.forEach(object -> {
+            final long aclId = (long) object[0];
+            for (int order = 0; order < entriesCount; order++) {
+                entries.add(new Object[]{aclId * entriesCount + order, aclId, order, (long) order + 1,
+                    order % 2 == 0 ? AclPermission.READ.getMask() : AclPermission.WRITE.getMask(),
+                    order % 3 != 0, false, false});
+            }
+        });
+        jdbcTemplate.batchUpdate("INSERT INTO acl_entry (id, acl_object_identity, ace_order, sid, mask, "
+                + "granting, audit_success, audit_failure) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", entries);
+    }
+
+    private static final class NoOpAclCache implements AclCache {
+
+        @Override
+        public void evictFromCache(final Serializable pk) {
+            // nothing is cached
+        }
+
+        @Override
+        public void evictFromCache(final ObjectIdentity objectIdentity) {
+            // nothing is cached
+        }
+
+        @Override
+        public MutableAcl getFromCache(final ObjectIdentity objectIdentity) {
+            return null;
+        }
+
+        @Override
+        public MutableAcl getFromCache(final Serializable pk) {
+            return null;
+        }
+
+        @Override
+        public void putInCache(final MutableAcl acl) {
+            // nothing is cached
+        }
+
+        @Override
+        public void clearCache() {
+            // nothing is cached
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures {@link StreamUtils#chunked}, {@link StreamUtils#windowed} and {@link ChunkedIterator}
+ * on the collection sizes used for batched database and cloud requests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StreamUtilsBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"10", "500"})
+    public int chunkSize;
+
+    private List<Integer> items;
+
+    @Setup
+    public void setUp() {
+        items = IntStream.range(0, size).boxed().collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void chunked(final Blackhole blackhole) {
+        StreamUtils.chunked(items.stream(), chunkSize).forEach(chunk -> blackhole.consume(chunk.size()));
+    }
+
+    @Benchmark
+    public void windowed(final Blackhole blackhole) {
+        StreamUtils.windowed(StreamUtils.chunked(items.stream(), chunkSize), chunkSize * 4)
+                .forEach(window -> blackhole.consume(window.size()));
+    }
+
+    @Benchmark
+    public void chunkedIterator(final Blackhole blackhole) {
+        final ChunkedIterator<Integer> iterator = new ChunkedIterator<>(items.iterator(), chunkSize);
+        while (iterator.hasNext()) {
+            blackhole.consume(iterator.next().size());
+        }
+    }
+}
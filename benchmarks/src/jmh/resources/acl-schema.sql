@@ -0,0 +1,39 @@
+CREATE TABLE acl_sid(
+    id bigint not null primary key,
+    principal boolean not null,
+    sid varchar(255) not null,
+    constraint unique_uk_1 unique(sid,principal)
+);
+
+CREATE TABLE acl_class(
+    id bigint not null primary key,
+    class varchar(100) not null,
+    constraint unique_uk_2 unique(class)
+);
+
+CREATE TABLE acl_object_identity(
+    id bigint not null primary key,
+    object_id_class bigint not null,
+    object_id_identity bigint not null,
+    parent_object bigint,
+    owner_sid bigint,
+    entries_inheriting boolean not null,
+    constraint unique_uk_3 unique(object_id_class,object_id_identity),
+    constraint foreign_fk_1 foreign key(parent_object) references acl_object_identity(id),
+    constraint foreign_fk_2 foreign key(object_id_class) references acl_class(id),
+    constraint foreign_fk_3 foreign key(owner_sid) references acl_sid(id)
+);
+
+CREATE TABLE acl_entry(
+    id bigint not null primary key,
+    acl_object_identity bigint not null,
+    ace_order int not null,
+    sid bigint not null,
+    mask integer not null,
+    granting boolean not null,
+    audit_success boolean not null,
+    audit_failure boolean not null,
+    constraint unique_uk_4 unique(acl_object_identity,ace_order),
+    constraint foreign_fk_4 foreign key(acl_object_identity) references acl_object_identity(id),
+    constraint foreign_fk_5 foreign key(sid) references acl_sid(id)
+);
@@ -0,0 +1,28 @@
+CREATE SCHEMA pipeline;
+
+CREATE TABLE pipeline.cloud_region(
+    region_id bigint not null primary key,
+    cloud_provider varchar(100) not null
+);
+
+CREATE TABLE pipeline.instance_offer(
+    sku varchar(100),
+    term_type varchar(100),
+    unit varchar(100),
+    price_per_unit double,
+    currency varchar(100),
+    instance_type varchar(100),
+    tenancy varchar(100),
+    operating_system varchar(100),
+    product_family varchar(100),
+    volume_type varchar(100),
+    price_list_publish_date timestamp,
+    vcpu integer,
+    memory double,
+    memory_unit varchar(100),
+    instance_family varchar(100),
+    gpu integer,
+    region bigint
+);
+
+CREATE INDEX instance_offer_region_idx ON pipeline.instance_offer(region);
@@ -19,6 +19,7 @@ package com.epam.pipeline.billingreportagent.app;
 import com.epam.pipeline.billingreportagent.model.StorageType;
 import com.epam.pipeline.billingreportagent.service.ElasticsearchServiceClient;
 import com.epam.pipeline.billingreportagent.service.ElasticsearchSynchronizer;
+import com.epam.pipeline.billingreportagent.service.impl.BillingRollupService;
 import com.epam.pipeline.billingreportagent.service.impl.BulkRequestSender;
 import com.epam.pipeline.billingreportagent.service.impl.ElasticIndexService;
 import com.epam.pipeline.billingreportagent.service.impl.converter.AwsStoragePriceListLoader;
@@ -42,15 +43,24 @@ import com.epam.pipeline.billingreportagent.service.impl.mapper.StorageBillingMa
 import com.epam.pipeline.entity.datastorage.DataStorageType;
 import com.epam.pipeline.entity.datastorage.MountType;
 import com.epam.pipeline.entity.search.SearchDocumentType;
+import com.epam.pipeline.utils.AdaptiveConcurrencyLimiter;
+import com.epam.pipeline.utils.BulkRequestSettings;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.Executors;
+import java.util.function.LongSupplier;
 
 @Configuration
 public class CommonSyncConfiguration {
 
     private static final String FALSE = "false";
+    private static final String BULK_METRICS_PREFIX = "sync.bulk.";
 
     @Value("${sync.index.common.prefix}")
     private String commonIndexPrefix;
@@ -61,6 +71,24 @@ public class CommonSyncConfiguration {
     @Value("${sync.bulk.insert.timeout:1000}")
     private long insertTimeout;
 
+    @Value("${sync.bulk.buffer.size:10000}")
+    private int bufferSize;
+
+    @Value("${sync.bulk.max.concurrency:4}")
+    private int bulkMaxConcurrency;
+
+    @Value("${sync.bulk.target.latency:5000}")
+    private long bulkTargetLatency;
+
+    @Value("${sync.bulk.max.bytes:10485760}")
+    private long bulkMaxBytes;
+
+    @Value("${sync.bulk.max.retries:3}")
+    private int bulkMaxRetries;
+
+    @Value("${sync.bulk.retry.delay:1000}")
+    private long bulkRetryDelay;
+
     @Value("${sync.storage.index.mapping}")
     private String storageMapping;
 
@@ -76,10 +104,47 @@ public class CommonSyncConfiguration {
     @Value("${sync.storage.historical.billing.generation:false}")
     private boolean enableStorageHistoricalBillingGeneration;
 
+    @Bean
+    public BulkRequestSettings bulkRequestSettings() {
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("bulk-request-");
+        threadFactory.setDaemon(true);
+        return BulkRequestSettings.builder()
+                .limiter(new AdaptiveConcurrencyLimiter(1, bulkMaxConcurrency, bulkTargetLatency))
+                .executor(bulkMaxConcurrency > 1
+                        ? Executors.newFixedThreadPool(bulkMaxConcurrency, threadFactory)
+                        : null)
+                .maxBulkBytes(bulkMaxBytes)
+                .maxRetries(bulkMaxRetries)
+                .retryDelay(bulkRetryDelay)
+                .build();
+    }
+
+    @Bean
+    public MeterBinder bulkRequestMetrics() {
+        return registry -> bulkRequestSettings().metrics().forEach((name, value) ->
+                Gauge.builder(BULK_METRICS_PREFIX + name, value, LongSupplier::getAsLong).register(registry));
+    }
+
     @Bean
     public BulkRequestSender bulkRequestSender(
             final ElasticsearchServiceClient elasticsearchClient) {
-        return new BulkRequestSender(elasticsearchClient);
+        return new BulkRequestSender(elasticsearchClient, bulkSize, 0L, bulkRequestSettings());
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "sync.rollup.disable", matchIfMissing = true, havingValue = FALSE)
+    public BillingRollupService billingRollupService(
+            final ElasticIndexService indexService,
+            final ElasticsearchServiceClient elasticsearchClient,
+            final @Value("${sync.rollup.index.mapping:classpath:/templates/billing_rollup.json}")
+                    String rollupMapping) {
+        return new BillingRollupService(elasticsearchClient,
+                indexService,
+                commonIndexPrefix,
+                rollupMapping,
+                bulkSize,
+                insertTimeout,
+                bulkRequestSettings());
     }
 
     @Bean
@@ -96,6 +161,8 @@ public class CommonSyncConfiguration {
                 runIndexName,
                 bulkSize,
                 insertTimeout,
+                bufferSize,
+                bulkRequestSettings(),
                 elasticsearchClient,
                 indexService,
                 mapper,
@@ -121,6 +188,8 @@ public class CommonSyncConfiguration {
                 storageIndexName,
                 bulkSize,
                 insertTimeout,
+                bufferSize,
+                bulkRequestSettings(),
                 elasticsearchClient,
                 loader,
                 indexService,
@@ -152,6 +221,8 @@ public class CommonSyncConfiguration {
                 storageIndexName,
                 bulkSize,
                 insertTimeout,
+                bufferSize,
+                bulkRequestSettings(),
                 elasticsearchClient,
                 loader,
                 indexService,
@@ -178,6 +249,8 @@ public class CommonSyncConfiguration {
                 storageIndexName,
                 bulkSize,
                 insertTimeout,
+                bufferSize,
+                bulkRequestSettings(),
                 elasticsearchClient,
                 loader,
                 indexService,
@@ -213,6 +286,8 @@ public class CommonSyncConfiguration {
                 storageIndexName,
                 bulkSize,
                 insertTimeout,
+                bufferSize,
+                bulkRequestSettings(),
                 elasticsearchClient,
                 loader,
                 indexService,
@@ -243,6 +318,8 @@ public class CommonSyncConfiguration {
                 storageIndexName,
                 bulkSize,
                 insertTimeout,
+                bufferSize,
+                bulkRequestSettings(),
                 elasticsearchClient,
                 loader,
                 indexService,
@@ -275,6 +352,8 @@ public class CommonSyncConfiguration {
                                        storageIndexName,
                                        bulkSize,
                                        insertTimeout,
+                                       bufferSize,
+                                       bulkRequestSettings(),
                                        elasticsearchClient,
                                        loader,
                                        indexService,
@@ -16,6 +16,7 @@
 
 package com.epam.pipeline.billingreportagent.service;
 
+import com.epam.pipeline.billingreportagent.service.impl.BillingRollupService;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.input.ReversedLinesFileReader;
 import org.springframework.beans.factory.annotation.Value;
@@ -53,16 +54,19 @@ public class ElasticsearchAgentService {
 
     private final ExecutorService elasticsearchAgentThreadPool;
     private final Set<ElasticsearchSynchronizer> synchronizers;
+    private final BillingRollupService rollupService;
     private final String lastSynchronizationTimeFilePath;
     private final LocalDateTime billingStartDate;
 
     public ElasticsearchAgentService(final ExecutorService elasticsearchAgentThreadPool,
                                      final Optional<Set<ElasticsearchSynchronizer>> synchronizers,
+                                     final Optional<BillingRollupService> rollupService,
                                      final @Value("${sync.last.synchronization.file}")
                                          String lastSynchronizationTimeFilePath,
                                      final @Value("${sync.billing.initial.date:}") String startDateStringValue) {
         this.elasticsearchAgentThreadPool = elasticsearchAgentThreadPool;
         this.synchronizers = synchronizers.orElse(Collections.emptySet());
+        this.rollupService = rollupService.orElse(null);
         this.lastSynchronizationTimeFilePath = lastSynchronizationTimeFilePath;
         this.billingStartDate = Optional.of(startDateStringValue)
             .filter(StringUtils::isNotEmpty)
@@ -103,6 +107,9 @@ public class ElasticsearchAgentService {
                 })).collect(Collectors.toList());
         try {
             CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get();
+            if (rollupService != null) {
+                rollupService.rollup(lastSyncTime, syncStart);
+            }
             Files.write(Paths.get(lastSynchronizationTimeFilePath),
                         (syncStart.toString() + System.lineSeparator()).getBytes(),
                         StandardOpenOption.APPEND, StandardOpenOption.CREATE);
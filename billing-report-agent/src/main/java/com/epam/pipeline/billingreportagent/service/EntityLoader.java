@@ -32,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -42,6 +43,16 @@ public interface EntityLoader<T> {
 
     List<EntityContainer<T>> loadAllEntitiesActiveInPeriod(LocalDateTime from, LocalDateTime to);
 
+    /**
+     * Loads entities active in the given period and passes them to the consumer chunk by chunk.
+     * Loaders operating large number of entities should override this method to avoid holding
+     * all the entities in memory at once.
+     */
+    default void loadAllEntitiesActiveInPeriod(final LocalDateTime from, final LocalDateTime to,
+                                               final Consumer<List<EntityContainer<T>>> chunkConsumer) {
+        chunkConsumer.accept(loadAllEntitiesActiveInPeriod(from, to));
+    }
+
     default Map<String, EntityWithMetadata<PipelineUser>> prepareUsers(final CloudPipelineAPIClient apiClient) {
 
         final Map<String, PipelineUser> users =
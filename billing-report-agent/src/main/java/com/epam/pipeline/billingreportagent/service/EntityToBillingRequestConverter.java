@@ -22,8 +22,9 @@ import org.elasticsearch.action.DocWriteRequest;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 public interface EntityToBillingRequestConverter<T> {
 
@@ -40,10 +41,18 @@ public interface EntityToBillingRequestConverter<T> {
                                                             String indexName,
                                                             LocalDateTime previousSync,
                                                             LocalDateTime syncStart) {
-        return entityContainers.stream()
-            .map(entityContainer -> convertEntityToRequests(entityContainer, indexName, previousSync, syncStart))
-            .flatMap(List::stream)
-            .collect(Collectors.toList());
+        final List<DocWriteRequest> requests = new ArrayList<>();
+        convertEntitiesToRequests(entityContainers, indexName, previousSync, syncStart, requests::addAll);
+        return requests;
+    }
+
+    default void convertEntitiesToRequests(List<EntityContainer<T>> entityContainers,
+                                           String indexName,
+                                           LocalDateTime previousSync,
+                                           LocalDateTime syncStart,
+                                           Consumer<List<DocWriteRequest>> requestsConsumer) {
+        entityContainers.forEach(entityContainer -> requestsConsumer.accept(
+            convertEntityToRequests(entityContainer, indexName, previousSync, syncStart)));
     }
 
     default String parseDateToString(final LocalDate date) {
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.billingreportagent.service.impl;
+
+import com.epam.pipeline.billingreportagent.exception.ElasticClientException;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.DocWriteRequest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Groups billing document requests by target index and sends them to Elasticsearch as soon as
+ * a single index accumulates a full bulk or the overall number of buffered requests reaches the limit.
+ * Thus the amount of requests held in memory doesn't depend on the length of a synchronized period.
+ */
+@Slf4j
+public class BillingRequestBuffer implements AutoCloseable {
+
+    private final ElasticIndexService indexService;
+    private final BulkRequestSender requestSender;
+    private final String indexMappingFile;
+    private final int bulkSize;
+    private final int maxBufferSize;
+    private final Map<String, List<DocWriteRequest>> buffers = new HashMap<>();
+    private final Set<String> preparedIndices = new HashSet<>();
+    private final Set<String> failedIndices = new HashSet<>();
+    private int bufferedCount;
+    private long totalCount;
+
+    public BillingRequestBuffer(final ElasticIndexService indexService,
+                                final BulkRequestSender requestSender,
+                                final String indexMappingFile,
+                                final int bulkSize,
+                                final int maxBufferSize) {
+        this.indexService = indexService;
+        this.requestSender = requestSender;
+        this.indexMappingFile = indexMappingFile;
+        this.bulkSize = bulkSize;
+        this.maxBufferSize = Math.max(maxBufferSize, bulkSize);
+    }
+
+    public void add(final DocWriteRequest request) {
+        final String index = request.index();
+        final List<DocWriteRequest> buffer = buffers.computeIfAbsent(index, key -> new ArrayList<>());
+        buffer.add(request);
+        bufferedCount++;
+        totalCount++;
+        if (buffer.size() >= bulkSize) {
+            flush(index);
+        } else if (bufferedCount >= maxBufferSize) {
+            flushAll();
+        }
+    }
+
+    public void addAll(final List<DocWriteRequest> requests) {
+        requests.forEach(this::add);
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    @Override
+    public void close() {
+        flushAll();
+    }
+
+    private void flushAll() {
+        new ArrayList<>(buffers.keySet()).forEach(this::flush);
+    }
+
+    private void flush(final String index) {
+        final List<DocWriteRequest> docs = buffers.remove(index);
+        if (docs == null) {
+            return;
+        }
+        bufferedCount -= docs.size();
+        if (!prepareIndex(index)) {
+            return;
+        }
+        log.debug("Inserting {} document(s) into index {}.", docs.size(), index);
+        requestSender.indexDocuments(docs);
+    }
+
+    private boolean prepareIndex(final String index) {
+        if (preparedIndices.contains(index)) {
+            return true;
+        }
+        if (failedIndices.contains(index)) {
+            return false;
+        }
+        try {
+            indexService.createIndexIfNotExists(index, indexMappingFile);
+            preparedIndices.add(index);
+            return true;
+        } catch (ElasticClientException e) {
+            log.error("Can't create index {}!", index);
+            failedIndices.add(index);
+            return false;
+        }
+    }
+}
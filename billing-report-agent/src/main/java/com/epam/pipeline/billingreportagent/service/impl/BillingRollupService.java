@@ -0,0 +1,259 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.billingreportagent.service.impl;
+
+import com.epam.pipeline.billingreportagent.exception.ElasticClientException;
+import com.epam.pipeline.billingreportagent.service.ElasticsearchServiceClient;
+import com.epam.pipeline.billingreportagent.service.EntityToBillingRequestConverter;
+import com.epam.pipeline.utils.BulkRequestSettings;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.MapUtils;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.support.IndicesOptions;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.bucket.composite.CompositeAggregation;
+import org.elasticsearch.search.aggregations.bucket.composite.CompositeAggregationBuilder;
+import org.elasticsearch.search.aggregations.bucket.composite.CompositeValuesSourceBuilder;
+import org.elasticsearch.search.aggregations.bucket.composite.TermsValuesSourceBuilder;
+import org.elasticsearch.search.aggregations.metrics.min.Min;
+import org.elasticsearch.search.aggregations.metrics.sum.Sum;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Builds pre-aggregated billing documents on top of the raw daily billing indices.
+ *
+ * For each day touched by a synchronization a daily rollup document is written per unique combination of
+ * {@link #ROLLUP_DIMENSIONS}, and afterwards the corresponding months are rolled up from the daily documents.
+ * Daily rollups are stored in monthly indices ({prefix}rollup-daily-yyyy-MM) and monthly rollups in yearly
+ * indices ({prefix}rollup-monthly-yyyy), so the API is able to answer coarse-grained requests with a handful
+ * of documents instead of a scan over the raw indices.
+ */
+@Slf4j
+public class BillingRollupService {
+
+    public static final List<String> ROLLUP_DIMENSIONS = Arrays.asList(
+        "owner", "billing_center", "resource_type", "tool", "pipeline", "storage_id",
+        "compute_type", "instance_type", "storage_type");
+
+    private static final String COST_FIELD = "cost";
+    private static final String RUN_USAGE_FIELD = "usage_minutes";
+    private static final String BILLING_DATE_FIELD = "created_date";
+    private static final String ROLLUP_AGG = "rollup";
+    private static final String EARLIEST_DATE_AGG = "earliest_date";
+    private static final String ROLLUP_DOC_TYPE = "BILLING_ROLLUP";
+    private static final String DAILY_INDEX_NAME = "rollup-daily-";
+    private static final String MONTHLY_INDEX_NAME = "rollup-monthly-";
+    private static final String ES_WILDCARD = "*";
+    private static final String KEY_SEPARATOR = "|";
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final ElasticsearchServiceClient elasticsearchClient;
+    private final ElasticIndexService indexService;
+    private final BulkRequestSender requestSender;
+    private final String commonIndexPrefix;
+    private final String rollupIndexMappingFile;
+    private final int pageSize;
+
+    public BillingRollupService(final ElasticsearchServiceClient elasticsearchClient,
+                                final ElasticIndexService indexService,
+                                final String commonIndexPrefix,
+                                final String rollupIndexMappingFile,
+                                final Integer bulkInsertSize,
+                                final Long insertTimeout) {
+        this(elasticsearchClient, indexService, commonIndexPrefix, rollupIndexMappingFile, bulkInsertSize,
+                insertTimeout, BulkRequestSettings.sequential());
+    }
+
+    public BillingRollupService(final ElasticsearchServiceClient elasticsearchClient,
+                                final ElasticIndexService indexService,
+                                final String commonIndexPrefix,
+                                final String rollupIndexMappingFile,
+                                final Integer bulkInsertSize,
+                                final Long insertTimeout,
+                                final BulkRequestSettings bulkRequestSettings) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.indexService = indexService;
+        this.commonIndexPrefix = commonIndexPrefix;
+        this.rollupIndexMappingFile = rollupIndexMappingFile;
+        this.pageSize = bulkInsertSize;
+        this.requestSender = new BulkRequestSender(elasticsearchClient, bulkInsertSize, insertTimeout,
+                                                   bulkRequestSettings);
+    }
+
+    /**
+     * Recalculates daily rollups for each day in the synchronized period and monthly rollups for each
+     * month containing such days.
+     *
+     * @param lastSyncTime previous synchronization time, if null - the whole billing history is rolled up
+     * @param syncStart current synchronization time
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public void rollup(final LocalDateTime lastSyncTime, final LocalDateTime syncStart) {
+        final LocalDate to = syncStart.toLocalDate();
+        final LocalDate from = Optional.ofNullable(lastSyncTime)
+            .map(LocalDateTime::toLocalDate)
+            .orElseGet(this::findEarliestBillingDate);
+        if (from == null || from.isAfter(to)) {
+            log.debug("No billing data found for rollup.");
+            return;
+        }
+        log.debug("Started billing rollup for period {} - {}", from, to);
+        final List<LocalDate> days = Stream.iterate(from, day -> day.plusDays(1))
+            .limit(ChronoUnit.DAYS.between(from, to) + 1)
+            .collect(Collectors.toList());
+        try {
+            days.forEach(this::rollupDay);
+            days.stream()
+                .map(YearMonth::from)
+                .distinct()
+                .forEach(this::rollupMonth);
+            log.debug("Successfully finished billing rollup.");
+        } catch (Exception e) {
+            log.error("An error during billing rollup: {}", e.getMessage());
+            log.error(e.getMessage(), e);
+        }
+    }
+
+    private void rollupDay(final LocalDate day) {
+        final String rawIndices = commonIndexPrefix + ES_WILDCARD
+                                  + EntityToBillingRequestConverter.SIMPLE_DATE_FORMAT.format(day);
+        final String rollupIndex = commonIndexPrefix + DAILY_INDEX_NAME + MONTH_FORMAT.format(day);
+        writeRollups(rawIndices, rollupIndex, day, day, day);
+    }
+
+    private void rollupMonth(final YearMonth month) {
+        final String dailyIndex = commonIndexPrefix + DAILY_INDEX_NAME + MONTH_FORMAT.format(month);
+        final String rollupIndex = commonIndexPrefix + MONTHLY_INDEX_NAME + month.getYear();
+        writeRollups(dailyIndex, rollupIndex, month.atDay(1), month.atEndOfMonth(), month.atDay(1));
+    }
+
+    private void writeRollups(final String sourceIndices, final String rollupIndex,
+                              final LocalDate from, final LocalDate to, final LocalDate rollupDate) {
+        final CompositeAggregationBuilder rollupAgg = new CompositeAggregationBuilder(ROLLUP_AGG,
+                                                                                      buildDimensionSources())
+            .size(pageSize)
+            .subAggregation(AggregationBuilders.sum(COST_FIELD).field(COST_FIELD))
+            .subAggregation(AggregationBuilders.sum(RUN_USAGE_FIELD).field(RUN_USAGE_FIELD));
+        final SearchSourceBuilder searchSource = new SearchSourceBuilder()
+            .query(QueryBuilders.rangeQuery(BILLING_DATE_FIELD).from(from.toString(), true).to(to.toString(), true))
+            .aggregation(rollupAgg)
+            .size(0);
+        final SearchRequest searchRequest = new SearchRequest(sourceIndices)
+            .indicesOptions(IndicesOptions.lenientExpandOpen())
+            .source(searchSource);
+        Map<String, Object> afterKey = null;
+        do {
+            final CompositeAggregation result = Optional
+                .ofNullable(elasticsearchClient.search(searchRequest).getAggregations())
+                .map(aggregations -> aggregations.<CompositeAggregation>get(ROLLUP_AGG))
+                .orElse(null);
+            if (result == null || CollectionUtils.isEmpty(result.getBuckets())) {
+                return;
+            }
+            final List<DocWriteRequest> requests = result.getBuckets().stream()
+                .map(bucket -> buildRollupRequest(rollupIndex, rollupDate, bucket))
+                .collect(Collectors.toList());
+            sendRollups(rollupIndex, requests);
+            afterKey = result.afterKey();
+            rollupAgg.aggregateAfter(afterKey);
+        } while (MapUtils.isNotEmpty(afterKey));
+    }
+
+    private List<CompositeValuesSourceBuilder<?>> buildDimensionSources() {
+        return ROLLUP_DIMENSIONS.stream()
+            .map(dimension -> new TermsValuesSourceBuilder(dimension).field(dimension).missingBucket(true))
+            .collect(Collectors.toList());
+    }
+
+    private DocWriteRequest buildRollupRequest(final String rollupIndex, final LocalDate rollupDate,
+                                               final CompositeAggregation.Bucket bucket) {
+        final Map<String, Object> source = new HashMap<>();
+        bucket.getKey().forEach((dimension, value) -> {
+            if (value != null) {
+                source.put(dimension, value);
+            }
+        });
+        source.put(COST_FIELD, sumAsLong(bucket, COST_FIELD));
+        source.put(RUN_USAGE_FIELD, sumAsLong(bucket, RUN_USAGE_FIELD));
+        source.put(BILLING_DATE_FIELD, EntityToBillingRequestConverter.SIMPLE_DATE_FORMAT.format(rollupDate));
+        source.put("doc_type", ROLLUP_DOC_TYPE);
+        return new IndexRequest(rollupIndex, EntityToBillingRequestConverter.INDEX_TYPE)
+            .id(buildDocId(rollupDate, bucket.getKey()))
+            .source(source);
+    }
+
+    private long sumAsLong(final CompositeAggregation.Bucket bucket, final String aggName) {
+        final Sum sum = bucket.getAggregations().get(aggName);
+        return sum == null ? 0L : (long) sum.getValue();
+    }
+
+    private String buildDocId(final LocalDate rollupDate, final Map<String, Object> key) {
+        final List<String> idParts = new ArrayList<>();
+        idParts.add(rollupDate.toString());
+        ROLLUP_DIMENSIONS.forEach(dimension -> idParts.add(Objects.toString(key.get(dimension), "")));
+        return DigestUtils.md5DigestAsHex(String.join(KEY_SEPARATOR, idParts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void sendRollups(final String rollupIndex, final List<DocWriteRequest> requests) {
+        try {
+            indexService.createIndexIfNotExists(rollupIndex, rollupIndexMappingFile);
+            requestSender.indexDocuments(requests);
+        } catch (ElasticClientException e) {
+            log.error("Can't create index {}!", rollupIndex);
+        }
+    }
+
+    private LocalDate findEarliestBillingDate() {
+        final SearchSourceBuilder searchSource = new SearchSourceBuilder()
+            .aggregation(AggregationBuilders.min(EARLIEST_DATE_AGG).field(BILLING_DATE_FIELD))
+            .size(0);
+        final SearchRequest searchRequest = new SearchRequest(commonIndexPrefix + ES_WILDCARD + "-*-*-*")
+            .indicesOptions(IndicesOptions.lenientExpandOpen())
+            .source(searchSource);
+        final SearchResponse response = elasticsearchClient.search(searchRequest);
+        return Optional.ofNullable(response.getAggregations())
+            .map(aggregations -> aggregations.<Min>get(EARLIEST_DATE_AGG))
+            .map(Min::getValue)
+            .filter(value -> !Double.isInfinite(value))
+            .map(value -> Instant.ofEpochMilli(value.longValue()).atZone(ZoneOffset.UTC).toLocalDate())
+            .orElse(null);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2019 EPAM Systems, Inc. (https://www.epam.com/)
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,66 +13,113 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.epam.pipeline.billingreportagent.service.impl;
 
 import com.epam.pipeline.billingreportagent.service.ElasticsearchServiceClient;
-import lombok.AllArgsConstructor;
-import lombok.RequiredArgsConstructor;
+import com.epam.pipeline.utils.BulkRequestSettings;
+import com.epam.pipeline.utils.BulkRequestStats;
+import com.epam.pipeline.utils.ConcurrentBulkSender;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.ListUtils;
 import org.elasticsearch.action.DocWriteRequest;
 import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.rest.RestStatus;
 import org.springframework.util.ObjectUtils;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
+/**
+ * Sends document requests to Elasticsearch in bulks using {@link ConcurrentBulkSender}.
+ * Documents rejected because of Elasticsearch overload (HTTP 429) are resent with a delay.
+ */
 @Slf4j
-@RequiredArgsConstructor
-@AllArgsConstructor
 public class BulkRequestSender {
 
     private static final int DEFAULT_BULK_SIZE = 1000;
+    private static final int REQUEST_METADATA_SIZE = 100;
+
     private final ElasticsearchServiceClient elasticsearchClient;
+    private final int currentBulkSize;
+    private final long insertTimeout;
+    private final BulkRequestStats stats;
+    private final ConcurrentBulkSender<DocWriteRequest> bulkSender;
 
-    private int currentBulkSize = DEFAULT_BULK_SIZE;
-    private long insertTimeout = 0;
+    public BulkRequestSender(final ElasticsearchServiceClient elasticsearchClient) {
+        this(elasticsearchClient, DEFAULT_BULK_SIZE, 0L);
+    }
+
+    public BulkRequestSender(final ElasticsearchServiceClient elasticsearchClient,
+                             final int currentBulkSize,
+                             final long insertTimeout) {
+        this(elasticsearchClient, currentBulkSize, insertTimeout, BulkRequestSettings.sequential());
+    }
+
+    public BulkRequestSender(final ElasticsearchServiceClient elasticsearchClient,
+                             final int currentBulkSize,
+                             final long insertTimeout,
+                             final BulkRequestSettings settings) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.currentBulkSize = currentBulkSize;
+        this.insertTimeout = insertTimeout;
+        this.stats = settings.getStats();
+        this.bulkSender = new ConcurrentBulkSender<>(settings, BulkRequestSender::estimateSize);
+    }
 
     public void indexDocuments(final List<DocWriteRequest> documentRequests) {
         indexDocuments(documentRequests, currentBulkSize);
     }
 
-    @SuppressWarnings("PMD.AvoidCatchingGenericException")
     public void indexDocuments(final List<DocWriteRequest> documentRequests,
                                final int bulkSize) {
-        if (documentRequests.isEmpty()) {
-            return;
+        bulkSender.send(documentRequests, bulkSize, this::sendBulk);
+    }
+
+    static long estimateSize(final DocWriteRequest request) {
+        if (request instanceof IndexRequest) {
+            return REQUEST_METADATA_SIZE + Optional.ofNullable(((IndexRequest) request).source())
+                    .map(BytesReference::length)
+                    .orElse(0);
         }
-        ListUtils.partition(documentRequests, bulkSize).forEach(chunk -> {
-            try {
-                indexChunk(chunk);
-                Thread.sleep(insertTimeout);
-            } catch (Exception e) {
-                log.error("Partial error during index sync: {}.", e.getMessage());
-            }
-        });
+        if (request instanceof UpdateRequest) {
+            final UpdateRequest updateRequest = (UpdateRequest) request;
+            return Optional.ofNullable(updateRequest.doc()).map(BulkRequestSender::estimateSize).orElse(0L)
+                    + Optional.ofNullable(updateRequest.upsertRequest())
+                    .map(BulkRequestSender::estimateSize)
+                    .orElse((long) REQUEST_METADATA_SIZE);
+        }
+        return REQUEST_METADATA_SIZE;
     }
 
-    private void indexChunk(final List<DocWriteRequest> documentRequests) {
+    private List<DocWriteRequest> sendBulk(final List<DocWriteRequest> documentRequests) {
+        try {
+            return indexChunk(documentRequests);
+        } finally {
+            pause(insertTimeout);
+        }
+    }
+
+    private List<DocWriteRequest> indexChunk(final List<DocWriteRequest> documentRequests) {
         final BulkResponse response = elasticsearchClient.sendRequests(documentRequests);
         if (ObjectUtils.isEmpty(response)) {
             log.debug("No documents were created in Elasticsearch for {} request(s).", documentRequests.size());
-            return;
+            return Collections.emptyList();
         }
         final Map<Boolean, List<BulkItemResponse>> indexResults = Arrays.stream(response.getItems())
                 .collect(Collectors.partitioningBy(BulkItemResponse::isFailed));
-        final List<BulkItemResponse> failed = indexResults.get(true);
+        final Map<Boolean, List<BulkItemResponse>> failedResults = indexResults.get(true).stream()
+                .collect(Collectors.partitioningBy(item -> item.status() == RestStatus.TOO_MANY_REQUESTS));
+        final List<BulkItemResponse> failed = failedResults.get(false);
         if (CollectionUtils.isNotEmpty(failed)) {
+            stats.addFailedDocuments(failed.size());
             log.error("Failed to insert {} of {} document(s) into Elasticsearch.",
                     failed.size(), documentRequests.size());
             failed.forEach(item -> log.error("Error for doc {} index {}: {}.",
@@ -80,8 +127,23 @@ public class BulkRequestSender {
         }
         final List<BulkItemResponse> successful = indexResults.get(false);
         if (CollectionUtils.isNotEmpty(successful)) {
+            stats.addSentDocuments(successful.size());
             log.debug("Successfully inserted {} of {} document(s) into Elasticsearch).",
                     successful.size(), documentRequests.size());
         }
+        return failedResults.get(true).stream()
+                .map(item -> documentRequests.get(item.getItemId()))
+                .collect(Collectors.toList());
+    }
+
+    private void pause(final long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 }
@@ -75,6 +75,10 @@ public class CloudPipelineAPIClient {
         return QueryUtils.execute(cloudPipelineAPI.loadNodeDisks(nodeId));
     }
 
+    public List<NodeDisk> loadNodesDisks(final List<String> nodeIds) {
+        return QueryUtils.execute(cloudPipelineAPI.loadNodesDisks(nodeIds));
+    }
+
     public List<AbstractCloudRegion> loadAllCloudRegions() {
         return QueryUtils.execute(cloudPipelineAPI.loadAllRegions());
     }
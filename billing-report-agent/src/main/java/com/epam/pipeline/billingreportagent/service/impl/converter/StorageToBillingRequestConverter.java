@@ -56,6 +56,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -121,10 +122,11 @@ public class StorageToBillingRequestConverter implements EntityToBillingRequestC
     }
 
     @Override
-    public List<DocWriteRequest> convertEntitiesToRequests(final List<EntityContainer<AbstractDataStorage>> containers,
-                                                           final String indexName,
-                                                           final LocalDateTime previousSync,
-                                                           final LocalDateTime syncStart) {
+    public void convertEntitiesToRequests(final List<EntityContainer<AbstractDataStorage>> containers,
+                                          final String indexName,
+                                          final LocalDateTime previousSync,
+                                          final LocalDateTime syncStart,
+                                          final Consumer<List<DocWriteRequest>> requestsConsumer) {
         storagePricing.updatePrices();
         fileshareMountsService.ifPresent(service -> {
             service.updateSharesRegions();
@@ -133,8 +135,8 @@ public class StorageToBillingRequestConverter implements EntityToBillingRequestC
                 return !desiredMountType.equals(service.getMountTypeForShare(fileShareMountId));
             });
         });
-        return EntityToBillingRequestConverter.super
-            .convertEntitiesToRequests(containers, indexName, previousSync, syncStart);
+        EntityToBillingRequestConverter.super
+            .convertEntitiesToRequests(containers, indexName, previousSync, syncStart, requestsConsumer);
     }
 
     private Optional<SearchResponse> requestSumAggregationForStorage(final Long storageId,
@@ -37,10 +37,12 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.function.Function;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Component
@@ -49,11 +51,14 @@ public class PipelineRunLoader implements EntityLoader<PipelineRunWithType> {
 
     private final CloudPipelineAPIClient apiClient;
     private final int loadStep;
+    private final int batchSize;
 
     public PipelineRunLoader(final CloudPipelineAPIClient apiClient,
-                             final @Value("${sync.run.load.step:30}") int loadStep) {
+                             final @Value("${sync.run.load.step:30}") int loadStep,
+                             final @Value("${sync.run.load.batch.size:500}") int batchSize) {
         this.apiClient = apiClient;
         this.loadStep = loadStep;
+        this.batchSize = batchSize;
     }
 
     @Override
@@ -64,52 +69,69 @@ public class PipelineRunLoader implements EntityLoader<PipelineRunWithType> {
     @Override
     public List<EntityContainer<PipelineRunWithType>> loadAllEntitiesActiveInPeriod(final LocalDateTime from,
                                                                                     final LocalDateTime to) {
-        final Map<String, EntityWithMetadata<PipelineUser>> usersWithMetadata = prepareUsers(apiClient);
-
-        final List<PipelineRun> runs = getRuns(from, to);
+        final List<EntityContainer<PipelineRunWithType>> runs = new ArrayList<>();
+        loadAllEntitiesActiveInPeriod(from, to, runs::addAll);
+        return runs;
+    }
 
-        final Map<Long, List<InstanceType>> regionOffers = runs.stream()
-                .map(PipelineRun::getInstance)
-                .map(RunInstance::getCloudRegionId)
-                .distinct()
-                .collect(Collectors
-                        .toMap(Function.identity(), apiClient::loadAllInstanceTypesForRegion));
+    @Override
+    public void loadAllEntitiesActiveInPeriod(final LocalDateTime from, final LocalDateTime to,
+                                              final Consumer<List<EntityContainer<PipelineRunWithType>>> consumer) {
+        final Map<String, EntityWithMetadata<PipelineUser>> usersWithMetadata = prepareUsers(apiClient);
+        final Map<Long, List<InstanceType>> regionOffers = new HashMap<>();
+        LocalDateTime start = from;
+        while (start.isBefore(to)) {
+            final LocalDateTime next = start.plusDays(loadStep).isAfter(to) ? to : start.plusDays(loadStep);
+            log.debug("Loading runs from {} to {}", start, next);
+            final List<PipelineRun> runs = ListUtils.emptyIfNull(
+                    apiClient.loadAllPipelineRunsActiveInPeriod(
+                            DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(start),
+                            DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(next)));
+            ListUtils.partition(runs, batchSize)
+                    .forEach(batch -> consumer.accept(toContainers(batch, usersWithMetadata, regionOffers)));
+            start = next;
+        }
+    }
 
-        return runs
-                .stream()
+    private List<EntityContainer<PipelineRunWithType>> toContainers(
+            final List<PipelineRun> runs,
+            final Map<String, EntityWithMetadata<PipelineUser>> usersWithMetadata,
+            final Map<Long, List<InstanceType>> regionOffers) {
+        final Map<String, List<NodeDisk>> disks = loadDisks(runs);
+        return runs.stream()
                 .map(run -> EntityContainer.<PipelineRunWithType>builder()
-                        .entity(new PipelineRunWithType(run, loadDisks(run), getRunType(run, regionOffers)))
+                        .entity(new PipelineRunWithType(run,
+                                disks.getOrDefault(getNodeId(run), Collections.emptyList()),
+                                getRunType(run, regionOffers)))
                         .owner(usersWithMetadata.get(run.getOwner()))
                         .build())
                 .collect(Collectors.toList());
     }
 
-    private List<PipelineRun> getRuns(final LocalDateTime from, final LocalDateTime to) {
-        LocalDateTime start = from;
-        final List<PipelineRun> runs = new ArrayList<>();
-        while (start.isBefore(to)) {
-            final LocalDateTime next = start.plusDays(loadStep).isAfter(to) ? to : start.plusDays(loadStep);
-            log.debug("Loading runs from {} to {}", start, next);
-            runs.addAll(
-                    ListUtils.emptyIfNull(
-                            apiClient.loadAllPipelineRunsActiveInPeriod(
-                                    DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(start),
-                                    DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(next))));
-            start = next;
+    private Map<String, List<NodeDisk>> loadDisks(final List<PipelineRun> runs) {
+        final List<String> nodeIds = runs.stream()
+                .map(this::getNodeId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        if (nodeIds.isEmpty()) {
+            return Collections.emptyMap();
         }
-        return runs;
+        return ListUtils.emptyIfNull(apiClient.loadNodesDisks(nodeIds))
+                .stream()
+                .collect(Collectors.groupingBy(NodeDisk::getNodeId));
     }
 
-    private List<NodeDisk> loadDisks(final PipelineRun run) {
+    private String getNodeId(final PipelineRun run) {
         return Optional.of(run)
                 .map(PipelineRun::getInstance)
                 .map(RunInstance::getNodeId)
-                .map(apiClient::loadNodeDisks)
-                .orElseGet(Collections::emptyList);
+                .orElse(null);
     }
 
     private ComputeType getRunType(final PipelineRun run, final Map<Long, List<InstanceType>> regionOffers) {
-        return regionOffers.get(run.getInstance().getCloudRegionId())
+        return regionOffers.computeIfAbsent(run.getInstance().getCloudRegionId(),
+                                            apiClient::loadAllInstanceTypesForRegion)
                 .stream()
                 .filter(instanceOffer -> instanceOffer.getName().equals(run.getInstance().getNodeType()))
                 .findAny()
@@ -16,27 +16,27 @@
 
 package com.epam.pipeline.billingreportagent.service.impl.synchronizer;
 
-import com.epam.pipeline.billingreportagent.exception.ElasticClientException;
 import com.epam.pipeline.billingreportagent.model.EntityContainer;
 import com.epam.pipeline.billingreportagent.model.PipelineRunWithType;
 import com.epam.pipeline.billingreportagent.service.ElasticsearchSynchronizer;
 import com.epam.pipeline.billingreportagent.service.ElasticsearchServiceClient;
 import com.epam.pipeline.billingreportagent.service.EntityLoader;
 import com.epam.pipeline.billingreportagent.service.EntityToBillingRequestConverter;
+import com.epam.pipeline.billingreportagent.service.impl.BillingRequestBuffer;
 import com.epam.pipeline.billingreportagent.service.impl.BulkRequestSender;
 import com.epam.pipeline.billingreportagent.service.impl.ElasticIndexService;
 import com.epam.pipeline.billingreportagent.service.impl.converter.RunToBillingRequestConverter;
 import com.epam.pipeline.billingreportagent.service.impl.mapper.RunBillingMapper;
+import com.epam.pipeline.utils.BulkRequestSettings;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.CollectionUtils;
 import org.elasticsearch.action.DocWriteRequest;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Data
 @Slf4j
@@ -48,12 +48,16 @@ public class PipelineRunSynchronizer implements ElasticsearchSynchronizer {
     private final BulkRequestSender requestSender;
     private final EntityToBillingRequestConverter<PipelineRunWithType> runToBillingRequestConverter;
     private final EntityLoader<PipelineRunWithType> loader;
+    private final int bulkInsertSize;
+    private final int bufferSize;
 
     public PipelineRunSynchronizer(final String pipelineRunIndexMappingFile,
                                    final String indexPrefix,
                                    final String pipelineRunIndexName,
                                    final Integer bulkInsertSize,
                                    final Long insertTimeout,
+                                   final Integer bufferSize,
+                                   final BulkRequestSettings bulkRequestSettings,
                                    final ElasticsearchServiceClient elasticsearchServiceClient,
                                    final ElasticIndexService indexService,
                                    final RunBillingMapper mapper,
@@ -63,41 +67,27 @@ public class PipelineRunSynchronizer implements ElasticsearchSynchronizer {
         this.indexPrefix = indexPrefix + pipelineRunIndexName;
         this.loader = loader;
         this.runToBillingRequestConverter = new RunToBillingRequestConverter(mapper);
-        this.requestSender = new BulkRequestSender(elasticsearchServiceClient, bulkInsertSize, insertTimeout);
+        this.requestSender = new BulkRequestSender(elasticsearchServiceClient, bulkInsertSize, insertTimeout,
+                                                   bulkRequestSettings);
+        this.bulkInsertSize = bulkInsertSize;
+        this.bufferSize = bufferSize;
     }
 
     @Override
     public void synchronize(final LocalDateTime lastSyncTime, final LocalDateTime syncStart) {
         log.debug("Started pipeline run billing synchronization");
-        final List<EntityContainer<PipelineRunWithType>> pipelineRuns;
-        if (lastSyncTime == null) {
-            pipelineRuns = loader.loadAllEntities();
-        } else {
-            pipelineRuns = loader.loadAllEntitiesActiveInPeriod(lastSyncTime, syncStart);
+        final LocalDateTime from = Optional.ofNullable(lastSyncTime)
+            .orElseGet(() -> LocalDate.ofEpochDay(0).atStartOfDay());
+        try (BillingRequestBuffer buffer = new BillingRequestBuffer(indexService, requestSender,
+                                                                    pipelineRunIndexMappingFile,
+                                                                    bulkInsertSize, bufferSize)) {
+            loader.loadAllEntitiesActiveInPeriod(from, syncStart, pipelineRuns -> {
+                log.debug("Processing {} pipeline run(s)", pipelineRuns.size());
+                pipelineRuns.forEach(pipelineRun ->
+                    buffer.addAll(createPipelineRunBillings(pipelineRun, lastSyncTime, syncStart)));
+            });
+            log.info("{} document requests created", buffer.getTotalCount());
         }
-        if (CollectionUtils.isEmpty(pipelineRuns)) {
-            log.debug("PipelineRun entities for synchronization were not found.");
-            return;
-        }
-        final List<DocWriteRequest> pipelineRunBillingRequests = pipelineRuns.stream()
-            .map(pipelineRun -> createPipelineRunBillings(pipelineRun, lastSyncTime, syncStart))
-            .flatMap(Collection::stream)
-            .collect(Collectors.toList());
-
-        log.info("{} document requests created", pipelineRunBillingRequests.size());
-
-        pipelineRunBillingRequests.stream()
-                .collect(Collectors.groupingBy(DocWriteRequest::index))
-                .forEach((index, docs) -> {
-                    try {
-                        log.debug("Inserting {} document(s) into index {}.", docs.size(), index);
-                        indexService.createIndexIfNotExists(index, pipelineRunIndexMappingFile);
-                        requestSender.indexDocuments(docs);
-                    } catch (ElasticClientException e) {
-                        log.error("Can't create index {}!", index);
-                    }
-                });
-
         log.debug("Successfully finished runs billing synchronization.");
     }
 
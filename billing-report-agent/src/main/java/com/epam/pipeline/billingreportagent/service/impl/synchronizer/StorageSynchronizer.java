@@ -16,24 +16,22 @@
 
 package com.epam.pipeline.billingreportagent.service.impl.synchronizer;
 
-import com.epam.pipeline.billingreportagent.exception.ElasticClientException;
 import com.epam.pipeline.billingreportagent.model.EntityContainer;
 import com.epam.pipeline.billingreportagent.service.ElasticsearchServiceClient;
 import com.epam.pipeline.billingreportagent.service.ElasticsearchSynchronizer;
 import com.epam.pipeline.billingreportagent.service.EntityLoader;
 import com.epam.pipeline.billingreportagent.service.EntityToBillingRequestConverter;
+import com.epam.pipeline.billingreportagent.service.impl.BillingRequestBuffer;
 import com.epam.pipeline.billingreportagent.service.impl.BulkRequestSender;
 import com.epam.pipeline.billingreportagent.service.impl.ElasticIndexService;
 import com.epam.pipeline.entity.datastorage.AbstractDataStorage;
 import com.epam.pipeline.entity.datastorage.DataStorageType;
+import com.epam.pipeline.utils.BulkRequestSettings;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
-import org.elasticsearch.action.DocWriteRequest;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Data
 @Slf4j
@@ -47,12 +45,16 @@ public class StorageSynchronizer implements ElasticsearchSynchronizer {
     private final ElasticIndexService indexService;
     private final BulkRequestSender requestSender;
     private final DataStorageType storageType;
+    private final int bulkInsertSize;
+    private final int bufferSize;
 
     public StorageSynchronizer(final String storageIndexMappingFile,
                                final String indexPrefix,
                                final String storageIndexName,
                                final Integer bulkInsertSize,
                                final Long insertTimeout,
+                               final Integer bufferSize,
+                               final BulkRequestSettings bulkRequestSettings,
                                final ElasticsearchServiceClient elasticsearchServiceClient,
                                final EntityLoader<AbstractDataStorage> loader,
                                final ElasticIndexService indexService,
@@ -63,8 +65,11 @@ public class StorageSynchronizer implements ElasticsearchSynchronizer {
         this.loader = loader;
         this.storageToBillingRequestConverter = storageToBillingReqConverter;
         this.indexService = indexService;
-        this.requestSender = new BulkRequestSender(elasticsearchServiceClient, bulkInsertSize, insertTimeout);
+        this.requestSender = new BulkRequestSender(elasticsearchServiceClient, bulkInsertSize, insertTimeout,
+                                                   bulkRequestSettings);
         this.storageType = storageType;
+        this.bulkInsertSize = bulkInsertSize;
+        this.bufferSize = bufferSize;
     }
 
     @Override
@@ -72,41 +77,24 @@ public class StorageSynchronizer implements ElasticsearchSynchronizer {
         log.debug("Started {} storage billing synchronization", storageType);
         final List<EntityContainer<AbstractDataStorage>> entityContainers = loader.loadAllEntities();
         entityContainers.removeIf(storage -> storage.getEntity().getType() != storageType);
-        final List<DocWriteRequest> storageBillingRequests =
-            createStorageBillingRequest(entityContainers, lastSyncTime, syncStart);
-
-        log.info("{} document requests created", storageBillingRequests.size());
-
-        storageBillingRequests.stream()
-                .collect(Collectors.groupingBy(DocWriteRequest::index))
-                .forEach((index, docs) -> {
-                    try {
-                        log.debug("Inserting {} document(s) into index {}.", docs.size(), index);
-                        indexService.createIndexIfNotExists(index, storageIndexMappingFile);
-                        requestSender.indexDocuments(docs);
-                    } catch (ElasticClientException e) {
-                        log.error("Can't create index {}!", index);
-                    }
-                });
-
+        try (BillingRequestBuffer buffer = new BillingRequestBuffer(indexService, requestSender,
+                                                                    storageIndexMappingFile,
+                                                                    bulkInsertSize, bufferSize)) {
+            createStorageBillingRequests(entityContainers, lastSyncTime, syncStart, buffer);
+            log.info("{} document requests created", buffer.getTotalCount());
+        }
         log.debug("Successfully finished {} storage billing synchronization.", storageType);
     }
 
-    private List<DocWriteRequest> createStorageBillingRequest(final List<EntityContainer<AbstractDataStorage>> storages,
-                                                              final LocalDateTime previousSync,
-                                                              final LocalDateTime syncStart) {
+    private void createStorageBillingRequests(final List<EntityContainer<AbstractDataStorage>> storages,
+                                              final LocalDateTime previousSync,
+                                              final LocalDateTime syncStart,
+                                              final BillingRequestBuffer buffer) {
         try {
-            return buildDocRequests(storages, previousSync, syncStart);
+            storageToBillingRequestConverter.convertEntitiesToRequests(storages, indexPrefix,
+                                                                       previousSync, syncStart, buffer::addAll);
         } catch (Exception e) {
             log.error("An error during storage billing synchronization: {}", e.getMessage());
-            return Collections.emptyList();
         }
     }
-
-    private List<DocWriteRequest> buildDocRequests(final List<EntityContainer<AbstractDataStorage>> storages,
-                                                   final LocalDateTime previousSync,
-                                                   final LocalDateTime syncStart) {
-        return storageToBillingRequestConverter.convertEntitiesToRequests(storages, indexPrefix,
-                                                                          previousSync, syncStart);
-    }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.billingreportagent.service.impl;
+
+import com.epam.pipeline.billingreportagent.exception.ElasticClientException;
+import com.epam.pipeline.billingreportagent.service.ElasticsearchServiceClient;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+@SuppressWarnings({"checkstyle:MagicNumber", "unchecked"})
+public class BillingRequestBufferTest {
+
+    private static final String MAPPING = "mapping";
+    private static final String INDEX_1 = "cp-billing-pipeline-run-2020-01-01";
+    private static final String INDEX_2 = "cp-billing-pipeline-run-2020-01-02";
+
+    private final ElasticsearchServiceClient elasticsearchClient = Mockito.mock(ElasticsearchServiceClient.class);
+    private final ElasticIndexService indexService = Mockito.mock(ElasticIndexService.class);
+    private final BulkRequestSender requestSender = new BulkRequestSender(elasticsearchClient, 2, 0);
+
+    @Test
+    public void shouldFlushIndexBufferAsSoonAsBulkIsFull() throws ElasticClientException {
+        final BillingRequestBuffer buffer = new BillingRequestBuffer(indexService, requestSender, MAPPING, 2, 10);
+        buffer.add(request(INDEX_1));
+        buffer.add(request(INDEX_2));
+        Mockito.verify(elasticsearchClient, Mockito.never()).sendRequests(Mockito.anyList());
+
+        buffer.add(request(INDEX_1));
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(elasticsearchClient).sendRequests(captor.capture());
+        Assert.assertEquals(2, captor.getValue().size());
+        Assert.assertEquals(INDEX_1, ((DocWriteRequest) captor.getValue().get(0)).index());
+        Mockito.verify(indexService).createIndexIfNotExists(INDEX_1, MAPPING);
+    }
+
+    @Test
+    public void shouldFlushAllBuffersWhenLimitIsReached() {
+        final BillingRequestBuffer buffer = new BillingRequestBuffer(indexService, requestSender, MAPPING, 3, 3);
+        buffer.add(request(INDEX_1));
+        buffer.add(request(INDEX_2));
+        buffer.add(request(INDEX_1));
+
+        Mockito.verify(elasticsearchClient, Mockito.times(2)).sendRequests(Mockito.anyList());
+    }
+
+    @Test
+    public void shouldFlushRemainingRequestsAndCreateIndexOnceOnClose() throws ElasticClientException {
+        try (BillingRequestBuffer buffer = new BillingRequestBuffer(indexService, requestSender, MAPPING, 2, 10)) {
+            buffer.add(request(INDEX_1));
+            buffer.add(request(INDEX_1));
+            buffer.add(request(INDEX_1));
+            Assert.assertEquals(3, buffer.getTotalCount());
+        }
+
+        Mockito.verify(elasticsearchClient, Mockito.times(2)).sendRequests(Mockito.anyList());
+        Mockito.verify(indexService, Mockito.times(1)).createIndexIfNotExists(INDEX_1, MAPPING);
+    }
+
+    @Test
+    public void shouldSkipRequestsForIndexThatCannotBeCreated() throws ElasticClientException {
+        Mockito.doThrow(new ElasticClientException("error"))
+            .when(indexService).createIndexIfNotExists(INDEX_1, MAPPING);
+        try (BillingRequestBuffer buffer = new BillingRequestBuffer(indexService, requestSender, MAPPING, 2, 10)) {
+            buffer.add(request(INDEX_1));
+            buffer.add(request(INDEX_2));
+        }
+
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(elasticsearchClient).sendRequests(captor.capture());
+        Assert.assertEquals(INDEX_2, ((DocWriteRequest) captor.getValue().get(0)).index());
+    }
+
+    private DocWriteRequest request(final String index) {
+        return new IndexRequest(index, "_doc");
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.billingreportagent.service.impl;
+
+import com.epam.pipeline.billingreportagent.service.ElasticsearchServiceClient;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.search.aggregations.Aggregations;
+import org.elasticsearch.search.aggregations.bucket.composite.CompositeAggregation;
+import org.elasticsearch.search.aggregations.metrics.sum.Sum;
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@SuppressWarnings({"checkstyle:MagicNumber", "unchecked"})
+public class BillingRollupServiceTest {
+
+    private static final String PREFIX = "cp-billing-";
+    private static final String MAPPING = "classpath:/templates/billing_rollup.json";
+    private static final String OWNER = "TestUser";
+    private static final String RESOURCE_TYPE = "COMPUTE";
+    private static final long COST = 1500L;
+    private static final long USAGE = 60L;
+    private static final LocalDateTime SYNC_START = LocalDateTime.of(2020, 3, 15, 12, 0);
+    private static final LocalDateTime LAST_SYNC = SYNC_START.minusHours(3);
+
+    private final ElasticsearchServiceClient elasticsearchClient = Mockito.mock(ElasticsearchServiceClient.class);
+    private final ElasticIndexService indexService = Mockito.mock(ElasticIndexService.class);
+    private BillingRollupService rollupService;
+
+    @BeforeEach
+    public void setUp() {
+        rollupService = new BillingRollupService(elasticsearchClient, indexService, PREFIX, MAPPING, 1000, 0L);
+        final Map<String, Object> key = new HashMap<>();
+        key.put("owner", OWNER);
+        key.put("resource_type", RESOURCE_TYPE);
+        key.put("tool", null);
+        final Aggregations sums = new Aggregations(Arrays.asList(sum("cost", COST), sum("usage_minutes", USAGE)));
+        final CompositeAggregation.Bucket bucket = Mockito.mock(CompositeAggregation.Bucket.class);
+        Mockito.when(bucket.getKey()).thenReturn(key);
+        Mockito.when(bucket.getAggregations()).thenReturn(sums);
+        final CompositeAggregation composite = Mockito.mock(CompositeAggregation.class);
+        Mockito.when(composite.getName()).thenReturn("rollup");
+        Mockito.doReturn(Collections.singletonList(bucket)).when(composite).getBuckets();
+        final Aggregations aggregations = new Aggregations(Collections.singletonList(composite));
+        final SearchResponse response = Mockito.mock(SearchResponse.class);
+        Mockito.when(response.getAggregations()).thenReturn(aggregations);
+        Mockito.when(elasticsearchClient.search(Mockito.any())).thenReturn(response);
+    }
+
+    @Test
+    public void shouldWriteDailyAndMonthlyRollupsForSynchronizedPeriod() {
+        rollupService.rollup(LAST_SYNC, SYNC_START);
+
+        final ArgumentCaptor<SearchRequest> searchCaptor = ArgumentCaptor.forClass(SearchRequest.class);
+        Mockito.verify(elasticsearchClient, Mockito.times(2)).search(searchCaptor.capture());
+        final List<SearchRequest> searches = searchCaptor.getAllValues();
+        Assert.assertArrayEquals(new String[]{PREFIX + "*2020-03-15"}, searches.get(0).indices());
+        Assert.assertArrayEquals(new String[]{PREFIX + "rollup-daily-2020-03"}, searches.get(1).indices());
+
+        final ArgumentCaptor<List> requestsCaptor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(elasticsearchClient, Mockito.times(2)).sendRequests(requestsCaptor.capture());
+        final List<List> requests = requestsCaptor.getAllValues();
+        final IndexRequest daily = (IndexRequest) requests.get(0).get(0);
+        Assert.assertEquals(PREFIX + "rollup-daily-2020-03", daily.index());
+        final Map<String, Object> dailySource = daily.sourceAsMap();
+        Assert.assertEquals(OWNER, dailySource.get("owner"));
+        Assert.assertEquals(RESOURCE_TYPE, dailySource.get("resource_type"));
+        Assert.assertFalse(dailySource.containsKey("tool"));
+        Assert.assertEquals((int) COST, dailySource.get("cost"));
+        Assert.assertEquals("2020-03-15", dailySource.get("created_date"));
+
+        final IndexRequest monthly = (IndexRequest) requests.get(1).get(0);
+        Assert.assertEquals(PREFIX + "rollup-monthly-2020", monthly.index());
+        Assert.assertEquals("2020-03-01", monthly.sourceAsMap().get("created_date"));
+    }
+
+    @Test
+    public void shouldProduceSameDocumentIdForSameRollupKey() {
+        rollupService.rollup(LAST_SYNC, SYNC_START);
+        rollupService.rollup(LAST_SYNC, SYNC_START);
+
+        final ArgumentCaptor<List> requestsCaptor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(elasticsearchClient, Mockito.times(4)).sendRequests(requestsCaptor.capture());
+        final List<List> requests = requestsCaptor.getAllValues();
+        Assert.assertEquals(((DocWriteRequest) requests.get(0).get(0)).id(),
+                            ((DocWriteRequest) requests.get(2).get(0)).id());
+        Assert.assertNotEquals(((DocWriteRequest) requests.get(0).get(0)).id(),
+                               ((DocWriteRequest) requests.get(1).get(0)).id());
+    }
+
+    private Sum sum(final String name, final long value) {
+        final Sum sum = Mockito.mock(Sum.class);
+        Mockito.when(sum.getName()).thenReturn(name);
+        Mockito.when(sum.getValue()).thenReturn((double) value);
+        return sum;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.billingreportagent.service.impl;
+
+import com.epam.pipeline.billingreportagent.service.ElasticsearchServiceClient;
+import com.epam.pipeline.utils.AdaptiveConcurrencyLimiter;
+import com.epam.pipeline.utils.BulkRequestSettings;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.rest.RestStatus;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@SuppressWarnings({"checkstyle:MagicNumber", "unchecked"})
+public class BulkRequestSenderTest {
+
+    private static final String INDEX = "cp-billing-pipeline-run-2020-01-01";
+    private static final String TYPE = "_doc";
+
+    private final ElasticsearchServiceClient elasticsearchClient = Mockito.mock(ElasticsearchServiceClient.class);
+
+    @Test
+    public void shouldSplitBulksByPayloadSize() {
+        final BulkRequestSettings settings = BulkRequestSettings.builder()
+                .limiter(AdaptiveConcurrencyLimiter.sequential())
+                .maxBulkBytes(2 * BulkRequestSender.estimateSize(request("1")))
+                .build();
+        final BulkRequestSender sender = new BulkRequestSender(elasticsearchClient, 10, 0L, settings);
+        Mockito.when(elasticsearchClient.sendRequests(Mockito.anyList())).thenAnswer(invocation ->
+                successful((List<DocWriteRequest>) invocation.getArguments()[0]));
+
+        sender.indexDocuments(requests(5));
+
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(elasticsearchClient, Mockito.times(3)).sendRequests(captor.capture());
+        Assert.assertEquals(Arrays.asList(2, 2, 1),
+                captor.getAllValues().stream().map(List::size).collect(Collectors.toList()));
+        Assert.assertEquals(5, settings.getStats().getSentDocuments());
+    }
+
+    @Test
+    public void shouldRetryRejectedDocuments() {
+        final BulkRequestSettings settings = BulkRequestSettings.builder()
+                .limiter(AdaptiveConcurrencyLimiter.sequential())
+                .maxRetries(2)
+                .build();
+        final BulkRequestSender sender = new BulkRequestSender(elasticsearchClient, 10, 0L, settings);
+        final List<DocWriteRequest> requests = requests(3);
+        Mockito.when(elasticsearchClient.sendRequests(Mockito.anyList()))
+                .thenReturn(new BulkResponse(new BulkItemResponse[]{
+                    success(0, "0"), rejected(1, "1"), success(2, "2")}, 1L))
+                .thenReturn(new BulkResponse(new BulkItemResponse[]{success(0, "1")}, 1L));
+
+        sender.indexDocuments(requests);
+
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(elasticsearchClient, Mockito.times(2)).sendRequests(captor.capture());
+        Assert.assertEquals(Collections.singletonList(requests.get(1)), captor.getAllValues().get(1));
+        Assert.assertEquals(3, settings.getStats().getSentDocuments());
+        Assert.assertEquals(1, settings.getStats().getRejectedDocuments());
+    }
+
+    @Test
+    public void shouldGiveUpAfterMaxRetries() {
+        final BulkRequestSettings settings = BulkRequestSettings.builder()
+                .limiter(AdaptiveConcurrencyLimiter.sequential())
+                .maxRetries(1)
+                .build();
+        final BulkRequestSender sender = new BulkRequestSender(elasticsearchClient, 10, 0L, settings);
+        Mockito.when(elasticsearchClient.sendRequests(Mockito.anyList()))
+                .thenReturn(new BulkResponse(new BulkItemResponse[]{rejected(0, "0")}, 1L));
+
+        sender.indexDocuments(requests(1));
+
+        Mockito.verify(elasticsearchClient, Mockito.times(2)).sendRequests(Mockito.anyList());
+        Assert.assertEquals(1, settings.getStats().getFailedDocuments());
+    }
+
+    @Test
+    public void shouldSendBulksConcurrently() {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 4, 0);
+        final BulkRequestSettings settings = BulkRequestSettings.builder()
+                .limiter(limiter)
+                .executor(executor)
+                .build();
+        final BulkRequestSender sender = new BulkRequestSender(elasticsearchClient, 1, 0L, settings);
+        Mockito.when(elasticsearchClient.sendRequests(Mockito.anyList())).thenAnswer(invocation ->
+                successful((List<DocWriteRequest>) invocation.getArguments()[0]));
+
+        sender.indexDocuments(requests(20));
+        executor.shutdown();
+
+        Mockito.verify(elasticsearchClient, Mockito.times(20)).sendRequests(Mockito.anyList());
+        Assert.assertEquals(20, settings.getStats().getSentDocuments());
+        Assert.assertEquals(0, limiter.getInFlight());
+    }
+
+    private List<DocWriteRequest> requests(final int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> request(String.valueOf(i)))
+                .collect(Collectors.toList());
+    }
+
+    private DocWriteRequest request(final String id) {
+        return new IndexRequest(INDEX, TYPE, id).source(Collections.singletonMap("cost", 100));
+    }
+
+    private BulkResponse successful(final List<DocWriteRequest> requests) {
+        return new BulkResponse(IntStream.range(0, requests.size())
+                .mapToObj(i -> success(i, requests.get(i).id()))
+                .toArray(BulkItemResponse[]::new), 1L);
+    }
+
+    private BulkItemResponse success(final int itemId, final String id) {
+        return new BulkItemResponse(itemId, DocWriteRequest.OpType.INDEX,
+                new IndexResponse(new ShardId(INDEX, INDEX, 0), TYPE, id, 1L, 1L, 1L, true));
+    }
+
+    private BulkItemResponse rejected(final int itemId, final String id) {
+        return new BulkItemResponse(itemId, DocWriteRequest.OpType.INDEX,
+                new BulkItemResponse.Failure(INDEX, TYPE, id, new EsRejectedExecutionException("rejected"),
+                        RestStatus.TOO_MANY_REQUESTS));
+    }
+}
@@ -44,10 +44,12 @@ import com.epam.pipeline.entity.region.AbstractCloudRegion;
 import com.epam.pipeline.entity.region.AwsRegion;
 import com.epam.pipeline.entity.security.acl.AclClass;
 import com.epam.pipeline.entity.user.PipelineUser;
+import com.epam.pipeline.rest.PagedResult;
 import com.epam.pipeline.rest.Result;
 import com.epam.pipeline.vo.EntityPermissionVO;
 import com.epam.pipeline.vo.EntityVO;
 import com.epam.pipeline.vo.FilterNodesVO;
+import com.epam.pipeline.vo.PagingRunFilterVO;
 import com.epam.pipeline.vo.RunStatusVO;
 import com.epam.pipeline.vo.data.storage.DataStorageTagInsertBatchRequest;
 import com.epam.pipeline.vo.data.storage.DataStorageTagLoadBatchRequest;
@@ -100,6 +102,9 @@ public interface CloudPipelineAPI {
     @GET("run/{runId}")
     Call<Result<PipelineRun>> loadPipelineRun(@Path(RUN_ID) Long runId);
 
+    @POST("run/filter")
+    Call<Result<PagedResult<List<PipelineRun>>>> filterRuns(@Body PagingRunFilterVO filter);
+
     @GET("run/{runId}/logs")
     Call<Result<List<RunLog>>> loadLogs(@Path(RUN_ID) Long runId);
 
@@ -217,6 +222,9 @@ public interface CloudPipelineAPI {
                                                                  @Query(PATH) String path);
 
     // Node methods
+    @GET("cluster/node/loadAll")
+    Call<Result<List<NodeInstance>>> loadAllNodes();
+
     @POST("cluster/node/filter")
     Call<Result<List<NodeInstance>>> findNodes(@Body FilterNodesVO filterNodesVO);
 
@@ -233,6 +241,9 @@ public interface CloudPipelineAPI {
     @GET("cluster/node/{id}/disks")
     Call<Result<List<NodeDisk>>> loadNodeDisks(@Path(ID) String nodeId);
 
+    @POST("cluster/node/disks")
+    Call<Result<List<NodeDisk>>> loadNodesDisks(@Body List<String> nodeIds);
+
     @GET("/cluster/pool")
     Call<Result<List<NodePool>>> loadNodePools();
 }
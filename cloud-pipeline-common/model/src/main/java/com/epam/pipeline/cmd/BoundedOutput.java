@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.cmd;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Line buffer that keeps only the last lines of a command output which fit into the given number of characters.
+ */
+class BoundedOutput {
+
+    private final int limit;
+    private final Deque<String> lines = new ArrayDeque<>();
+    private long size;
+    private long droppedLines;
+
+    BoundedOutput(final int limit) {
+        this.limit = Math.max(1, limit);
+    }
+
+    synchronized void append(final String line) {
+        final String tail = line.length() >= limit ? line.substring(line.length() - limit + 1) : line;
+        lines.addLast(tail);
+        size += tail.length() + 1;
+        while (size > limit && lines.size() > 1) {
+            size -= lines.removeFirst().length() + 1;
+            droppedLines++;
+        }
+    }
+
+    synchronized boolean isTruncated() {
+        return droppedLines > 0;
+    }
+
+    synchronized long getDroppedLines() {
+        return droppedLines;
+    }
+
+    @Override
+    public synchronized String toString() {
+        final StringBuilder builder = new StringBuilder((int) size);
+        lines.forEach(line -> builder.append(line).append('\n'));
+        return builder.toString();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.cmd;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of commands executed by {@link PlainCmdExecutor}s sharing the same {@link CmdIoPool}.
+ */
+public class CmdExecutionMetrics {
+
+    private final AtomicLong activeProcesses = new AtomicLong();
+    private final AtomicLong waitingCommands = new AtomicLong();
+    private final AtomicLong finishedCommands = new AtomicLong();
+    private final AtomicLong failedCommands = new AtomicLong();
+    private final AtomicLong timedOutCommands = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    void waiting() {
+        waitingCommands.incrementAndGet();
+    }
+
+    void waited() {
+        waitingCommands.decrementAndGet();
+    }
+
+    void started() {
+        activeProcesses.incrementAndGet();
+    }
+
+    void finished(final long latencyNanos, final boolean failed, final boolean timedOut) {
+        activeProcesses.decrementAndGet();
+        finishedCommands.incrementAndGet();
+        if (failed) {
+            failedCommands.incrementAndGet();
+        }
+        if (timedOut) {
+            timedOutCommands.incrementAndGet();
+        }
+        totalLatency.addAndGet(latencyNanos);
+        maxLatency.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    public long getActiveProcesses() {
+        return activeProcesses.get();
+    }
+
+    public long getWaitingCommands() {
+        return waitingCommands.get();
+    }
+
+    public long getFinishedCommands() {
+        return finishedCommands.get();
+    }
+
+    public long getFailedCommands() {
+        return failedCommands.get();
+    }
+
+    public long getTimedOutCommands() {
+        return timedOutCommands.get();
+    }
+
+    public long getAverageLatencyMillis() {
+        final long finished = finishedCommands.get();
+        return finished == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLatency.get() / finished);
+    }
+
+    public long getMaxLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLatency.get());
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.cmd;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of threads draining outputs of commands executed by {@link PlainCmdExecutor}.
+ *
+ * A command takes one of {@code maxConcurrentCommands} permits before its process is launched and returns it
+ * once both its outputs are drained. Each running command has two pool threads, so output readers never wait
+ * in a queue behind other commands. Commands above the limit wait for a permit before they are launched.
+ */
+public class CmdIoPool {
+
+    private static final long IDLE_THREAD_KEEP_ALIVE = 60L;
+
+    private final Semaphore permits;
+    private final ThreadPoolExecutor pool;
+    private final CmdExecutionMetrics metrics = new CmdExecutionMetrics();
+
+    public CmdIoPool(final int maxConcurrentCommands) {
+        this.permits = new Semaphore(maxConcurrentCommands, true);
+        this.pool = new ThreadPoolExecutor(0, maxConcurrentCommands * 2, IDLE_THREAD_KEEP_ALIVE, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), daemonThreadFactory());
+    }
+
+    public CmdExecutionMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Waits for a command permit until {@code deadline} in terms of {@link System#nanoTime()}.
+     * @return false if the deadline has passed
+     */
+    boolean acquire(final long deadline) throws InterruptedException {
+        metrics.waiting();
+        try {
+            if (deadline == Long.MAX_VALUE) {
+                permits.acquire();
+                return true;
+            }
+            return permits.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } finally {
+            metrics.waited();
+        }
+    }
+
+    void release() {
+        permits.release();
+    }
+
+    Future<?> submit(final Runnable task) {
+        return pool.submit(task);
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        final AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "cmd-io-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
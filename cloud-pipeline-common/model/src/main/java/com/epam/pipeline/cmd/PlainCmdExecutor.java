@@ -19,41 +19,216 @@ package com.epam.pipeline.cmd;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Executes commands in bash.
+ *
+ * Command outputs are drained by a shared {@link CmdIoPool} which bounds the number of concurrently running commands
+ * by {@link #DEFAULT_MAX_CONCURRENT_COMMANDS}. Std out is limited by {@link #DEFAULT_STDOUT_LIMIT} characters unless
+ * other limit is configured. A command which std out exceeds the limit fails, unless the executor is configured to
+ * keep only the output tail. Only the std err tail is kept. If a command doesn't finish in the configured timeout,
+ * it is killed together with all its descendant processes.
+ */
 @Slf4j
 public class PlainCmdExecutor implements CmdExecutor {
 
+    public static final int DEFAULT_STDOUT_LIMIT = 1024 * 1024;
+    public static final int DEFAULT_STDERR_LIMIT = 64 * 1024;
+    public static final int DEFAULT_MAX_CONCURRENT_COMMANDS = 32;
+    public static final long NO_TIMEOUT = 0L;
+
     private static final String DEFAULT_SHELL = "bash";
+    private static final CmdIoPool SHARED_IO_POOL = new CmdIoPool(DEFAULT_MAX_CONCURRENT_COMMANDS);
+
+    private final CmdIoPool ioPool;
+    private final long timeout;
+    private final int stdoutLimit;
+    private final int stderrLimit;
+    private final boolean truncateStdout;
+
+    public PlainCmdExecutor() {
+        this(NO_TIMEOUT);
+    }
+
+    /**
+     * @param timeout Command execution timeout in milliseconds, {@link #NO_TIMEOUT} disables it.
+     */
+    public PlainCmdExecutor(final long timeout) {
+        this(timeout, DEFAULT_STDOUT_LIMIT);
+    }
+
+    /**
+     * @param timeout Command execution timeout in milliseconds, {@link #NO_TIMEOUT} disables it.
+     * @param stdoutLimit Maximum number of std out characters, commands exceeding it fail.
+     */
+    public PlainCmdExecutor(final long timeout, final int stdoutLimit) {
+        this(timeout, stdoutLimit, false);
+    }
+
+    /**
+     * @param timeout Command execution timeout in milliseconds, {@link #NO_TIMEOUT} disables it.
+     * @param stdoutLimit Maximum number of std out characters.
+     * @param truncateStdout If enabled only the last stdoutLimit characters are kept, otherwise commands exceeding
+     *                       the limit fail.
+     */
+    public PlainCmdExecutor(final long timeout, final int stdoutLimit, final boolean truncateStdout) {
+        this(SHARED_IO_POOL, timeout, stdoutLimit, DEFAULT_STDERR_LIMIT, truncateStdout);
+    }
+
+    /**
+     * @param ioPool Pool draining command outputs.
+     * @param timeout Command execution timeout in milliseconds, {@link #NO_TIMEOUT} disables it.
+     * @param stdoutLimit Maximum number of std out characters.
+     * @param stderrLimit Number of the last std err characters to keep.
+     * @param truncateStdout If enabled only the last stdoutLimit characters are kept, otherwise commands exceeding
+     *                       the limit fail.
+     */
+    public PlainCmdExecutor(final CmdIoPool ioPool,
+                            final long timeout,
+                            final int stdoutLimit,
+                            final int stderrLimit,
+                            final boolean truncateStdout) {
+        this.ioPool = ioPool;
+        this.timeout = timeout;
+        this.stdoutLimit = stdoutLimit;
+        this.stderrLimit = stderrLimit;
+        this.truncateStdout = truncateStdout;
+    }
+
+    /**
+     * @return Metrics of commands executed by all executors sharing the default pool.
+     */
+    public static CmdExecutionMetrics getSharedMetrics() {
+        return SHARED_IO_POOL.getMetrics();
+    }
 
     @Override
     public String executeCommand(final String command,
                                  final Map<String, String> environmentVariables,
                                  final File workDir,
                                  final String username) {
-        StringBuilder output = new StringBuilder();
-        StringBuilder errors = new StringBuilder();
+        return executeCommand(command, environmentVariables, workDir, username, timeout, line -> { }, line -> { });
+    }
+
+    /**
+     * Executes the given command synchronously. Method <b>blocks</b> the current thread until the execution finishes
+     * or the timeout expires! The timeout includes waiting for a free slot in the shared pool.
+     *
+     * @param command Cmd command to be executed.
+     * @param environmentVariables Environment variables key-value map.
+     * @param workDir Directory command should be executed in.
+     * @param username name of the user applied to execute a command
+     * @param timeout Command execution timeout in milliseconds, {@link #NO_TIMEOUT} disables it.
+     * @param stdoutConsumer Consumer of std out lines as soon as they are printed.
+     * @param stderrConsumer Consumer of std err lines as soon as they are printed.
+     * @return Execution std out.
+     */
+    public String executeCommand(final String command,
+                                 final Map<String, String> environmentVariables,
+                                 final File workDir,
+                                 final String username,
+                                 final long timeout,
+                                 final Consumer<String> stdoutConsumer,
+                                 final Consumer<String> stderrConsumer) {
+        final long deadline = timeout > 0
+                ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout)
+                : Long.MAX_VALUE;
+        try {
+            if (!ioPool.acquire(deadline)) {
+                throw new CmdExecutionException(String.format(
+                        "Command '%s' has not been started in %d ms because of too many running commands",
+                        command, timeout));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CmdExecutionException(String.format("Command '%s' execution was interrupted", command));
+        }
+        final AtomicInteger permitHolders = new AtomicInteger(1);
+        final long start = System.nanoTime();
+        boolean failed = true;
+        boolean timedOut = false;
+        ioPool.getMetrics().started();
         try {
-            Process p = launchCommand(command, environmentVariables, workDir, username);
-            Thread stdReader = new Thread(() -> readOutputStream(command, output,
-                    new InputStreamReader(p.getInputStream())));
-            Thread errReader = new Thread(() -> readOutputStream(command, errors,
-                    new InputStreamReader(p.getErrorStream())));
-            stdReader.start();
-            errReader.start();
-            int exitCode = p.waitFor();
-            stdReader.join();
-            errReader.join();
+            final String output = execute(command, environmentVariables, workDir, username, deadline,
+                    stdoutConsumer, stderrConsumer, permitHolders);
+            failed = false;
+            return output;
+        } catch (CommandTimeoutException e) {
+            timedOut = true;
+            throw new CmdExecutionException(String.format("Command '%s' has not finished in %d ms and was killed",
+                    command, timeout));
+        } finally {
+            ioPool.getMetrics().finished(System.nanoTime() - start, failed, timedOut);
+            releasePermit(permitHolders);
+        }
+    }
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private String execute(final String command,
+                           final Map<String, String> environmentVariables,
+                           final File workDir,
+                           final String username,
+                           final long deadline,
+                           final Consumer<String> stdoutConsumer,
+                           final Consumer<String> stderrConsumer,
+                           final AtomicInteger permitHolders) {
+        final BoundedOutput output = new BoundedOutput(stdoutLimit);
+        final BoundedOutput errors = new BoundedOutput(stderrLimit);
+        Process p = null;
+        try {
+            p = launchCommand(command, environmentVariables, workDir, username);
+            final Process process = p;
+            final Future<?> stdReader = submitReader(permitHolders, () -> readOutputStream(command,
+                    process.getInputStream(), output, stdoutConsumer));
+            final Future<?> errReader = submitReader(permitHolders, () -> readOutputStream(command,
+                    process.getErrorStream(), errors, stderrConsumer));
+            final boolean finished = waitFor(p, deadline) && awaitReader(command, stdReader, deadline)
+                    && awaitReader(command, errReader, deadline);
+            if (!finished) {
+                ProcessTree.destroy(p);
+                closeQuietly(p.getInputStream());
+                closeQuietly(p.getErrorStream());
+                stdReader.cancel(true);
+                errReader.cancel(true);
+                log.error("Command '{}' has not finished in time and was killed", command);
+                throw new CommandTimeoutException();
+            }
+            if (errors.isTruncated()) {
+                log.warn("Command '{}' stderr exceeded the capture limit, first {} line(s) were dropped.",
+                        command, errors.getDroppedLines());
+            }
+            final int exitCode = p.exitValue();
             if (exitCode != 0) {
                 final String errorMessage = String.format("Command '%s' failed with the following stderr: %s", 
                         command, errors.toString());
                 log.error(errorMessage);
                 throw new CmdExecutionException(errorMessage);
             }
+            if (output.isTruncated()) {
+                if (!truncateStdout) {
+                    final String errorMessage = String.format("Command '%s' stdout exceeded the limit of %d "
+                            + "characters", command, stdoutLimit);
+                    log.error(errorMessage);
+                    throw new CmdExecutionException(errorMessage);
+                }
+                log.warn("Command '{}' stdout exceeded the capture limit, first {} line(s) were dropped.",
+                        command, output.getDroppedLines());
+            }
         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ProcessTree.destroy(p);
             throw new CmdExecutionException(String.format("Command '%s' execution was interrupted", command));
         }
         return output.toString();
@@ -77,19 +252,87 @@ public class PlainCmdExecutor implements CmdExecutor {
         }
     }
 
-    private void readOutputStream(String command, StringBuilder content, InputStreamReader in) {
-        try (BufferedReader reader = new BufferedReader(in)) {
-            appendReaderContent(content, reader);
+    private boolean waitFor(final Process process, final long deadline) throws InterruptedException {
+        if (deadline == Long.MAX_VALUE) {
+            process.waitFor();
+            return true;
+        }
+        return process.waitFor(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
+    private boolean awaitReader(final String command, final Future<?> reader, final long deadline)
+            throws InterruptedException {
+        try {
+            if (deadline == Long.MAX_VALUE) {
+                reader.get();
+            } else {
+                reader.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            throw new CmdExecutionException(String.format("Command '%s' outputs reading has failed", command),
+                    e.getCause());
+        }
+    }
+
+    private void readOutputStream(final String command, final InputStream in, final BoundedOutput content,
+                                  final Consumer<String> consumer) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                content.append(line);
+                accept(command, consumer, line);
+            }
         } catch (IOException e) {
             throw new CmdExecutionException(String.format("Command '%s' outputs reading has failed", command), e);
         }
     }
 
-    private void appendReaderContent(StringBuilder output, BufferedReader reader)
-            throws IOException {
-        String line;
-        while ((line = reader.readLine()) != null) {
-            output.append(line).append('\n');
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void accept(final String command, final Consumer<String> consumer, final String line) {
+        try {
+            consumer.accept(line);
+        } catch (RuntimeException e) {
+            log.warn("Command '{}' output line consumer has failed: {}", command, e.getMessage());
+        }
+    }
+
+    private void closeQuietly(final InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            log.debug("Process stream closing has failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Output readers hold the command permit together with the command itself, so the permit is returned
+     * to the pool only when the reader threads are free to drain outputs of another command.
+     */
+    private Future<?> submitReader(final AtomicInteger permitHolders, final Runnable reader) {
+        permitHolders.incrementAndGet();
+        try {
+            return ioPool.submit(() -> {
+                try {
+                    reader.run();
+                } finally {
+                    releasePermit(permitHolders);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            releasePermit(permitHolders);
+            throw new CmdExecutionException("Command outputs reading has been rejected", e);
         }
     }
+
+    private void releasePermit(final AtomicInteger permitHolders) {
+        if (permitHolders.decrementAndGet() == 0) {
+            ioPool.release();
+        }
+    }
+
+    private static class CommandTimeoutException extends RuntimeException {
+    }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.cmd;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kills a process together with all its descendants.
+ *
+ * Descendants are resolved from the system process table before the root process is killed, so they are not
+ * reparented and lost. If the table can't be read only the root process is killed.
+ */
+@Slf4j
+final class ProcessTree {
+
+    private static final String[] LIST_PROCESSES = {"ps", "-A", "-o", "pid=", "-o", "ppid="};
+    private static final long LIST_PROCESSES_TIMEOUT = 10;
+
+    private ProcessTree() {
+    }
+
+    static void destroy(final Process process) {
+        if (process == null || !process.isAlive()) {
+            return;
+        }
+        final List<Long> descendants = findDescendants(process);
+        process.destroyForcibly();
+        if (descendants.isEmpty()) {
+            return;
+        }
+        final List<String> command = new ArrayList<>();
+        command.add("kill");
+        command.add("-KILL");
+        descendants.forEach(pid -> command.add(String.valueOf(pid)));
+        try {
+            new ProcessBuilder(command).redirectErrorStream(true).start()
+                    .waitFor(LIST_PROCESSES_TIMEOUT, TimeUnit.SECONDS);
+        } catch (IOException e) {
+            log.warn("Descendant processes {} weren't killed: {}", descendants, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<Long> findDescendants(final Process process) {
+        try {
+            final long pid = getPid(process);
+            final Map<Long, List<Long>> children = listChildren();
+            final List<Long> descendants = new ArrayList<>();
+            final Deque<Long> queue = new ArrayDeque<>(children.getOrDefault(pid, new ArrayList<>()));
+            while (!queue.isEmpty()) {
+                final Long child = queue.poll();
+                descendants.add(child);
+                queue.addAll(children.getOrDefault(child, new ArrayList<>()));
+            }
+            return descendants;
+        } catch (IOException | ReflectiveOperationException e) {
+            log.warn("Process descendants weren't resolved: {}", e.getMessage());
+            return new ArrayList<>();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ArrayList<>();
+        }
+    }
+
+    private static Map<Long, List<Long>> listChildren() throws IOException, InterruptedException {
+        final Process ps = new ProcessBuilder(LIST_PROCESSES).redirectErrorStream(true).start();
+        final Map<Long, List<Long>> children = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ps.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final String[] columns = line.trim().split("\\s+");
+                if (columns.length == 2 && isNumeric(columns[0]) && isNumeric(columns[1])) {
+                    children.computeIfAbsent(Long.parseLong(columns[1]), key -> new ArrayList<>())
+                            .add(Long.parseLong(columns[0]));
+                }
+            }
+        }
+        ps.waitFor(LIST_PROCESSES_TIMEOUT, TimeUnit.SECONDS);
+        return children;
+    }
+
+    private static boolean isNumeric(final String value) {
+        return !value.isEmpty() && value.chars().allMatch(Character::isDigit);
+    }
+
+    private static long getPid(final Process process) throws ReflectiveOperationException {
+        try {
+            return (long) Process.class.getMethod("pid").invoke(process);
+        } catch (NoSuchMethodException e) {
+            return getPidField(process);
+        }
+    }
+
+    private static long getPidField(final Process process) throws ReflectiveOperationException {
+        final Field field = process.getClass().getDeclaredField("pid");
+        field.setAccessible(true);
+        return field.getLong(process);
+    }
+}
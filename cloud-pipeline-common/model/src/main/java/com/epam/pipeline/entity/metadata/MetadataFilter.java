@@ -42,6 +42,9 @@ public class MetadataFilter {
     @ApiModelProperty(notes = "list of strings to perform substring case "
             + "insensitive search in metadata attributes")
     private List<String> searchQueries;
+    @ApiModelProperty(notes = "if set, search queries are matched against the beginning of metadata attributes "
+            + "values instead of any substring")
+    private boolean prefixSearch = false;
     @ApiModelProperty(notes = "list of key-values pairs for exact match, "
             + "key may be an arbitrary string or one of predefined "
             + "available field names: ENTITY_ID, ENTITY_NAME, EXTERNAL_ID, PARENT_ID")
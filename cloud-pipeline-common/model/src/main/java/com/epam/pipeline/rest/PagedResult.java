@@ -20,6 +20,10 @@ public class PagedResult<T> { // TODO: refactor to extend Result class
     private T elements; // TODO; refactor to contain a list of T
     private int totalCount;
 
+    public PagedResult() {
+        // no-op constructor for deserialization
+    }
+
     public PagedResult(T elements, int totalCount) {
         this.elements = elements;
         this.totalCount = totalCount;
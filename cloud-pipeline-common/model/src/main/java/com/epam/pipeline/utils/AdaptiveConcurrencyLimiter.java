@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.utils;
+
+/**
+ * Limits the number of concurrently executed requests using additive increase / multiplicative decrease.
+ *
+ * Each request completed within the target latency increases the limit by {@code 1 / limit},
+ * i.e. by one per completed window of requests, while a slow or rejected request halves the limit.
+ * The limit always stays within [1, maxLimit].
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double DECREASE_FACTOR = 0.5;
+
+    private final int maxLimit;
+    private final long targetLatency;
+    private double limit;
+    private int inFlight;
+
+    /**
+     * @param initialLimit initial number of concurrent requests
+     * @param maxLimit max number of concurrent requests
+     * @param targetLatency latency in ms, requests completed slower are considered as an overload signal,
+     *                      non-positive value disables latency based decrease
+     */
+    public AdaptiveConcurrencyLimiter(final int initialLimit, final int maxLimit, final long targetLatency) {
+        this.maxLimit = Math.max(1, maxLimit);
+        this.targetLatency = targetLatency;
+        this.limit = Math.min(this.maxLimit, Math.max(1, initialLimit));
+    }
+
+    public static AdaptiveConcurrencyLimiter sequential() {
+        return new AdaptiveConcurrencyLimiter(1, 1, 0);
+    }
+
+    /**
+     * Blocks until a new request is allowed by the current limit.
+     */
+    public synchronized void acquire() throws InterruptedException {
+        while (inFlight >= getLimit()) {
+            wait();
+        }
+        inFlight++;
+    }
+
+    /**
+     * Releases a request slot and adjusts the limit according to the request outcome.
+     *
+     * @param latency request latency in ms
+     * @param overloaded true if the request was rejected or failed because of the server overload
+     */
+    public synchronized void release(final long latency, final boolean overloaded) {
+        inFlight = Math.max(0, inFlight - 1);
+        if (overloaded || targetLatency > 0 && latency > targetLatency) {
+            limit = Math.max(1, limit * DECREASE_FACTOR);
+        } else {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+        notifyAll();
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+}
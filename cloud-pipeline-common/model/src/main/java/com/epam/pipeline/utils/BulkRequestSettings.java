@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.utils;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.LongSupplier;
+
+/**
+ * Bulk sending settings shared by all {@link ConcurrentBulkSender}s of an application.
+ */
+@Value
+@Builder
+public class BulkRequestSettings {
+
+    /**
+     * Limits the number of in-flight bulk requests across all senders.
+     */
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    /**
+     * Executes bulk requests, if null - requests are sent from the caller thread one by one.
+     */
+    private final Executor executor;
+
+    /**
+     * Max estimated payload size of a single bulk request in bytes, non-positive value disables the limit.
+     */
+    private final long maxBulkBytes;
+
+    /**
+     * Max number of retries for requests rejected because of the server overload.
+     */
+    private final int maxRetries;
+
+    /**
+     * Initial delay before retry in ms, is multiplied by the retry attempt.
+     */
+    private final long retryDelay;
+
+    /**
+     * Requests counters of all senders sharing the settings.
+     */
+    private final BulkRequestStats stats = new BulkRequestStats();
+
+    public static BulkRequestSettings sequential() {
+        return BulkRequestSettings.builder()
+                .limiter(AdaptiveConcurrencyLimiter.sequential())
+                .build();
+    }
+
+    /**
+     * @return current values of bulk sending metrics by their names
+     */
+    public Map<String, LongSupplier> metrics() {
+        final Map<String, LongSupplier> metrics = new LinkedHashMap<>();
+        metrics.put("concurrency.limit", limiter::getLimit);
+        metrics.put("concurrency.max", limiter::getMaxLimit);
+        metrics.put("in.flight", limiter::getInFlight);
+        metrics.put("documents.sent", stats::getSentDocuments);
+        metrics.put("documents.rejected", stats::getRejectedDocuments);
+        metrics.put("documents.failed", stats::getFailedDocuments);
+        metrics.put("bytes.sent", stats::getSentBytes);
+        return metrics;
+    }
+}
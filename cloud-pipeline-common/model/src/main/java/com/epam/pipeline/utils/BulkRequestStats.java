@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of requests sent in bulks.
+ */
+public class BulkRequestStats {
+
+    private final AtomicLong sentDocuments = new AtomicLong();
+    private final AtomicLong sentBytes = new AtomicLong();
+    private final AtomicLong rejectedDocuments = new AtomicLong();
+    private final AtomicLong failedDocuments = new AtomicLong();
+
+    public void addSentDocuments(final long count) {
+        sentDocuments.addAndGet(count);
+    }
+
+    public void addSentBytes(final long bytes) {
+        sentBytes.addAndGet(bytes);
+    }
+
+    public void addRejectedDocuments(final long count) {
+        rejectedDocuments.addAndGet(count);
+    }
+
+    public void addFailedDocuments(final long count) {
+        failedDocuments.addAndGet(count);
+    }
+
+    public long getSentDocuments() {
+        return sentDocuments.get();
+    }
+
+    public long getSentBytes() {
+        return sentBytes.get();
+    }
+
+    public long getRejectedDocuments() {
+        return rejectedDocuments.get();
+    }
+
+    public long getFailedDocuments() {
+        return failedDocuments.get();
+    }
+}
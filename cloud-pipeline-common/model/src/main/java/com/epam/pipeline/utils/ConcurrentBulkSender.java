@@ -0,0 +1,172 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Sends requests in bulks limited both by requests count and estimated payload size.
+ * Bulks are sent concurrently within the limit of {@link BulkRequestSettings#getLimiter()}, which adapts
+ * to the observed latency and rejections. Requests rejected because of the server overload are resent
+ * with a delay up to {@link BulkRequestSettings#getMaxRetries()} times.
+ * <p>
+ * If the sending thread is interrupted, already submitted bulks are awaited, all the unsent requests
+ * are counted as failed and {@link IllegalStateException} is thrown, so that the caller does not treat
+ * a partially sent batch as a successful one.
+ *
+ * @param <T> type of a single request
+ */
+@Slf4j
+public class ConcurrentBulkSender<T> {
+
+    private static final long MILLIS_IN_SECOND = 1000L;
+
+    private final BulkRequestSettings settings;
+    private final ToLongFunction<T> sizeEstimator;
+
+    public ConcurrentBulkSender(final BulkRequestSettings settings, final ToLongFunction<T> sizeEstimator) {
+        this.settings = settings;
+        this.sizeEstimator = sizeEstimator;
+    }
+
+    /**
+     * Sends requests in bulks.
+     *
+     * @param requests requests to send
+     * @param bulkSize max number of requests in a single bulk
+     * @param bulkSender sends a single bulk and returns requests rejected because of the server overload,
+     *                   such requests are resent later, any exception marks the whole bulk as failed
+     * @throws IllegalStateException if the current thread was interrupted before all the requests were sent
+     */
+    public void send(final List<T> requests, final int bulkSize, final Function<List<T>, List<T>> bulkSender) {
+        if (requests.isEmpty()) {
+            return;
+        }
+        final long start = System.currentTimeMillis();
+        List<T> pending = requests;
+        int attempt = 0;
+        while (!pending.isEmpty()) {
+            final List<T> rejected = sendAll(pending, bulkSize, bulkSender);
+            if (rejected.isEmpty()) {
+                break;
+            }
+            if (attempt >= settings.getMaxRetries()) {
+                log.error("{} request(s) were rejected after {} retries.", rejected.size(), attempt);
+                settings.getStats().addFailedDocuments(rejected.size());
+                break;
+            }
+            attempt++;
+            log.debug("Retrying {} rejected request(s), attempt {}.", rejected.size(), attempt);
+            pause(settings.getRetryDelay() * attempt, rejected.size());
+            pending = rejected;
+        }
+        final long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        log.debug("Processed {} request(s) in {} ms ({} requests/s), bulk concurrency limit is {}.",
+                requests.size(), elapsed, requests.size() * MILLIS_IN_SECOND / elapsed,
+                settings.getLimiter().getLimit());
+    }
+
+    private List<T> sendAll(final List<T> requests, final int bulkSize, final Function<List<T>, List<T>> bulkSender) {
+        final List<T> rejected = Collections.synchronizedList(new ArrayList<>());
+        final Executor executor = Optional.ofNullable(settings.getExecutor()).orElse(Runnable::run);
+        final List<CompletableFuture<Void>> results = new ArrayList<>();
+        final List<List<T>> bulks = splitIntoBulks(requests, bulkSize);
+        for (int i = 0; i < bulks.size(); i++) {
+            final List<T> bulk = bulks.get(i);
+            try {
+                settings.getLimiter().acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                awaitAll(results);
+                final int unsent = bulks.subList(i, bulks.size()).stream().mapToInt(List::size).sum();
+                throw interrupted(unsent);
+            }
+            results.add(CompletableFuture.runAsync(() -> sendBulk(bulk, bulkSender, rejected), executor));
+        }
+        awaitAll(results);
+        return new ArrayList<>(rejected);
+    }
+
+    private List<List<T>> splitIntoBulks(final List<T> requests, final int bulkSize) {
+        final long maxBulkBytes = settings.getMaxBulkBytes();
+        final List<List<T>> bulks = new ArrayList<>();
+        List<T> bulk = new ArrayList<>();
+        long bulkBytes = 0;
+        for (final T request : requests) {
+            final long size = sizeEstimator.applyAsLong(request);
+            if (!bulk.isEmpty() && (bulk.size() >= bulkSize || maxBulkBytes > 0 && bulkBytes + size > maxBulkBytes)) {
+                bulks.add(bulk);
+                bulk = new ArrayList<>();
+                bulkBytes = 0;
+            }
+            bulk.add(request);
+            bulkBytes += size;
+        }
+        bulks.add(bulk);
+        return bulks;
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void sendBulk(final List<T> bulk, final Function<List<T>, List<T>> bulkSender, final List<T> rejected) {
+        final long start = System.currentTimeMillis();
+        boolean overloaded = true;
+        try {
+            final List<T> bulkRejected = bulkSender.apply(bulk);
+            settings.getStats().addSentBytes(bulk.stream().mapToLong(sizeEstimator).sum());
+            settings.getStats().addRejectedDocuments(bulkRejected.size());
+            overloaded = !bulkRejected.isEmpty();
+            rejected.addAll(bulkRejected);
+        } catch (Exception e) {
+            settings.getStats().addFailedDocuments(bulk.size());
+            log.error("Failed to send a bulk of {} request(s): {}.", bulk.size(), e.getMessage());
+        } finally {
+            settings.getLimiter().release(System.currentTimeMillis() - start, overloaded);
+        }
+    }
+
+    private void awaitAll(final List<CompletableFuture<Void>> results) {
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).join();
+    }
+
+    private void pause(final long millis, final int pending) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw interrupted(pending);
+        }
+    }
+
+    private IllegalStateException interrupted(final int unsent) {
+        settings.getStats().addFailedDocuments(unsent);
+        log.error("Bulk sending was interrupted, {} request(s) were not sent.", unsent);
+        return new IllegalStateException(String.format("Bulk sending was interrupted, %d request(s) were not sent.",
+                unsent));
+    }
+}
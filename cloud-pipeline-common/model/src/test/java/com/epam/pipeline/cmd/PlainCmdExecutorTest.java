@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.cmd;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PlainCmdExecutorTest {
+
+    private static final long TIMEOUT = 1000L;
+    private static final int STDOUT_LIMIT = 1000;
+    private static final int STDERR_LIMIT = 100;
+    private static final int FLOOD_LINES = 200000;
+    private static final String LINE = "line";
+
+    private final CmdIoPool ioPool = new CmdIoPool(1);
+    private final PlainCmdExecutor executor = new PlainCmdExecutor(ioPool, TIMEOUT, STDOUT_LIMIT, STDERR_LIMIT,
+            false);
+    private final PlainCmdExecutor truncatingExecutor = new PlainCmdExecutor(ioPool, TIMEOUT, STDOUT_LIMIT,
+            STDERR_LIMIT, true);
+
+    @After
+    public void tearDown() {
+        ioPool.shutdownNow();
+    }
+
+    @Test
+    public void executeCommandShouldReturnStdOut() {
+        assertEquals("first\nsecond\n", executor.executeCommand("echo first; echo second"));
+    }
+
+    @Test
+    public void executeCommandShouldKillProcessTreeIfTimeoutExpires() throws IOException, InterruptedException {
+        final File pidFile = Files.createTempFile("child", ".pid").toFile();
+        pidFile.deleteOnExit();
+        final long start = System.currentTimeMillis();
+        try {
+            executor.executeCommand(String.format("sleep 60 & echo $! > %s; wait", pidFile.getAbsolutePath()));
+            fail("Hanging command should fail");
+        } catch (CmdExecutionException e) {
+            assertTrue(e.getMessage().contains("was killed"));
+        }
+        assertTrue(System.currentTimeMillis() - start < TIMEOUT * 10);
+        final String childPid = new String(Files.readAllBytes(pidFile.toPath())).trim();
+        Thread.sleep(TIMEOUT / 2);
+        assertFalse(isAlive(childPid));
+    }
+
+    @Test
+    public void executeCommandShouldFailIfOutputExceedsLimit() {
+        try {
+            executor.executeCommand(String.format("yes %s | head -n %d", LINE, FLOOD_LINES));
+            fail("Command with too large output should fail");
+        } catch (CmdExecutionException e) {
+            assertTrue(e.getMessage().contains("exceeded the limit"));
+        }
+        assertEquals(1, ioPool.getMetrics().getFailedCommands());
+    }
+
+    @Test
+    public void executeCommandShouldKeepOnlyOutputTailAndStreamAllLinesIfTruncationIsEnabled() {
+        final AtomicInteger consumed = new AtomicInteger();
+        final String output = truncatingExecutor.executeCommand(
+                String.format("yes %s | head -n %d; echo last", LINE, FLOOD_LINES), Collections.emptyMap(), null,
+                null, TIMEOUT * 10, line -> consumed.incrementAndGet(), line -> { });
+        assertTrue(output.length() <= STDOUT_LIMIT);
+        assertTrue(output.startsWith(LINE));
+        assertTrue(output.endsWith(LINE + "\nlast\n"));
+        assertEquals(FLOOD_LINES + 1, consumed.get());
+    }
+
+    @Test
+    public void executeCommandShouldFailWithStdErrTail() {
+        try {
+            executor.executeCommand("for i in $(seq 1 1000); do echo error$i >&2; done; exit 1");
+            fail("Failed command should throw an exception");
+        } catch (CmdExecutionException e) {
+            assertTrue(e.getMessage().contains("error1000"));
+            assertFalse(e.getMessage().contains("error1\n"));
+        }
+    }
+
+    @Test
+    public void executeCommandShouldWaitForRunningCommandsLimit() throws InterruptedException {
+        final CompletableFuture<String> running = CompletableFuture.supplyAsync(() ->
+                executor.executeCommand("sleep 0.5; echo done"));
+        while (ioPool.getMetrics().getActiveProcesses() == 0) {
+            Thread.sleep(10);
+        }
+        try {
+            executor.executeCommand("echo waiting", Collections.emptyMap(), null, null, TIMEOUT / 10,
+                    line -> { }, line -> { });
+            fail("Command above the limit should not be started before the timeout");
+        } catch (CmdExecutionException e) {
+            assertTrue(e.getMessage().contains("has not been started"));
+        }
+        assertEquals("done\n", running.join());
+        assertEquals("next\n", executor.executeCommand("echo next"));
+        assertEquals(0, ioPool.getMetrics().getActiveProcesses());
+        assertEquals(2, ioPool.getMetrics().getFinishedCommands());
+    }
+
+    private boolean isAlive(final String pid) {
+        final String state = new PlainCmdExecutor().executeCommand(String.format("ps -o stat= -p %s || true", pid));
+        return !state.trim().isEmpty() && !state.trim().startsWith("Z");
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long TARGET_LATENCY = 100;
+
+    @Test
+    public void shouldIncreaseLimitAdditivelyOnFastResponses() throws InterruptedException {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 4, TARGET_LATENCY);
+        complete(limiter, 1, 10, false);
+        assertEquals(2, limiter.getLimit());
+        complete(limiter, 3, 10, false);
+        assertEquals(3, limiter.getLimit());
+        complete(limiter, 20, 10, false);
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    public void shouldDecreaseLimitMultiplicativelyOnRejectionsAndSlowResponses() throws InterruptedException {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 8, TARGET_LATENCY);
+        complete(limiter, 1, 10, true);
+        assertEquals(4, limiter.getLimit());
+        complete(limiter, 1, TARGET_LATENCY + 1, false);
+        assertEquals(2, limiter.getLimit());
+        complete(limiter, 5, TARGET_LATENCY + 1, false);
+        assertEquals(1, limiter.getLimit());
+    }
+
+    @Test
+    public void shouldTrackInFlightRequests() throws InterruptedException {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 2, TARGET_LATENCY);
+        limiter.acquire();
+        limiter.acquire();
+        assertEquals(2, limiter.getInFlight());
+        limiter.release(10, false);
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    private void complete(final AdaptiveConcurrencyLimiter limiter, final int requests,
+                          final long latency, final boolean overloaded) throws InterruptedException {
+        for (int i = 0; i < requests; i++) {
+            limiter.acquire();
+            limiter.release(latency, overloaded);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.utils;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ConcurrentBulkSenderTest {
+
+    private final List<List<Integer>> sentBulks = Collections.synchronizedList(new ArrayList<>());
+
+    @After
+    public void tearDown() {
+        Thread.interrupted();
+    }
+
+    @Test
+    public void shouldSplitBulksByCountAndSize() {
+        final BulkRequestSettings settings = BulkRequestSettings.builder()
+                .limiter(AdaptiveConcurrencyLimiter.sequential())
+                .maxBulkBytes(5)
+                .build();
+        final ConcurrentBulkSender<Integer> sender = new ConcurrentBulkSender<>(settings, Integer::longValue);
+
+        sender.send(Arrays.asList(1, 1, 1, 3, 3, 1), 3, this::accept);
+
+        assertEquals(Arrays.asList(Arrays.asList(1, 1, 1), Collections.singletonList(3), Arrays.asList(3, 1)),
+                sentBulks);
+        assertEquals(10, settings.getStats().getSentBytes());
+    }
+
+    @Test
+    public void shouldRetryRejectedRequestsAndGiveUpAfterMaxRetries() {
+        final BulkRequestSettings settings = BulkRequestSettings.builder()
+                .limiter(AdaptiveConcurrencyLimiter.sequential())
+                .maxRetries(2)
+                .build();
+        final ConcurrentBulkSender<Integer> sender = new ConcurrentBulkSender<>(settings, Integer::longValue);
+
+        sender.send(Arrays.asList(1, 2, 3), 10, bulk -> {
+            sentBulks.add(bulk);
+            return bulk.stream().filter(i -> i > 1).collect(Collectors.toList());
+        });
+
+        assertEquals(3, sentBulks.size());
+        assertEquals(Arrays.asList(2, 3), sentBulks.get(2));
+        assertEquals(6, settings.getStats().getRejectedDocuments());
+        assertEquals(2, settings.getStats().getFailedDocuments());
+    }
+
+    @Test
+    public void shouldCountBulkAsFailedOnException() {
+        final BulkRequestSettings settings = BulkRequestSettings.sequential();
+        final ConcurrentBulkSender<Integer> sender = new ConcurrentBulkSender<>(settings, Integer::longValue);
+
+        sender.send(Arrays.asList(1, 2, 3), 2, bulk -> {
+            throw new IllegalArgumentException("failed");
+        });
+
+        assertEquals(3, settings.getStats().getFailedDocuments());
+        assertEquals(0, settings.getLimiter().getInFlight());
+    }
+
+    @Test
+    public void shouldFailAndReportUnsentRequestsIfInterrupted() throws InterruptedException {
+        final BulkRequestSettings settings = BulkRequestSettings.sequential();
+        final ConcurrentBulkSender<Integer> sender = new ConcurrentBulkSender<>(settings, Integer::longValue);
+        final List<Integer> requests = IntStream.range(0, 5).boxed().collect(Collectors.toList());
+        settings.getLimiter().acquire();
+        Thread.currentThread().interrupt();
+
+        try {
+            sender.send(requests, 2, this::accept);
+            fail("Interrupted sending shall fail");
+        } catch (IllegalStateException e) {
+            assertTrue(Thread.currentThread().isInterrupted());
+            assertTrue(sentBulks.isEmpty());
+            assertEquals(requests.size(), settings.getStats().getFailedDocuments());
+        }
+    }
+
+    private List<Integer> accept(final List<Integer> bulk) {
+        sentBulks.add(bulk);
+        return Collections.emptyList();
+    }
+}
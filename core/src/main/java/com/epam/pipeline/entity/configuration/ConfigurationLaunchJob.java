@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.entity.configuration;
+
+import com.epam.pipeline.entity.job.BackgroundJob;
+import lombok.Data;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Progress of a batch {@link RunConfiguration} launch. {@code total} is a number of resolved configurations,
+ * e.g. one per input metadata entity, each of them may produce several runs for cluster configurations.
+ */
+@Data
+public class ConfigurationLaunchJob implements BackgroundJob {
+
+    private String id;
+    private Long configurationId;
+    private String owner;
+    private ConfigurationLaunchStatus status;
+    private Date startDate;
+    private Date endDate;
+    private int total;
+    private int processed;
+    private List<Long> runIds;
+    private List<ConfigurationLaunchError> errors;
+    private String message;
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.entity.configuration;
+
+/**
+ * Status of a batch {@link RunConfiguration} launch
+ */
+public enum ConfigurationLaunchStatus {
+
+    /**
+     * Launch is waiting for previously submitted launches
+     */
+    QUEUED,
+    /**
+     * Runs are being launched
+     */
+    RUNNING,
+    /**
+     * All runs were launched
+     */
+    COMPLETED,
+    /**
+     * Launch is finished, but some of the runs failed to launch
+     */
+    COMPLETED_WITH_ERRORS,
+    /**
+     * Launch failed, e.g. due to invalid parameters references
+     */
+    FAILED
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.entity.job;
+
+import java.util.Date;
+
+/**
+ * Progress of a long operation performed in background by one of API instances.
+ * A job is finished once its {@code endDate} is set.
+ */
+public interface BackgroundJob {
+
+    String getId();
+
+    void setId(String id);
+
+    Date getEndDate();
+}
@@ -19,6 +19,7 @@ package com.epam.pipeline.entity.notification;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -31,6 +32,8 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.OneToOne;
 import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -70,6 +73,13 @@ public class NotificationMessage {
     @Convert(converter = ParameterConverterJson.class)
     private Map<String, Object> templateParameters;
 
+    /**
+     * Time until which the message is claimed by a notifier instance for delivery.
+     */
+    @Column(name = "claimed_until")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date claimedUntil;
+
     public static class ParameterConverterJson implements AttributeConverter<Map<String, Object>, String> {
 
         private final ObjectMapper mapper = new ObjectMapper();
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.entity.pipeline;
+
+import com.epam.pipeline.entity.job.BackgroundJob;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * Progress of a background {@link Folder} clone. {@code clonedFolderId} is available once the folder
+ * hierarchy is copied, {@code totalStorages} and {@code createdStorages} reflect data storages creation.
+ */
+@Data
+public class FolderCloneJob implements BackgroundJob {
+
+    private String id;
+    private Long folderId;
+    private Long destinationFolderId;
+    private String name;
+    private Long clonedFolderId;
+    private String owner;
+    private FolderCloneStatus status;
+    private Date startDate;
+    private Date endDate;
+    private int totalStorages;
+    private int createdStorages;
+    private String message;
+}
@@ -42,6 +42,7 @@ import com.epam.pipeline.external.datastorage.entity.item.AbstractDataStorageIte
 import com.epam.pipeline.external.datastorage.entity.item.DataStorageDownloadFileUrl;
 import com.epam.pipeline.external.datastorage.entity.item.DataStorageItemContent;
 import com.epam.pipeline.external.datastorage.entity.item.DataStorageListing;
+import com.epam.pipeline.external.datastorage.entity.item.DataStorageStreamingContent;
 import com.epam.pipeline.external.datastorage.entity.item.GenerateDownloadUrlVO;
 import com.epam.pipeline.external.datastorage.entity.item.UpdateDataStorageItemVO;
 import com.epam.pipeline.external.datastorage.manager.datastorage.DataStorageManager;
@@ -127,6 +128,21 @@ public class DataStorageController {
         return Result.success(dataStorageManager.downloadItem(id, path, version));
     }
 
+    @GetMapping(value = "/datastorage/{id}/item/download")
+    @ApiOperation(
+        value = "Streams data storage item content.",
+        notes = "Streams data storage item content without buffering it in the service memory.")
+    public void downloadFileStream(HttpServletResponse response,
+                                   @PathVariable long id,
+                                   @RequestParam final String path,
+                                   @RequestParam(required = false) final String version) throws IOException {
+        final DataStorageStreamingContent content = dataStorageManager.streamItem(id, path, version);
+        if (content.getContentLength() >= 0) {
+            response.setContentLengthLong(content.getContentLength());
+        }
+        writeStreamToResponse(response, content.getContent(), content.getContentDisposition());
+    }
+
     @GetMapping("/datastorage/{id}/item/tags")
     public Result<AbstractDataStorageItem> getDataStorageItemsWithTags(@PathVariable long id,
                                                                        @RequestParam final String path,
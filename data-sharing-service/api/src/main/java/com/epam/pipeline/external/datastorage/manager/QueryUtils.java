@@ -19,6 +19,7 @@ package com.epam.pipeline.external.datastorage.manager;
 import com.epam.pipeline.external.datastorage.controller.Result;
 import com.epam.pipeline.external.datastorage.controller.ResultStatus;
 import com.epam.pipeline.external.datastorage.exception.PipleineResponseException;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.Response;
 
@@ -48,4 +49,17 @@ public final class QueryUtils {
         }
     }
 
+    public static Response<ResponseBody> executeStreaming(Call<ResponseBody> call) {
+        try {
+            Response<ResponseBody> response = call.execute();
+            if (response.isSuccessful() && response.body() != null) {
+                return response;
+            }
+            throw new PipleineResponseException(String.format("Unexpected status: %d, %s", response.code(),
+                    response.errorBody() != null ? response.errorBody().string() : ""));
+        } catch (IOException e) {
+            throw new PipleineResponseException(e);
+        }
+    }
+
 }
@@ -23,34 +23,76 @@ import com.epam.pipeline.external.datastorage.entity.credentials.DataStorageActi
 import com.epam.pipeline.external.datastorage.entity.item.*;
 import com.epam.pipeline.external.datastorage.manager.auth.PipelineAuthManager;
 import com.epam.pipeline.external.datastorage.manager.QueryUtils;
+import com.epam.pipeline.external.datastorage.security.UserContext;
+import lombok.Data;
 import okhttp3.*;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
+import retrofit2.Response;
 import retrofit2.Retrofit;
 import retrofit2.converter.jackson.JacksonConverterFactory;
 
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TimeZone;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+/**
+ * Proxies data storage requests to Cloud Pipeline API.
+ *
+ * Storage metadata and first listing pages are cached for a short time, temporary credentials and download urls
+ * are reused until they are close to their expiration. All cached responses are kept per user.
+ * Item updates and deletions invalidate cached listings of the storage on this instance only, other instances
+ * keep serving their listings until {@code pipeline.client.cache.listing.ttl} passes.
+ */
 @Service
 public class DataStorageManager {
 
+    private static final String CREDENTIALS_EXPIRATION_FORMAT = "yyyy-MM-dd HH:mm:ss z";
+
     private final PipelineAuthManager pipelineAuthManager;
     private PipelineDataStorageClient storageClient;
-
+    private final long metadataTtl;
+    private final long listingTtl;
+    private final long expirationMargin;
+    private final ExpiringCache<RequestKey, DataStorage> storages;
+    private final ExpiringCache<RequestKey, List<AbstractDataStorageItem>> items;
+    private final ExpiringCache<RequestKey, DataStorageListing> listings;
+    private final ExpiringCache<RequestKey, AbstractTemporaryCredentials> credentials;
+    private final ExpiringCache<RequestKey, DataStorageDownloadFileUrl> downloadUrls;
 
     @Autowired
     public DataStorageManager(@Value("${pipeline.api.base.url}") String pipelineBaseUrl,
                               @Value("${pipeline.client.connect.timeout}") long connectTimeout,
                               @Value("${pipeline.client.read.timeout}") long readTimeout,
+                              @Value("${pipeline.client.cache.metadata.ttl:30}") long metadataTtl,
+                              @Value("${pipeline.client.cache.listing.ttl:10}") long listingTtl,
+                              @Value("${pipeline.client.cache.expiration.margin:300}") long expirationMargin,
+                              @Value("${pipeline.client.cache.size:10000}") int cacheSize,
                               PipelineAuthManager pipelineAuthManager) {
 
         this.pipelineAuthManager = pipelineAuthManager;
+        this.metadataTtl = TimeUnit.SECONDS.toMillis(metadataTtl);
+        this.listingTtl = TimeUnit.SECONDS.toMillis(listingTtl);
+        this.expirationMargin = TimeUnit.SECONDS.toMillis(expirationMargin);
+        this.storages = new ExpiringCache<>(cacheSize);
+        this.items = new ExpiringCache<>(cacheSize);
+        this.listings = new ExpiringCache<>(cacheSize);
+        this.credentials = new ExpiringCache<>(cacheSize);
+        this.downloadUrls = new ExpiringCache<>(cacheSize);
         OkHttpClient client = new OkHttpClient.Builder()
                 .readTimeout(readTimeout, TimeUnit.SECONDS)
                 .connectTimeout(connectTimeout, TimeUnit.SECONDS)
@@ -67,17 +109,30 @@ public class DataStorageManager {
     }
 
     public DataStorage loadStorage(long storageId) {
-        return QueryUtils.execute(storageClient.getStorage(storageId, getToken()));
+        final String token = getToken();
+        return storages.get(key(storageId),
+            () -> QueryUtils.execute(storageClient.getStorage(storageId, token)),
+            storage -> expiresIn(metadataTtl));
     }
 
     public List<AbstractDataStorageItem> listStorage(long storageId, String path, Boolean showVersion) {
-        return QueryUtils.execute(storageClient.getStorageContent(storageId, path, showVersion, getToken()));
+        final String token = getToken();
+        return items.get(key(storageId, path, showVersion),
+            () -> QueryUtils.execute(storageClient.getStorageContent(storageId, path, showVersion, token)),
+            result -> expiresIn(listingTtl));
     }
 
     public DataStorageListing listStorage(long storageId, String path, Boolean showVersion,
                                           Integer pageSize, String marker) {
-        return QueryUtils.execute(storageClient.getStorageContent(storageId, path, showVersion, pageSize, marker,
-                getToken()));
+        final String token = getToken();
+        if (StringUtils.isNotBlank(marker)) {
+            return QueryUtils.execute(storageClient.getStorageContent(storageId, path, showVersion, pageSize,
+                    marker, token));
+        }
+        return listings.get(key(storageId, path, showVersion, pageSize),
+            () -> QueryUtils.execute(storageClient.getStorageContent(storageId, path, showVersion, pageSize,
+                    null, token)),
+            result -> expiresIn(listingTtl));
     }
 
     public AbstractDataStorageItem getItemWithTags(long storageId, String path, Boolean showVersion) {
@@ -100,8 +155,14 @@ public class DataStorageManager {
         Assert.isTrue(notPermittedBuckets.size() == 0,
                 "Operation with bucket: " + notPermittedBuckets.stream().map(String::valueOf)
                         .collect(Collectors.joining(",")));
-        return QueryUtils.execute(storageClient.generateCredentials(operations,
-                getToken()));
+        final String token = getToken();
+        final List<List<Object>> actions = operations.stream()
+                .map(action -> Arrays.<Object>asList(action.getId(), action.getRead(), action.getReadVersion(),
+                        action.getWrite(), action.getWriteVersion()))
+                .collect(Collectors.toList());
+        return credentials.get(key(storageId, actions),
+            () -> QueryUtils.execute(storageClient.generateCredentials(operations, token)),
+            result -> beforeExpiration(parseExpirationTime(result.getExpirationTime())));
     }
 
     public Map<String, String> updateItemsTags(long storageId, String path, Map<String, String> tags,
@@ -111,19 +172,43 @@ public class DataStorageManager {
     }
 
     public List<AbstractDataStorageItem> updateDataStorageItems(long storageId, List<UpdateDataStorageItemVO> items) {
-        return QueryUtils.execute(storageClient.updateItems(storageId, items, getToken()));
+        try {
+            return QueryUtils.execute(storageClient.updateItems(storageId, items, getToken()));
+        } finally {
+            invalidateListings(storageId);
+        }
     }
 
     public DataStorageItemContent downloadItem(long storageId, String path, String version) {
         return QueryUtils.execute(storageClient.downloadItem(storageId, path, version, getToken()));
     }
 
+    /**
+     * Opens item content stream without loading it into memory. The returned stream shall be closed by the caller.
+     */
+    public DataStorageStreamingContent streamItem(long storageId, String path, String version) {
+        final Response<ResponseBody> response = QueryUtils.executeStreaming(
+                storageClient.downloadStream(storageId, path, version, getToken()));
+        final String contentDisposition = Optional.ofNullable(response.headers().get(HttpHeaders.CONTENT_DISPOSITION))
+                .orElseGet(() -> String.format("attachment;filename=\"%s\"", StringUtils.substringAfterLast(
+                        StringUtils.prependIfMissing(path, "/"), "/")));
+        return new DataStorageStreamingContent(response.body().byteStream(), contentDisposition,
+                response.body().contentLength());
+    }
+
     public Integer deleteDataStorageItems(long storageId, List<UpdateDataStorageItemVO> items, boolean totally) {
-        return QueryUtils.execute(storageClient.deleteItems(storageId, totally, items, getToken()));
+        try {
+            return QueryUtils.execute(storageClient.deleteItems(storageId, totally, items, getToken()));
+        } finally {
+            invalidateListings(storageId);
+        }
     }
 
     public DataStorageDownloadFileUrl generateDownloadUrl(long storageId, String path, String version) {
-        return QueryUtils.execute(storageClient.generateDownloadUrl(storageId, path, version, getToken()));
+        final String token = getToken();
+        return downloadUrls.get(key(storageId, path, version),
+            () -> QueryUtils.execute(storageClient.generateDownloadUrl(storageId, path, version, token)),
+            url -> beforeExpiration(url.getExpires()));
     }
 
     public List<DataStorageDownloadFileUrl> generateDataStorageItemUrls(long storageId, GenerateDownloadUrlVO paths) {
@@ -137,4 +222,47 @@ public class DataStorageManager {
     private String getToken() {
         return "Bearer " + pipelineAuthManager.getToken();
     }
+
+    private RequestKey key(long storageId, Object... arguments) {
+        final UserContext user = pipelineAuthManager.getUser();
+        return new RequestKey(user != null ? user.getUserName() : PipelineAuthManager.UNAUTHORIZED_USER,
+                storageId, Arrays.asList(arguments));
+    }
+
+    private void invalidateListings(long storageId) {
+        items.invalidate(key -> key.getStorageId() == storageId);
+        listings.invalidate(key -> key.getStorageId() == storageId);
+    }
+
+    private long expiresIn(long ttl) {
+        return System.currentTimeMillis() + ttl;
+    }
+
+    private long beforeExpiration(Date expiration) {
+        return expiration == null ? 0L : expiration.getTime() - expirationMargin;
+    }
+
+    private Date parseExpirationTime(String expirationTime) {
+        if (StringUtils.isBlank(expirationTime)) {
+            return null;
+        }
+        try {
+            final SimpleDateFormat format = new SimpleDateFormat(CREDENTIALS_EXPIRATION_FORMAT);
+            format.setTimeZone(TimeZone.getTimeZone("UTC"));
+            return format.parse(expirationTime);
+        } catch (ParseException e) {
+            try {
+                return Date.from(Instant.parse(expirationTime));
+            } catch (DateTimeParseException ex) {
+                return null;
+            }
+        }
+    }
+
+    @Data
+    private static class RequestKey {
+        private final String user;
+        private final long storageId;
+        private final List<Object> arguments;
+    }
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.external.datastorage.manager.datastorage;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded in-memory cache of upstream API responses. Each value expires at the moment calculated from the value
+ * itself, concurrent requests of a missing key share a single upstream call. Once the cache grows over its size
+ * expired values are dropped first and then the oldest loaded ones.
+ *
+ * The cache is local to a service instance: {@link #invalidate(Predicate)} does not reach other instances,
+ * so they may serve a stale value until it expires.
+ */
+class ExpiringCache<K, V> {
+
+    private final ConcurrentMap<K, CachedValue<V>> values = new ConcurrentHashMap<>();
+    private final AtomicLong loads = new AtomicLong();
+    private final int maxSize;
+    private final LongSupplier clock;
+
+    ExpiringCache(final int maxSize) {
+        this(maxSize, System::currentTimeMillis);
+    }
+
+    ExpiringCache(final int maxSize, final LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    V get(final K key, final Supplier<V> loader, final Function<V, Long> expiration) {
+        final long now = clock.getAsLong();
+        final CachedValue<V> cached = values.get(key);
+        if (cached != null && !cached.isExpired(now)) {
+            return cached.get();
+        }
+        final CachedValue<V> loading = new CachedValue<>(loader, expiration, loads.incrementAndGet());
+        final CachedValue<V> current = values.compute(key,
+            (k, existing) -> existing != null && !existing.isExpired(now) ? existing : loading);
+        if (current != loading) {
+            return current.get();
+        }
+        try {
+            loading.load();
+            return loading.get();
+        } catch (RuntimeException e) {
+            values.remove(key, loading);
+            throw e;
+        } finally {
+            evict(now);
+        }
+    }
+
+    void invalidate(final Predicate<K> condition) {
+        values.keySet().removeIf(condition);
+    }
+
+    private void evict(final long now) {
+        if (values.size() <= maxSize) {
+            return;
+        }
+        values.values().removeIf(value -> value.isExpired(now));
+        final int excess = values.size() - maxSize;
+        if (excess <= 0) {
+            return;
+        }
+        final Iterator<Map.Entry<K, CachedValue<V>>> oldest = values.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().sequence))
+                .limit(excess)
+                .collect(Collectors.toList())
+                .iterator();
+        while (oldest.hasNext()) {
+            final Map.Entry<K, CachedValue<V>> entry = oldest.next();
+            values.remove(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static final class CachedValue<V> {
+
+        private final FutureTask<V> task;
+        private final Function<V, Long> expiration;
+        private final long sequence;
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private CachedValue(final Supplier<V> loader, final Function<V, Long> expiration, final long sequence) {
+            this.task = new FutureTask<>(loader::get);
+            this.expiration = expiration;
+            this.sequence = sequence;
+        }
+
+        private void load() {
+            task.run();
+            expiresAt = expiration.apply(get());
+        }
+
+        private boolean isExpired(final long now) {
+            return expiresAt <= now;
+        }
+
+        private V get() {
+            try {
+                return task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+}
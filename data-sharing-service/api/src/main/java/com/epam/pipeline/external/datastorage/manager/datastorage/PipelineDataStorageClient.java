@@ -30,6 +30,7 @@ import com.epam.pipeline.external.datastorage.entity.item.DataStorageItemContent
 import com.epam.pipeline.external.datastorage.entity.item.DataStorageListing;
 import com.epam.pipeline.external.datastorage.entity.item.GenerateDownloadUrlVO;
 import com.epam.pipeline.external.datastorage.entity.item.UpdateDataStorageItemVO;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
@@ -38,6 +39,7 @@ import retrofit2.http.Header;
 import retrofit2.http.POST;
 import retrofit2.http.Path;
 import retrofit2.http.Query;
+import retrofit2.http.Streaming;
 
 public interface PipelineDataStorageClient {
 
@@ -106,6 +108,13 @@ public interface PipelineDataStorageClient {
                                                       @Query(VERSION) String version,
                                                       @Header(AUTHORIZATION) String token);
 
+    @Streaming
+    @GET("restapi/datastorage/{id}/download")
+    Call<ResponseBody> downloadStream(@Path(ID) long id,
+                                      @Query(PATH) String path,
+                                      @Query(VERSION) String version,
+                                      @Header(AUTHORIZATION) String token);
+
     @HTTP(method = "DELETE", path = "restapi/datastorage/{id}/list", hasBody = true)
     Call<Result<Integer>> deleteItems(@Path(ID) long id, @Query("totally") boolean totally,
                                       @Body List<UpdateDataStorageItemVO> items,
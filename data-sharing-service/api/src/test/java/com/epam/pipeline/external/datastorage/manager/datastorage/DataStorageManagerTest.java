@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.external.datastorage.manager.datastorage;
+
+import com.epam.pipeline.external.datastorage.controller.Result;
+import com.epam.pipeline.external.datastorage.entity.datastorage.DataStorage;
+import com.epam.pipeline.external.datastorage.entity.item.DataStorageStreamingContent;
+import com.epam.pipeline.external.datastorage.manager.auth.PipelineAuthManager;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Okio;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import retrofit2.Call;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DataStorageManagerTest {
+
+    private static final long STORAGE_ID = 1L;
+    private static final String PATH = "folder/file.bin";
+    private static final String TOKEN = "token";
+    private static final long CONTENT_LENGTH = 512L * 1024 * 1024;
+    private static final int READ_SIZE = 1024;
+
+    private final PipelineAuthManager authManager = mock(PipelineAuthManager.class);
+    private final PipelineDataStorageClient storageClient = mock(PipelineDataStorageClient.class);
+    private DataStorageManager manager;
+
+    @Before
+    public void setUp() {
+        when(authManager.getToken()).thenReturn(TOKEN);
+        manager = new DataStorageManager("http://localhost/", 1, 1, 30, 10, 300, 10, authManager);
+        ReflectionTestUtils.setField(manager, "storageClient", storageClient);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldStreamItemWithoutReadingWholeContent() throws IOException {
+        final GeneratedInputStream source = new GeneratedInputStream(CONTENT_LENGTH);
+        final Call<ResponseBody> call = mock(Call.class);
+        when(call.execute()).thenReturn(Response.success(ResponseBody.create(
+                MediaType.parse("application/octet-stream"), CONTENT_LENGTH,
+                Okio.buffer(Okio.source(source)))));
+        when(storageClient.downloadStream(anyLong(), anyString(), anyString(), anyString())).thenReturn(call);
+
+        final DataStorageStreamingContent content = manager.streamItem(STORAGE_ID, PATH, "version");
+
+        assertEquals(CONTENT_LENGTH, content.getContentLength());
+        assertEquals("attachment;filename=\"file.bin\"", content.getContentDisposition());
+        try (InputStream stream = content.getContent()) {
+            assertEquals(READ_SIZE, stream.read(new byte[READ_SIZE]));
+        }
+        assertTrue(source.getRead() < CONTENT_LENGTH / 1024);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldReuseLoadedStorage() throws IOException {
+        final DataStorage storage = new DataStorage();
+        final Call<Result<DataStorage>> call = mock(Call.class);
+        when(call.execute()).thenReturn(Response.success(Result.success(storage)));
+        when(storageClient.getStorage(anyLong(), anyString())).thenReturn(call);
+
+        assertSame(storage, manager.loadStorage(STORAGE_ID));
+        assertSame(storage, manager.loadStorage(STORAGE_ID));
+
+        verify(storageClient, times(1)).getStorage(anyLong(), anyString());
+    }
+
+    private static class GeneratedInputStream extends InputStream {
+
+        private final long length;
+        private final AtomicLong read = new AtomicLong();
+
+        GeneratedInputStream(final long length) {
+            this.length = length;
+        }
+
+        @Override
+        public int read() {
+            return read.get() < length ? (int) (read.getAndIncrement() % Byte.MAX_VALUE) : -1;
+        }
+
+        long getRead() {
+            return read.get();
+        }
+    }
+}
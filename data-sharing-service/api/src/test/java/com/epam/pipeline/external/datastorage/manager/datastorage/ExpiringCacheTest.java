@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.external.datastorage.manager.datastorage;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ExpiringCacheTest {
+
+    private static final long TTL = 100L;
+
+    private final AtomicLong clock = new AtomicLong(1000L);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    public void shouldReturnCachedValueUntilExpiration() {
+        final ExpiringCache<String, Integer> cache = new ExpiringCache<>(10, clock::get);
+
+        assertEquals(1, (int) cache.get("key", loads::incrementAndGet, value -> clock.get() + TTL));
+        clock.addAndGet(TTL - 1);
+        assertEquals(1, (int) cache.get("key", loads::incrementAndGet, value -> clock.get() + TTL));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void shouldReloadExpiredValue() {
+        final ExpiringCache<String, Integer> cache = new ExpiringCache<>(10, clock::get);
+
+        cache.get("key", loads::incrementAndGet, value -> clock.get() + TTL);
+        clock.addAndGet(TTL);
+
+        assertEquals(2, (int) cache.get("key", loads::incrementAndGet, value -> clock.get() + TTL));
+    }
+
+    @Test
+    public void shouldReloadInvalidatedValue() {
+        final ExpiringCache<String, Integer> cache = new ExpiringCache<>(10, clock::get);
+
+        cache.get("key", loads::incrementAndGet, value -> clock.get() + TTL);
+        cache.invalidate("key"::equals);
+
+        assertEquals(2, (int) cache.get("key", loads::incrementAndGet, value -> clock.get() + TTL));
+    }
+
+    @Test
+    public void shouldNotCacheFailedLoad() {
+        final ExpiringCache<String, Integer> cache = new ExpiringCache<>(10, clock::get);
+
+        try {
+            cache.get("key", () -> {
+                throw new IllegalStateException();
+            }, value -> clock.get() + TTL);
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        assertEquals(1, (int) cache.get("key", loads::incrementAndGet, value -> clock.get() + TTL));
+    }
+
+    @Test
+    public void shouldEvictOldestValuesWhenFull() {
+        final ExpiringCache<String, Integer> cache = new ExpiringCache<>(2, clock::get);
+
+        cache.get("first", () -> 1, value -> clock.get() + TTL);
+        cache.get("second", () -> 2, value -> clock.get() + TTL);
+        cache.get("third", () -> 3, value -> clock.get() + TTL);
+
+        assertEquals(2, (int) cache.get("second", loads::incrementAndGet, value -> clock.get() + TTL));
+        assertEquals(3, (int) cache.get("third", loads::incrementAndGet, value -> clock.get() + TTL));
+        assertEquals(0, loads.get());
+        assertEquals(1, (int) cache.get("first", loads::incrementAndGet, value -> clock.get() + TTL));
+    }
+
+    @Test
+    public void shouldEvictExpiredValuesBeforeOldestOnes() {
+        final ExpiringCache<String, Integer> cache = new ExpiringCache<>(2, clock::get);
+
+        cache.get("first", () -> 1, value -> clock.get() + TTL * 2);
+        cache.get("second", () -> 2, value -> clock.get() + TTL);
+        clock.addAndGet(TTL);
+        cache.get("third", () -> 3, value -> clock.get() + TTL);
+
+        assertEquals(1, (int) cache.get("first", loads::incrementAndGet, value -> clock.get() + TTL));
+        assertEquals(3, (int) cache.get("third", loads::incrementAndGet, value -> clock.get() + TTL));
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    public void shouldShareSingleLoadBetweenConcurrentRequests() throws Exception {
+        final ExpiringCache<String, Integer> cache = new ExpiringCache<>(10, clock::get);
+        final int requests = 8;
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(requests);
+        try {
+            final Future<Integer> first = executor.submit(() -> cache.get("key", () -> {
+                started.countDown();
+                await(release);
+                return loads.incrementAndGet();
+            }, value -> clock.get() + TTL));
+            assertTrue(started.await(1, TimeUnit.MINUTES));
+            final Future<?>[] others = new Future<?>[requests - 1];
+            for (int i = 0; i < others.length; i++) {
+                others[i] = executor.submit(() -> cache.get("key", loads::incrementAndGet,
+                    value -> clock.get() + TTL));
+            }
+            release.countDown();
+
+            assertEquals(1, (int) first.get(1, TimeUnit.MINUTES));
+            for (final Future<?> other : others) {
+                assertEquals(1, other.get(1, TimeUnit.MINUTES));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
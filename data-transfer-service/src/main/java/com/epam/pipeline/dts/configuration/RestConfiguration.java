@@ -17,6 +17,7 @@
 package com.epam.pipeline.dts.configuration;
 
 import com.epam.pipeline.dts.common.json.JsonMapper;
+import com.epam.pipeline.dts.common.rest.controller.CmdMetricsController;
 import com.epam.pipeline.dts.listing.configuration.ListingRestConfiguration;
 import com.epam.pipeline.dts.submission.configuration.SubmissionRestConfiguration;
 import com.epam.pipeline.dts.transfer.configuration.TransferRestConfiguration;
@@ -98,7 +99,8 @@ public class RestConfiguration implements WebMvcConfigurer {
         applicationContext.register(
                 ListingRestConfiguration.class,
                 TransferRestConfiguration.class,
-                SubmissionRestConfiguration.class);
+                SubmissionRestConfiguration.class,
+                CmdMetricsController.class);
         dispatcherServlet.setApplicationContext(applicationContext);
         return bean;
     }
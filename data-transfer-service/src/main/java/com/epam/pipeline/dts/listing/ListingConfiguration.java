@@ -21,6 +21,7 @@ import com.epam.pipeline.cmd.ImpersonatingCmdExecutor;
 import com.epam.pipeline.cmd.PlainCmdExecutor;
 import com.epam.pipeline.config.JsonMapper;
 import com.epam.pipeline.dts.listing.configuration.ListingRestConfiguration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringBootConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
@@ -39,7 +40,7 @@ public class ListingConfiguration {
     }
     
     @Bean
-    public CmdExecutor listingCmdExecutor() {
-        return new ImpersonatingCmdExecutor(new PlainCmdExecutor());
+    public CmdExecutor listingCmdExecutor(@Value("${dts.listing.output.limit:16777216}") final int outputLimit) {
+        return new ImpersonatingCmdExecutor(new PlainCmdExecutor(PlainCmdExecutor.NO_TIMEOUT, outputLimit));
     }
 }
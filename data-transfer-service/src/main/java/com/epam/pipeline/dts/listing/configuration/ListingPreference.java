@@ -26,4 +26,6 @@ import org.springframework.stereotype.Component;
 public class ListingPreference {
     private String listScript;
     private String listCommand;
+    private long snapshotTtl = 30000L;
+    private int snapshotCacheSize = 16;
 }
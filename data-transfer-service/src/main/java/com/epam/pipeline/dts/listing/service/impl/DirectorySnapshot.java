@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.listing.service.impl;
+
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Names of a single directory entries captured at the moment of the directory modification time.
+ *
+ * The first requested page is selected with a bounded heap without sorting all the names. The names are sorted
+ * once the snapshot is reused and the following pages are found with a binary search.
+ */
+class DirectorySnapshot {
+
+    private final FileTime modified;
+    private final long created;
+    private final String[] names;
+    private boolean sorted;
+    private boolean reused;
+
+    DirectorySnapshot(final FileTime modified, final long created, final List<String> names) {
+        this.modified = modified;
+        this.created = created;
+        this.names = names.toArray(new String[0]);
+    }
+
+    boolean isValid(final FileTime currentModified, final long now, final long ttl) {
+        return modified.equals(currentModified) && now - created < ttl;
+    }
+
+    /**
+     * Returns up to limit names following the given name in the natural order.
+     *
+     * @param after the last name of the previous page, if null names are returned from the beginning
+     */
+    synchronized List<String> next(final String after, final int limit) {
+        if (!reused && limit < names.length) {
+            reused = true;
+            return select(after, limit);
+        }
+        sort();
+        final int from = after == null ? 0 : nextIndex(after);
+        final int to = (int) Math.min(names.length, (long) from + limit);
+        return Collections.unmodifiableList(Arrays.asList(names).subList(from, to));
+    }
+
+    private List<String> select(final String after, final int limit) {
+        final PriorityQueue<String> heap = new PriorityQueue<>(limit + 1, Collections.reverseOrder());
+        for (final String name : names) {
+            if (after != null && name.compareTo(after) <= 0) {
+                continue;
+            }
+            if (heap.size() < limit) {
+                heap.add(name);
+            } else if (name.compareTo(heap.peek()) < 0) {
+                heap.poll();
+                heap.add(name);
+            }
+        }
+        final List<String> selected = new ArrayList<>(heap);
+        Collections.sort(selected);
+        return selected;
+    }
+
+    private void sort() {
+        if (!sorted) {
+            Arrays.sort(names);
+            sorted = true;
+        }
+    }
+
+    private int nextIndex(final String after) {
+        final int index = Arrays.binarySearch(names, after);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+}
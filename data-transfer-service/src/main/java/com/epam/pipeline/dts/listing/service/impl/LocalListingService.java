@@ -16,6 +16,7 @@
 
 package com.epam.pipeline.dts.listing.service.impl;
 
+import com.epam.pipeline.dts.listing.configuration.ListingPreference;
 import com.epam.pipeline.dts.listing.exception.ForbiddenException;
 import com.epam.pipeline.dts.listing.exception.NotFoundException;
 import com.epam.pipeline.dts.listing.model.ListingItemsPaging;
@@ -29,12 +30,27 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Map;
+import java.util.Optional;
 
+/**
+ * Lists local file system folders page by page.
+ *
+ * Page marker is an opaque token of the last returned name. Each page is selected from a folder snapshot which
+ * is read with a single {@link DirectoryStream} pass and is reused by the following pages until the folder
+ * modification time changes or the snapshot expires.
+ */
 @Service
 @ConditionalOnProperty(value = "dts.impersonation.enabled", havingValue = "false")
 public class LocalListingService implements ListingService {
@@ -42,33 +58,33 @@ public class LocalListingService implements ListingService {
     private static final int WRITE_PERMISSION = 1 << 1;
     private static final int EXECUTE_PERMISSION = 1 << 2;
     private static final int NO_PERMISSION = 0;
-    private static final int MAX_DEPTH = 1;
+
+    private final ListingPreference preference;
+    private final Map<Path, DirectorySnapshot> snapshots;
+
+    public LocalListingService(final ListingPreference preference) {
+        this.preference = preference;
+        this.snapshots = Collections.synchronizedMap(new LinkedHashMap<Path, DirectorySnapshot>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Path, DirectorySnapshot> eldest) {
+                return size() > preference.getSnapshotCacheSize();
+            }
+        });
+    }
 
     @Override
     public ListingItemsPaging list(ItemsListingRequestDTO request) {
         verifyPath(request.getPath());
         verifyPagingAttributes(request.getPageSize());
-        long offset = StringUtils.isNumeric(request.getMarker()) ? Long.parseLong(request.getMarker()) : 1;
-        Assert.isTrue(offset > 0, "Page marker must be greater than null");
-        try (Stream<Path> files = Files.walk(request.getPath(), MAX_DEPTH)) {
-            List<ListingItem> items = files
-                    .sorted()
-                    .filter(file -> doNotSkipFile(file, request.getPath()))
-                    .skip(offset - 1)
-                    .limit(normalizePageSize(request.getPageSize()))
-                    .map(file -> ListingItem.builder()
-                            .path(getRelativePath(file, request.getPath()))
-                            .type(determineListingItemType(file))
-                            .permission(buildPermissions(file))
-                            .name(file.getFileName().toString())
-                            .size(getSize(file))
-                            .changed(getLastModifiedTime(file))
-                            .build())
-                    .collect(Collectors.toList());
-            return ListingItemsPaging.builder()
-                    .results(items)
-                    .nextPageMarker(getNextPageMarker(offset, request.getPageSize(), request.getPath()))
-                    .build();
+        try {
+            if (!Files.isDirectory(request.getPath())) {
+                return ListingItemsPaging.builder()
+                        .results(Optional.ofNullable(getListingItem(request.getPath(), request.getPath()))
+                                .map(Collections::singletonList)
+                                .orElseGet(Collections::emptyList))
+                        .build();
+            }
+            return listDirectory(request.getPath(), decodeMarker(request.getMarker()), request.getPageSize());
         } catch (IOException e) {
             throw new IllegalArgumentException(
                     String.format("An error occurred during listing local file %s.", 
@@ -76,59 +92,104 @@ public class LocalListingService implements ListingService {
         }
     }
 
+    private ListingItemsPaging listDirectory(Path directory, String marker, Integer pageSize) throws IOException {
+        final int limit = pageSize == null ? Integer.MAX_VALUE : pageSize;
+        final int batchSize = pageSize == null ? Integer.MAX_VALUE : pageSize + 1;
+        final DirectorySnapshot snapshot = getSnapshot(directory);
+        final List<ListingItem> items = new ArrayList<>();
+        String cursor = marker;
+        String nextPageMarker = null;
+        while (nextPageMarker == null) {
+            final List<String> names = snapshot.next(cursor, batchSize);
+            for (final String name : names) {
+                final ListingItem item = getListingItem(directory.resolve(name), directory);
+                if (item == null) {
+                    continue;
+                }
+                if (items.size() == limit) {
+                    nextPageMarker = encodeMarker(items.get(items.size() - 1).getName());
+                    break;
+                }
+                items.add(item);
+            }
+            if (names.size() < batchSize) {
+                break;
+            }
+            cursor = names.get(names.size() - 1);
+        }
+        return ListingItemsPaging.builder()
+                .results(items)
+                .nextPageMarker(nextPageMarker)
+                .build();
+    }
+
+    private DirectorySnapshot getSnapshot(Path directory) throws IOException {
+        final Path key = directory.toAbsolutePath();
+        final FileTime modified = Files.getLastModifiedTime(directory);
+        final long now = System.currentTimeMillis();
+        final DirectorySnapshot cached = snapshots.get(key);
+        if (cached != null && cached.isValid(modified, now, preference.getSnapshotTtl())) {
+            return cached;
+        }
+        final List<String> names = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            entries.forEach(entry -> names.add(entry.getFileName().toString()));
+        }
+        final DirectorySnapshot snapshot = new DirectorySnapshot(modified, now, names);
+        snapshots.put(key, snapshot);
+        return snapshot;
+    }
+
     private void verifyPagingAttributes(Integer pageSize) {
         Assert.isTrue(pageSize == null || pageSize > 0,
                 String.format("Invalid paging attributes: page size - %s. Page size must be grater then zero,",
                         pageSize));
     }
 
-    private long normalizePageSize(Integer pageSize) {
-        return pageSize == null ? Long.MAX_VALUE : pageSize;
+    private String encodeMarker(String name) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(name.getBytes(StandardCharsets.UTF_8));
     }
 
-    private String getNextPageMarker(long offset, Integer pageSize, Path path) throws IOException {
-        if (pageSize == null) {
+    private String decodeMarker(String marker) {
+        if (StringUtils.isBlank(marker)) {
             return null;
         }
-        Long nextOffset = offset + pageSize;
-        try (Stream<Path> nextStream = Files.walk(path, MAX_DEPTH)) {
-            if (nextStream.skip(nextOffset).findFirst().isPresent()) {
-                return nextOffset.toString();
-            }
-        }
-        return null;
-    }
-
-    private String getRelativePath(Path path, Path rootPath) {
-        return Files.isDirectory(rootPath)
-                ? rootPath.relativize(path).toString()
-                : rootPath.getFileName().toString();
-    }
-
-    private Long getSize(Path path) {
         try {
-            return !Files.isDirectory(path) ? Files.size(path) : null;
-        } catch (IOException e) {
-            throw new IllegalArgumentException(String.format("Cannot get size for file %s.", path.toAbsolutePath()));
+            return new String(Base64.getUrlDecoder().decode(marker), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("Invalid page marker %s.", marker), e);
         }
     }
 
-    private String getLastModifiedTime(Path path) {
+    /**
+     * Builds listing item from the file attributes read at once.
+     *
+     * @return listing item or null if the file was removed or it is neither a regular file nor a folder
+     */
+    private ListingItem getListingItem(Path path, Path rootPath) {
+        final BasicFileAttributes attributes;
         try {
-            return !Files.isDirectory(path) ? Files.getLastModifiedTime(path).toString() : null;
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
         } catch (IOException e) {
-            throw new IllegalArgumentException(String.format("Cannot get last modified time for file %s.",
-                    path.toAbsolutePath()));
+            return null;
         }
+        if (!attributes.isRegularFile() && !attributes.isDirectory()) {
+            return null;
+        }
+        return ListingItem.builder()
+                .path(getRelativePath(path, rootPath))
+                .type(attributes.isDirectory() ? ListingItemType.Folder : ListingItemType.File)
+                .permission(buildPermissions(path))
+                .name(path.getFileName().toString())
+                .size(attributes.isDirectory() ? null : attributes.size())
+                .changed(attributes.isDirectory() ? null : attributes.lastModifiedTime().toString())
+                .build();
     }
 
-    private static boolean doNotSkipFile(Path path, Path rootPath) {
-        return Files.isRegularFile(path)
-                || Files.isDirectory(path) && !path.toAbsolutePath().equals(rootPath.toAbsolutePath());
-    }
-
-    private ListingItemType determineListingItemType(Path path) {
-        return Files.isDirectory(path) ? ListingItemType.Folder : ListingItemType.File;
+    private String getRelativePath(Path path, Path rootPath) {
+        return path.equals(rootPath)
+                ? rootPath.getFileName().toString()
+                : rootPath.relativize(path).toString();
     }
 
     private void verifyPath(Path path) {
@@ -21,6 +21,7 @@ import com.epam.pipeline.cmd.PlainCmdExecutor;
 import com.epam.pipeline.dts.configuration.CommonConfiguration;
 import com.epam.pipeline.dts.security.JWTSecurityConfiguration;
 import com.epam.pipeline.dts.submission.configuration.SubmissionRestConfiguration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringBootConfiguration;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.Bean;
@@ -49,8 +50,9 @@ import org.thymeleaf.templateresolver.ITemplateResolver;
 public class SubmissionConfiguration {
 
     @Bean
-    public CmdExecutor submissionCmdExecutor() {
-        return new PlainCmdExecutor();
+    public CmdExecutor submissionCmdExecutor(
+            @Value("${dts.submission.command.timeout:300000}") final long commandTimeout) {
+        return new PlainCmdExecutor(commandTimeout);
     }
 
     @Bean
@@ -33,6 +33,18 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Polls states of active submissions. SGE jobs are described by a single qstat invocation per poll cycle.
+ * A submission which job has disappeared from SGE without reporting an exit code through the done token
+ * within two consecutive poll cycles is considered failed.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -42,36 +54,54 @@ public class SubmissionMonitorImpl implements SubmissionMonitor {
     private final SubmissionScheduler submissionScheduler;
     private final CloudPipelineService pipelineService;
     private final SGEService sgeService;
+    private final Set<String> missingJobs = ConcurrentHashMap.newKeySet();
 
     @Override
     @Scheduled(fixedDelayString = "${dts.submission.statusPoll:60000}")
     public void checkSubmissions() {
         log.debug("Starting submissions status check");
-        submissionService
-                .loadActive()
-                .forEach(this::checkSubmissionState);
+        final Collection<Submission> submissions = submissionService.loadActive();
+        if (!submissions.isEmpty()) {
+            final Optional<Map<String, SGEJob>> jobs = loadJobs();
+            submissions.forEach(submission -> checkSubmissionState(submission, jobs));
+            missingJobs.retainAll(submissions.stream()
+                    .map(Submission::getJobId)
+                    .collect(Collectors.toSet()));
+        }
         log.debug("Finished submissions status check");
     }
 
+    private Optional<Map<String, SGEJob>> loadJobs() {
+        try {
+            final Map<String, SGEJob> jobs = sgeService.getJobsInfo();
+            log.debug("Retrieved {} SGE job(s)", jobs.size());
+            return Optional.of(jobs);
+        } catch (SGECmdException e) {
+            log.error("An error occurred during reading jobs info: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
     @SuppressWarnings("PMD.AvoidCatchingGenericException")
-    private void checkSubmissionState(final Submission submission) {
+    private void checkSubmissionState(final Submission submission, final Optional<Map<String, SGEJob>> jobs) {
         final Long submissionId = submission.getId();
         try {
-            getAndUpdateState(submission, submissionId);
+            getAndUpdateState(submission, submissionId, jobs);
         } catch (Exception e) {
             log.error("An error occurred during submission {} status check: {}",
                      submissionId, e.getMessage());
         }
     }
 
-    private void getAndUpdateState(final Submission submission, final Long submissionId) {
+    private void getAndUpdateState(final Submission submission, final Long submissionId,
+                                   final Optional<Map<String, SGEJob>> jobs) {
         try {
             final SubmissionState state = submissionScheduler.getState(submissionId);
             log.debug("Submission {} in state {}", submissionId, state);
             if (state.isFinal()) {
                 completeSubmission(submission, state);
-            } else if (StringUtils.isBlank(submission.getSubmissionHost())) {
-                checkSubmissionHost(submission);
+            } else {
+                jobs.ifPresent(sgeJobs -> checkSubmissionJob(submission, sgeJobs));
             }
         } catch (SubmissionException e) {
             log.error("Failed to get submission {} state: {}", submissionId, e.getMessage());
@@ -82,24 +112,40 @@ public class SubmissionMonitorImpl implements SubmissionMonitor {
         }
     }
 
-    private void checkSubmissionHost(final Submission submission) {
-        log.debug("Checking if submission {} is scheduled to some host", submission.getId());
-        if (StringUtils.isBlank(submission.getJobId())) {
+    private void checkSubmissionJob(final Submission submission, final Map<String, SGEJob> jobs) {
+        final String jobId = submission.getJobId();
+        if (StringUtils.isBlank(jobId)) {
             log.error("SGE job id is missing for submission {}. Cannot get execution host.",
                     submission.getId());
             return;
         }
-        try {
-            SGEJob jobInfo = sgeService.getJobInfo(submission.getJobId());
-            if (StringUtils.isNotBlank(jobInfo.getHost())) {
-                log.debug("Retrieved hostname {} for submission {}", jobInfo.getHost(), submission.getId());
-                submission.setSubmissionHost(jobInfo.getHost());
-                submissionService.update(submission);
-                pipelineService.updateRunInstance(submission);
-            }
-        } catch (SGECmdException e) {
-            log.error("An error occurred during reading job info: {}", e.getMessage());
+        final SGEJob jobInfo = jobs.get(jobId);
+        if (jobInfo == null) {
+            checkMissingJob(submission, jobId);
+            return;
+        }
+        missingJobs.remove(jobId);
+        log.debug("SGE job {} of submission {} in state {}", jobId, submission.getId(), jobInfo.getState());
+        if (StringUtils.isBlank(submission.getSubmissionHost()) && StringUtils.isNotBlank(jobInfo.getHost())) {
+            log.debug("Retrieved hostname {} for submission {}", jobInfo.getHost(), submission.getId());
+            submission.setSubmissionHost(jobInfo.getHost());
+            submissionService.update(submission);
+            pipelineService.updateRunInstance(submission);
+        }
+    }
+
+    private void checkMissingJob(final Submission submission, final String jobId) {
+        if (missingJobs.add(jobId)) {
+            log.debug("SGE job {} of submission {} is not found, it will be checked again",
+                    jobId, submission.getId());
+            return;
         }
+        missingJobs.remove(jobId);
+        log.error("SGE job {} of submission {} is not found and no exit code was reported", jobId, submission.getId());
+        completeSubmission(submission, SubmissionState.builder()
+                .status(SubmissionStatus.FAILURE)
+                .reason(String.format("SGE job %s has finished without reporting an exit code", jobId))
+                .build());
     }
 
     private void completeSubmission(final Submission submission, final SubmissionState state) {
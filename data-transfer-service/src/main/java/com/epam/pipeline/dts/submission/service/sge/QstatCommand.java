@@ -19,7 +19,15 @@ package com.epam.pipeline.dts.submission.service.sge;
 import com.epam.pipeline.dts.submission.exception.SGECmdException;
 import com.epam.pipeline.dts.submission.model.execution.SGEJob;
 
+import java.util.Map;
+
 public interface QstatCommand {
 
     SGEJob describeSGEJob(String jobId) throws SGECmdException;
+
+    /**
+     * Describes all jobs known by SGE with a single qstat invocation
+     * @return SGE jobs by job id
+     */
+    Map<String, SGEJob> describeSGEJobs() throws SGECmdException;
 }
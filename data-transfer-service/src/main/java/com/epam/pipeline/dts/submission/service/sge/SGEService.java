@@ -20,9 +20,12 @@ import com.epam.pipeline.dts.submission.exception.SGECmdException;
 import com.epam.pipeline.dts.submission.model.cluster.QHosts;
 import com.epam.pipeline.dts.submission.model.execution.SGEJob;
 
+import java.util.Map;
+
 public interface SGEService {
 
     QHosts getHosts() throws SGECmdException;
     SGEJob getJobInfo(String jobId) throws SGECmdException;
+    Map<String, SGEJob> getJobsInfo() throws SGECmdException;
     void stopJob(String jobId) throws SGECmdException;
 }
@@ -28,21 +28,40 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
 
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
 
 @Component
 @Slf4j
 public class QstatSGECommand implements QstatCommand {
 
     private static final String HOST_NODE = "JG_qhostname";
+    private static final String JOB_NODE = "job_list";
+    private static final String JOB_ID_NODE = "JB_job_number";
+    private static final String JOB_STATE_NODE = "state";
+    private static final String JOB_QUEUE_NODE = "queue_name";
+    private static final String QUEUE_HOST_DELIMITER = "@";
     private final String qstatCmd;
+    private final String qstatAllCmd;
     private final CmdExecutor cmdExecutor;
 
     public QstatSGECommand(final CmdExecutor submissionCmdExecutor,
-                           final @Value("${dts.submission.qstat.cmd}") String qstatCmd) {
+                           final @Value("${dts.submission.qstat.cmd}") String qstatCmd,
+                           final @Value("${dts.submission.qstat.all.cmd:qstat -u '*' -xml}") String qstatAllCmd) {
         this.cmdExecutor = submissionCmdExecutor;
         this.qstatCmd = qstatCmd;
+        this.qstatAllCmd = qstatAllCmd;
     }
 
     @Override
@@ -53,6 +72,54 @@ public class QstatSGECommand implements QstatCommand {
         return readJobInfo(rawOutput, jobId);
     }
 
+    @Override
+    public Map<String, SGEJob> describeSGEJobs() throws SGECmdException {
+        final String rawOutput = CmdUtils.getCmdXmlOutput(qstatAllCmd, "qstat", cmdExecutor);
+        if (StringUtils.isBlank(rawOutput)) {
+            throw new SGECmdException("qstat returned no output for jobs listing, an XML document was expected");
+        }
+        try {
+            return readJobsInfo(rawOutput);
+        } catch (ParserConfigurationException | SAXException | IOException e) {
+            log.error("An error occurred during qstat output reading: {}", e.getMessage());
+            throw new SGECmdException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parses output of the jobs listing qstat command, e.g. qstat -u '*' -xml, where both running
+     * and pending jobs are described by job_list elements. Execution host is taken from the queue instance name,
+     * e.g. main.q@host.
+     */
+    private Map<String, SGEJob> readJobsInfo(final String rawOutput)
+            throws ParserConfigurationException, SAXException, IOException {
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        final Document document = factory.newDocumentBuilder().parse(new InputSource(new StringReader(rawOutput)));
+        final NodeList jobNodes = document.getElementsByTagName(JOB_NODE);
+        final Map<String, SGEJob> jobs = new HashMap<>();
+        for (int i = 0; i < jobNodes.getLength(); i++) {
+            final Element jobNode = (Element) jobNodes.item(i);
+            final String jobId = getChildText(jobNode, JOB_ID_NODE);
+            if (StringUtils.isNotBlank(jobId)) {
+                final String queue = getChildText(jobNode, JOB_QUEUE_NODE);
+                jobs.put(jobId, SGEJob.builder()
+                        .jobId(jobId)
+                        .state(getChildText(jobNode, JOB_STATE_NODE))
+                        .host(StringUtils.defaultIfBlank(
+                                StringUtils.substringAfter(queue, QUEUE_HOST_DELIMITER), null))
+                        .build());
+            }
+        }
+        return jobs;
+    }
+
+    private String getChildText(final Element element, final String childName) {
+        final NodeList children = element.getElementsByTagName(childName);
+        return children.getLength() == 0 ? null : StringUtils.trimToNull(children.item(0).getTextContent());
+    }
+
     private SGEJob readJobInfo(final String rawOutput, final String jobId) {
         SGEJob.SGEJobBuilder builder = SGEJob.builder().jobId(jobId);
         if (StringUtils.isBlank(rawOutput)) {
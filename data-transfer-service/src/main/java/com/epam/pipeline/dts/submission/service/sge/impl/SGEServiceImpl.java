@@ -30,6 +30,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -61,6 +62,11 @@ public class SGEServiceImpl implements SGEService {
         return qstatCommand.describeSGEJob(jobId);
     }
 
+    @Override
+    public Map<String, SGEJob> getJobsInfo() throws SGECmdException {
+        return qstatCommand.describeSGEJobs();
+    }
+
     @Override
     public void stopJob(final String jobId) throws SGECmdException {
         qdelCommand.stopSGEJob(jobId);
@@ -26,11 +26,14 @@ import com.epam.pipeline.dts.transfer.service.impl.AzureDataUploader;
 import com.epam.pipeline.dts.transfer.service.impl.CmdExecutorsProviderImpl;
 import com.epam.pipeline.dts.transfer.service.impl.DataUploaderProviderImpl;
 import com.epam.pipeline.dts.transfer.service.impl.GSDataUploader;
+import com.epam.pipeline.dts.transfer.service.impl.GSJavaClientDataUploader;
+import com.epam.pipeline.dts.transfer.service.impl.GoogleStorageClient;
 import com.epam.pipeline.dts.transfer.service.impl.PipelineCliProviderImpl;
 import com.epam.pipeline.dts.transfer.service.impl.S3DataUploader;
 import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
@@ -76,8 +79,9 @@ public class TransferConfiguration {
     }
 
     @Bean
-    public CmdExecutorsProvider cmdExecutorsProvider() {
-        return new CmdExecutorsProviderImpl();
+    public CmdExecutorsProvider cmdExecutorsProvider(
+            @Value("${dts.transfer.output.limit:16777216}") final int outputLimit) {
+        return new CmdExecutorsProviderImpl(outputLimit);
     }
 
     @Bean
@@ -91,7 +95,14 @@ public class TransferConfiguration {
     }
     
     @Bean
+    @ConditionalOnProperty(value = "dts.transfer.gs.java.client", havingValue = "false", matchIfMissing = true)
     public DataUploader gsDataUploader(final PipelineCliProvider pipelineCliProvider) {
         return new GSDataUploader(pipelineCliProvider);
     }
+
+    @Bean
+    @ConditionalOnProperty(value = "dts.transfer.gs.java.client", havingValue = "true")
+    public DataUploader gsJavaClientDataUploader(final GoogleStorageClient googleStorageClient) {
+        return new GSJavaClientDataUploader(googleStorageClient);
+    }
 }
@@ -16,7 +16,7 @@
 
 package com.epam.pipeline.dts.transfer.event;
 
-import com.epam.pipeline.dts.transfer.service.TransferService;
+import com.epam.pipeline.dts.transfer.service.TransferTaskQueue;
 import lombok.AllArgsConstructor;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.event.EventListener;
@@ -25,10 +25,11 @@ import org.springframework.stereotype.Component;
 @Component
 @AllArgsConstructor
 public class StartupApplicationListener {
-    private TransferService transferService;
+    private TransferTaskQueue transferTaskQueue;
 
     @EventListener
     public void onApplicationEvent(ContextRefreshedEvent event) {
-        transferService.failRunningTasks();
+        transferTaskQueue.requeueInterruptedTasks();
+        transferTaskQueue.dispatch();
     }
 }
@@ -22,7 +22,6 @@ import lombok.NoArgsConstructor;
 
 import javax.persistence.Column;
 import javax.persistence.Embeddable;
-import javax.persistence.Transient;
 
 @Data
 @Embeddable
@@ -33,7 +32,11 @@ public class StorageItem {
     private StorageType type;
     @Column(length = Integer.MAX_VALUE)
     private String path;
-    @Transient
+    /**
+     * Credentials are kept encrypted with {@link com.epam.pipeline.dts.transfer.service.CredentialsCipher}
+     * until the task is finished, so the queued task can be resumed after a restart.
+     */
+    @Column(length = Integer.MAX_VALUE)
     private String credentials;
 
 }
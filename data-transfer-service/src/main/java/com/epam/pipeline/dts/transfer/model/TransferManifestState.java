@@ -0,0 +1,33 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.model;
+
+/**
+ * Describes what has been completed for a {@link TransferManifestEntry}.
+ */
+public enum TransferManifestState {
+
+    /**
+     * A single file has been transferred by a storage client, the entry has the transferred file size.
+     */
+    FILE_TRANSFERRED,
+
+    /**
+     * An included path of a task has been transferred completely.
+     */
+    INCLUDED_TRANSFERRED
+}
@@ -57,14 +57,18 @@ public class TransferTask {
     @Embedded
     @AttributeOverrides({
         @AttributeOverride(name="type", column=@Column(name = "source_type")),
-        @AttributeOverride(name="path", column=@Column(name = "source_path", length = Integer.MAX_VALUE))
+        @AttributeOverride(name="path", column=@Column(name = "source_path", length = Integer.MAX_VALUE)),
+        @AttributeOverride(name="credentials",
+            column=@Column(name = "source_credentials", length = Integer.MAX_VALUE))
         })
     @NotNull
     private StorageItem source;
     @Embedded
     @AttributeOverrides({
             @AttributeOverride(name="type", column=@Column(name = "destination_type")),
-            @AttributeOverride(name="path", column=@Column(name = "destination_path", length = Integer.MAX_VALUE))
+            @AttributeOverride(name="path", column=@Column(name = "destination_path", length = Integer.MAX_VALUE)),
+            @AttributeOverride(name="credentials",
+                column=@Column(name = "destination_credentials", length = Integer.MAX_VALUE))
         })
     @NotNull
     private StorageItem destination;
@@ -72,4 +76,7 @@ public class TransferTask {
     @ElementCollection
     private List<String> included;
     private String user;
+    private Integer priority;
+    private String leaseOwner;
+    private LocalDateTime leaseExpires;
 }
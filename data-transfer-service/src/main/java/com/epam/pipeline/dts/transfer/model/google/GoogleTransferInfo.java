@@ -33,4 +33,5 @@ public class GoogleTransferInfo {
     private GoogleCredentials credentials;
     private String bucketName;
     private String key;
+    private Long taskId;
 }
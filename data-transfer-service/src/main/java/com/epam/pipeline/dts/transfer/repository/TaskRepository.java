@@ -18,11 +18,77 @@ package com.epam.pipeline.dts.transfer.repository;
 
 import com.epam.pipeline.dts.transfer.model.TaskStatus;
 import com.epam.pipeline.dts.transfer.model.TransferTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface TaskRepository extends PagingAndSortingRepository<TransferTask, Long> {
 
     List<TransferTask> findAllByStatus(TaskStatus status);
+
+    /**
+     * Loads queued tasks and running tasks with expired leases, the highest priority and the oldest tasks first.
+     * Tasks created before priorities were introduced have no priority and are treated as the default priority 0.
+     */
+    @Query("select t from TransferTask t "
+            + "where t.status = com.epam.pipeline.dts.transfer.model.TaskStatus.CREATED "
+            + "or (t.status = com.epam.pipeline.dts.transfer.model.TaskStatus.RUNNING and t.leaseExpires < :now) "
+            + "order by coalesce(t.priority, 0) desc, t.created asc")
+    List<TransferTask> findClaimable(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Takes a lease on a task if it is still queued or its previous lease has expired.
+     *
+     * @return 1 if the lease has been taken, 0 if the task has been claimed by someone else
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("update TransferTask t "
+            + "set t.status = com.epam.pipeline.dts.transfer.model.TaskStatus.RUNNING, "
+            + "t.leaseOwner = :owner, t.leaseExpires = :expires, t.started = :now "
+            + "where t.id = :id "
+            + "and (t.status = com.epam.pipeline.dts.transfer.model.TaskStatus.CREATED "
+            + "or (t.status = com.epam.pipeline.dts.transfer.model.TaskStatus.RUNNING and t.leaseExpires < :now))")
+    int claim(@Param("id") Long id, @Param("owner") String owner,
+              @Param("now") LocalDateTime now, @Param("expires") LocalDateTime expires);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("update TransferTask t set t.leaseExpires = :expires "
+            + "where t.id in :ids and t.leaseOwner = :owner "
+            + "and t.status = com.epam.pipeline.dts.transfer.model.TaskStatus.RUNNING")
+    int renewLeases(@Param("ids") Collection<Long> ids, @Param("owner") String owner,
+                    @Param("expires") LocalDateTime expires);
+
+    /**
+     * Returns running tasks of the given owner, tasks without lease and tasks with expired leases back to queue.
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("update TransferTask t "
+            + "set t.status = com.epam.pipeline.dts.transfer.model.TaskStatus.CREATED, "
+            + "t.leaseOwner = null, t.leaseExpires = null, t.reason = :reason "
+            + "where t.status = com.epam.pipeline.dts.transfer.model.TaskStatus.RUNNING "
+            + "and (t.leaseOwner = :owner or t.leaseOwner is null or t.leaseExpires < :now)")
+    int requeue(@Param("owner") String owner, @Param("now") LocalDateTime now, @Param("reason") String reason);
+
+    /**
+     * Returns a running task back to queue.
+     *
+     * @return 1 if the task has been queued again, 0 if the task is not running
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("update TransferTask t "
+            + "set t.status = com.epam.pipeline.dts.transfer.model.TaskStatus.CREATED, "
+            + "t.leaseOwner = null, t.leaseExpires = null, t.reason = :reason "
+            + "where t.id = :id and t.status = com.epam.pipeline.dts.transfer.model.TaskStatus.RUNNING")
+    int requeueTask(@Param("id") Long id, @Param("reason") String reason);
 }
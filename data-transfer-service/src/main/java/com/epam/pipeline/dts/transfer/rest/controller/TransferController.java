@@ -70,7 +70,8 @@ public class TransferController extends AbstractRestController {
         TransferTask task = transferService.runTransferTask(
                 storageItemMapper.dtoToModel(taskCreationDTO.getSource()),
                 storageItemMapper.dtoToModel(taskCreationDTO.getDestination()),
-                taskCreationDTO.getIncluded());
+                taskCreationDTO.getIncluded(),
+                taskCreationDTO.getPriority());
         return Result.success(taskMapper.modelToDto(task));
     }
 
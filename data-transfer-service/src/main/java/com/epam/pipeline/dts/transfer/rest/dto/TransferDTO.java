@@ -37,5 +37,6 @@ public class TransferDTO {
     private LocalDateTime finished;
     private List<String> included;
     private String user;
+    private Integer priority;
 
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.service;
+
+/**
+ * Protects storage credentials of transfer tasks, which are kept in the database until the tasks are finished.
+ */
+public interface CredentialsCipher {
+
+    /**
+     * @return encrypted credentials or null if no credentials are specified
+     */
+    String encrypt(String credentials);
+
+    /**
+     * @return decrypted credentials or null if no credentials are specified
+     * @throws IllegalStateException if credentials cannot be decrypted with the current key
+     */
+    String decrypt(String encrypted);
+}
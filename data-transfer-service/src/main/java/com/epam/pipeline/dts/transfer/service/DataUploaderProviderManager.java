@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2019 EPAM Systems, Inc. (https://www.epam.com/)
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,32 +16,131 @@
 
 package com.epam.pipeline.dts.transfer.service;
 
+import com.epam.pipeline.dts.transfer.model.StorageItem;
 import com.epam.pipeline.dts.transfer.model.TaskStatus;
+import com.epam.pipeline.dts.transfer.model.TransferManifestEntry;
+import com.epam.pipeline.dts.transfer.model.TransferManifestState;
 import com.epam.pipeline.dts.transfer.model.TransferTask;
-import lombok.RequiredArgsConstructor;
+import com.epam.pipeline.dts.transfer.repository.TransferManifestRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class DataUploaderProviderManager {
 
+    private static final String INTERRUPTED_REASON = "Task has been interrupted by the service shutdown "
+            + "and queued again.";
+
     private final DataUploaderProvider dataUploaderProvider;
     private final TaskService taskService;
+    private final TransferManifestRepository manifestRepository;
+    private final CredentialsCipher credentialsCipher;
+    private final int includedBatchSize;
 
-    @Async("taskExecutor")
+    public DataUploaderProviderManager(final DataUploaderProvider dataUploaderProvider,
+                                       final TaskService taskService,
+                                       final TransferManifestRepository manifestRepository,
+                                       final CredentialsCipher credentialsCipher,
+                                       @Value("${dts.transfer.included.batch.size:100}")
+                                       final int includedBatchSize) {
+        this.dataUploaderProvider = dataUploaderProvider;
+        this.taskService = taskService;
+        this.manifestRepository = manifestRepository;
+        this.credentialsCipher = credentialsCipher;
+        this.includedBatchSize = includedBatchSize;
+    }
+
+    /**
+     * Transfers data of a task which credentials are encrypted with {@link CredentialsCipher}.
+     *
+     * If the transfer is interrupted, e.g. by the service shutdown, the task is queued again instead of being failed.
+     */
     @SuppressWarnings("PMD.AvoidCatchingGenericException")
     public void transferData(TransferTask transferTask) {
         try {
-            dataUploaderProvider.getStorageUploader(transferTask).transfer(transferTask);
+            final TransferTask decryptedTask = withDecryptedCredentials(transferTask);
+            final DataUploader dataUploader = dataUploaderProvider.getStorageUploader(decryptedTask);
+            if (CollectionUtils.isEmpty(decryptedTask.getIncluded())) {
+                dataUploader.transfer(decryptedTask);
+            } else {
+                transferIncluded(dataUploader, decryptedTask);
+            }
             log.info(String.format("File has been successfully transferred from %s to %s.",
                 transferTask.getSource().getPath(), transferTask.getDestination().getPath()));
             taskService.updateStatus(transferTask.getId(), TaskStatus.SUCCESS);
+            manifestRepository.deleteByTaskId(transferTask.getId());
         } catch (Exception e) {
+            if (isInterrupted(e)) {
+                requeue(transferTask);
+                return;
+            }
             taskService.updateStatus(transferTask.getId(), TaskStatus.FAILURE, e.getMessage());
             log.error(String.format("Transfer data went bad due to: %s", e.getMessage()), e);
         }
     }
+
+    /**
+     * Transfers included files in batches and records each transferred batch to the task manifest,
+     * so a resumed task skips files which have been already transferred.
+     */
+    private void transferIncluded(final DataUploader dataUploader, final TransferTask transferTask) {
+        final Set<String> transferred = manifestRepository.findAllByTaskId(transferTask.getId()).stream()
+            .filter(entry -> entry.getState() == TransferManifestState.INCLUDED_TRANSFERRED)
+            .map(TransferManifestEntry::getPath)
+            .collect(Collectors.toSet());
+        final List<String> pending = transferTask.getIncluded().stream()
+            .filter(included -> !transferred.contains(included))
+            .collect(Collectors.toList());
+        if (!transferred.isEmpty()) {
+            log.info(String.format("Skipping %d already transferred included path(s) of task %d.",
+                transferTask.getIncluded().size() - pending.size(), transferTask.getId()));
+        }
+        for (final List<String> batch : ListUtils.partition(pending, Math.max(1, includedBatchSize))) {
+            dataUploader.transfer(transferTask.withIncluded(batch));
+            manifestRepository.saveAll(batch.stream()
+                .map(included -> new TransferManifestEntry(null, transferTask.getId(), included, null,
+                    TransferManifestState.INCLUDED_TRANSFERRED))
+                .collect(Collectors.toList()));
+        }
+    }
+
+    private TransferTask withDecryptedCredentials(final TransferTask transferTask) {
+        return transferTask
+            .withSource(withDecryptedCredentials(transferTask.getSource()))
+            .withDestination(withDecryptedCredentials(transferTask.getDestination()));
+    }
+
+    private StorageItem withDecryptedCredentials(final StorageItem item) {
+        return new StorageItem(item.getType(), item.getPath(), credentialsCipher.decrypt(item.getCredentials()));
+    }
+
+    /**
+     * Queues an interrupted task again. The interrupted flag is cleared for the time of the database update,
+     * otherwise the update may fail, and is restored afterwards.
+     */
+    private void requeue(final TransferTask transferTask) {
+        final boolean interrupted = Thread.interrupted();
+        try {
+            log.warn(String.format("Task %d has been interrupted, it will be queued again.", transferTask.getId()));
+            taskService.requeueTask(transferTask.getId(), INTERRUPTED_REASON);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private boolean isInterrupted(final Exception e) {
+        return Thread.currentThread().isInterrupted()
+            || ExceptionUtils.indexOfThrowable(e, InterruptedException.class) >= 0;
+    }
 }
@@ -33,10 +33,21 @@ public interface TaskService {
         return createTask(source, destination, included, null);
     }
 
-    TransferTask createTask(StorageItem source, StorageItem destination, List<String> included, String user);
+    default TransferTask createTask(StorageItem source, StorageItem destination, List<String> included, String user) {
+        return createTask(source, destination, included, user, null);
+    }
+
+    TransferTask createTask(StorageItem source, StorageItem destination, List<String> included, String user,
+                            Integer priority);
     TransferTask updateStatus(Long id, TaskStatus status);
     TransferTask updateStatus(Long id, TaskStatus status, String reason);
     TransferTask updateTask(TransferTask transferTask);
+
+    /**
+     * Returns a running task back to the queue, so it is started again later.
+     */
+    void requeueTask(Long id, String reason);
+
     void deleteTask(Long id);
     TransferTask loadTask(Long id);
     List<TransferTask> loadRunningTasks();
@@ -24,9 +24,19 @@ import java.util.List;
 
 public interface TransferService {
 
+    default TransferTask runTransferTask(@NonNull StorageItem source,
+                                         @NonNull StorageItem destination,
+                                         List<String> included) {
+        return runTransferTask(source, destination, included, null);
+    }
+
+    /**
+     * Creates a new transfer task and puts it to the queue.
+     *
+     * @param priority tasks with greater priority are started first, default is 0
+     */
     TransferTask runTransferTask(@NonNull StorageItem source,
                                  @NonNull StorageItem destination,
-                                 List<String> included);
-    
-    void failRunningTasks();
+                                 List<String> included,
+                                 Integer priority);
 }
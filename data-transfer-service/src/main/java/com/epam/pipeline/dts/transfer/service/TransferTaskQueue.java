@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.service;
+
+/**
+ * Persistent queue of transfer tasks.
+ *
+ * Queued tasks are stored in the database with {@link com.epam.pipeline.dts.transfer.model.TaskStatus#CREATED}
+ * status and are claimed with renewable leases, so tasks interrupted by a service restart are resumed.
+ */
+public interface TransferTaskQueue {
+
+    /**
+     * Returns tasks which were in flight before the service restart back to the queue.
+     */
+    void requeueInterruptedTasks();
+
+    /**
+     * Renews leases of running tasks and starts queued tasks within the configured concurrency limits.
+     */
+    void dispatch();
+}
@@ -23,12 +23,18 @@ import com.epam.pipeline.cmd.QsubCmdExecutor;
 import com.epam.pipeline.cmd.ImpersonatingCmdExecutor;
 import com.epam.pipeline.dts.transfer.service.CmdExecutorsProvider;
 
+import lombok.RequiredArgsConstructor;
+
 import java.util.Map;
 
+@RequiredArgsConstructor
 public class CmdExecutorsProviderImpl implements CmdExecutorsProvider {
+
+    private final int outputLimit;
+
     @Override
     public CmdExecutor getCmdExecutor() {
-        return new PlainCmdExecutor();
+        return new PlainCmdExecutor(PlainCmdExecutor.NO_TIMEOUT, outputLimit);
     }
 
     @Override
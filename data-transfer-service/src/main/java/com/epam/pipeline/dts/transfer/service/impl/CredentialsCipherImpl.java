@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.service.impl;
+
+import com.epam.pipeline.dts.transfer.service.CredentialsCipher;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Encrypts credentials with AES-GCM using the key from dts.transfer.credentials.key.
+ *
+ * If no key is configured, the key is read from dts.transfer.credentials.key.file. A random key is generated
+ * and stored to the file on the first startup, so credentials of queued tasks can be decrypted after a restart.
+ */
+@Service
+@Slf4j
+public class CredentialsCipherImpl implements CredentialsCipher {
+
+    private static final String ALGORITHM = "AES";
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int KEY_SIZE = 256;
+    private static final int IV_SIZE = 12;
+    private static final int TAG_SIZE = 128;
+
+    private final SecretKey key;
+    private final SecureRandom random = new SecureRandom();
+
+    public CredentialsCipherImpl(@Value("${dts.transfer.credentials.key:}") final String key,
+                                 @Value("${dts.transfer.credentials.key.file:}") final String keyFile) {
+        this.key = StringUtils.isBlank(key) ? loadOrGenerateKey(keyFile) : toKey(key);
+    }
+
+    @Override
+    public String encrypt(final String credentials) {
+        if (credentials == null) {
+            return null;
+        }
+        try {
+            final byte[] iv = new byte[IV_SIZE];
+            random.nextBytes(iv);
+            final Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_SIZE, iv));
+            final byte[] encrypted = cipher.doFinal(credentials.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + encrypted.length)
+                    .put(iv)
+                    .put(encrypted)
+                    .array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to encrypt task credentials.", e);
+        }
+    }
+
+    @Override
+    public String decrypt(final String encrypted) {
+        if (encrypted == null) {
+            return null;
+        }
+        try {
+            final byte[] data = Base64.getDecoder().decode(encrypted);
+            final Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_SIZE, data, 0, IV_SIZE));
+            return new String(cipher.doFinal(data, IV_SIZE, data.length - IV_SIZE), StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Task credentials cannot be decrypted, probably the transfer "
+                    + "credentials key has been changed. The task shall be submitted again.", e);
+        }
+    }
+
+    private SecretKey loadOrGenerateKey(final String keyFile) {
+        if (StringUtils.isBlank(keyFile)) {
+            throw new IllegalStateException("Neither dts.transfer.credentials.key nor "
+                    + "dts.transfer.credentials.key.file is specified, credentials of queued tasks "
+                    + "cannot be stored.");
+        }
+        final Path path = Paths.get(keyFile);
+        try {
+            if (Files.exists(path)) {
+                return toKey(new String(Files.readAllBytes(path), StandardCharsets.UTF_8).trim());
+            }
+            log.info("Generating transfer credentials key at {}.", path.toAbsolutePath());
+            final SecretKey generated = generateKey();
+            final Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.write(path, Base64.getEncoder().encode(generated.getEncoded()), StandardOpenOption.CREATE_NEW);
+            restrictPermissions(path);
+            return generated;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException(String.format("Transfer credentials key cannot be loaded from %s.",
+                    path.toAbsolutePath()), e);
+        }
+    }
+
+    private void restrictPermissions(final Path path) throws IOException {
+        if (Files.getFileStore(path).supportsFileAttributeView(PosixFileAttributeView.class)) {
+            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rw-------"));
+        }
+    }
+
+    private SecretKey toKey(final String key) {
+        return new SecretKeySpec(Base64.getDecoder().decode(key), ALGORITHM);
+    }
+
+    private SecretKey generateKey() {
+        try {
+            final KeyGenerator generator = KeyGenerator.getInstance(ALGORITHM);
+            generator.init(KEY_SIZE, random);
+            return generator.generateKey();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.epam.pipeline.dts.transfer.service.impl;
 
 import com.epam.pipeline.dts.transfer.model.StorageItem;
 import com.epam.pipeline.dts.transfer.model.StorageType;
+import com.epam.pipeline.dts.transfer.model.TransferTask;
 import com.epam.pipeline.dts.transfer.model.google.GoogleTransferInfo;
 import com.epam.pipeline.dts.transfer.model.google.GoogleCredentials;
 import com.epam.pipeline.dts.util.Utils;
@@ -47,6 +48,12 @@ public class GSJavaClientDataUploader extends AbstractDataUploader {
         return GS_PREFIX;
     }
 
+    @Override
+    protected void upload(final TransferTask transferTask) {
+        upload(transferTask.getSource().getPath(), transferTask.getDestination().getPath(),
+            transferTask.getDestination().getCredentials(), transferTask.getId());
+    }
+
     /**
      * @param include Is not supported yet.
      * @param username not supported.
@@ -54,15 +61,16 @@ public class GSJavaClientDataUploader extends AbstractDataUploader {
     @Override
     public void upload(final StorageItem source, final StorageItem destination, final List<String> include,
                        final String username) {
-        upload(source.getPath(), destination.getPath(), destination.getCredentials());
+        upload(source.getPath(), destination.getPath(), destination.getCredentials(), null);
     }
 
-    private void upload(String source, String destination, String credentials) {
+    private void upload(String source, String destination, String credentials, Long taskId) {
         File sourceFile = new File(source);
         GoogleCredentials googleCredentials = GoogleCredentials.from(credentials);
         GoogleTransferInfo transferInfo = new GoogleTransferInfo()
             .withCredentials(googleCredentials)
-            .withSource(source);
+            .withSource(source)
+            .withTaskId(taskId);
         if (sourceFile.isDirectory()) {
             transferInfo.setDestination(destination);
             client.uploadDirectory(transferInfo);
@@ -78,6 +86,12 @@ public class GSJavaClientDataUploader extends AbstractDataUploader {
         }
     }
 
+    @Override
+    protected void download(final TransferTask transferTask) {
+        download(transferTask.getSource().getPath(), transferTask.getDestination().getPath(),
+            transferTask.getSource().getCredentials(), transferTask.getId());
+    }
+
     /**
      * @param include Is not supported yet.
      * @param username not supported.
@@ -85,17 +99,18 @@ public class GSJavaClientDataUploader extends AbstractDataUploader {
     @Override
     public void download(final StorageItem source, final StorageItem destination, final List<String> include,
                          final String username) {
-        download(source.getPath(), destination.getPath(), source.getCredentials());
+        download(source.getPath(), destination.getPath(), source.getCredentials(), null);
     }
 
-    private void download(String source, String destination, String credentials) {
+    private void download(String source, String destination, String credentials, Long taskId) {
         Pair<String, String> bucketNameAndKey = Utils.getBucketNameAndKey(source);
         GoogleCredentials googleCredentials = GoogleCredentials.from(credentials);
         GoogleTransferInfo transferInfo = new GoogleTransferInfo()
                 .withCredentials(googleCredentials)
                 .withBucketName(bucketNameAndKey.getLeft())
                 .withKey(bucketNameAndKey.getRight())
-                .withSource(source);
+                .withSource(source)
+                .withTaskId(taskId);
         if (client.isFile(transferInfo)) {
             transferInfo.setDestination(destination);
             client.downloadFile(transferInfo);
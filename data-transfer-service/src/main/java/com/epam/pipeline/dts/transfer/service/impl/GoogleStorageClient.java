@@ -16,8 +16,11 @@
 
 package com.epam.pipeline.dts.transfer.service.impl;
 
+import com.epam.pipeline.dts.transfer.model.TransferManifestEntry;
+import com.epam.pipeline.dts.transfer.model.TransferManifestState;
 import com.epam.pipeline.dts.transfer.model.google.GoogleTransferInfo;
 import com.epam.pipeline.dts.transfer.model.google.GoogleCredentials;
+import com.epam.pipeline.dts.transfer.repository.TransferManifestRepository;
 import com.epam.pipeline.dts.util.Utils;
 import com.google.auth.oauth2.UserCredentials;
 import com.google.cloud.ReadChannel;
@@ -32,39 +35,114 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
-import java.nio.channels.Channels;
-import java.nio.channels.WritableByteChannel;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Transfers files between local file system and Google Cloud Storage.
+ *
+ * Files of a single transfer are processed by a bounded number of threads. Uploads are performed using resumable
+ * upload sessions with a configurable chunk size, large objects are downloaded in parallel byte ranges.
+ * If a transfer has a task id, each completed file is recorded to the task manifest, so a failed or restarted
+ * task skips already transferred files.
+ */
 @Service
 @Slf4j
 public class GoogleStorageClient {
     public static final String DELIMITER = "/";
-    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String PART_FILE_SUFFIX = ".part";
+
+    private final TransferManifestRepository manifestRepository;
+    private final int parallelism;
+    private final int bufferSize;
+    private final int uploadChunkSize;
+    private final long downloadPartSize;
+
+    public GoogleStorageClient(final TransferManifestRepository manifestRepository,
+                               @Value("${dts.transfer.gs.parallelism:4}") final int parallelism,
+                               @Value("${dts.transfer.gs.buffer.size:1048576}") final int bufferSize,
+                               @Value("${dts.transfer.gs.upload.chunk.size:16777216}") final int uploadChunkSize,
+                               @Value("${dts.transfer.gs.download.part.size:67108864}") final long downloadPartSize) {
+        Assert.isTrue(parallelism > 0, "Transfer parallelism must be positive.");
+        Assert.isTrue(bufferSize > 0, "Transfer buffer size must be positive.");
+        Assert.isTrue(downloadPartSize > 0, "Download part size must be positive.");
+        this.manifestRepository = manifestRepository;
+        this.parallelism = parallelism;
+        this.bufferSize = bufferSize;
+        this.uploadChunkSize = uploadChunkSize;
+        this.downloadPartSize = downloadPartSize;
+    }
 
     public void uploadDirectory(GoogleTransferInfo transferInfo) {
         Storage storage = getStorage(transferInfo.getCredentials());
-        uploadDirectory(new File(transferInfo.getSource()), transferInfo.getDestination(), storage);
+        Path source = Paths.get(transferInfo.getSource());
+        String destination = StringUtils.removeEnd(transferInfo.getDestination(), DELIMITER);
+        Manifest manifest = loadManifest(transferInfo.getTaskId());
+        List<Runnable> uploads;
+        try (Stream<Path> files = Files.walk(source)) {
+            uploads = files.filter(Files::isRegularFile)
+                    .map(file -> uploadTask(file, String.join(DELIMITER, destination, toKey(source.relativize(file))),
+                            storage, manifest))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new IllegalArgumentException(String.format("An error occurred during listing directory %s.",
+                    source), e);
+        }
+        if (uploads.isEmpty()) {
+            log.info(String.format("There are no files to upload from directory %s.", source));
+        }
+        execute(uploads);
     }
 
     public void uploadFile(GoogleTransferInfo transferInfo) {
         Storage storage = getStorage(transferInfo.getCredentials());
-        uploadFile(transferInfo.getSource(), transferInfo.getDestination(), storage);
+        Manifest manifest = loadManifest(transferInfo.getTaskId());
+        Runnable upload = uploadTask(Paths.get(transferInfo.getSource()), transferInfo.getDestination(),
+                storage, manifest);
+        execute(upload == null ? Collections.emptyList() : Collections.singletonList(upload));
     }
 
     public void downloadDirectory(GoogleTransferInfo transferInfo) {
         Bucket bucket = getBucket(transferInfo.getCredentials(), transferInfo.getBucketName());
         String key = transferInfo.getKey() + DELIMITER;
-        downloadFolder(key, transferInfo.getSource(), transferInfo.getDestination(), bucket);
+        Manifest manifest = loadManifest(transferInfo.getTaskId());
+        List<Runnable> downloads = new ArrayList<>();
+        for (Blob blob : bucket.list(Storage.BlobListOption.prefix(key)).iterateAll()) {
+            if (blob.getName().endsWith(DELIMITER)) {
+                continue;
+            }
+            String destination = blob.getName().replaceFirst(transferInfo.getSource(), transferInfo.getDestination());
+            downloads.addAll(downloadTasks(blob, destination, manifest));
+        }
+        execute(downloads);
     }
 
     public void downloadFile(GoogleTransferInfo transferInfo) {
@@ -74,7 +152,8 @@ public class GoogleStorageClient {
         if (destination.endsWith(DELIMITER)) {
             destination += Paths.get(blob.getName()).getFileName();
         }
-        downloadFile(blob, destination);
+        Manifest manifest = loadManifest(transferInfo.getTaskId());
+        execute(downloadTasks(blob, destination, manifest));
     }
 
     public boolean isFile(GoogleTransferInfo transferInfo) {
@@ -87,22 +166,32 @@ public class GoogleStorageClient {
         return isDirectoryExists(transferInfo.getKey(), bucket);
     }
 
-    private void uploadDirectory(File source, String destination, Storage storage) {
-        String[] files = source.list();
-        String sourcePath = source.getAbsolutePath();
-        if (files == null) {
-            log.info(String.format("Specified directory %s is empty.", source.getAbsolutePath()));
-            return;
-        }
-        for (String file : files) {
-            String sourceFile = String.join(DELIMITER, sourcePath, file);
-            String destinationFile = String.join(DELIMITER, StringUtils.removeEnd(destination, DELIMITER), file);
-            if (Paths.get(sourceFile).toFile().isDirectory()) {
-                uploadDirectory(Paths.get(sourceFile).toFile(), destinationFile, storage);
-            } else {
-                uploadFile(sourceFile, destinationFile, storage);
-            }
+    protected Storage getStorage(GoogleCredentials credentials) {
+        UserCredentials userCredentials = UserCredentials
+                .newBuilder()
+                .setClientId(credentials.getClientId())
+                .setClientSecret(credentials.getClientSecret())
+                .setRefreshToken(credentials.getRefreshToken())
+                .build();
+        StorageOptions storageOptions = StorageOptions
+                .newBuilder()
+                .setCredentials(userCredentials)
+                .build();
+        Storage storage = storageOptions.getService();
+        Assert.notNull(storage, "Cannot create storage.");
+        return storage;
+    }
+
+    private Runnable uploadTask(Path source, String destination, Storage storage, Manifest manifest) {
+        long size = source.toFile().length();
+        if (manifest.isCompleted(destination, size)) {
+            log.debug(String.format("Skipping already uploaded file %s.", source));
+            return null;
         }
+        return () -> {
+            uploadFile(source.toString(), destination, storage);
+            manifest.complete(destination, size);
+        };
     }
 
     private void uploadFile(String source, String destination, Storage storage) {
@@ -110,7 +199,8 @@ public class GoogleStorageClient {
         BlobInfo blob = createBlobInfo(destination);
         try (WriteChannel writer = storage.writer(blob);
              InputStream input = Files.newInputStream(Paths.get(source))) {
-            byte[] buffer = new byte[1024];
+            writer.setChunkSize(uploadChunkSize);
+            byte[] buffer = new byte[bufferSize];
             int limit;
             while ((limit = input.read(buffer)) >= 0) {
                 writer.write(ByteBuffer.wrap(buffer, 0, limit));
@@ -121,52 +211,143 @@ public class GoogleStorageClient {
         }
     }
 
-    private void downloadFolder(String key, String source, String destination, Bucket bucket) {
-        for (Blob blob : listBucket(bucket, key)) {
-            if (blob.getName().equals(key)) {
-                continue;
-            }
-            if (blob.getName().endsWith(DELIMITER)) {
-                downloadFolder(blob.getName(), source, destination, bucket);
-            } else {
-                downloadFile(blob, blob.getName().replaceFirst(source, destination));
-            }
+    /**
+     * Splits blob download into byte ranges which are written to a temporary part file at their offsets.
+     * The part file is moved to the destination once the last range is downloaded.
+     */
+    private List<Runnable> downloadTasks(Blob blob, String destination, Manifest manifest) {
+        long size = blob.getSize() == null ? 0 : blob.getSize();
+        File destinationFile = new File(destination);
+        if (manifest.isCompleted(destination, size) && destinationFile.length() == size) {
+            log.debug(String.format("Skipping already downloaded file %s.", destination));
+            return Collections.emptyList();
+        }
+        Path partFile = Paths.get(destination + PART_FILE_SUFFIX);
+        allocate(partFile, size);
+        int parts = (int) Math.max(1, (size + downloadPartSize - 1) / downloadPartSize);
+        AtomicInteger remaining = new AtomicInteger(parts);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Runnable> tasks = new ArrayList<>(parts);
+        for (int part = 0; part < parts; part++) {
+            long offset = part * downloadPartSize;
+            long length = Math.min(downloadPartSize, size - offset);
+            tasks.add(() -> {
+                try {
+                    downloadRange(blob, partFile, offset, length);
+                } catch (RuntimeException e) {
+                    failed.set(true);
+                    throw e;
+                } finally {
+                    if (remaining.decrementAndGet() == 0 && !failed.get()) {
+                        complete(blob, partFile, destinationFile.toPath());
+                        manifest.complete(destination, size);
+                    }
+                }
+            });
         }
+        return tasks;
     }
 
-    private void downloadFile(Blob blob, String destination) {
-        log.debug(String.format("Ready to download file from gs://%s/%s to %s.", blob.getBucket(), blob.getName(),
-                destination));
+    private void downloadRange(Blob blob, Path partFile, long offset, long length) {
+        log.debug(String.format("Ready to download bytes %d-%d of gs://%s/%s to %s.", offset, offset + length,
+                blob.getBucket(), blob.getName(), partFile));
         try (ReadChannel reader = blob.reader();
-             OutputStream writeTo = FileUtils.openOutputStream(new File(destination));
-             WritableByteChannel channel = Channels.newChannel(writeTo)) {
-            ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
-            while (reader.read(bytes) > 0) {
-                bytes.flip();
-                channel.write(bytes);
-                bytes.clear();
+             FileChannel output = FileChannel.open(partFile, StandardOpenOption.WRITE)) {
+            reader.setChunkSize(bufferSize);
+            reader.seek(offset);
+            ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+            long position = offset;
+            long end = offset + length;
+            while (position < end) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), end - position));
+                if (reader.read(buffer) < 0) {
+                    throw new IOException("Unexpected end of storage object.");
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    position += output.write(buffer, position);
+                }
             }
         } catch (IOException e) {
             throw new IllegalArgumentException(
                     String.format("An error occurred during downloading file from gs://%s/%s to %s.",
-                            blob.getBucket(), blob.getName(), destination), e);
+                            blob.getBucket(), blob.getName(), partFile), e);
         }
     }
 
-    private static Storage getStorage(GoogleCredentials credentials) {
-        UserCredentials userCredentials = UserCredentials
-                .newBuilder()
-                .setClientId(credentials.getClientId())
-                .setClientSecret(credentials.getClientSecret())
-                .setRefreshToken(credentials.getRefreshToken())
-                .build();
-        StorageOptions storageOptions = StorageOptions
-                .newBuilder()
-                .setCredentials(userCredentials)
-                .build();
-        Storage storage = storageOptions.getService();
-        Assert.notNull(storage, "Cannot create storage.");
-        return storage;
+    private void allocate(Path file, long size) {
+        try {
+            FileUtils.forceMkdirParent(file.toFile());
+            try (RandomAccessFile output = new RandomAccessFile(file.toFile(), "rw")) {
+                output.setLength(size);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(String.format("Cannot create file %s.", file), e);
+        }
+    }
+
+    private void complete(Blob blob, Path partFile, Path destination) {
+        try {
+            Files.move(partFile, destination, StandardCopyOption.REPLACE_EXISTING);
+            log.debug(String.format("File has been downloaded from gs://%s/%s to %s.", blob.getBucket(),
+                    blob.getName(), destination));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(String.format("Cannot move file %s to %s.", partFile, destination), e);
+        }
+    }
+
+    private void execute(List<Runnable> transfers) {
+        if (transfers.isEmpty()) {
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, transfers.size()));
+        try {
+            List<Future<?>> results = transfers.stream()
+                    .map(executor::submit)
+                    .collect(Collectors.toList());
+            Throwable failure = null;
+            int failed = 0;
+            for (Future<?> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    failed++;
+                    failure = failure == null ? e.getCause() : failure;
+                    log.error(e.getCause().getMessage(), e.getCause());
+                }
+            }
+            if (failure != null) {
+                throw new IllegalArgumentException(String.format("%d of %d transfer(s) failed: %s",
+                        failed, transfers.size(), failure.getMessage()), failure);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Transfer has been interrupted.", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Manifest loadManifest(Long taskId) {
+        if (taskId == null) {
+            return new Manifest(null, Collections.emptyMap());
+        }
+        Map<String, Long> completed = manifestRepository.findAllByTaskId(taskId).stream()
+                .filter(entry -> entry.getState() == TransferManifestState.FILE_TRANSFERRED)
+                .collect(Collectors.toMap(TransferManifestEntry::getPath, TransferManifestEntry::getSize,
+                    (first, second) -> second));
+        if (!completed.isEmpty()) {
+            log.info(String.format("Resuming task %d with %d already transferred file(s).", taskId,
+                    completed.size()));
+        }
+        return new Manifest(taskId, completed);
+    }
+
+    private static String toKey(Path relativePath) {
+        List<String> names = new ArrayList<>();
+        relativePath.forEach(name -> names.add(name.toString()));
+        return String.join(DELIMITER, names);
     }
 
     private BlobInfo createBlobInfo(String path) {
@@ -201,4 +382,30 @@ public class GoogleStorageClient {
         Assert.notNull(bucket, String.format("Required bucket %s does not exist.", bucketName));
         return bucket;
     }
+
+    /**
+     * Completed files of a single transfer task.
+     */
+    private final class Manifest {
+        private final Long taskId;
+        private final Map<String, Long> completed;
+
+        private Manifest(Long taskId, Map<String, Long> completed) {
+            this.taskId = taskId;
+            this.completed = new ConcurrentHashMap<>(completed);
+        }
+
+        boolean isCompleted(String path, long size) {
+            Long completedSize = completed.get(path);
+            return completedSize != null && completedSize == size;
+        }
+
+        void complete(String path, long size) {
+            completed.put(path, size);
+            if (taskId != null) {
+                manifestRepository.save(new TransferManifestEntry(null, taskId, path, size,
+                        TransferManifestState.FILE_TRANSFERRED));
+            }
+        }
+    }
 }
@@ -20,18 +20,15 @@ import com.epam.pipeline.dts.common.service.CloudPipelineAPIClient;
 import com.epam.pipeline.dts.security.service.SecurityService;
 import com.epam.pipeline.dts.transfer.model.StorageItem;
 import com.epam.pipeline.dts.transfer.model.StorageType;
-import com.epam.pipeline.dts.transfer.model.TaskStatus;
 import com.epam.pipeline.dts.transfer.model.TransferTask;
 import com.epam.pipeline.dts.transfer.model.pipeline.PipelineCredentials;
-import com.epam.pipeline.dts.transfer.service.DataUploaderProviderManager;
 import com.epam.pipeline.dts.transfer.service.TaskService;
 import com.epam.pipeline.dts.transfer.service.TransferService;
+import com.epam.pipeline.dts.transfer.service.TransferTaskQueue;
 import lombok.NonNull;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import org.springframework.util.CollectionUtils;
 
 import java.util.List;
 import java.util.Objects;
@@ -39,20 +36,19 @@ import java.util.stream.Stream;
 
 @Service
 @ConditionalOnProperty(value = "dts.impersonation.enabled", havingValue = "true", matchIfMissing = true)
-@Slf4j
 public class ImpersonatingTransferServiceImpl implements TransferService {
     private final TaskService taskService;
-    private final DataUploaderProviderManager dataUploaderProviderManager;
+    private final TransferTaskQueue transferTaskQueue;
     private final SecurityService securityService;
     private final String dtsNameMetadataKey;
 
     public ImpersonatingTransferServiceImpl(final TaskService taskService,
-                                            final DataUploaderProviderManager dataUploaderProviderManager,
+                                            final TransferTaskQueue transferTaskQueue,
                                             final SecurityService securityService,
                                             @Value("${dts.impersonation.name.metadata.key}")
                                             final String dtsNameMetadataKey) {
         this.taskService = taskService;
-        this.dataUploaderProviderManager = dataUploaderProviderManager;
+        this.transferTaskQueue = transferTaskQueue;
         this.securityService = securityService;
         this.dtsNameMetadataKey = dtsNameMetadataKey;
     }
@@ -60,12 +56,13 @@ public class ImpersonatingTransferServiceImpl implements TransferService {
     @Override
     public TransferTask runTransferTask(@NonNull final StorageItem source,
                                         @NonNull final StorageItem destination,
-                                        final List<String> included) {
+                                        final List<String> included,
+                                        final Integer priority) {
         final String impersonatingUser = getImpersonatingUser(source, destination);
-        final TransferTask transferTask = taskService.createTask(source, destination, included, impersonatingUser);
-        taskService.updateStatus(transferTask.getId(), TaskStatus.RUNNING);
-        dataUploaderProviderManager.transferData(transferTask);
-        return transferTask;
+        final TransferTask transferTask = taskService.createTask(source, destination, included, impersonatingUser,
+                priority);
+        transferTaskQueue.dispatch();
+        return taskService.loadTask(transferTask.getId());
     }
 
     private String getImpersonatingUser(@NonNull final StorageItem source, @NonNull final StorageItem destination) {
@@ -80,16 +77,4 @@ public class ImpersonatingTransferServiceImpl implements TransferService {
                 .flatMap(apiClient -> apiClient.getUserMetadataValueByKey(dtsNameMetadataKey))
                 .orElseGet(securityService::getImpersonatingUser);
     }
-
-    @Override
-    public void failRunningTasks() {
-        List<TransferTask> runningTasks = taskService.loadRunningTasks();
-        if (CollectionUtils.isEmpty(runningTasks)) {
-            return;
-        }
-        log.info(String.format("%s running tasks have been found. All of them will be failed.", runningTasks.size()));
-        runningTasks.forEach(task -> taskService.updateStatus(task.getId(), TaskStatus.FAILURE,
-                "Operation has been aborted due to server was stopped.")
-        );
-    }
 }
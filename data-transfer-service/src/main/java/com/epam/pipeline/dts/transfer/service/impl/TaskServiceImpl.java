@@ -20,6 +20,7 @@ import com.epam.pipeline.dts.transfer.model.StorageItem;
 import com.epam.pipeline.dts.transfer.model.TaskStatus;
 import com.epam.pipeline.dts.transfer.model.TransferTask;
 import com.epam.pipeline.dts.transfer.repository.TaskRepository;
+import com.epam.pipeline.dts.transfer.service.CredentialsCipher;
 import com.epam.pipeline.dts.transfer.service.TaskService;
 import com.epam.pipeline.dts.util.Utils;
 import lombok.NonNull;
@@ -28,27 +29,32 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class TaskServiceImpl implements TaskService {
     private final TaskRepository taskRepository;
+    private final CredentialsCipher credentialsCipher;
 
     @Override
     public TransferTask createTask(@NonNull StorageItem source,
                                    @NonNull StorageItem destination,
                                    List<String> included,
-                                   String user) {
+                                   String user,
+                                   Integer priority) {
         TransferTask transferTask = TransferTask.builder()
-                .source(source)
-                .destination(destination)
+                .source(encryptCredentials(source))
+                .destination(encryptCredentials(destination))
                 .status(TaskStatus.CREATED)
                 .created(Utils.now())
                 .reason("New transfer task created")
                 .included(included)
                 .user(user)
+                .priority(Optional.ofNullable(priority).orElse(0))
                 .build();
         return taskRepository.save(transferTask);
     }
@@ -79,6 +85,13 @@ public class TaskServiceImpl implements TaskService {
         return taskRepository.save(transferTask);
     }
 
+    @Override
+    public void requeueTask(final Long id, final String reason) {
+        if (taskRepository.requeueTask(id, reason) == 0) {
+            log.warn(String.format("Task %d is not running and cannot be queued again.", id));
+        }
+    }
+
     @Override
     public void deleteTask(Long id) {
         loadTask(id);
@@ -105,9 +118,20 @@ public class TaskServiceImpl implements TaskService {
         task.setStatus(status);
         if (status.isFinalStatus()) {
             task.setFinished(Utils.now());
+            clearCredentials(task);
         } else if (status == TaskStatus.RUNNING) {
             task.setStarted(Utils.now());
         }
         return task;
     }
+
+    private StorageItem encryptCredentials(final StorageItem item) {
+        return new StorageItem(item.getType(), item.getPath(), credentialsCipher.encrypt(item.getCredentials()));
+    }
+
+    private void clearCredentials(TransferTask task) {
+        Stream.of(task.getSource(), task.getDestination())
+                .filter(Objects::nonNull)
+                .forEach(item -> item.setCredentials(null));
+    }
 }
@@ -17,47 +17,31 @@
 package com.epam.pipeline.dts.transfer.service.impl;
 
 import com.epam.pipeline.dts.transfer.model.StorageItem;
-import com.epam.pipeline.dts.transfer.model.TaskStatus;
 import com.epam.pipeline.dts.transfer.model.TransferTask;
-import com.epam.pipeline.dts.transfer.service.DataUploaderProviderManager;
 import com.epam.pipeline.dts.transfer.service.TaskService;
 import com.epam.pipeline.dts.transfer.service.TransferService;
+import com.epam.pipeline.dts.transfer.service.TransferTaskQueue;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import org.springframework.util.CollectionUtils;
 
 import java.util.List;
 
 @Service
 @ConditionalOnProperty(value = "dts.impersonation.enabled", havingValue = "false")
-@Slf4j
 @RequiredArgsConstructor
 public class TransferServiceImpl implements TransferService {
     private final TaskService taskService;
-    private final DataUploaderProviderManager dataUploaderProviderManager;
+    private final TransferTaskQueue transferTaskQueue;
 
     @Override
     public TransferTask runTransferTask(@NonNull StorageItem source,
                                         @NonNull StorageItem destination,
-                                        List<String> included) {
-        TransferTask transferTask = taskService.createTask(source, destination, included);
-        taskService.updateStatus(transferTask.getId(), TaskStatus.RUNNING);
-        dataUploaderProviderManager.transferData(transferTask);
-        return transferTask;
-    }
-
-    @Override
-    public void failRunningTasks() {
-        List<TransferTask> runningTasks = taskService.loadRunningTasks();
-        if (CollectionUtils.isEmpty(runningTasks)) {
-            return;
-        }
-        log.info(String.format("%s running tasks have been found. All of them will be failed.", runningTasks.size()));
-        runningTasks.forEach(task -> taskService.updateStatus(task.getId(), TaskStatus.FAILURE,
-                "Operation has been aborted due to server was stopped.")
-        );
+                                        List<String> included,
+                                        Integer priority) {
+        TransferTask transferTask = taskService.createTask(source, destination, included, null, priority);
+        transferTaskQueue.dispatch();
+        return taskService.loadTask(transferTask.getId());
     }
 }
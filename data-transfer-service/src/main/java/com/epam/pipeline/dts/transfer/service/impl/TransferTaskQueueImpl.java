@@ -0,0 +1,226 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.service.impl;
+
+import com.epam.pipeline.dts.transfer.model.StorageItem;
+import com.epam.pipeline.dts.transfer.model.StorageType;
+import com.epam.pipeline.dts.transfer.model.TransferTask;
+import com.epam.pipeline.dts.transfer.repository.TaskRepository;
+import com.epam.pipeline.dts.transfer.service.DataUploaderProviderManager;
+import com.epam.pipeline.dts.transfer.service.TransferTaskQueue;
+import com.epam.pipeline.dts.util.Utils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Dispatches queued transfer tasks to the task executor.
+ *
+ * Tasks are started in the order of their priority and creation date. The number of tasks running on this
+ * service instance is limited both in total and per storage endpoint (a bucket or the local file system).
+ * A task is run only after its lease is taken in the database. Leases of running tasks are renewed on each
+ * dispatch, so tasks of a crashed service instance are claimed again once their leases expire.
+ */
+@Service
+@Slf4j
+public class TransferTaskQueueImpl implements TransferTaskQueue {
+
+    private static final String LOCAL_ENDPOINT = "local";
+    private static final String SCHEME_DELIMITER = "://";
+    private static final String PATH_DELIMITER = "/";
+    private static final String REQUEUE_REASON = "Task has been queued again after the service restart.";
+
+    private final TaskRepository taskRepository;
+    private final DataUploaderProviderManager dataUploaderProviderManager;
+    private final Executor taskExecutor;
+    private final String owner;
+    private final int maxTasks;
+    private final int maxEndpointTasks;
+    private final Map<String, Integer> endpointLimits;
+    private final long leaseDuration;
+    private final int batchSize;
+    private final Map<Long, TransferTask> running = new ConcurrentHashMap<>();
+    private final AtomicBoolean requeued = new AtomicBoolean();
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public TransferTaskQueueImpl(final TaskRepository taskRepository,
+                                 final DataUploaderProviderManager dataUploaderProviderManager,
+                                 @Qualifier("taskExecutor") final Executor taskExecutor,
+                                 @Value("${dts.transfer.queue.owner:}") final String owner,
+                                 @Value("${task.pool.size:10}") final int maxTasks,
+                                 @Value("${dts.transfer.queue.endpoint.max.tasks:0}") final int maxEndpointTasks,
+                                 @Value("${dts.transfer.queue.endpoint.limits:}") final String endpointLimits,
+                                 @Value("${dts.transfer.queue.lease:60000}") final long leaseDuration,
+                                 @Value("${dts.transfer.queue.batch.size:100}") final int batchSize) {
+        this.taskRepository = taskRepository;
+        this.dataUploaderProviderManager = dataUploaderProviderManager;
+        this.taskExecutor = taskExecutor;
+        this.owner = StringUtils.isBlank(owner) ? getHostName() : owner;
+        this.maxTasks = maxTasks;
+        this.maxEndpointTasks = maxEndpointTasks;
+        this.endpointLimits = parseEndpointLimits(endpointLimits);
+        this.leaseDuration = leaseDuration;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void requeueInterruptedTasks() {
+        if (!requeued.compareAndSet(false, true)) {
+            return;
+        }
+        final int requeuedTasks = taskRepository.requeue(owner, Utils.now(), REQUEUE_REASON);
+        if (requeuedTasks > 0) {
+            log.info(String.format("%d interrupted task(s) have been queued again.", requeuedTasks));
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${dts.transfer.queue.poll:5000}")
+    public synchronized void dispatch() {
+        final LocalDateTime now = Utils.now();
+        final LocalDateTime expires = now.plus(leaseDuration, ChronoUnit.MILLIS);
+        renewLeases(expires);
+        int capacity = maxTasks - running.size();
+        if (capacity <= 0) {
+            return;
+        }
+        final Map<String, Integer> endpointTasks = countEndpointTasks();
+        for (final TransferTask task : taskRepository.findClaimable(now, PageRequest.of(0, batchSize))) {
+            if (capacity <= 0) {
+                break;
+            }
+            final List<String> endpoints = getEndpoints(task);
+            if (endpoints.stream().anyMatch(endpoint -> isLimitReached(endpoint, endpointTasks))) {
+                log.debug(String.format("Task %d is postponed due to endpoint concurrency limit.", task.getId()));
+                continue;
+            }
+            if (taskRepository.claim(task.getId(), owner, now, expires) == 0) {
+                log.debug(String.format("Task %d has been already claimed.", task.getId()));
+                continue;
+            }
+            endpoints.forEach(endpoint -> endpointTasks.merge(endpoint, 1, Integer::sum));
+            capacity--;
+            start(task);
+        }
+    }
+
+    private void start(final TransferTask task) {
+        log.info(String.format("Starting task %d with priority %d.", task.getId(), task.getPriority()));
+        running.put(task.getId(), task);
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    dataUploaderProviderManager.transferData(task);
+                } finally {
+                    running.remove(task.getId());
+                }
+            });
+        } catch (TaskRejectedException e) {
+            running.remove(task.getId());
+            log.error(String.format("Task %d has been rejected by executor, it will be claimed again " +
+                    "after lease expiration.", task.getId()), e);
+        }
+    }
+
+    private void renewLeases(final LocalDateTime expires) {
+        if (running.isEmpty()) {
+            return;
+        }
+        final int renewed = taskRepository.renewLeases(running.keySet(), owner, expires);
+        if (renewed < running.size()) {
+            log.warn(String.format("Only %d of %d running task lease(s) have been renewed.", renewed,
+                    running.size()));
+        }
+    }
+
+    private Map<String, Integer> countEndpointTasks() {
+        final Map<String, Integer> endpointTasks = new HashMap<>();
+        running.values().stream()
+                .flatMap(task -> getEndpoints(task).stream())
+                .forEach(endpoint -> endpointTasks.merge(endpoint, 1, Integer::sum));
+        return endpointTasks;
+    }
+
+    private boolean isLimitReached(final String endpoint, final Map<String, Integer> endpointTasks) {
+        final int limit = endpointLimits.getOrDefault(endpoint, maxEndpointTasks);
+        return limit > 0 && endpointTasks.getOrDefault(endpoint, 0) >= limit;
+    }
+
+    private List<String> getEndpoints(final TransferTask task) {
+        return Stream.of(task.getSource(), task.getDestination())
+                .map(this::getEndpoint)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private String getEndpoint(final StorageItem item) {
+        if (item.getType() == StorageType.LOCAL) {
+            return LOCAL_ENDPOINT;
+        }
+        final String path = item.getPath();
+        final int bucketStart = path.contains(SCHEME_DELIMITER)
+                ? path.indexOf(SCHEME_DELIMITER) + SCHEME_DELIMITER.length()
+                : 0;
+        final int bucketEnd = path.indexOf(PATH_DELIMITER, bucketStart);
+        return bucketEnd < 0 ? path : path.substring(0, bucketEnd);
+    }
+
+    private Map<String, Integer> parseEndpointLimits(final String limits) {
+        return Arrays.stream(StringUtils.split(StringUtils.defaultString(limits), ','))
+                .map(String::trim)
+                .filter(StringUtils::isNotBlank)
+                .map(this::parseEndpointLimit)
+                .collect(Collectors.toMap(limit -> limit[0].trim(), limit -> Integer.parseInt(limit[1].trim())));
+    }
+
+    private String[] parseEndpointLimit(final String limit) {
+        final String[] endpointAndLimit = StringUtils.split(limit, '=');
+        if (endpointAndLimit.length != 2) {
+            throw new IllegalArgumentException(String.format(
+                    "Endpoint limit should be specified as <endpoint>=<limit>: %s.", limit));
+        }
+        return endpointAndLimit;
+    }
+
+    private String getHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("Cannot determine transfer queue owner, " +
+                    "please specify dts.transfer.queue.owner.", e);
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.epam.pipeline.dts.listing.service;
 
+import com.epam.pipeline.dts.listing.configuration.ListingPreference;
 import com.epam.pipeline.dts.listing.exception.ForbiddenException;
 import com.epam.pipeline.dts.listing.exception.NotFoundException;
 import com.epam.pipeline.dts.listing.model.ListingItemsPaging;
@@ -31,6 +32,7 @@ import java.io.IOException;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.nio.file.attribute.PosixFileAttributeView;
 import java.nio.file.attribute.PosixFilePermission;
 import java.util.Collections;
@@ -43,6 +45,7 @@ import java.util.stream.Stream;
 
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -50,10 +53,11 @@ public class LocalListingServiceTest extends AbstractTransferTest {
     private static final String ROOT_FOLDER = "/root";
     private static final String FILE1 = "file1";
     private static final String FILE2 = "file2";
+    private static final String FILE3 = "file3";
     private static final String FOLDER = "folder";
     private static final int ALL_PERMISSIONS = 7;
 
-    private final LocalListingService listingService = new LocalListingService();
+    private final LocalListingService listingService = new LocalListingService(new ListingPreference());
 
     @Test
     void listingShouldReturnFolderContent() throws IOException {
@@ -198,7 +202,7 @@ public class LocalListingServiceTest extends AbstractTransferTest {
             Path file2 = folder.resolve(FILE2);
             Files.createFile(file2);
 
-            ListingItemsPaging result = listingService.list(new ItemsListingRequestDTO(pathToFolder, 1, "1", null));
+            ListingItemsPaging result = listingService.list(new ItemsListingRequestDTO(pathToFolder, 1, null, null));
             List<ListingItem> actual = result.getResults();
             List<ListingItem> expected = Stream
                     .of(ListingItem
@@ -212,9 +216,10 @@ public class LocalListingServiceTest extends AbstractTransferTest {
                                     .build())
                     .collect(Collectors.toList());
             assertTransferItems(expected, actual);
-            assertThat(result.getNextPageMarker(), is("2"));
+            assertNotNull(result.getNextPageMarker());
 
-            result = listingService.list(new ItemsListingRequestDTO(pathToFolder, 1, "2", null));
+            result = listingService.list(
+                    new ItemsListingRequestDTO(pathToFolder, 1, result.getNextPageMarker(), null));
             actual = result.getResults();
             expected = Stream
                     .of(ListingItem
@@ -232,6 +237,42 @@ public class LocalListingServiceTest extends AbstractTransferTest {
         }
     }
 
+    @Test
+    void listingShouldContinueFromMarkerIfFolderWasModified() throws IOException {
+        try (FileSystem fs = MemoryFileSystemBuilder.newEmpty().build()) {
+            Path pathToFolder = fs.getPath(ROOT_FOLDER);
+            Files.createDirectory(pathToFolder);
+            Files.createFile(pathToFolder.resolve(FILE2));
+            Files.createFile(pathToFolder.resolve(FILE3));
+
+            ListingItemsPaging result = listingService.list(new ItemsListingRequestDTO(pathToFolder, 1, null, null));
+            assertThat(result.getResults().get(0).getName(), is(FILE2));
+
+            Files.createFile(pathToFolder.resolve(FILE1));
+            Files.setLastModifiedTime(pathToFolder, FileTime.fromMillis(System.currentTimeMillis() + 1000L));
+            result = listingService.list(
+                    new ItemsListingRequestDTO(pathToFolder, 2, result.getNextPageMarker(), null));
+            assertThat(result.getResults().size(), is(1));
+            assertThat(result.getResults().get(0).getName(), is(FILE3));
+            assertNull(result.getNextPageMarker());
+
+            result = listingService.list(new ItemsListingRequestDTO(pathToFolder, 2, null, null));
+            assertThat(result.getResults().stream().map(ListingItem::getName).collect(Collectors.toList()),
+                    is(Stream.of(FILE1, FILE2).collect(Collectors.toList())));
+            assertNotNull(result.getNextPageMarker());
+        }
+    }
+
+    @Test
+    void listingShouldFailIfMarkerIsInvalid() throws IOException {
+        try (FileSystem fs = MemoryFileSystemBuilder.newEmpty().build()) {
+            Path pathToFolder = fs.getPath(ROOT_FOLDER);
+            Files.createDirectory(pathToFolder);
+            assertThrows(IllegalArgumentException.class,
+                () -> listingService.list(new ItemsListingRequestDTO(pathToFolder, 1, "%%%", null)));
+        }
+    }
+
     private static void assertTransferItems(List<ListingItem> expected, List<ListingItem> actual) {
         Map<String, ListingItem> expectedMap = expected
                 .stream()
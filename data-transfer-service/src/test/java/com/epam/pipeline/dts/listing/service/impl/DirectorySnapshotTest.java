@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.listing.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DirectorySnapshotTest {
+
+    private static final FileTime MODIFIED = FileTime.fromMillis(1000L);
+    private static final int NAMES = 25;
+    private static final int PAGE_SIZE = 10;
+    private static final long TTL = 100L;
+
+    @Test
+    public void nextShouldReturnAllNamesPageByPageInNaturalOrder() {
+        final List<String> names = names();
+        final DirectorySnapshot snapshot = new DirectorySnapshot(MODIFIED, 0L, shuffled(names));
+
+        final List<String> listed = new ArrayList<>();
+        String after = null;
+        List<String> page;
+        do {
+            page = snapshot.next(after, PAGE_SIZE);
+            listed.addAll(page);
+            after = page.isEmpty() ? after : page.get(page.size() - 1);
+        } while (page.size() == PAGE_SIZE);
+
+        assertEquals(names, listed);
+    }
+
+    @Test
+    public void nextShouldReturnFirstPageRepeatedly() {
+        final List<String> names = names();
+        final DirectorySnapshot snapshot = new DirectorySnapshot(MODIFIED, 0L, shuffled(names));
+
+        assertEquals(names.subList(0, PAGE_SIZE), snapshot.next(null, PAGE_SIZE));
+        assertEquals(names.subList(0, PAGE_SIZE), snapshot.next(null, PAGE_SIZE));
+    }
+
+    @Test
+    public void nextShouldReturnNamesFollowingMissingName() {
+        final DirectorySnapshot snapshot = new DirectorySnapshot(MODIFIED, 0L, Arrays.asList("c", "a", "e", "b"));
+
+        assertEquals(Arrays.asList("c", "e"), snapshot.next("bb", PAGE_SIZE));
+        assertEquals(Collections.singletonList("e"), snapshot.next("d", 1));
+        assertTrue(snapshot.next("e", PAGE_SIZE).isEmpty());
+    }
+
+    @Test
+    public void isValidShouldFailIfDirectoryIsModifiedOrTtlExpires() {
+        final DirectorySnapshot snapshot = new DirectorySnapshot(MODIFIED, 0L, names());
+
+        assertTrue(snapshot.isValid(MODIFIED, TTL - 1, TTL));
+        assertFalse(snapshot.isValid(MODIFIED, TTL, TTL));
+        assertFalse(snapshot.isValid(FileTime.fromMillis(2000L), 0L, TTL));
+    }
+
+    private static List<String> names() {
+        return IntStream.range(0, NAMES)
+                .mapToObj(i -> String.format("file%02d", i))
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> shuffled(final List<String> names) {
+        final List<String> shuffled = new ArrayList<>(names);
+        Collections.reverse(shuffled);
+        Collections.swap(shuffled, 0, NAMES / 2);
+        return shuffled;
+    }
+}
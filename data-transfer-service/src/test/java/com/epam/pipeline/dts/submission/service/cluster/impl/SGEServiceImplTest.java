@@ -17,6 +17,7 @@
 package com.epam.pipeline.dts.submission.service.cluster.impl;
 
 import com.epam.pipeline.cmd.CmdExecutor;
+import com.epam.pipeline.cmd.PlainCmdExecutor;
 import com.epam.pipeline.dts.TestUtils;
 import com.epam.pipeline.dts.submission.exception.SGECmdException;
 import com.epam.pipeline.dts.submission.model.cluster.QHosts;
@@ -32,13 +33,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.ResourceUtils;
 
 import java.io.IOException;
+import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
@@ -49,6 +54,7 @@ public class SGEServiceImplTest {
     private static final String JOB_ID = "12345";
     private static final String QHOST_CMD = "qhosts";
     private static final String QSTAT_CMD = "qstat -j $[job_id] -xml -f";
+    private static final String QSTAT_ALL_CMD = "qstat -u '*' -xml";
     private static final String QDEL_CMD = "qdel -j $[job_id]";
     private static final String EXEC_HOST = "i-002";
     private static final int HOST_SLOTS = 88;
@@ -73,7 +79,7 @@ public class SGEServiceImplTest {
     @BeforeEach
     public void setUp() {
         qhostSGECommand = new QhostSGECommand(cmdExecutor, QHOST_CMD);
-        qstatSGECommand = new QstatSGECommand(cmdExecutor, QSTAT_CMD);
+        qstatSGECommand = new QstatSGECommand(cmdExecutor, QSTAT_CMD, QSTAT_ALL_CMD);
         qdelSGECommand = new QdelSGECommand(cmdExecutor, QDEL_CMD);
         sgeService = new SGEServiceImpl(QUEUE_NAME, qhostSGECommand, qstatSGECommand, qdelSGECommand);
     }
@@ -106,6 +112,29 @@ public class SGEServiceImplTest {
         assertThat(jobInfo.getHost(), equalTo(EXEC_HOST));
     }
 
+    @Test
+    public void shouldParseJobsListingOfFakeQstat() throws SGECmdException, IOException {
+        final String fakeQstat = "bash " + ResourceUtils.getFile(getClass().getResource("/sge/qstat.sh"))
+                .getAbsolutePath();
+        final SGEServiceImpl service = new SGEServiceImpl(QUEUE_NAME, qhostSGECommand,
+                new QstatSGECommand(new PlainCmdExecutor(), QSTAT_CMD, fakeQstat), qdelSGECommand);
+
+        final Map<String, SGEJob> jobs = service.getJobsInfo();
+
+        assertThat(jobs.size(), equalTo(3));
+        assertThat(jobs.get("65162337").getHost(), equalTo(EXEC_HOST));
+        assertThat(jobs.get("65162337").getState(), equalTo("r"));
+        assertThat(jobs.get("65162338").getHost(), equalTo("i-003"));
+        assertThat(jobs.get("65162339").getHost(), is(nullValue()));
+        assertThat(jobs.get("65162339").getState(), equalTo("qw"));
+    }
+
+    @Test
+    public void shouldFailOnBlankJobsListing() {
+        when(cmdExecutor.executeCommand(eq(QSTAT_ALL_CMD))).thenReturn(" ");
+        assertThrows(SGECmdException.class, () -> sgeService.getJobsInfo());
+    }
+
     @Test
     public void shouldExecuteQdelCommand() throws SGECmdException {
         sgeService.stopJob(JOB_ID);
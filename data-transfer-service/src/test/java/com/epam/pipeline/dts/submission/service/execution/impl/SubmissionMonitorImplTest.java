@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.submission.service.execution.impl;
+
+import com.epam.pipeline.cmd.CmdExecutor;
+import com.epam.pipeline.cmd.PlainCmdExecutor;
+import com.epam.pipeline.dts.submission.exception.SubmissionException;
+import com.epam.pipeline.dts.submission.model.execution.Submission;
+import com.epam.pipeline.dts.submission.model.execution.SubmissionState;
+import com.epam.pipeline.dts.submission.model.execution.SubmissionStatus;
+import com.epam.pipeline.dts.submission.service.execution.SubmissionScheduler;
+import com.epam.pipeline.dts.submission.service.execution.SubmissionService;
+import com.epam.pipeline.dts.submission.service.pipeline.CloudPipelineService;
+import com.epam.pipeline.dts.submission.service.sge.QdelCommand;
+import com.epam.pipeline.dts.submission.service.sge.QhostCommand;
+import com.epam.pipeline.dts.submission.service.sge.impl.QstatSGECommand;
+import com.epam.pipeline.dts.submission.service.sge.impl.SGEServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.ResourceUtils;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SubmissionMonitorImplTest {
+
+    private static final String QUEUE_NAME = "main.q";
+    private static final String QSTAT_CMD = "qstat -j $[job_id] -xml";
+    private static final String RUNNING_JOB_ID = "65162337";
+    private static final String PENDING_JOB_ID = "65162339";
+    private static final String MISSING_JOB_ID = "1";
+    private static final String EXEC_HOST = "i-002";
+
+    private final SubmissionService submissionService = mock(SubmissionService.class);
+    private final SubmissionScheduler submissionScheduler = mock(SubmissionScheduler.class);
+    private final CloudPipelineService pipelineService = mock(CloudPipelineService.class);
+    private final CmdExecutor cmdExecutor = spy(new PlainCmdExecutor());
+
+    private SubmissionMonitorImpl submissionMonitor;
+    private Submission running;
+    private Submission pending;
+    private Submission missing;
+
+    @BeforeEach
+    public void setUp() throws IOException, SubmissionException {
+        final String fakeQstat = "bash " + ResourceUtils.getFile(getClass().getResource("/sge/qstat.sh"))
+                .getAbsolutePath();
+        final SGEServiceImpl sgeService = new SGEServiceImpl(QUEUE_NAME, mock(QhostCommand.class),
+                new QstatSGECommand(cmdExecutor, QSTAT_CMD, fakeQstat), mock(QdelCommand.class));
+        submissionMonitor = new SubmissionMonitorImpl(submissionService, submissionScheduler, pipelineService,
+                sgeService);
+        running = submission(1L, RUNNING_JOB_ID);
+        pending = submission(2L, PENDING_JOB_ID);
+        missing = submission(3L, MISSING_JOB_ID);
+        final List<Submission> submissions = Arrays.asList(running, pending, missing);
+        when(submissionService.loadActive()).thenReturn(submissions);
+        when(submissionScheduler.getState(anyLong()))
+                .thenReturn(SubmissionState.builder().status(SubmissionStatus.RUNNING).build());
+    }
+
+    @Test
+    public void shouldDescribeAllJobsWithSingleQstatInvocation() {
+        submissionMonitor.checkSubmissions();
+
+        verify(cmdExecutor, times(1)).executeCommand(anyString());
+        assertThat(running.getSubmissionHost(), equalTo(EXEC_HOST));
+        assertThat(pending.getSubmissionHost(), is(nullValue()));
+        verify(pipelineService).updateRunInstance(running);
+        verify(pipelineService, never()).updateRunInstance(pending);
+    }
+
+    @Test
+    public void shouldFailSubmissionIfJobIsMissingForTwoPollCycles() {
+        submissionMonitor.checkSubmissions();
+        verify(pipelineService, never()).updateStatus(any());
+
+        submissionMonitor.checkSubmissions();
+
+        verify(cmdExecutor, times(2)).executeCommand(anyString());
+        assertThat(missing.getState().getStatus(), equalTo(SubmissionStatus.FAILURE));
+        verify(pipelineService).updateStatus(missing);
+        verify(pipelineService, never()).updateStatus(running);
+        verify(pipelineService, never()).updateStatus(pending);
+    }
+
+    private Submission submission(final Long id, final String jobId) {
+        final Submission submission = new Submission();
+        submission.setId(id);
+        submission.setJobId(jobId);
+        submission.updateState(SubmissionStatus.RUNNING);
+        return submission;
+    }
+}
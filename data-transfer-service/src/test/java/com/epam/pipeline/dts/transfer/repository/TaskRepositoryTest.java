@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.repository;
+
+import com.epam.pipeline.dts.security.service.JwtTokenVerifier;
+import com.epam.pipeline.dts.transfer.model.StorageItem;
+import com.epam.pipeline.dts.transfer.model.StorageType;
+import com.epam.pipeline.dts.transfer.model.TaskStatus;
+import com.epam.pipeline.dts.transfer.model.TransferTask;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@TestPropertySource(value={"classpath:test-application.properties"})
+public class TaskRepositoryTest {
+
+    private static final String OWNER = "dts-1";
+    private static final String ANOTHER_OWNER = "dts-2";
+    private static final LocalDateTime NOW = LocalDateTime.of(2020, 1, 1, 12, 0);
+
+    @MockBean
+    public JwtTokenVerifier jwtTokenVerifier;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    public void shouldFindQueuedAndExpiredTasksInPriorityOrder() {
+        final TransferTask low = saveTask(TaskStatus.CREATED, 0, NOW.minusHours(2), null, null);
+        final TransferTask high = saveTask(TaskStatus.CREATED, 10, NOW.minusHours(1), null, null);
+        final TransferTask expired = saveTask(TaskStatus.RUNNING, 0, NOW.minusHours(3), OWNER, NOW.minusMinutes(1));
+        saveTask(TaskStatus.RUNNING, 0, NOW.minusHours(3), OWNER, NOW.plusMinutes(1));
+        saveTask(TaskStatus.SUCCESS, 0, NOW.minusHours(3), null, null);
+
+        final List<Long> claimable = taskRepository.findClaimable(NOW, PageRequest.of(0, 10)).stream()
+                .map(TransferTask::getId)
+                .collect(Collectors.toList());
+
+        assertThat(claimable, contains(high.getId(), expired.getId(), low.getId()));
+    }
+
+    @Test
+    public void shouldClaimTaskOnlyOnceUntilLeaseExpires() {
+        final TransferTask task = saveTask(TaskStatus.CREATED, 0, NOW, null, null);
+
+        assertThat(taskRepository.claim(task.getId(), OWNER, NOW, NOW.plusMinutes(1)), is(1));
+        assertThat(taskRepository.claim(task.getId(), ANOTHER_OWNER, NOW, NOW.plusMinutes(1)), is(0));
+        assertThat(taskRepository.claim(task.getId(), ANOTHER_OWNER, NOW.plusMinutes(2), NOW.plusMinutes(3)),
+                is(1));
+
+        final TransferTask claimed = taskRepository.findById(task.getId()).get();
+        assertThat(claimed.getStatus(), is(TaskStatus.RUNNING));
+        assertThat(claimed.getLeaseOwner(), is(ANOTHER_OWNER));
+    }
+
+    @Test
+    public void shouldRequeueOwnAndExpiredTasks() {
+        final TransferTask own = saveTask(TaskStatus.RUNNING, 0, NOW, OWNER, NOW.plusMinutes(1));
+        final TransferTask expired = saveTask(TaskStatus.RUNNING, 0, NOW, ANOTHER_OWNER, NOW.minusMinutes(1));
+        final TransferTask alive = saveTask(TaskStatus.RUNNING, 0, NOW, ANOTHER_OWNER, NOW.plusMinutes(1));
+
+        assertThat(taskRepository.requeue(OWNER, NOW, "restart"), is(2));
+
+        assertThat(taskRepository.findById(own.getId()).get().getStatus(), is(TaskStatus.CREATED));
+        assertThat(taskRepository.findById(expired.getId()).get().getStatus(), is(TaskStatus.CREATED));
+        assertThat(taskRepository.findById(alive.getId()).get().getStatus(), is(TaskStatus.RUNNING));
+    }
+
+    @Test
+    public void shouldTreatTasksWithoutPriorityAsDefaultPriorityTasks() {
+        final TransferTask legacy = saveTask(TaskStatus.CREATED, null, NOW.minusHours(2), null, null);
+        final TransferTask low = saveTask(TaskStatus.CREATED, -1, NOW.minusHours(3), null, null);
+        final TransferTask high = saveTask(TaskStatus.CREATED, 10, NOW.minusHours(1), null, null);
+
+        final List<Long> claimable = taskRepository.findClaimable(NOW, PageRequest.of(0, 10)).stream()
+                .map(TransferTask::getId)
+                .collect(Collectors.toList());
+
+        assertThat(claimable, contains(high.getId(), legacy.getId(), low.getId()));
+    }
+
+    @Test
+    public void shouldRequeueRunningTask() {
+        final TransferTask running = saveTask(TaskStatus.RUNNING, 0, NOW, OWNER, NOW.plusMinutes(1));
+        final TransferTask finished = saveTask(TaskStatus.SUCCESS, 0, NOW, null, null);
+
+        assertThat(taskRepository.requeueTask(running.getId(), "shutdown"), is(1));
+        assertThat(taskRepository.requeueTask(finished.getId(), "shutdown"), is(0));
+
+        final TransferTask requeued = taskRepository.findById(running.getId()).get();
+        assertThat(requeued.getStatus(), is(TaskStatus.CREATED));
+        assertThat(requeued.getLeaseOwner(), is(nullValue()));
+        assertThat(taskRepository.findById(finished.getId()).get().getStatus(), is(TaskStatus.SUCCESS));
+    }
+
+    private TransferTask saveTask(final TaskStatus status, final Integer priority, final LocalDateTime created,
+                                  final String leaseOwner, final LocalDateTime leaseExpires) {
+        return taskRepository.save(TransferTask.builder()
+                .status(status)
+                .priority(priority)
+                .created(created)
+                .source(new StorageItem(StorageType.LOCAL, "/local/path", "{}"))
+                .destination(new StorageItem(StorageType.S3, "s3://bucket/path", "{}"))
+                .leaseOwner(leaseOwner)
+                .leaseExpires(leaseExpires)
+                .build());
+    }
+}
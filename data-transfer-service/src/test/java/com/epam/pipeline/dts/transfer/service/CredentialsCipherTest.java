@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017-2019 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.service;
+
+import com.epam.pipeline.dts.AbstractTest;
+import com.epam.pipeline.dts.transfer.service.impl.CredentialsCipherImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CredentialsCipherTest extends AbstractTest {
+
+    private static final String CREDENTIALS = "{\"api\":\"https://cloud-pipeline/restapi/\",\"apiToken\":\"token\"}";
+    private static final String KEY = Base64.getEncoder().encodeToString(new byte[32]);
+    private static final String KEY_FILE = "credentials.key";
+
+    @Test
+    void decryptShouldReturnEncryptedCredentials() {
+        final CredentialsCipher cipher = new CredentialsCipherImpl(KEY, null);
+
+        final String encrypted = cipher.encrypt(CREDENTIALS);
+
+        assertThat(encrypted, not(CREDENTIALS));
+        assertThat(new CredentialsCipherImpl(KEY, null).decrypt(encrypted), is(CREDENTIALS));
+    }
+
+    @Test
+    void decryptShouldFailIfCredentialsWereEncryptedWithAnotherKey() {
+        final String keyFile = createTempFolder("dts-credentials-key").resolve(KEY_FILE).toString();
+        final String encrypted = new CredentialsCipherImpl(null, keyFile).encrypt(CREDENTIALS);
+
+        assertThrows(IllegalStateException.class, () -> new CredentialsCipherImpl(KEY, null).decrypt(encrypted));
+    }
+
+    @Test
+    void decryptShouldUseKeyGeneratedToFileByPreviousInstance() {
+        final String keyFile = createTempFolder("dts-credentials-key").resolve(KEY_FILE).toString();
+
+        final String encrypted = new CredentialsCipherImpl(null, keyFile).encrypt(CREDENTIALS);
+
+        assertThat(new CredentialsCipherImpl(null, keyFile).decrypt(encrypted), is(CREDENTIALS));
+    }
+
+    @Test
+    void cipherShouldFailIfNeitherKeyNorKeyFileIsSpecified() {
+        assertThrows(IllegalStateException.class, () -> new CredentialsCipherImpl(null, null));
+    }
+
+    @Test
+    void encryptShouldKeepMissingCredentials() {
+        final CredentialsCipher cipher = new CredentialsCipherImpl(KEY, null);
+
+        assertThat(cipher.encrypt(null), is(nullValue()));
+        assertThat(cipher.decrypt(null), is(nullValue()));
+    }
+}
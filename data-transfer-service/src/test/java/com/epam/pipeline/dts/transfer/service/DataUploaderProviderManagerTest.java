@@ -17,15 +17,34 @@
 package com.epam.pipeline.dts.transfer.service;
 
 import com.epam.pipeline.dts.transfer.model.TaskStatus;
+import com.epam.pipeline.dts.transfer.model.TransferManifestEntry;
 import com.epam.pipeline.dts.transfer.model.TransferTask;
+import com.epam.pipeline.dts.transfer.repository.TransferManifestRepository;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 
+import lombok.SneakyThrows;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -34,15 +53,37 @@ public class DataUploaderProviderManagerTest extends AbstractTransferTest {
     private final DataUploaderProvider dataUploaderProvider = mock(DataUploaderProvider.class);
     private final DataUploader dataUploader = mock(DataUploader.class);
     private final TaskService taskService = mock(TaskService.class);
-    private final DataUploaderProviderManager manager =
-        new DataUploaderProviderManager(dataUploaderProvider, taskService);
+    private final TransferManifestRepository manifestRepository = mock(TransferManifestRepository.class);
+    private final CredentialsCipher credentialsCipher = mock(CredentialsCipher.class);
+    private final List<TransferManifestEntry> manifest = new ArrayList<>();
+    private final DataUploaderProviderManager manager = manager(1);
+    private final Path sourceFolder = createTempFolder("dts-manager-test-source");
+    private final Path destinationFolder = createTempFolder("dts-manager-test-destination");
     private final TransferTask transferTask = getTransferTask();
     private final RuntimeException exception = new RuntimeException("error message");
 
     @BeforeEach
     void setUp() {
-        when(dataUploaderProvider.getStorageUploader(transferTask))
+        when(dataUploaderProvider.getStorageUploader(any()))
             .thenReturn(dataUploader);
+        when(credentialsCipher.decrypt(any())).then(invocation -> invocation.getArgument(0));
+        when(manifestRepository.saveAll(any())).then(invocation -> {
+            final Iterable<TransferManifestEntry> entries = invocation.getArgument(0);
+            entries.forEach(manifest::add);
+            return entries;
+        });
+        when(manifestRepository.findAllByTaskId(any())).then(invocation -> manifest.stream()
+            .filter(entry -> entry.getTaskId().equals(invocation.getArgument(0)))
+            .collect(Collectors.toList()));
+        doAnswer(invocation -> manifest.removeIf(entry -> entry.getTaskId().equals(invocation.getArgument(0))))
+            .when(manifestRepository).deleteByTaskId(any());
+    }
+
+    @AfterEach
+    @SneakyThrows
+    void tearDown() {
+        FileUtils.deleteDirectory(sourceFolder.toFile());
+        FileUtils.deleteDirectory(destinationFolder.toFile());
     }
 
     @Test
@@ -61,6 +102,88 @@ public class DataUploaderProviderManagerTest extends AbstractTransferTest {
         verify(taskService).updateStatus(eq(transferTask.getId()), eq(TaskStatus.FAILURE), eq(exception.getMessage()));
     }
 
+    @Test
+    @SneakyThrows
+    void transferDataShouldSkipIncludedFilesTransferredBeforeRestart() {
+        for (final String file : Arrays.asList("a.txt", "b.txt", "c.txt")) {
+            Files.write(sourceFolder.resolve(file), file.getBytes());
+        }
+        final TransferTask task = getTransferTask()
+            .withSource(localItem(sourceFolder.toString()))
+            .withDestination(localItem(destinationFolder.toString()))
+            .withIncluded(Arrays.asList("a.txt", "b.txt", "c.txt"));
+        final List<String> copied = new ArrayList<>();
+        doAnswer(invocation -> copy(invocation.getArgument(0), copied, "b.txt"))
+            .when(dataUploader).transfer(any());
+
+        manager.transferData(task);
+
+        verify(taskService).updateStatus(eq(task.getId()), eq(TaskStatus.FAILURE), anyString());
+        assertThat(copied, is(Collections.singletonList("a.txt")));
+
+        doAnswer(invocation -> copy(invocation.getArgument(0), copied, null))
+            .when(dataUploader).transfer(any());
+
+        manager.transferData(task);
+
+        verify(taskService).updateStatus(eq(task.getId()), eq(TaskStatus.SUCCESS));
+        assertThat(copied, is(Arrays.asList("a.txt", "b.txt", "c.txt")));
+        assertThat(Files.exists(destinationFolder.resolve("c.txt")), is(true));
+        assertThat(manifest.isEmpty(), is(true));
+    }
+
+    @Test
+    void transferDataShouldTransferIncludedFilesInBatches() {
+        final TransferTask task = getTransferTask().withIncluded(Arrays.asList("a.txt", "b.txt", "c.txt"));
+
+        manager(2).transferData(task);
+
+        verify(dataUploader).transfer(eq(task.withIncluded(Arrays.asList("a.txt", "b.txt"))));
+        verify(dataUploader).transfer(eq(task.withIncluded(Collections.singletonList("c.txt"))));
+        verify(taskService).updateStatus(eq(task.getId()), eq(TaskStatus.SUCCESS));
+    }
+
+    @Test
+    void transferDataShouldQueueInterruptedTaskAgain() {
+        doThrow(new IllegalStateException("Transfer has been interrupted.", new InterruptedException()))
+            .when(dataUploader).transfer(eq(transferTask));
+
+        manager.transferData(transferTask);
+
+        verify(taskService).requeueTask(eq(transferTask.getId()), anyString());
+        verify(taskService, never()).updateStatus(eq(transferTask.getId()), eq(TaskStatus.FAILURE), anyString());
+    }
+
+    @Test
+    void transferDataShouldFailTaskIfCredentialsCannotBeDecrypted() {
+        when(credentialsCipher.decrypt(any())).thenThrow(new IllegalStateException("cannot decrypt"));
+
+        manager.transferData(transferTask);
+
+        verify(taskService).updateStatus(eq(transferTask.getId()), eq(TaskStatus.FAILURE), eq("cannot decrypt"));
+        verify(dataUploader, never()).transfer(any());
+    }
+
+    private DataUploaderProviderManager manager(final int includedBatchSize) {
+        return new DataUploaderProviderManager(dataUploaderProvider, taskService, manifestRepository,
+            credentialsCipher, includedBatchSize);
+    }
+
+    /**
+     * Local file system stand-in for a storage uploader which fails on the given file.
+     */
+    @SneakyThrows
+    private Void copy(final TransferTask task, final List<String> copied, final String failingFile) {
+        for (final String file : task.getIncluded()) {
+            if (file.equals(failingFile)) {
+                throw new IllegalStateException("Server has been stopped.");
+            }
+            Files.copy(Paths.get(task.getSource().getPath(), file), Paths.get(task.getDestination().getPath(), file));
+            copied.add(file);
+        }
+        return null;
+    }
+
     private TransferTask getTransferTask() {
         return TransferTask.builder()
             .id(1L)
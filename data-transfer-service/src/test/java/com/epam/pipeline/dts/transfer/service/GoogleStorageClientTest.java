@@ -0,0 +1,267 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.service;
+
+import com.epam.pipeline.dts.transfer.model.TransferManifestEntry;
+import com.epam.pipeline.dts.transfer.model.TransferManifestState;
+import com.epam.pipeline.dts.transfer.model.google.GoogleCredentials;
+import com.epam.pipeline.dts.transfer.model.google.GoogleTransferInfo;
+import com.epam.pipeline.dts.transfer.repository.TransferManifestRepository;
+import com.epam.pipeline.dts.transfer.service.impl.GoogleStorageClient;
+import com.google.api.gax.paging.Page;
+import com.google.cloud.ReadChannel;
+import com.google.cloud.RestorableState;
+import com.google.cloud.WriteChannel;
+import com.google.cloud.storage.Blob;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Bucket;
+import com.google.cloud.storage.Storage;
+import lombok.SneakyThrows;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class GoogleStorageClientTest extends AbstractTransferTest {
+
+    private static final Long TASK_ID = 1L;
+    private static final String BUCKET = "bucket";
+    private static final String FOLDER = "path/to/folder";
+    private static final int PART_SIZE = 5;
+    private static final int BUFFER_SIZE = 2;
+
+    private final Storage storage = mock(Storage.class);
+    private final Bucket bucket = mock(Bucket.class);
+    private final TransferManifestRepository manifestRepository = mock(TransferManifestRepository.class);
+    private final Map<String, ByteArrayOutputStream> uploaded = new ConcurrentHashMap<>();
+    private final GoogleStorageClient client = new GoogleStorageClient(manifestRepository, 2, BUFFER_SIZE, 0,
+        PART_SIZE) {
+        @Override
+        protected Storage getStorage(final GoogleCredentials credentials) {
+            return storage;
+        }
+    };
+    private final Path localFolder = createTempFolder("dts-gs-client-test-folder");
+
+    GoogleStorageClientTest() {
+        when(storage.get(BUCKET)).thenReturn(bucket);
+        when(storage.writer(any(BlobInfo.class))).thenAnswer(invocation -> {
+            final BlobInfo info = invocation.getArgument(0);
+            final ByteArrayOutputStream content = new ByteArrayOutputStream();
+            uploaded.put(info.getName(), content);
+            return new FakeWriteChannel(content);
+        });
+    }
+
+    @AfterEach
+    @SneakyThrows
+    void tearDown() {
+        FileUtils.deleteDirectory(localFolder.toFile());
+    }
+
+    @Test
+    @SneakyThrows
+    void uploadDirectoryShouldSkipFilesFromManifest() {
+        write(localFolder.resolve("a.txt"), "first file");
+        write(localFolder.resolve("nested/b.txt"), "second file");
+        when(manifestRepository.findAllByTaskId(TASK_ID)).thenReturn(Collections.singletonList(
+            new TransferManifestEntry(null, TASK_ID, "gs://bucket/folder/a.txt", (long) "first file".length(),
+                TransferManifestState.FILE_TRANSFERRED)));
+
+        client.uploadDirectory(GoogleTransferInfo.builder()
+            .source(localFolder.toString())
+            .destination("gs://bucket/folder/")
+            .credentials(GoogleCredentials.from(GS_CREDENTIALS))
+            .taskId(TASK_ID)
+            .build());
+
+        assertThat(uploaded.keySet(), is(Collections.singleton("folder/nested/b.txt")));
+        assertThat(uploaded.get("folder/nested/b.txt").toString(StandardCharsets.UTF_8.name()), is("second file"));
+        verify(manifestRepository).save(new TransferManifestEntry(null, TASK_ID, "gs://bucket/folder/nested/b.txt",
+            (long) "second file".length(), TransferManifestState.FILE_TRANSFERRED));
+    }
+
+    @Test
+    @SneakyThrows
+    void downloadFileShouldAssembleObjectFromRanges() {
+        final String content = "object content split into several ranges";
+        final Blob blob = blob(FOLDER + "/file", content);
+        when(bucket.get(FOLDER + "/file")).thenReturn(blob);
+        final Path destination = localFolder.resolve("file");
+
+        client.downloadFile(GoogleTransferInfo.builder()
+            .bucketName(BUCKET)
+            .key(FOLDER + "/file")
+            .destination(destination.toString())
+            .credentials(GoogleCredentials.from(GS_CREDENTIALS))
+            .build());
+
+        assertThat(read(destination), is(content));
+        assertFalse(Files.exists(localFolder.resolve("file.part")));
+        verify(manifestRepository, never()).save(any());
+    }
+
+    @Test
+    @SneakyThrows
+    void downloadDirectoryShouldRecordCompletedFilesIfSomeFilesFail() {
+        final Blob successful = blob(FOLDER + "/a.txt", "successful file");
+        final Blob failed = blob(FOLDER + "/b.txt", "failed file");
+        when(failed.reader()).thenThrow(new IllegalStateException("Connection reset"));
+        final Page<Blob> page = mock(Page.class);
+        when(page.iterateAll()).thenReturn(Arrays.asList(successful, failed));
+        when(bucket.list(any(Storage.BlobListOption.class))).thenReturn(page);
+
+        final GoogleTransferInfo transferInfo = GoogleTransferInfo.builder()
+            .source(FOLDER)
+            .bucketName(BUCKET)
+            .key(FOLDER)
+            .destination(localFolder.toString())
+            .credentials(GoogleCredentials.from(GS_CREDENTIALS))
+            .taskId(TASK_ID)
+            .build();
+
+        assertThrows(IllegalArgumentException.class, () -> client.downloadDirectory(transferInfo));
+        assertThat(read(localFolder.resolve("a.txt")), is("successful file"));
+        assertFalse(Files.exists(localFolder.resolve("b.txt")));
+        verify(manifestRepository).save(new TransferManifestEntry(null, TASK_ID,
+            localFolder.resolve("a.txt").toString(), (long) "successful file".length(),
+            TransferManifestState.FILE_TRANSFERRED));
+    }
+
+    private Blob blob(final String name, final String content) {
+        final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        final Blob blob = mock(Blob.class);
+        when(blob.getBucket()).thenReturn(BUCKET);
+        when(blob.getName()).thenReturn(name);
+        when(blob.getSize()).thenReturn((long) bytes.length);
+        when(blob.reader()).thenAnswer(invocation -> new FakeReadChannel(bytes));
+        return blob;
+    }
+
+    @SneakyThrows
+    private void write(final Path path, final String content) {
+        FileUtils.writeStringToFile(path.toFile(), content, StandardCharsets.UTF_8);
+    }
+
+    @SneakyThrows
+    private String read(final Path path) {
+        return FileUtils.readFileToString(path.toFile(), StandardCharsets.UTF_8);
+    }
+
+    private static class FakeReadChannel implements ReadChannel {
+
+        private final byte[] content;
+        private int position;
+
+        FakeReadChannel(final byte[] content) {
+            this.content = content;
+        }
+
+        @Override
+        public int read(final ByteBuffer buffer) {
+            if (position >= content.length) {
+                return -1;
+            }
+            final int length = Math.min(buffer.remaining(), content.length - position);
+            buffer.put(content, position, length);
+            position += length;
+            return length;
+        }
+
+        @Override
+        public void seek(final long position) {
+            this.position = (int) position;
+        }
+
+        @Override
+        public void setChunkSize(final int chunkSize) {
+            // not applicable
+        }
+
+        @Override
+        public RestorableState<ReadChannel> capture() {
+            return null;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+            // not applicable
+        }
+    }
+
+    private static class FakeWriteChannel implements WriteChannel {
+
+        private final ByteArrayOutputStream content;
+
+        FakeWriteChannel(final ByteArrayOutputStream content) {
+            this.content = content;
+        }
+
+        @Override
+        public int write(final ByteBuffer buffer) {
+            final int length = buffer.remaining();
+            final byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            content.write(bytes, 0, length);
+            return length;
+        }
+
+        @Override
+        public void setChunkSize(final int chunkSize) {
+            // not applicable
+        }
+
+        @Override
+        public RestorableState<WriteChannel> capture() {
+            return null;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+            // not applicable
+        }
+    }
+}
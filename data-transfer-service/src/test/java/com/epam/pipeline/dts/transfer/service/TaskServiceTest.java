@@ -20,6 +20,7 @@ import com.epam.pipeline.dts.transfer.model.StorageItem;
 import com.epam.pipeline.dts.transfer.model.TaskStatus;
 import com.epam.pipeline.dts.transfer.model.TransferTask;
 import com.epam.pipeline.dts.transfer.repository.TaskRepository;
+import com.epam.pipeline.dts.transfer.service.impl.CredentialsCipherImpl;
 import com.epam.pipeline.dts.transfer.service.impl.TaskServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -27,6 +28,7 @@ import org.mockito.ArgumentMatcher;
 import org.mockito.stubbing.Answer;
 
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -42,7 +44,9 @@ import static org.mockito.Mockito.*;
 public class TaskServiceTest extends AbstractTransferTest {
 
     private final TaskRepository taskRepository = mock(TaskRepository.class);
-    private final TaskService taskService = new TaskServiceImpl(taskRepository);
+    private final CredentialsCipher credentialsCipher = new CredentialsCipherImpl(
+            Base64.getEncoder().encodeToString(new byte[32]), null);
+    private final TaskService taskService = new TaskServiceImpl(taskRepository, credentialsCipher);
 
     @BeforeEach
     void setUp() {
@@ -56,8 +60,17 @@ public class TaskServiceTest extends AbstractTransferTest {
 
         final TransferTask task = taskService.createTask(source, destination);
 
-        assertThat(task.getSource(), is(source));
-        assertThat(task.getDestination(), is(destination));
+        assertThat(decrypted(task.getSource()), is(source));
+        assertThat(decrypted(task.getDestination()), is(destination));
+    }
+
+    @Test
+    void createTaskShouldEncryptCredentials() {
+        final StorageItem source = s3Item();
+
+        final TransferTask task = taskService.createTask(source, nonExistingLocalItem());
+
+        assertThat(task.getSource().getCredentials(), not(source.getCredentials()));
     }
 
     @Test
@@ -286,7 +299,12 @@ public class TaskServiceTest extends AbstractTransferTest {
 
     private ArgumentMatcher<TransferTask> hasSourceAndDestination(final StorageItem source,
                                                                   final StorageItem destination) {
-        return task -> task.getSource().equals(source) && task.getDestination().equals(destination);
+        return task -> decrypted(task.getSource()).equals(source)
+            && decrypted(task.getDestination()).equals(destination);
+    }
+
+    private StorageItem decrypted(final StorageItem item) {
+        return new StorageItem(item.getType(), item.getPath(), credentialsCipher.decrypt(item.getCredentials()));
     }
 
     private Answer<TransferTask> returnFirstArgument() {
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.service;
+
+import com.epam.pipeline.dts.transfer.model.StorageItem;
+import com.epam.pipeline.dts.transfer.model.TaskStatus;
+import com.epam.pipeline.dts.transfer.model.TransferTask;
+import com.epam.pipeline.dts.transfer.repository.TaskRepository;
+import com.epam.pipeline.dts.transfer.service.impl.TransferTaskQueueImpl;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TransferTaskQueueTest extends AbstractTransferTest {
+
+    private static final String OWNER = "dts-host";
+    private static final String BUCKET_PATH = "s3://bucket/path/";
+    private static final String ANOTHER_BUCKET_PATH = "s3://another-bucket/path/";
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final DataUploaderProviderManager manager = mock(DataUploaderProviderManager.class);
+    private final List<Runnable> started = new ArrayList<>();
+
+    @Test
+    void requeueInterruptedTasksShouldRequeueTasksOnlyOnce() {
+        final TransferTaskQueue queue = queue(2, 0, "");
+
+        queue.requeueInterruptedTasks();
+        queue.requeueInterruptedTasks();
+
+        verify(taskRepository, times(1)).requeue(eq(OWNER), any(), anyString());
+    }
+
+    @Test
+    void dispatchShouldStartClaimedTasksWithinTotalLimit() {
+        final TransferTaskQueue queue = queue(2, 0, "");
+        mockClaimable(task(1L, BUCKET_PATH), task(2L, BUCKET_PATH), task(3L, BUCKET_PATH));
+        when(taskRepository.claim(anyLong(), eq(OWNER), any(), any())).thenReturn(1);
+
+        queue.dispatch();
+
+        assertThat(started.size(), is(2));
+        verify(taskRepository).claim(eq(1L), eq(OWNER), any(), any());
+        verify(taskRepository).claim(eq(2L), eq(OWNER), any(), any());
+        verify(taskRepository, never()).claim(eq(3L), anyString(), any(), any());
+    }
+
+    @Test
+    void dispatchShouldSkipTasksClaimedByAnotherInstance() {
+        final TransferTaskQueue queue = queue(1, 0, "");
+        mockClaimable(task(1L, BUCKET_PATH), task(2L, BUCKET_PATH));
+        when(taskRepository.claim(eq(1L), eq(OWNER), any(), any())).thenReturn(0);
+        when(taskRepository.claim(eq(2L), eq(OWNER), any(), any())).thenReturn(1);
+
+        queue.dispatch();
+        started.forEach(Runnable::run);
+
+        verify(manager).transferData(argThatHasId(2L));
+        verify(manager, never()).transferData(argThatHasId(1L));
+    }
+
+    @Test
+    void dispatchShouldPostponeTasksOfBusyEndpoint() {
+        final TransferTaskQueue queue = queue(10, 0, "s3://bucket=1");
+        mockClaimable(task(1L, BUCKET_PATH), task(2L, BUCKET_PATH), task(3L, ANOTHER_BUCKET_PATH));
+        when(taskRepository.claim(anyLong(), eq(OWNER), any(), any())).thenReturn(1);
+
+        queue.dispatch();
+
+        assertThat(started.size(), is(2));
+        verify(taskRepository, never()).claim(eq(2L), anyString(), any(), any());
+
+        queue.dispatch();
+
+        verify(taskRepository, never()).claim(eq(2L), anyString(), any(), any());
+        verify(taskRepository).renewLeases(argThat(ids -> ids.size() == 2 && ids.containsAll(Arrays.asList(1L, 3L))),
+            eq(OWNER), any());
+
+        started.get(0).run();
+        mockClaimable(task(2L, BUCKET_PATH));
+        queue.dispatch();
+
+        verify(taskRepository).claim(eq(2L), eq(OWNER), any(), any());
+    }
+
+    @Test
+    void dispatchShouldApplyDefaultEndpointLimitToLocalFileSystem() {
+        final TransferTaskQueue queue = queue(10, 1, "");
+        mockClaimable(task(1L, BUCKET_PATH), task(2L, ANOTHER_BUCKET_PATH));
+        when(taskRepository.claim(anyLong(), eq(OWNER), any(), any())).thenReturn(1);
+
+        queue.dispatch();
+
+        assertThat(started.size(), is(1));
+        verify(taskRepository, never()).claim(eq(2L), anyString(), any(), any());
+    }
+
+    private TransferTaskQueue queue(final int maxTasks, final int maxEndpointTasks, final String endpointLimits) {
+        return new TransferTaskQueueImpl(taskRepository, manager, started::add, OWNER, maxTasks, maxEndpointTasks,
+            endpointLimits, 60000, 100);
+    }
+
+    private void mockClaimable(final TransferTask... tasks) {
+        when(taskRepository.findClaimable(any(), any())).thenReturn(Arrays.asList(tasks));
+        when(taskRepository.renewLeases(anyCollection(), anyString(), any())).then(invocation ->
+            ((Collection<?>) invocation.getArgument(0)).size());
+    }
+
+    private TransferTask argThatHasId(final Long id) {
+        return argThat(task -> task.getId().equals(id));
+    }
+
+    private TransferTask task(final Long id, final String destination) {
+        return TransferTask.builder()
+            .id(id)
+            .status(TaskStatus.CREATED)
+            .created(LocalDateTime.now())
+            .priority(0)
+            .source(localItem("/local/path"))
+            .destination(new StorageItem(s3Item().getType(), destination, S3_CREDENTIALS))
+            .included(Collections.emptyList())
+            .build();
+    }
+}
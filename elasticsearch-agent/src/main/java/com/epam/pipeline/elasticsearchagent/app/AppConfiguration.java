@@ -15,6 +15,10 @@
  */
 package com.epam.pipeline.elasticsearchagent.app;
 
+import com.epam.pipeline.utils.AdaptiveConcurrencyLimiter;
+import com.epam.pipeline.utils.BulkRequestSettings;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import net.javacrumbs.shedlock.core.LockProvider;
 import net.javacrumbs.shedlock.provider.jdbctemplate.JdbcTemplateLockProvider;
 import net.javacrumbs.shedlock.spring.annotation.EnableSchedulerLock;
@@ -22,10 +26,12 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.LongSupplier;
 import javax.sql.DataSource;
 
 @Configuration
@@ -33,6 +39,8 @@ import javax.sql.DataSource;
 @EnableSchedulerLock(defaultLockAtMostFor = "PT3M")
 public class AppConfiguration {
 
+    private static final String BULK_METRICS_PREFIX = "sync.bulk.";
+
     @Bean(name = "elasticsearchAgentThreadPool")
     public ExecutorService elasticsearchAgentThreadPool(
             final @Value("${sync.submit.threads:1}") int submitThreads) {
@@ -41,6 +49,30 @@ public class AppConfiguration {
         return pool;
     }
 
+    @Bean
+    public BulkRequestSettings bulkRequestSettings(
+            final @Value("${sync.bulk.max.concurrency:4}") int maxConcurrency,
+            final @Value("${sync.bulk.target.latency:5000}") long targetLatency,
+            final @Value("${sync.bulk.max.bytes:10485760}") long maxBulkBytes,
+            final @Value("${sync.bulk.max.retries:3}") int maxRetries,
+            final @Value("${sync.bulk.retry.delay:1000}") long retryDelay) {
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("bulk-request-");
+        threadFactory.setDaemon(true);
+        return BulkRequestSettings.builder()
+                .limiter(new AdaptiveConcurrencyLimiter(1, maxConcurrency, targetLatency))
+                .executor(maxConcurrency > 1 ? Executors.newFixedThreadPool(maxConcurrency, threadFactory) : null)
+                .maxBulkBytes(maxBulkBytes)
+                .maxRetries(maxRetries)
+                .retryDelay(retryDelay)
+                .build();
+    }
+
+    @Bean
+    public MeterBinder bulkRequestMetrics(final BulkRequestSettings bulkRequestSettings) {
+        return registry -> bulkRequestSettings.metrics().forEach((name, value) ->
+                Gauge.builder(BULK_METRICS_PREFIX + name, value, LongSupplier::getAsLong).register(registry));
+    }
+
     @Bean(name = "lockProvider")
     public LockProvider lockProvider(DataSource dataSource) {
         return new JdbcTemplateLockProvider(dataSource);
@@ -42,6 +42,7 @@ import com.epam.pipeline.elasticsearchagent.service.impl.converter.tool.ToolLoad
 import com.epam.pipeline.elasticsearchagent.service.impl.converter.tool.ToolMapper;
 import com.epam.pipeline.elasticsearchagent.service.impl.converter.toolgroup.ToolGroupLoader;
 import com.epam.pipeline.elasticsearchagent.service.impl.converter.toolgroup.ToolGroupMapper;
+import com.epam.pipeline.utils.BulkRequestSettings;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -59,8 +60,10 @@ public class CommonSyncConfiguration {
     @Bean
     public BulkRequestSender bulkRequestSender(
             final ElasticsearchServiceClient elasticsearchClient,
-            final BulkResponsePostProcessor responsePostProcessor) {
-        return new BulkRequestSender(elasticsearchClient, responsePostProcessor);
+            final BulkResponsePostProcessor responsePostProcessor,
+            final BulkRequestSettings bulkRequestSettings) {
+        return new BulkRequestSender(elasticsearchClient, responsePostProcessor, new ResponseIdConverter() {},
+                syncChunkSize, bulkRequestSettings);
     }
 
     @Bean
@@ -72,11 +75,13 @@ public class CommonSyncConfiguration {
             final ElasticIndexService indexService,
             final ElasticsearchServiceClient elasticsearchClient,
             final BulkResponsePostProcessor responsePostProcessor,
+            final BulkRequestSettings bulkRequestSettings,
             final @Value("${sync.run.index.name}") String indexName,
             final @Value("${sync.run.index.mapping}") String runMapping,
             final @Value("${sync.run.bulk.insert.size:100}") int bulkSize) {
         final BulkRequestSender requestSender = new BulkRequestSender(
-                elasticsearchClient, responsePostProcessor, new ResponseIdConverter() {}, bulkSize);
+                elasticsearchClient, responsePostProcessor, new ResponseIdConverter() {}, bulkSize,
+                bulkRequestSettings);
         return new EntitySynchronizer(eventDao,
                 PipelineEvent.ObjectType.RUN,
                 runMapping,
@@ -211,11 +216,13 @@ public class CommonSyncConfiguration {
             final ElasticIndexService indexService,
             final ElasticsearchServiceClient elasticsearchClient,
             final BulkResponsePostProcessor responsePostProcessor,
+            final BulkRequestSettings bulkRequestSettings,
             final @Value("${sync.run-configuration.index.name}") String indexName,
             final @Value("${sync.run-configuration.index.mapping}") String mapping) {
 
         final BulkRequestSender requestSender = new BulkRequestSender(
-                elasticsearchClient, responsePostProcessor, new ConfigurationIdConverter());
+                elasticsearchClient, responsePostProcessor, new ConfigurationIdConverter(), syncChunkSize,
+                bulkRequestSettings);
 
         return new EntitySynchronizer(eventDao,
                 PipelineEvent.ObjectType.CONFIGURATION,
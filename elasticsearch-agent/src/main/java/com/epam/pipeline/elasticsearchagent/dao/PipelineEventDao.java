@@ -18,6 +18,7 @@ package com.epam.pipeline.elasticsearchagent.dao;
 import com.epam.pipeline.elasticsearchagent.model.EventType;
 import com.epam.pipeline.elasticsearchagent.model.PipelineEvent;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.ListUtils;
 import org.springframework.beans.factory.annotation.Required;
 import org.springframework.jdbc.core.RowMapper;
@@ -31,6 +32,8 @@ import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 @Slf4j
@@ -38,6 +41,7 @@ public class PipelineEventDao extends NamedParameterJdbcDaoSupport {
 
     private String createEventQuery;
     private String loadAllEventsByObjectTypeQuery;
+    private String loadEventsByObjectTypeAndIdsQuery;
     private String deleteEventQuery;
 
     @Transactional(propagation = Propagation.REQUIRED)
@@ -67,6 +71,22 @@ public class PipelineEventDao extends NamedParameterJdbcDaoSupport {
         return ListUtils.emptyIfNull(pipelineEvents);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<PipelineEvent> loadPipelineEventsByObjectTypeAndIds(final PipelineEvent.ObjectType objectType,
+                                                                    final Collection<Long> objectIds,
+                                                                    final LocalDateTime before) {
+        if (CollectionUtils.isEmpty(objectIds)) {
+            return Collections.emptyList();
+        }
+        final MapSqlParameterSource parameterSource = new MapSqlParameterSource();
+        parameterSource.addValue(PipelineEventsParameters.OBJECT_TYPE.name(), objectType.getDbName());
+        parameterSource.addValue(PipelineEventsParameters.OBJECT_ID.name(), objectIds);
+        parameterSource.addValue(PipelineEventsParameters.STAMP.name(),
+                OffsetDateTime.of(before, ZoneOffset.ofHours(0)));
+        return ListUtils.emptyIfNull(getNamedParameterJdbcTemplate()
+                .query(loadEventsByObjectTypeAndIdsQuery, parameterSource, PipelineEventsParameters.getRowMapper()));
+    }
+
     @Transactional(propagation = Propagation.REQUIRED)
     public void deleteEventByObjectId(final Long id, final PipelineEvent.ObjectType objectType,
                                       final LocalDateTime before) {
@@ -125,6 +145,11 @@ public class PipelineEventDao extends NamedParameterJdbcDaoSupport {
         this.loadAllEventsByObjectTypeQuery = loadAllEventsByObjectTypeQuery;
     }
 
+    @Required
+    public void setLoadEventsByObjectTypeAndIdsQuery(String loadEventsByObjectTypeAndIdsQuery) {
+        this.loadEventsByObjectTypeAndIdsQuery = loadEventsByObjectTypeAndIdsQuery;
+    }
+
     @Required
     public void setDeleteEventQuery(String deleteEventQuery) {
         this.deleteEventQuery = deleteEventQuery;
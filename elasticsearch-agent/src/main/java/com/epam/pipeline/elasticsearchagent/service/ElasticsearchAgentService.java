@@ -54,14 +54,17 @@ public class ElasticsearchAgentService {
     private final ExecutorService elasticsearchAgentThreadPool;
     private final Set<ElasticsearchSynchronizer> synchronizers;
     private final String lastSynchronizationTimeFilePath;
+    private final SynchronizationLock synchronizationLock;
 
     public ElasticsearchAgentService(
             final ExecutorService elasticsearchAgentThreadPool,
             final Optional<Set<ElasticsearchSynchronizer>> synchronizers,
-            final @Value("${sync.last.synchronization.file}") String lastSynchronizationTimeFilePath) {
+            final @Value("${sync.last.synchronization.file}") String lastSynchronizationTimeFilePath,
+            final SynchronizationLock synchronizationLock) {
         this.elasticsearchAgentThreadPool = elasticsearchAgentThreadPool;
         this.synchronizers = synchronizers.orElse(Collections.emptySet());
         this.lastSynchronizationTimeFilePath = lastSynchronizationTimeFilePath;
+        this.synchronizationLock = synchronizationLock;
     }
 
     /**
@@ -72,6 +75,10 @@ public class ElasticsearchAgentService {
     @Scheduled(fixedDelayString = "${sync.scheduler.delay}")
     @Transactional(propagation = Propagation.REQUIRED)
     public void startElasticsearchAgent() {
+        synchronizationLock.run(this::synchronize);
+    }
+
+    private void synchronize() {
         log.debug("Start scheduled database changes...");
 
         LocalDateTime lastSyncTime = getLastSyncTime();
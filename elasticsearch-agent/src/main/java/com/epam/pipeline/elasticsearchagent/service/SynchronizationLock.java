@@ -0,0 +1,42 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.pipeline.elasticsearchagent.service;
+
+package com.epam.pipeline.elasticsearchagent.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serializes synchronizations performed by the agent, so entities notified by the change feed are never
+ * synchronized concurrently with the scheduled synchronization.
+ */
+@Component
+public class SynchronizationLock {
+
+    private final Lock lock = new ReentrantLock();
+
+    public void run(final Runnable synchronization) {
+        lock.lock();
+        try {
+            synchronization.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -19,39 +19,77 @@ import com.epam.pipeline.elasticsearchagent.model.PipelineEvent;
 import com.epam.pipeline.elasticsearchagent.service.BulkResponsePostProcessor;
 import com.epam.pipeline.elasticsearchagent.service.ElasticsearchServiceClient;
 import com.epam.pipeline.elasticsearchagent.service.ResponseIdConverter;
-import lombok.AllArgsConstructor;
-import lombok.RequiredArgsConstructor;
+import com.epam.pipeline.utils.BulkRequestSettings;
+import com.epam.pipeline.utils.BulkRequestStats;
+import com.epam.pipeline.utils.ConcurrentBulkSender;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.ListUtils;
 import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.rest.RestStatus;
 import org.springframework.util.ObjectUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
+/**
+ * Sends document requests to Elasticsearch in bulks using {@link ConcurrentBulkSender}.
+ * Documents rejected because of Elasticsearch overload (HTTP 429) are resent with a delay,
+ * responses for such entities are post processed only after the resending.
+ */
 @Slf4j
-@RequiredArgsConstructor
-@AllArgsConstructor
 public class BulkRequestSender {
 
     private static final int DEFAULT_BULK_SIZE = 1000;
     private static final int MAX_PARTITION_SIZE = 200;
     private static final int MIN_PARTITION_SIZE = 10;
+    private static final int REQUEST_METADATA_SIZE = 100;
     private final ElasticsearchServiceClient elasticsearchClient;
     private final BulkResponsePostProcessor responsePostProcessor;
+    private final ResponseIdConverter idConverter;
+    private final int currentBulkSize;
+    private final BulkRequestStats stats;
+    private final ConcurrentBulkSender<DocWriteRequest> bulkSender;
 
-    private ResponseIdConverter idConverter = new ResponseIdConverter() {};
-    private int currentBulkSize = DEFAULT_BULK_SIZE;
+    public BulkRequestSender(final ElasticsearchServiceClient elasticsearchClient,
+                             final BulkResponsePostProcessor responsePostProcessor) {
+        this(elasticsearchClient, responsePostProcessor, new ResponseIdConverter() {});
+    }
 
     public BulkRequestSender(final ElasticsearchServiceClient elasticsearchClient,
                              final BulkResponsePostProcessor responsePostProcessor,
                              final ResponseIdConverter idConverter) {
-        this(elasticsearchClient, responsePostProcessor);
+        this(elasticsearchClient, responsePostProcessor, idConverter, DEFAULT_BULK_SIZE);
+    }
+
+    public BulkRequestSender(final ElasticsearchServiceClient elasticsearchClient,
+                             final BulkResponsePostProcessor responsePostProcessor,
+                             final ResponseIdConverter idConverter,
+                             final int currentBulkSize) {
+        this(elasticsearchClient, responsePostProcessor, idConverter, currentBulkSize,
+                BulkRequestSettings.sequential());
+    }
+
+    public BulkRequestSender(final ElasticsearchServiceClient elasticsearchClient,
+                             final BulkResponsePostProcessor responsePostProcessor,
+                             final ResponseIdConverter idConverter,
+                             final int currentBulkSize,
+                             final BulkRequestSettings settings) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.responsePostProcessor = responsePostProcessor;
         this.idConverter = idConverter;
+        this.currentBulkSize = currentBulkSize;
+        this.stats = settings.getStats();
+        this.bulkSender = new ConcurrentBulkSender<>(settings, BulkRequestSender::estimateSize);
     }
 
     public void indexDocuments(final String indexName,
@@ -79,7 +117,6 @@ public class BulkRequestSender {
 
     }
 
-    @SuppressWarnings("PMD.AvoidCatchingGenericException")
     public void indexDocuments(final String indexName,
                                final List<PipelineEvent.ObjectType> objectTypes,
                                final List<DocWriteRequest> documentRequests,
@@ -87,29 +124,57 @@ public class BulkRequestSender {
                                final int bulkSize) {
         final int partitionSize = Integer.min(MAX_PARTITION_SIZE,
                                               Integer.max(MIN_PARTITION_SIZE, bulkSize / 10));
-        ListUtils.partition(documentRequests, partitionSize).forEach(chunk -> {
-            try {
-                indexChunk(indexName, chunk, objectTypes, syncStart);
-            } catch (Exception e) {
-                log.error("Partial error during {} index sync: {}.", indexName, e.getMessage());
-            }
-        });
+        bulkSender.send(documentRequests, partitionSize,
+            chunk -> indexChunk(indexName, chunk, objectTypes, syncStart));
+    }
+
+    static long estimateSize(final DocWriteRequest request) {
+        if (request instanceof IndexRequest) {
+            return REQUEST_METADATA_SIZE + Optional.ofNullable(((IndexRequest) request).source())
+                    .map(BytesReference::length)
+                    .orElse(0);
+        }
+        if (request instanceof UpdateRequest) {
+            final UpdateRequest updateRequest = (UpdateRequest) request;
+            return Optional.ofNullable(updateRequest.doc()).map(BulkRequestSender::estimateSize).orElse(0L)
+                    + Optional.ofNullable(updateRequest.upsertRequest())
+                    .map(BulkRequestSender::estimateSize)
+                    .orElse((long) REQUEST_METADATA_SIZE);
+        }
+        return REQUEST_METADATA_SIZE;
     }
 
-    private void indexChunk(final String indexName,
-                            final List<DocWriteRequest> documentRequests,
-                            final List<PipelineEvent.ObjectType> objectTypes,
-                            final LocalDateTime syncStart) {
+    private List<DocWriteRequest> indexChunk(final String indexName,
+                                             final List<DocWriteRequest> documentRequests,
+                                             final List<PipelineEvent.ObjectType> objectTypes,
+                                             final LocalDateTime syncStart) {
         log.debug("Inserting {} documents for {}", documentRequests.size(), objectTypes);
         final BulkResponse response = elasticsearchClient
                 .sendRequests(indexName, documentRequests);
 
         if (ObjectUtils.isEmpty(response)) {
             log.error("Elasticsearch documents for {} were not created.", objectTypes);
-            return;
+            return Collections.emptyList();
         }
-        Arrays.stream(response.getItems())
-            .collect(Collectors.groupingBy(idConverter::getId))
-            .forEach((id, items) -> responsePostProcessor.postProcessResponse(items, objectTypes, id, syncStart));
+        final List<DocWriteRequest> rejected = new ArrayList<>();
+        final Map<Long, List<BulkItemResponse>> itemsById = Arrays.stream(response.getItems())
+            .collect(Collectors.groupingBy(idConverter::getId));
+        itemsById.forEach((id, items) -> {
+            final List<BulkItemResponse> rejectedItems = items.stream()
+                .filter(this::isRejected)
+                .collect(Collectors.toList());
+            if (rejectedItems.isEmpty()) {
+                stats.addSentDocuments(items.stream().filter(item -> !item.isFailed()).count());
+                stats.addFailedDocuments(items.stream().filter(BulkItemResponse::isFailed).count());
+                responsePostProcessor.postProcessResponse(items, objectTypes, id, syncStart);
+            } else {
+                rejectedItems.forEach(item -> rejected.add(documentRequests.get(item.getItemId())));
+            }
+        });
+        return rejected;
+    }
+
+    private boolean isRejected(final BulkItemResponse item) {
+        return item.isFailed() && item.status() == RestStatus.TOO_MANY_REQUESTS;
     }
 }
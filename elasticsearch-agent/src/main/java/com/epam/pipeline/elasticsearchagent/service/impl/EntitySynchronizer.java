@@ -16,6 +16,7 @@
 package com.epam.pipeline.elasticsearchagent.service.impl;
 
 import com.epam.pipeline.elasticsearchagent.dao.PipelineEventDao;
+import com.epam.pipeline.elasticsearchagent.exception.ElasticClientException;
 import com.epam.pipeline.elasticsearchagent.model.PipelineEvent;
 import com.epam.pipeline.elasticsearchagent.service.ElasticsearchSynchronizer;
 import com.epam.pipeline.elasticsearchagent.service.EventToRequestConverter;
@@ -23,9 +24,12 @@ import com.epam.pipeline.elasticsearchagent.utils.EventProcessorUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.elasticsearch.action.DocWriteRequest;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @RequiredArgsConstructor
@@ -49,6 +53,10 @@ public class EntitySynchronizer implements ElasticsearchSynchronizer {
                 chunkSize, chunkSize);
     }
 
+    public PipelineEvent.ObjectType getObjectType() {
+        return objectType;
+    }
+
     @Override
     @SuppressWarnings("PMD.AvoidCatchingGenericException")
     public void synchronize(final LocalDateTime lastSyncTime, final LocalDateTime syncStart) {
@@ -57,28 +65,51 @@ public class EntitySynchronizer implements ElasticsearchSynchronizer {
             final List<PipelineEvent> pipelineEvents = pipelineEventDao
                 .loadPipelineEventsByObjectType(objectType, syncStart, chunkSize);
             log.debug("Loaded {} events for {}", pipelineEvents.size(), objectType);
-            final List<PipelineEvent> mergeEvents = EventProcessorUtils.mergeEvents(pipelineEvents);
-            if (mergeEvents.isEmpty()) {
-                log.debug("{} entities for synchronization were not found.", objectType);
-                return;
+            processEvents(pipelineEvents, syncStart);
+        } catch (Exception e) {
+            log.error("An error during {} synchronization: {}", objectType, e.getMessage());
+            log.error(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Synchronizes only entities with the specified ids, is used to process
+     * database change notifications without scanning all pending events.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public void synchronizeEntities(final Collection<Long> ids, final LocalDateTime syncStart) {
+        ListUtils.partition(new ArrayList<>(ids), chunkSize).forEach(chunk -> {
+            try {
+                log.debug("Starting to synchronize {} {} entities", chunk.size(), objectType);
+                processEvents(pipelineEventDao.loadPipelineEventsByObjectTypeAndIds(objectType, chunk, syncStart),
+                        syncStart);
+            } catch (Exception e) {
+                log.error("An error during {} synchronization: {}", objectType, e.getMessage());
+                log.error(e.getMessage(), e);
             }
+        });
+    }
 
-            log.debug("Merged {} events for {}", mergeEvents.size(), objectType);
+    private void processEvents(final List<PipelineEvent> pipelineEvents, final LocalDateTime syncStart)
+            throws ElasticClientException {
+        final List<PipelineEvent> mergeEvents = EventProcessorUtils.mergeEvents(pipelineEvents);
+        if (mergeEvents.isEmpty()) {
+            log.debug("{} entities for synchronization were not found.", objectType);
+            return;
+        }
 
-            final String indexName = converter.buildIndexName();
-            indexService.createIndexIfNotExist(indexName, indexMappingFile);
+        log.debug("Merged {} events for {}", mergeEvents.size(), objectType);
 
-            final List<DocWriteRequest> documentRequests = converter.convertEventsToRequest(mergeEvents, indexName);
-            if (CollectionUtils.isEmpty(documentRequests)) {
-                log.debug("No index requests created for {}", objectType);
-                return;
-            }
-            log.debug("Creating {} requests for {} entity.", documentRequests.size(), objectType);
-            bulkRequestSender.indexDocuments(indexName, objectType, documentRequests, syncStart, sendRequestChunkSize);
-            log.debug("Successfully finished {} synchronization.", objectType);
-        } catch (Exception e) {
-            log.error("An error during {} synchronization: {}", objectType, e.getMessage());
-            log.error(e.getMessage(), e);
+        final String indexName = converter.buildIndexName();
+        indexService.createIndexIfNotExist(indexName, indexMappingFile);
+
+        final List<DocWriteRequest> documentRequests = converter.convertEventsToRequest(mergeEvents, indexName);
+        if (CollectionUtils.isEmpty(documentRequests)) {
+            log.debug("No index requests created for {}", objectType);
+            return;
         }
+        log.debug("Creating {} requests for {} entity.", documentRequests.size(), objectType);
+        bulkRequestSender.indexDocuments(indexName, objectType, documentRequests, syncStart, sendRequestChunkSize);
+        log.debug("Successfully finished {} synchronization.", objectType);
     }
 }
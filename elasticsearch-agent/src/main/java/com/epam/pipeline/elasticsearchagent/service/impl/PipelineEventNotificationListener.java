@@ -0,0 +1,206 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.elasticsearchagent.service.impl;
+
+import com.epam.pipeline.elasticsearchagent.model.PipelineEvent;
+import com.epam.pipeline.elasticsearchagent.service.SynchronizationLock;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Listens to 'pipeline_event' notifications, sent by the database on each pipeline event insertion,
+ * and synchronizes affected entities right away instead of waiting for the next scheduled synchronization.
+ * Notifications received within {@code sync.change-feed.window} are coalesced per object type, so each
+ * synchronizer loads events only for the notified ids. Notified entities are synchronized under the same
+ * {@link SynchronizationLock} as the scheduled synchronization, which still processes all pending events and covers
+ * notifications missed while the listener was disconnected.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(value = "sync.change-feed.enabled", havingValue = "true")
+public class PipelineEventNotificationListener {
+
+    static final String CHANNEL = "pipeline_event";
+    private static final String PAYLOAD_SEPARATOR = ":";
+
+    private final Map<PipelineEvent.ObjectType, List<EntitySynchronizer>> synchronizers;
+    private final Map<String, PipelineEvent.ObjectType> objectTypes;
+    private final Map<PipelineEvent.ObjectType, Set<Long>> pendingIds = new EnumMap<>(PipelineEvent.ObjectType.class);
+    private final SynchronizationLock synchronizationLock;
+    private final String jdbcUrl;
+    private final String jdbcUsername;
+    private final String jdbcPassword;
+    private final long window;
+    private final long pollInterval;
+    private final long reconnectDelay;
+    private volatile boolean running;
+    private long windowStart;
+    private Thread listenerThread;
+
+    public PipelineEventNotificationListener(
+            final Optional<List<EntitySynchronizer>> synchronizers,
+            final SynchronizationLock synchronizationLock,
+            final @Value("${database.url}") String jdbcUrl,
+            final @Value("${database.username}") String jdbcUsername,
+            final @Value("${database.password}") String jdbcPassword,
+            final @Value("${sync.change-feed.window:500}") long window,
+            final @Value("${sync.change-feed.poll.interval:1000}") long pollInterval,
+            final @Value("${sync.change-feed.reconnect.delay:10000}") long reconnectDelay) {
+        this.synchronizers = synchronizers.orElse(Collections.emptyList()).stream()
+                .collect(Collectors.groupingBy(EntitySynchronizer::getObjectType));
+        this.objectTypes = Arrays.stream(PipelineEvent.ObjectType.values())
+                .collect(Collectors.toMap(PipelineEvent.ObjectType::getDbName, Function.identity()));
+        this.synchronizationLock = synchronizationLock;
+        this.jdbcUrl = jdbcUrl;
+        this.jdbcUsername = jdbcUsername;
+        this.jdbcPassword = jdbcPassword;
+        this.window = window;
+        this.pollInterval = Math.max(1L, pollInterval);
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (synchronizers.isEmpty()) {
+            log.debug("No synchronizers support change feed, pipeline event notifications are not listened.");
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listen, "pipeline-event-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Optional.ofNullable(listenerThread).ifPresent(Thread::interrupt);
+    }
+
+    /**
+     * Registers a notification payload in the format 'object_type:object_id'.
+     * Notifications for object types without a synchronizer are ignored.
+     */
+    void onNotification(final String payload, final long now) {
+        final String[] chunks = StringUtils.split(payload, PAYLOAD_SEPARATOR);
+        if (chunks == null || chunks.length != 2 || !NumberUtils.isDigits(chunks[1])) {
+            log.debug("Unexpected pipeline event notification: {}", payload);
+            return;
+        }
+        final PipelineEvent.ObjectType objectType = objectTypes.get(chunks[0]);
+        if (objectType == null || !synchronizers.containsKey(objectType)) {
+            return;
+        }
+        if (pendingIds.isEmpty()) {
+            windowStart = now;
+        }
+        pendingIds.computeIfAbsent(objectType, type -> new HashSet<>()).add(Long.parseLong(chunks[1]));
+    }
+
+    /**
+     * Synchronizes coalesced entities if the coalescing window is over.
+     *
+     * @return true if any entities were synchronized
+     */
+    boolean flushIfReady(final long now) {
+        if (pendingIds.isEmpty() || now - windowStart < window) {
+            return false;
+        }
+        synchronizationLock.run(() -> {
+            final LocalDateTime syncStart = LocalDateTime.now(Clock.systemUTC());
+            pendingIds.forEach((objectType, ids) -> {
+                log.debug("Processing {} notified {} entities.", ids.size(), objectType);
+                synchronizers.get(objectType)
+                        .forEach(synchronizer -> synchronizer.synchronizeEntities(ids, syncStart));
+            });
+        });
+        pendingIds.clear();
+        return true;
+    }
+
+    /**
+     * @return time to wait for notifications until the coalescing window is over or at most the poll interval,
+     * so the listener notices its stop in time
+     */
+    int getWaitTimeout(final long now) {
+        final long timeout = pendingIds.isEmpty() ? pollInterval : Math.min(pollInterval, windowStart + window - now);
+        return (int) Math.max(1L, timeout);
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(jdbcUrl, jdbcUsername, jdbcPassword)) {
+                final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                execute(connection, "LISTEN " + CHANNEL);
+                log.info("Listening to {} notifications.", CHANNEL);
+                while (running) {
+                    final PGNotification[] notifications = pgConnection.getNotifications(
+                            getWaitTimeout(System.currentTimeMillis()));
+                    final long now = System.currentTimeMillis();
+                    if (notifications != null) {
+                        Arrays.stream(notifications).forEach(n -> onNotification(n.getParameter(), now));
+                    }
+                    flushIfReady(now);
+                }
+            } catch (SQLException e) {
+                log.error("Pipeline event notifications listening failed: {}", e.getMessage());
+                pendingIds.clear();
+                sleep(reconnectDelay);
+            }
+        }
+    }
+
+    private void execute(final Connection connection, final String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -30,6 +30,7 @@ import com.epam.pipeline.elasticsearchagent.service.impl.converter.pipeline.Pipe
 import com.epam.pipeline.elasticsearchagent.utils.EventProcessorUtils;
 import com.epam.pipeline.entity.pipeline.Pipeline;
 import com.epam.pipeline.entity.pipeline.Revision;
+import com.epam.pipeline.utils.BulkRequestSettings;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -89,7 +90,8 @@ public class PipelineSynchronizer implements ElasticsearchSynchronizer {
             final PipelineLoader loader,
             final PipelineMapper mapper,
             final PipelineCodeHandler codeHandler,
-            final BulkResponsePostProcessor bulkResponsePostProcessor) {
+            final BulkResponsePostProcessor bulkResponsePostProcessor,
+            final BulkRequestSettings bulkRequestSettings) {
         this.pipelineEventDao = pipelineEventDao;
         this.loader = loader;
         this.mapper = mapper;
@@ -106,7 +108,7 @@ public class PipelineSynchronizer implements ElasticsearchSynchronizer {
         PipelineIdConverter idConverter = new PipelineIdConverter(indexPrefix + pipelineIndexName,
                 indexPrefix + pipelineCodeIndexName);
         this.requestSender = new BulkRequestSender(
-                elasticsearchClient, bulkResponsePostProcessor, idConverter, bulkInsertSize);
+                elasticsearchClient, bulkResponsePostProcessor, idConverter, bulkInsertSize, bulkRequestSettings);
     }
 
     @Override
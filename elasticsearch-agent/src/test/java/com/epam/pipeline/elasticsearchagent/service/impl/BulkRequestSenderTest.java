@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.elasticsearchagent.service.impl;
+
+import com.epam.pipeline.elasticsearchagent.model.PipelineEvent;
+import com.epam.pipeline.elasticsearchagent.service.BulkResponsePostProcessor;
+import com.epam.pipeline.elasticsearchagent.service.ElasticsearchServiceClient;
+import com.epam.pipeline.elasticsearchagent.service.ResponseIdConverter;
+import com.epam.pipeline.utils.AdaptiveConcurrencyLimiter;
+import com.epam.pipeline.utils.BulkRequestSettings;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.rest.RestStatus;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SuppressWarnings({"checkstyle:MagicNumber", "unchecked"})
+class BulkRequestSenderTest {
+
+    private static final String INDEX = "cp-pipeline-run";
+    private static final String TYPE = "_doc";
+    private static final List<PipelineEvent.ObjectType> TYPES = Collections.singletonList(PipelineEvent.ObjectType.RUN);
+
+    private final ElasticsearchServiceClient elasticsearchClient = Mockito.mock(ElasticsearchServiceClient.class);
+    private final BulkResponsePostProcessor postProcessor = Mockito.mock(BulkResponsePostProcessor.class);
+
+    @Test
+    void shouldPostProcessRejectedDocumentsOnlyAfterRetry() {
+        final BulkRequestSettings settings = BulkRequestSettings.builder()
+                .limiter(AdaptiveConcurrencyLimiter.sequential())
+                .maxRetries(1)
+                .build();
+        final BulkRequestSender sender = new BulkRequestSender(elasticsearchClient, postProcessor,
+                new ResponseIdConverter() {}, 100, settings);
+        final List<DocWriteRequest> requests = Arrays.asList(request("1"), request("2"));
+        Mockito.when(elasticsearchClient.sendRequests(Mockito.eq(INDEX), Mockito.anyList()))
+                .thenReturn(new BulkResponse(new BulkItemResponse[]{success(0, "1"), rejected(1, "2")}, 1L))
+                .thenReturn(new BulkResponse(new BulkItemResponse[]{success(0, "2")}, 1L));
+        final LocalDateTime syncStart = LocalDateTime.now();
+
+        sender.indexDocuments(INDEX, TYPES, requests, syncStart);
+
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(elasticsearchClient, Mockito.times(2)).sendRequests(Mockito.eq(INDEX), captor.capture());
+        assertEquals(Collections.singletonList(requests.get(1)), captor.getAllValues().get(1));
+        Mockito.verify(postProcessor).postProcessResponse(Mockito.anyList(), Mockito.eq(TYPES), Mockito.eq(1L),
+                Mockito.eq(syncStart));
+        Mockito.verify(postProcessor).postProcessResponse(Mockito.anyList(), Mockito.eq(TYPES), Mockito.eq(2L),
+                Mockito.eq(syncStart));
+        assertEquals(2, settings.getStats().getSentDocuments());
+        assertEquals(1, settings.getStats().getRejectedDocuments());
+    }
+
+    @Test
+    void shouldNotPostProcessDocumentsRejectedAfterAllRetries() {
+        final BulkRequestSettings settings = BulkRequestSettings.builder()
+                .limiter(AdaptiveConcurrencyLimiter.sequential())
+                .build();
+        final BulkRequestSender sender = new BulkRequestSender(elasticsearchClient, postProcessor,
+                new ResponseIdConverter() {}, 100, settings);
+        Mockito.when(elasticsearchClient.sendRequests(Mockito.eq(INDEX), Mockito.anyList()))
+                .thenReturn(new BulkResponse(new BulkItemResponse[]{rejected(0, "1")}, 1L));
+
+        sender.indexDocuments(INDEX, TYPES, Collections.singletonList(request("1")), LocalDateTime.now());
+
+        Mockito.verify(elasticsearchClient).sendRequests(Mockito.eq(INDEX), Mockito.anyList());
+        Mockito.verifyZeroInteractions(postProcessor);
+        assertEquals(1, settings.getStats().getFailedDocuments());
+    }
+
+    private DocWriteRequest request(final String id) {
+        return new IndexRequest(INDEX, TYPE, id).source(Collections.singletonMap("id", id));
+    }
+
+    private BulkItemResponse success(final int itemId, final String id) {
+        return new BulkItemResponse(itemId, DocWriteRequest.OpType.INDEX,
+                new IndexResponse(new ShardId(INDEX, INDEX, 0), TYPE, id, 1L, 1L, 1L, true));
+    }
+
+    private BulkItemResponse rejected(final int itemId, final String id) {
+        return new BulkItemResponse(itemId, DocWriteRequest.OpType.INDEX,
+                new BulkItemResponse.Failure(INDEX, TYPE, id, new EsRejectedExecutionException("rejected"),
+                        RestStatus.TOO_MANY_REQUESTS));
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.elasticsearchagent.service.impl;
+
+import com.epam.pipeline.elasticsearchagent.model.PipelineEvent;
+import com.epam.pipeline.elasticsearchagent.service.SynchronizationLock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SuppressWarnings({"checkstyle:MagicNumber", "unchecked"})
+class PipelineEventNotificationListenerTest {
+
+    private static final long WINDOW = 500L;
+    private static final long POLL_INTERVAL = 1000L;
+
+    private final EntitySynchronizer runSynchronizer = Mockito.mock(EntitySynchronizer.class);
+    private final EntitySynchronizer toolSynchronizer = Mockito.mock(EntitySynchronizer.class);
+    private final SynchronizationLock synchronizationLock = new SynchronizationLock();
+    private PipelineEventNotificationListener listener;
+
+    @BeforeEach
+    void setup() {
+        Mockito.when(runSynchronizer.getObjectType()).thenReturn(PipelineEvent.ObjectType.RUN);
+        Mockito.when(toolSynchronizer.getObjectType()).thenReturn(PipelineEvent.ObjectType.TOOL);
+        listener = new PipelineEventNotificationListener(Optional.of(Arrays.asList(runSynchronizer, toolSynchronizer)),
+                synchronizationLock, "", "", "", WINDOW, POLL_INTERVAL, 0L);
+    }
+
+    @Test
+    void shouldCoalesceNotificationsPerObjectType() {
+        listener.onNotification("run:1", 0L);
+        listener.onNotification("run:2", 10L);
+        listener.onNotification("run:1", 20L);
+        listener.onNotification("tool:5", 30L);
+
+        assertTrue(listener.flushIfReady(WINDOW));
+
+        final ArgumentCaptor<Collection> runIds = ArgumentCaptor.forClass(Collection.class);
+        Mockito.verify(runSynchronizer).synchronizeEntities(runIds.capture(), Mockito.any());
+        assertEquals(new HashSet<>(Arrays.asList(1L, 2L)), new HashSet<>(runIds.getValue()));
+        final ArgumentCaptor<Collection> toolIds = ArgumentCaptor.forClass(Collection.class);
+        Mockito.verify(toolSynchronizer).synchronizeEntities(toolIds.capture(), Mockito.any());
+        assertEquals(1, toolIds.getValue().size());
+    }
+
+    @Test
+    void shouldNotFlushBeforeWindowIsOver() {
+        listener.onNotification("run:1", 100L);
+
+        assertFalse(listener.flushIfReady(WINDOW));
+        Mockito.verify(runSynchronizer, Mockito.never()).synchronizeEntities(Mockito.any(), Mockito.any());
+        assertTrue(listener.flushIfReady(100L + WINDOW));
+        assertFalse(listener.flushIfReady(100L + 2 * WINDOW));
+    }
+
+    @Test
+    void shouldSkipUnsupportedAndMalformedNotifications() {
+        listener.onNotification("issue:1", 0L);
+        listener.onNotification("run", 0L);
+        listener.onNotification("run:abc", 0L);
+
+        assertFalse(listener.flushIfReady(WINDOW));
+        Mockito.verify(runSynchronizer, Mockito.never()).synchronizeEntities(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void shouldWaitForNotificationsUntilWindowIsOver() {
+        assertEquals(POLL_INTERVAL, listener.getWaitTimeout(0L));
+
+        listener.onNotification("run:1", 100L);
+
+        assertEquals(WINDOW - 50L, listener.getWaitTimeout(150L));
+        assertEquals(1, listener.getWaitTimeout(100L + 2 * WINDOW));
+    }
+
+    @Test
+    void shouldNotSynchronizeNotifiedEntitiesDuringScheduledSynchronization() throws Exception {
+        final CountDownLatch scheduledSyncStarted = new CountDownLatch(1);
+        final CountDownLatch scheduledSyncFinish = new CountDownLatch(1);
+        final CompletableFuture<Void> scheduledSync = CompletableFuture.runAsync(() -> synchronizationLock.run(() -> {
+            scheduledSyncStarted.countDown();
+            await(scheduledSyncFinish);
+        }));
+        assertTrue(scheduledSyncStarted.await(1, TimeUnit.SECONDS));
+        listener.onNotification("run:1", 0L);
+
+        final CompletableFuture<Boolean> flush = CompletableFuture.supplyAsync(() -> listener.flushIfReady(WINDOW));
+        Thread.sleep(100L);
+        Mockito.verify(runSynchronizer, Mockito.never()).synchronizeEntities(Mockito.any(), Mockito.any());
+
+        scheduledSyncFinish.countDown();
+        scheduledSync.get(1, TimeUnit.SECONDS);
+        assertTrue(flush.get(1, TimeUnit.SECONDS));
+        Mockito.verify(runSynchronizer).synchronizeEntities(Mockito.any(), Mockito.any());
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
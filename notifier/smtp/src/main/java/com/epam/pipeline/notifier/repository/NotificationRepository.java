@@ -19,10 +19,14 @@ package com.epam.pipeline.notifier.repository;
 import com.epam.pipeline.entity.notification.NotificationMessage;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 
@@ -39,10 +43,43 @@ public interface NotificationRepository extends JpaRepository<NotificationMessag
     @Query("select n from NotificationMessage n order by n.id")
     List<NotificationMessage> loadNotification(Pageable pageable);
 
+    /**
+     * Load and lock limited number of {@link NotificationMessage} ordered by @{@link NotificationMessage#id},
+     * which are not claimed by any notifier instance or which claim has already expired. Messages already locked
+     * by other transactions are skipped. Locks are held until the end of the transaction only, so loaded messages
+     * shall be claimed with {@link #updateClaimedUntil(Collection, Date)} within the same transaction.
+     * @param limit   max number of returned messages
+     * @param now   current time
+     * @return list of {@link NotificationMessage}
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "SELECT * FROM pipeline.notification_queue WHERE claimed_until IS NULL OR claimed_until < :now "
+            + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<NotificationMessage> loadUnclaimedNotifications(@Param("limit") int limit, @Param("now") Date now);
+
+    /**
+     * Claims {@link NotificationMessage}s by ids until the specified time or releases them if the time is null
+     * @param ids   ids of {@link NotificationMessage}s to be claimed
+     * @param claimedUntil   time until which messages are claimed
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query("update NotificationMessage n set n.claimedUntil = :claimedUntil where n.id in :ids")
+    int updateClaimedUntil(@Param("ids") Collection<Long> ids, @Param("claimedUntil") Date claimedUntil);
+
     /**
      * Delete {@link NotificationMessage} by id
      * @param id   id of {@link NotificationMessage} to be deleted
      */
     @Transactional(propagation = Propagation.MANDATORY)
     int deleteById(Long id);
+
+    /**
+     * Delete {@link NotificationMessage}s by ids
+     * @param ids   ids of {@link NotificationMessage}s to be deleted
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query("delete from NotificationMessage n where n.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
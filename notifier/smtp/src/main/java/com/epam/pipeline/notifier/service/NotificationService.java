@@ -16,9 +16,13 @@
 
 package com.epam.pipeline.notifier.service;
 
+import java.util.Date;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
 
 import com.epam.pipeline.entity.notification.NotificationMessage;
 import com.epam.pipeline.notifier.repository.NotificationRepository;
@@ -27,54 +31,98 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class NotificationService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NotificationService.class);
 
-    @Autowired
-    private ExecutorService notificationThreadPool;
-
-    @Value(value = "${notification.at.time:5}")
+    @Value(value = "${notification.at.time:100}")
     private int notificationAtTime;
 
+    @Value(value = "${notification.claim.timeout:600}")
+    private long claimTimeout;
+
     @Autowired
     private NotificationRepository notificationRepository;
 
     @Autowired
     private List<NotificationManager> notificationManagers;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
     /**
-     * Scheduled task to load batch of {@link NotificationMessage} from database
-     * and delegate it to all realizations of {@link NotificationManager}
+     * Scheduled task to load batches of {@link NotificationMessage} from database
+     * and delegate them to all realizations of {@link NotificationManager}.
+     *
+     * Each batch is claimed in a short transaction, which marks messages as claimed for
+     * {@code notification.claim.timeout} seconds, so no database locks are held while messages are being sent.
+     * Messages are deleted only after all {@link NotificationManager}s acknowledged them, not acknowledged ones
+     * are released for the next scheduled run. If notifier fails in the middle of a batch, its messages are
+     * claimed again by any notifier instance once the claim expires. Batches are processed until the queue is
+     * drained or some messages of a batch couldn't be delivered.
      */
     @Scheduled(fixedDelayString = "${notification.scheduler.delay}")
-    @Transactional(propagation = Propagation.REQUIRED)
     public void sendNotification() {
         LOGGER.debug("Start scheduled notification loop...");
-        Pageable limit = new PageRequest(0, notificationAtTime);
-        List<NotificationMessage> result = notificationRepository.loadNotification(limit);
-        result.forEach(message -> {
-            notificationRepository.deleteById(message.getId());
-
-            for (NotificationManager notificationManager : notificationManagers) {
-                CompletableFuture.runAsync(
-                    () -> notificationManager.notifySubscribers(message),
-                    notificationThreadPool)
-                    .exceptionally(throwable -> {
-                        LOGGER.warn("Exception while trying to send email", throwable);
-                        return null;
-                    });
+        boolean drained = false;
+        while (!drained) {
+            drained = sendNotificationBatch();
+        }
+        LOGGER.debug("End scheduled notification loop...");
+    }
+
+    private boolean sendNotificationBatch() {
+        final List<NotificationMessage> messages = transactionTemplate.execute(status -> claimNotifications());
+        if (messages.isEmpty()) {
+            return true;
+        }
+        final long start = System.currentTimeMillis();
+        final Set<Long> acknowledged = messages.stream()
+                .map(NotificationMessage::getId)
+                .collect(Collectors.toSet());
+        for (NotificationManager notificationManager : notificationManagers) {
+            acknowledged.retainAll(notificationManager.notifySubscribers(messages));
+        }
+        final Set<Long> unacknowledged = messages.stream()
+                .map(NotificationMessage::getId)
+                .filter(id -> !acknowledged.contains(id))
+                .collect(Collectors.toSet());
+        transactionTemplate.execute(status -> {
+            if (!acknowledged.isEmpty()) {
+                notificationRepository.deleteByIdIn(acknowledged);
             }
+            if (!unacknowledged.isEmpty()) {
+                notificationRepository.updateClaimedUntil(unacknowledged, null);
+            }
+            return null;
         });
-        LOGGER.debug("End scheduled notification loop...");
+        LOGGER.debug("{} of {} message(s) were processed in {} ms.",
+                acknowledged.size(), messages.size(), System.currentTimeMillis() - start);
+        return messages.size() < notificationAtTime || !unacknowledged.isEmpty();
     }
 
+    private List<NotificationMessage> claimNotifications() {
+        final Date now = new Date();
+        final List<NotificationMessage> messages = notificationRepository.loadUnclaimedNotifications(
+                notificationAtTime, now);
+        if (!messages.isEmpty()) {
+            notificationRepository.updateClaimedUntil(
+                    messages.stream().map(NotificationMessage::getId).collect(Collectors.toList()),
+                    new Date(now.getTime() + TimeUnit.SECONDS.toMillis(claimTimeout)));
+        }
+        return messages;
+    }
 }
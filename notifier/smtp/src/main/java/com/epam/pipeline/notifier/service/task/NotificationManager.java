@@ -18,9 +18,19 @@ package com.epam.pipeline.notifier.service.task;
 
 import com.epam.pipeline.entity.notification.NotificationMessage;
 
+import java.util.List;
+import java.util.Set;
+
 /**
  * Simple interface of abstract {@link NotificationManager}
  */
 public interface NotificationManager {
-    void notifySubscribers(NotificationMessage message);
+
+    /**
+     * Delivers a batch of messages to subscribers.
+     *
+     * @return ids of acknowledged messages: delivered ones or the ones which can't be delivered at all.
+     * Messages that are not acknowledged will be delivered again later.
+     */
+    Set<Long> notifySubscribers(List<NotificationMessage> messages);
 }
@@ -21,11 +21,13 @@ import com.epam.pipeline.entity.notification.NotificationTemplate;
 import com.epam.pipeline.entity.user.PipelineUser;
 import com.epam.pipeline.notifier.repository.UserRepository;
 import org.apache.commons.mail.DefaultAuthenticator;
-import org.apache.commons.mail.Email;
 import org.apache.commons.mail.EmailException;
 import org.apache.commons.mail.HtmlEmail;
+import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
-import org.apache.velocity.app.Velocity;
+import org.apache.velocity.runtime.RuntimeServices;
+import org.apache.velocity.runtime.RuntimeSingleton;
+import org.apache.velocity.runtime.parser.ParseException;
 import org.apache.velocity.tools.generic.NumberTool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,20 +37,42 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.Session;
 import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
+import java.io.StringReader;
 import java.io.StringWriter;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * SMTP realization of {@link NotificationManager}.
  * {@link SMTPNotificationManager} sends message to all target users from {@link NotificationMessage#getToUserId()} and
  * {@link NotificationMessage#getCopyUserIds()}
+ *
+ * Messages of a batch are sent concurrently by {@code submit.threads} threads through pooled SMTP connections,
+ * each connection is reused for up to {@code email.smtp.messages.per.connection} messages.
  */
 @Component
 public class SMTPNotificationManager implements NotificationManager {
@@ -89,46 +113,116 @@ public class SMTPNotificationManager implements NotificationManager {
     @Value(value = "${email.notification.retry.delay:-1}")
     private long retryDelay;
 
+    @Value(value = "${submit.threads:1}")
+    private int submitThreads;
+
+    @Value(value = "${email.smtp.messages.per.connection:100}")
+    private int messagesPerConnection;
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ExecutorService notificationThreadPool;
+
+    private final Map<Long, ParsedTemplate> templates = new ConcurrentHashMap<>();
+    private Session session;
+    private SMTPTransportPool transportPool;
+
+    @PostConstruct
+    public void init() throws EmailException {
+        if (!isEnabled) {
+            return;
+        }
+        session = configure(new HtmlEmail()).getMailSession();
+        transportPool = new SMTPTransportPool(session, submitThreads, messagesPerConnection);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        Optional.ofNullable(transportPool).ifPresent(SMTPTransportPool::close);
+    }
+
     /**
-     * Sends a notification to all specified recipients.
+     * Sends notifications to all specified recipients.
      *
      * If {@link NotificationMessage#template} is specified then it will be used. Otherwise
      * {@link NotificationMessage#subject} and {@link NotificationMessage#body} will be used instead.
      *
      * Both subject and body are filled with {@link NotificationMessage#templateParameters} regardless the way they
      * were retrieved (from template or directly from fields).
+     *
+     * Messages without recipients or with invalid ones are acknowledged without sending, messages which couldn't
+     * be sent because of SMTP server failures within {@code email.notification.retry.count} attempts are not.
      */
     @Override
-    public void notifySubscribers(NotificationMessage message) {
+    public Set<Long> notifySubscribers(final List<NotificationMessage> messages) {
         if (!isEnabled) {
-            return;
+            return messages.stream().map(NotificationMessage::getId).collect(Collectors.toSet());
         }
-        for (int i = 0; i < notifyRetryCount; i++) {
+        final Map<Long, PipelineUser> users = loadUsers(messages);
+        final Set<Long> acknowledged = new HashSet<>();
+        final List<PreparedEmail> emails = new ArrayList<>();
+        for (NotificationMessage message : messages) {
             try {
-                Optional<Email> email = buildEmail(message);
+                final Optional<MimeMessage> email = buildEmail(message, users);
                 if (email.isPresent()) {
-                    email.get().send();
+                    emails.add(new PreparedEmail(message.getId(), email.get()));
+                } else {
+                    acknowledged.add(message.getId());
                 }
+            } catch (EmailException | ParseException e) {
+                LOGGER.error(String.format("Fail to build message with id %d. Message will not be sent.",
+                        message.getId()), e);
+                acknowledged.add(message.getId());
+            }
+        }
+        final int threads = Math.max(1, Math.min(submitThreads, emails.size()));
+        final List<CompletableFuture<Set<Long>>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            final List<PreparedEmail> chunk = new ArrayList<>();
+            for (int j = i; j < emails.size(); j += threads) {
+                chunk.add(emails.get(j));
+            }
+            results.add(CompletableFuture.supplyAsync(() -> sendEmails(chunk), notificationThreadPool));
+        }
+        results.forEach(result -> acknowledged.addAll(result.join()));
+        return acknowledged;
+    }
 
-                LOGGER.info("Message with id: {} was successfully send", message.getId());
-                sleepIfRequired(emailDelay);
-                return;
-            } catch (EmailException e) {
+    private Set<Long> sendEmails(final List<PreparedEmail> emails) {
+        final Set<Long> sent = new HashSet<>();
+        for (PreparedEmail email : emails) {
+            if (sendEmail(email)) {
+                sent.add(email.getMessageId());
+            }
+            sleepIfRequired(emailDelay);
+        }
+        return sent;
+    }
+
+    private boolean sendEmail(final PreparedEmail email) {
+        for (int i = 0; i < notifyRetryCount; i++) {
+            try {
+                transportPool.send(email.getMessage());
+                LOGGER.info("Message with id: {} was successfully send", email.getMessageId());
+                return true;
+            } catch (SendFailedException e) {
+                LOGGER.error(String.format("Message with id %d was rejected and will not be sent.",
+                        email.getMessageId()), e);
+                return true;
+            } catch (MessagingException e) {
                 LOGGER.warn(String.format("Fail to send message with id %d. Attempt %d/%d. %n Cause: %n ",
-                        message.getId(), i + 1, notifyRetryCount), e);
+                        email.getMessageId(), i + 1, notifyRetryCount), e);
                 sleepIfRequired(retryDelay);
             }
         }
-        LOGGER.error(String.format("All attempts are failed. Message with id: %d will not be sent.",
-                message.getId()));
-
+        LOGGER.error(String.format("All attempts are failed. Message with id: %d will be sent later.",
+                email.getMessageId()));
+        return false;
     }
 
-    private Optional<Email> buildEmail(NotificationMessage message) throws EmailException {
-        HtmlEmail email = new HtmlEmail();
+    private HtmlEmail configure(final HtmlEmail email) {
         email.setHostName(smtpServerHostName);
         email.setSmtpPort(smtpPort);
         email.setSSLOnConnect(sslOnConnect);
@@ -138,21 +232,25 @@ public class SMTPNotificationManager implements NotificationManager {
         if (!StringUtils.isEmpty(username) && !StringUtils.isEmpty(password)) {
             email.setAuthenticator(new DefaultAuthenticator(username, password));
         }
+        return email;
+    }
 
+    private Optional<MimeMessage> buildEmail(final NotificationMessage message,
+                                             final Map<Long, PipelineUser> users)
+            throws EmailException, ParseException {
+        HtmlEmail email = new HtmlEmail();
+        email.setMailSession(session);
         email.setFrom(emailFrom);
 
-        Optional<NotificationTemplate> template = Optional.ofNullable(message.getTemplate());
-        String subject = template.map(NotificationTemplate::getSubject).orElse(message.getSubject());
-        String body = template.map(NotificationTemplate::getBody).orElse(message.getBody());
-
+        final ParsedTemplate template = getTemplate(message);
         VelocityContext velocityContext = getVelocityContext(message);
         velocityContext.put("numberTool", new NumberTool());
 
         StringWriter subjectOut = new StringWriter();
         StringWriter bodyOut = new StringWriter();
 
-        Velocity.evaluate(velocityContext, subjectOut, MESSAGE_TAG + message.hashCode(), subject);
-        Velocity.evaluate(velocityContext, bodyOut, MESSAGE_TAG + message.hashCode(), body);
+        template.getSubject().merge(velocityContext, subjectOut);
+        template.getBody().merge(velocityContext, bodyOut);
 
         email.setSubject(subjectOut.toString());
         email.setHtmlMsg(bodyOut.toString());
@@ -162,15 +260,13 @@ public class SMTPNotificationManager implements NotificationManager {
             return Optional.empty();
         }
 
-        String userEmail = getTargetUserEmail(message);
+        String userEmail = getTargetUserEmail(message, users);
         if (userEmail != null) {
             email.addTo(userEmail);
         }
 
-        List<PipelineUser> keepInformedUsers = userRepository.findByIdIn(message.getCopyUserIds());
-
-        for (PipelineUser user : keepInformedUsers) {
-            String address = user.getEmail();
+        for (Long userId : getCopyUserIds(message)) {
+            String address = Optional.ofNullable(users.get(userId)).map(PipelineUser::getEmail).orElse(null);
             if (address != null) {
                 email.addBcc(address);
             }
@@ -184,15 +280,34 @@ public class SMTPNotificationManager implements NotificationManager {
                         .collect(Collectors.toList())
         );
 
-        return Optional.of(email);
+        email.buildMimeMessage();
+        return Optional.of(email.getMimeMessage());
     }
 
-    private String getTargetUserEmail(NotificationMessage message) {
+    private Map<Long, PipelineUser> loadUsers(final List<NotificationMessage> messages) {
+        final List<Long> userIds = messages.stream()
+                .flatMap(message -> Stream.concat(Stream.of(message.getToUserId()),
+                        getCopyUserIds(message).stream()))
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        if (userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return userRepository.findByIdIn(userIds).stream()
+                .collect(Collectors.toMap(PipelineUser::getId, Function.identity()));
+    }
+
+    private Collection<Long> getCopyUserIds(final NotificationMessage message) {
+        return Optional.ofNullable(message.getCopyUserIds()).orElseGet(ArrayList::new);
+    }
+
+    private String getTargetUserEmail(NotificationMessage message, Map<Long, PipelineUser> users) {
         if (message.getToUserId() == null) {
             LOGGER.info("toUserId is not set for message {}", message.getId());
             return null;
         }
-        PipelineUser targetUser = userRepository.findOne(message.getToUserId());
+        PipelineUser targetUser = users.get(message.getToUserId());
         if (targetUser == null) {
             LOGGER.info("Cannot find user with id {} for message {}", message.getToUserId(), message.getId());
             return null;
@@ -200,6 +315,43 @@ public class SMTPNotificationManager implements NotificationManager {
         return targetUser.getEmail();
     }
 
+    /**
+     * Returns parsed subject and body templates. Templates of {@link NotificationTemplate}s are cached
+     * by template id and are parsed again only if the template was changed.
+     */
+    private ParsedTemplate getTemplate(final NotificationMessage message) throws ParseException {
+        final NotificationTemplate template = message.getTemplate();
+        if (template == null || template.getId() == null) {
+            return parseTemplate(Optional.ofNullable(template).map(NotificationTemplate::getSubject)
+                            .orElse(message.getSubject()),
+                    Optional.ofNullable(template).map(NotificationTemplate::getBody).orElse(message.getBody()),
+                    MESSAGE_TAG + message.hashCode());
+        }
+        final ParsedTemplate cached = templates.get(template.getId());
+        if (cached != null && cached.isParsedFrom(template.getSubject(), template.getBody())) {
+            return cached;
+        }
+        final ParsedTemplate parsed = parseTemplate(template.getSubject(), template.getBody(),
+                MESSAGE_TAG + template.getId());
+        templates.put(template.getId(), parsed);
+        return parsed;
+    }
+
+    private ParsedTemplate parseTemplate(final String subject, final String body, final String name)
+            throws ParseException {
+        return new ParsedTemplate(subject, body, parse(subject, name), parse(body, name));
+    }
+
+    private Template parse(final String source, final String name) throws ParseException {
+        final RuntimeServices runtimeServices = RuntimeSingleton.getRuntimeServices();
+        final Template template = new Template();
+        template.setName(name);
+        template.setRuntimeServices(runtimeServices);
+        template.setData(runtimeServices.parse(new StringReader(Optional.ofNullable(source).orElse("")), name));
+        template.initDocument();
+        return template;
+    }
+
     private VelocityContext getVelocityContext(NotificationMessage message) {
         VelocityContext velocityContext = new VelocityContext();
         velocityContext.put("templateParameters", message.getTemplateParameters());
@@ -226,4 +378,50 @@ public class SMTPNotificationManager implements NotificationManager {
         }
     }
 
+    private static final class ParsedTemplate {
+
+        private final String subjectSource;
+        private final String bodySource;
+        private final Template subject;
+        private final Template body;
+
+        private ParsedTemplate(final String subjectSource, final String bodySource,
+                               final Template subject, final Template body) {
+            this.subjectSource = subjectSource;
+            this.bodySource = bodySource;
+            this.subject = subject;
+            this.body = body;
+        }
+
+        private boolean isParsedFrom(final String subjectSource, final String bodySource) {
+            return Objects.equals(this.subjectSource, subjectSource) && Objects.equals(this.bodySource, bodySource);
+        }
+
+        private Template getSubject() {
+            return subject;
+        }
+
+        private Template getBody() {
+            return body;
+        }
+    }
+
+    private static final class PreparedEmail {
+
+        private final Long messageId;
+        private final MimeMessage message;
+
+        private PreparedEmail(final Long messageId, final MimeMessage message) {
+            this.messageId = messageId;
+            this.message = message;
+        }
+
+        private Long getMessageId() {
+            return messageId;
+        }
+
+        private MimeMessage getMessage() {
+            return message;
+        }
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.pipeline.notifier.service.task;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Keeps opened SMTP connections to send several messages through a single connection
+ * instead of connecting and performing TLS handshake for each message.
+ * A connection is closed after {@code messagesPerConnection} messages or after any sending failure.
+ */
+public class SMTPTransportPool implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SMTPTransportPool.class);
+
+    private final Session session;
+    private final int messagesPerConnection;
+    private final BlockingQueue<PooledTransport> idleTransports;
+
+    public SMTPTransportPool(final Session session, final int poolSize, final int messagesPerConnection) {
+        this.session = session;
+        this.messagesPerConnection = messagesPerConnection;
+        this.idleTransports = new LinkedBlockingQueue<>(Math.max(1, poolSize));
+    }
+
+    public void send(final MimeMessage message) throws MessagingException {
+        final PooledTransport transport = borrow();
+        try {
+            transport.send(message);
+        } catch (MessagingException e) {
+            transport.close();
+            throw e;
+        }
+        giveBack(transport);
+    }
+
+    @Override
+    public void close() {
+        PooledTransport transport = idleTransports.poll();
+        while (transport != null) {
+            transport.close();
+            transport = idleTransports.poll();
+        }
+    }
+
+    private PooledTransport borrow() throws MessagingException {
+        PooledTransport transport = idleTransports.poll();
+        while (transport != null) {
+            if (transport.isConnected()) {
+                return transport;
+            }
+            transport.close();
+            transport = idleTransports.poll();
+        }
+        final Transport connection = session.getTransport();
+        connection.connect();
+        return new PooledTransport(connection);
+    }
+
+    private void giveBack(final PooledTransport transport) {
+        if (transport.getSent() >= messagesPerConnection || !idleTransports.offer(transport)) {
+            transport.close();
+        }
+    }
+
+    private static final class PooledTransport {
+
+        private final Transport transport;
+        private int sent;
+
+        private PooledTransport(final Transport transport) {
+            this.transport = transport;
+        }
+
+        private void send(final MimeMessage message) throws MessagingException {
+            message.saveChanges();
+            transport.sendMessage(message, message.getAllRecipients());
+            sent++;
+        }
+
+        private int getSent() {
+            return sent;
+        }
+
+        private boolean isConnected() {
+            return transport.isConnected();
+        }
+
+        private void close() {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                LOGGER.debug("Failed to close SMTP connection: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package com.epam.pipeline.notifier.repository;
 
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 
 import com.epam.pipeline.entity.notification.NotificationMessage;
@@ -81,4 +82,44 @@ public class NotificationRepositoryTest extends AbstractSpringTest {
         Assert.assertNull(notificationRepository.findOne(idToDelete));
     }
 
-}
\ No newline at end of file
+    @Test
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void deleteByIdInTest() {
+        NotificationMessage message = new NotificationMessage();
+        message.setSubject(SUBJECT);
+        message.setBody(BODY_WITHOUT_PARAM);
+        message.setToUserId(0L);
+        message.setCopyUserIds(Collections.singletonList(0L));
+        notificationRepository.save(message);
+        NotificationMessage anotherMessage = new NotificationMessage();
+        anotherMessage.setSubject(SUBJECT);
+        anotherMessage.setBody(BODY_WITHOUT_PARAM);
+        anotherMessage.setToUserId(0L);
+        anotherMessage.setCopyUserIds(Collections.singletonList(0L));
+        notificationRepository.save(anotherMessage);
+
+        Assert.assertEquals(1, notificationRepository.deleteByIdIn(Collections.singletonList(message.getId())));
+        Assert.assertNull(notificationRepository.findOne(message.getId()));
+        Assert.assertNotNull(notificationRepository.findOne(anotherMessage.getId()));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void updateClaimedUntilTest() {
+        NotificationMessage message = new NotificationMessage();
+        message.setSubject(SUBJECT);
+        message.setBody(BODY_WITHOUT_PARAM);
+        message.setToUserId(0L);
+        message.setCopyUserIds(Collections.singletonList(0L));
+        notificationRepository.save(message);
+        Date claimedUntil = new Date();
+
+        Assert.assertEquals(1, notificationRepository.updateClaimedUntil(
+                Collections.singletonList(message.getId()), claimedUntil));
+        Assert.assertEquals(claimedUntil.getTime(),
+                notificationRepository.findOne(message.getId()).getClaimedUntil().getTime());
+
+        notificationRepository.updateClaimedUntil(Collections.singletonList(message.getId()), null);
+        Assert.assertNull(notificationRepository.findOne(message.getId()).getClaimedUntil());
+    }
+}
@@ -21,12 +21,18 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import javax.mail.Message;
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
 
 import org.junit.Rule;
 import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -42,6 +48,8 @@ import com.icegreen.greenmail.util.ServerSetupTest;
 
 public class SMTPNotificationManagerTest extends AbstractSpringTest {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(SMTPNotificationManagerTest.class);
+
     private static final String MESSAGE_SUBJECT = "Hi";
     private static final String MESSAGE_BODY = "Hi, I just want to tell that your music the best!";
     private static final String MESSAGE_BODY_WITH_PARAM = "Hi $templateParameters.get(\"name\"), "
@@ -53,6 +61,8 @@ public class SMTPNotificationManagerTest extends AbstractSpringTest {
     private static final String USER_NAME = "James Alan Hetfield";
     private static final String EMAIL = "HetfieldJ@metallica.com";
     private static final String EMAIL_KEY = "email";
+    private static final int BATCH_SIZE = 200;
+    private static final double MILLIS_IN_SECOND = 1000.0;
 
     @Rule
     public final GreenMailRule greenMail = new GreenMailRule(ServerSetupTest.SMTP);
@@ -82,7 +92,7 @@ public class SMTPNotificationManagerTest extends AbstractSpringTest {
         message.setToUserId(user.getId());
         message.setCopyUserIds(Collections.singletonList(user.getId()));
 
-        smtpNotificationManager.notifySubscribers(message);
+        smtpNotificationManager.notifySubscribers(Collections.singletonList(message));
         MimeMessage[] receivedMessages = greenMail.getReceivedMessages();
         assertEquals(2, receivedMessages.length);
         assertTrue(GreenMailUtil.getBody(receivedMessages[0]).contains(MESSAGE_BODY));
@@ -105,7 +115,7 @@ public class SMTPNotificationManagerTest extends AbstractSpringTest {
         message.setTemplateParameters(Collections.emptyMap());
         message.setCopyUserIds(Collections.singletonList(user.getId()));
 
-        smtpNotificationManager.notifySubscribers(message);
+        smtpNotificationManager.notifySubscribers(Collections.singletonList(message));
         MimeMessage[] receivedMessages = greenMail.getReceivedMessages();
         assertEquals(1, receivedMessages.length);
         assertTrue(GreenMailUtil.getBody(receivedMessages[0]).contains(MESSAGE_BODY));
@@ -129,7 +139,7 @@ public class SMTPNotificationManagerTest extends AbstractSpringTest {
         message.setToUserId(user.getId());
         message.setCopyUserIds(Collections.singletonList(user.getId()));
 
-        smtpNotificationManager.notifySubscribers(message);
+        smtpNotificationManager.notifySubscribers(Collections.singletonList(message));
         MimeMessage[] receivedMessages = greenMail.getReceivedMessages();
         assertTrue(receivedMessages.length == 2);
         String filledMessage = PARSED_MESSAGE_BODY_WITH_PARAM
@@ -151,7 +161,7 @@ public class SMTPNotificationManagerTest extends AbstractSpringTest {
         message.setToUserId(user.getId());
         message.setCopyUserIds(Collections.singletonList(user.getId()));
 
-        smtpNotificationManager.notifySubscribers(message);
+        smtpNotificationManager.notifySubscribers(Collections.singletonList(message));
         MimeMessage[] receivedMessages = greenMail.getReceivedMessages();
         assertTrue(receivedMessages.length == 2);
         assertTrue(GreenMailUtil.getBody(receivedMessages[0]).contains(MESSAGE_BODY));
@@ -172,7 +182,7 @@ public class SMTPNotificationManagerTest extends AbstractSpringTest {
         message.setToUserId(user.getId());
         message.setCopyUserIds(Collections.singletonList(user.getId()));
 
-        smtpNotificationManager.notifySubscribers(message);
+        smtpNotificationManager.notifySubscribers(Collections.singletonList(message));
         MimeMessage[] receivedMessages = greenMail.getReceivedMessages();
         assertTrue(receivedMessages.length == 2);
         String filledMessage = PARSED_MESSAGE_BODY_WITH_PARAM
@@ -200,10 +210,47 @@ public class SMTPNotificationManagerTest extends AbstractSpringTest {
         message.setToUserId(null);
         message.setCopyUserIds(Collections.singletonList(user.getId()));
 
-        smtpNotificationManager.notifySubscribers(message);
+        smtpNotificationManager.notifySubscribers(Collections.singletonList(message));
         MimeMessage[] receivedMessages = greenMail.getReceivedMessages();
         assertEquals(1, receivedMessages.length);
         assertNull(receivedMessages[0].getRecipients(Message.RecipientType.TO));
         assertEquals(1, receivedMessages[0].getRecipients(Message.RecipientType.CC).length);
     }
-}
\ No newline at end of file
+
+    @Test
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Throwable.class)
+    public void testBatchEmailSending() {
+        PipelineUser user = new PipelineUser();
+        user.setUserName(USER_NAME);
+        user.setAttributes(Collections.singletonMap(EMAIL_KEY, EMAIL));
+        userRepository.save(user);
+
+        NotificationTemplate template = new NotificationTemplate();
+        template.setId(1L);
+        template.setSubject(MESSAGE_SUBJECT);
+        template.setBody(MESSAGE_BODY_WITH_PARAM);
+        List<NotificationMessage> messages = LongStream.range(0, BATCH_SIZE)
+                .mapToObj(id -> {
+                    NotificationMessage message = new NotificationMessage();
+                    message.setId(id);
+                    message.setTemplate(template);
+                    message.setTemplateParameters(Collections.singletonMap("name", USER_NAME));
+                    message.setToUserId(user.getId());
+                    return message;
+                })
+                .collect(Collectors.toList());
+
+        long start = System.currentTimeMillis();
+        Set<Long> acknowledged = smtpNotificationManager.notifySubscribers(messages);
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        LOGGER.info("{} messages were sent in {} ms ({} messages/s)",
+                BATCH_SIZE, elapsed, BATCH_SIZE * MILLIS_IN_SECOND / elapsed);
+
+        assertEquals(BATCH_SIZE, acknowledged.size());
+        MimeMessage[] receivedMessages = greenMail.getReceivedMessages();
+        assertEquals(BATCH_SIZE, receivedMessages.length);
+        String filledMessage = PARSED_MESSAGE_BODY_WITH_PARAM
+                .replace("$templateParameters.get(\"name\")", USER_NAME);
+        assertTrue(GreenMailUtil.getBody(receivedMessages[BATCH_SIZE - 1]).contains(filledMessage));
+    }
+}
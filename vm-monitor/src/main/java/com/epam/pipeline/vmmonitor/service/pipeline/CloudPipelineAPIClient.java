@@ -23,17 +23,21 @@ import com.epam.pipeline.entity.cluster.NodeInstance;
 import com.epam.pipeline.entity.cluster.pool.NodePool;
 import com.epam.pipeline.entity.notification.NotificationMessage;
 import com.epam.pipeline.entity.pipeline.PipelineRun;
+import com.epam.pipeline.entity.pipeline.TaskStatus;
 import com.epam.pipeline.entity.region.AbstractCloudRegion;
 import com.epam.pipeline.entity.user.PipelineUser;
 import com.epam.pipeline.exception.PipelineResponseException;
+import com.epam.pipeline.rest.PagedResult;
 import com.epam.pipeline.utils.QueryUtils;
 import com.epam.pipeline.vo.FilterNodesVO;
+import com.epam.pipeline.vo.PagingRunFilterVO;
 import com.epam.pipeline.vo.notification.NotificationMessageVO;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -67,6 +71,10 @@ public class CloudPipelineAPIClient {
         return QueryUtils.execute((cloudPipelineAPI.findNodes(filterNodesVO)));
     }
 
+    public List<NodeInstance> loadAllNodes() {
+        return QueryUtils.execute(cloudPipelineAPI.loadAllNodes());
+    }
+
     public NotificationMessage sendNotification(final NotificationMessageVO messageVO) {
         return QueryUtils.execute(cloudPipelineAPI.createNotification(messageVO));
     }
@@ -87,6 +95,24 @@ public class CloudPipelineAPIClient {
         return QueryUtils.execute(cloudPipelineAPI.loadPipelineRun(runId));
     }
 
+    public List<PipelineRun> loadRunsByStatuses(final List<TaskStatus> statuses, final int pageSize) {
+        final PagingRunFilterVO filter = new PagingRunFilterVO();
+        filter.setStatuses(statuses);
+        filter.setPageSize(pageSize);
+        final List<PipelineRun> runs = new ArrayList<>();
+        int page = 1;
+        while (true) {
+            filter.setPage(page);
+            final PagedResult<List<PipelineRun>> result = QueryUtils.execute(cloudPipelineAPI.filterRuns(filter));
+            final List<PipelineRun> elements = ListUtils.emptyIfNull(result.getElements());
+            runs.addAll(elements);
+            if (elements.size() < pageSize || runs.size() >= result.getTotalCount()) {
+                return runs;
+            }
+            page++;
+        }
+    }
+
     public List<NodePool> loadNodePools() {
         return QueryUtils.execute(cloudPipelineAPI.loadNodePools());
     }
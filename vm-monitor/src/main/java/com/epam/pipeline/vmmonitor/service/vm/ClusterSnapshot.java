@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.vmmonitor.service.vm;
+
+import com.epam.pipeline.entity.cluster.NodeInstance;
+import com.epam.pipeline.entity.cluster.NodeInstanceAddress;
+import com.epam.pipeline.entity.cluster.pool.NodePool;
+import com.epam.pipeline.entity.pipeline.PipelineRun;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Cluster nodes, active runs and node pools loaded once per monitoring cycle
+ * and indexed for lookups by VM private IP, run id and pool id.
+ */
+class ClusterSnapshot {
+
+    private final Map<String, List<NodeInstance>> nodesByAddress;
+    private final Set<Long> activeRunIds;
+    private final Set<Long> poolIds;
+
+    ClusterSnapshot(final List<NodeInstance> nodes,
+                    final List<PipelineRun> activeRuns,
+                    final List<NodePool> pools) {
+        this.nodesByAddress = indexByAddress(ListUtils.emptyIfNull(nodes));
+        this.activeRunIds = ListUtils.emptyIfNull(activeRuns).stream()
+                .filter(run -> run.getStatus() == null || !run.getStatus().isFinal())
+                .map(PipelineRun::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        this.poolIds = ListUtils.emptyIfNull(pools).stream()
+                .map(NodePool::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    List<NodeInstance> findNodes(final String ip) {
+        if (StringUtils.isBlank(ip)) {
+            return Collections.emptyList();
+        }
+        return nodesByAddress.getOrDefault(ip.toLowerCase(Locale.ROOT), Collections.emptyList());
+    }
+
+    boolean isRunActive(final long runId) {
+        return activeRunIds.contains(runId);
+    }
+
+    boolean isPoolExists(final long poolId) {
+        return poolIds.contains(poolId);
+    }
+
+    private static Map<String, List<NodeInstance>> indexByAddress(final List<NodeInstance> nodes) {
+        final Map<String, List<NodeInstance>> index = new HashMap<>();
+        nodes.forEach(node -> ListUtils.emptyIfNull(node.getAddresses()).stream()
+                .map(NodeInstanceAddress::getAddress)
+                .filter(StringUtils::isNotBlank)
+                .map(address -> address.toLowerCase(Locale.ROOT))
+                .distinct()
+                .forEach(address -> index.computeIfAbsent(address, key -> new ArrayList<>()).add(node)));
+        return index;
+    }
+}
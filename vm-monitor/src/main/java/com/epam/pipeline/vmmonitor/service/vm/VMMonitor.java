@@ -20,9 +20,9 @@ package com.epam.pipeline.vmmonitor.service.vm;
 import com.epam.pipeline.entity.cluster.NodeInstance;
 import com.epam.pipeline.entity.cluster.pool.NodePool;
 import com.epam.pipeline.entity.pipeline.PipelineRun;
+import com.epam.pipeline.entity.pipeline.TaskStatus;
 import com.epam.pipeline.entity.region.AbstractCloudRegion;
 import com.epam.pipeline.entity.region.CloudProvider;
-import com.epam.pipeline.exception.PipelineResponseException;
 import com.epam.pipeline.vmmonitor.model.vm.VirtualMachine;
 import com.epam.pipeline.vmmonitor.service.pipeline.CloudPipelineAPIClient;
 import lombok.extern.slf4j.Slf4j;
@@ -34,33 +34,51 @@ import org.apache.commons.lang3.math.NumberUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PreDestroy;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
- * Main monitoring service class, checks VM status on a scheduled basis
+ * Main monitoring service class, checks VM status on a scheduled basis.
+ *
+ * VMs of all regions are listed concurrently first. Cluster nodes, active runs and node pools are loaded once
+ * per cycle afterwards, so a VM is never checked against a cluster state older than the VM itself.
  */
 @Slf4j
 @Service
 public class VMMonitor {
 
+    private static final List<TaskStatus> ACTIVE_STATUSES = Arrays.stream(TaskStatus.values())
+            .filter(status -> !status.isFinal())
+            .collect(Collectors.toList());
+
     private final CloudPipelineAPIClient apiClient;
     private final VMNotifier notifier;
     private final Map<CloudProvider, VMMonitorService> services;
     private final List<String> requiredLabels;
     private final String runIdLabel;
     private final String poolIdLabel;
+    private final int runsPageSize;
+    private final ExecutorService executor;
 
     public VMMonitor(final CloudPipelineAPIClient apiClient,
                      final VMNotifier notifier,
                      final List<VMMonitorService> services,
                      @Value("${monitor.required.labels:}") final String requiredLabels,
                      @Value("${monitor.runid.label:}") final String runIdLabel,
-                     @Value("${monitor.poolid.label:}") final String poolIdLabel) {
+                     @Value("${monitor.poolid.label:}") final String poolIdLabel,
+                     @Value("${monitor.regions.parallelism:4}") final int parallelism,
+                     @Value("${monitor.runs.page.size:500}") final int runsPageSize) {
         this.apiClient = apiClient;
         this.notifier = notifier;
         this.services = ListUtils.emptyIfNull(services).stream()
@@ -68,23 +86,55 @@ public class VMMonitor {
         this.requiredLabels = Arrays.asList(requiredLabels.split(","));
         this.runIdLabel = runIdLabel;
         this.poolIdLabel = poolIdLabel;
+        this.runsPageSize = Math.max(1, runsPageSize);
+        this.executor = Executors.newFixedThreadPool(Math.max(1, parallelism), regionThreadFactory());
     }
 
     public void monitor() {
-        ListUtils.emptyIfNull(apiClient.loadRegions())
-                .forEach(this::checkVMs);
+        final List<? extends AbstractCloudRegion> regions = ListUtils.emptyIfNull(apiClient.loadRegions());
+        if (regions.isEmpty()) {
+            return;
+        }
+        final List<CompletableFuture<List<VirtualMachine>>> regionVms = regions.stream()
+                .map(region -> CompletableFuture.supplyAsync(() -> fetchVMs(region), executor))
+                .collect(Collectors.toList());
+        CompletableFuture.allOf(regionVms.toArray(new CompletableFuture[0])).join();
+        final ClusterSnapshot snapshot = loadSnapshot();
+        regionVms.stream()
+                .map(CompletableFuture::join)
+                .flatMap(List::stream)
+                .forEach(vm -> checkVmState(vm, snapshot));
     }
 
-    @SuppressWarnings("unchecked")
-    private void checkVMs(final AbstractCloudRegion region) {
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ClusterSnapshot loadSnapshot() {
+        final List<NodeInstance> nodes = apiClient.loadAllNodes();
+        final List<PipelineRun> runs = apiClient.loadRunsByStatuses(ACTIVE_STATUSES, runsPageSize);
+        final List<NodePool> pools = apiClient.loadNodePools();
+        log.debug("Loaded {} node(s), {} active run(s) and {} node pool(s)",
+                ListUtils.emptyIfNull(nodes).size(), ListUtils.emptyIfNull(runs).size(),
+                ListUtils.emptyIfNull(pools).size());
+        return new ClusterSnapshot(nodes, runs, pools);
+    }
+
+    @SuppressWarnings({"unchecked", "PMD.AvoidCatchingGenericException"})
+    private List<VirtualMachine> fetchVMs(final AbstractCloudRegion region) {
         log.debug("Checking VMs in region {} {}", region.getRegionCode(), region.getProvider());
-        getVmService(region)
-                .ifPresent(service -> {
-                    final List<VirtualMachine> vms = ListUtils.emptyIfNull(service.fetchRunningVms(region));
-                    log.debug("Found {} running VM(s) in {} {}", vms.size(),
-                            region.getRegionCode(), region.getProvider());
-                    vms.forEach(this::checkVmState);
-                });
+        try {
+            final List<VirtualMachine> vms = getVmService(region)
+                    .map(service -> ListUtils.emptyIfNull(service.fetchRunningVms(region)))
+                    .orElseGet(Collections::emptyList);
+            log.debug("Found {} running VM(s) in {} {}", vms.size(), region.getRegionCode(), region.getProvider());
+            return vms;
+        } catch (Exception e) {
+            log.error("An error occurred during checking VMs in region {} {}: {}",
+                    region.getRegionCode(), region.getProvider(), e.getMessage());
+            return Collections.emptyList();
+        }
     }
 
     private Optional<VMMonitorService> getVmService(final AbstractCloudRegion region) {
@@ -97,16 +147,16 @@ public class VMMonitor {
     }
 
     @SuppressWarnings("PMD.AvoidCatchingGenericException")
-    private void checkVmState(final VirtualMachine vm) {
+    private void checkVmState(final VirtualMachine vm, final ClusterSnapshot snapshot) {
         try {
-            final List<NodeInstance> nodes = apiClient.findNodes(vm.getPrivateIp());
+            final List<NodeInstance> nodes = snapshot.findNodes(vm.getPrivateIp());
             if (CollectionUtils.isNotEmpty(nodes)) {
                 log.debug("Found {} node(s) matching VM {} {}", nodes.size(),
                         vm.getInstanceId(), vm.getCloudProvider());
-                checkMatchingNodes(nodes, vm);
+                checkMatchingNodes(nodes, vm, snapshot);
             } else {
                 log.debug("No matching nodes were found for VM {} {}.", vm.getInstanceId(), vm.getCloudProvider());
-                if (!matchingRunExists(vm)) {
+                if (!matchingRunExists(vm, snapshot)) {
                     notifier.notifyMissingNode(vm);
                 }
             }
@@ -116,57 +166,42 @@ public class VMMonitor {
         }
     }
 
-    private boolean matchingRunExists(final VirtualMachine vm) {
+    private boolean matchingRunExists(final VirtualMachine vm, final ClusterSnapshot snapshot) {
         log.debug("Checking whether a run exists matching instance.");
         final String runIdValue = MapUtils.emptyIfNull(vm.getTags()).get(runIdLabel);
         if (StringUtils.isNotBlank(runIdValue) && NumberUtils.isDigits(runIdValue)) {
             final long runId = Long.parseLong(runIdValue);
             log.debug("VM {} {} is associated with run id {}. Checking run status.",
                     vm.getInstanceId(), vm.getCloudProvider(), runId);
-            return isRunActive(vm, runId);
+            if (snapshot.isRunActive(runId)) {
+                return true;
+            }
+            log.debug("Run {} is not active, but VM {} is still up.", runId, vm.getInstanceId());
         }
         return false;
     }
 
-    private boolean poolIdExists(final NodeInstance node) {
+    private boolean poolIdExists(final NodeInstance node, final ClusterSnapshot snapshot) {
         log.debug("Checking whether a node pool with corresponding pool id exists.");
         final String poolIdValue = MapUtils.emptyIfNull(node.getLabels()).get(poolIdLabel);
         if (StringUtils.isNotBlank(poolIdValue) && NumberUtils.isDigits(poolIdValue)) {
             final long poolId = Long.parseLong(poolIdValue);
             log.debug("NodeInstance {} {} is associated with pool id {}. Checking node pool existence.",
                     node.getUid(), node.getClusterName(), poolId);
-            return isNodePoolExists(poolId);
+            return snapshot.isPoolExists(poolId);
         }
         return false;
     }
 
-    private boolean isNodePoolExists(final long poolId) {
-        final List<NodePool> nodePools = apiClient.loadNodePools();
-        return nodePools.stream().map(NodePool::getId).collect(Collectors.toList()).contains(poolId);
-    }
-
-    private boolean isRunActive(final VirtualMachine vm, final long runId) {
-        try {
-            final PipelineRun run = apiClient.loadRun(runId);
-            if (run.getStatus().isFinal()) {
-                log.debug("Run {} is in final status, but VM {} is still up.", runId, vm.getInstanceId());
-                return false;
-            }
-            return true;
-        } catch (PipelineResponseException e) {
-            log.error("Failed to load run {}: {}", runId, e.getMessage());
-            return false;
-        }
-    }
-
     private void checkMatchingNodes(final List<NodeInstance> nodes,
-                                    final VirtualMachine vm) {
-        nodes.forEach(node -> checkLabels(node, vm));
+                                    final VirtualMachine vm,
+                                    final ClusterSnapshot snapshot) {
+        nodes.forEach(node -> checkLabels(node, vm, snapshot));
     }
 
-    private void checkLabels(final NodeInstance node, final VirtualMachine vm) {
+    private void checkLabels(final NodeInstance node, final VirtualMachine vm, final ClusterSnapshot snapshot) {
         log.debug("Checking status of node {} for VM {} {}", node.getName(), vm.getInstanceId(), vm.getCloudProvider());
-        if (matchingRunExists(vm) || poolIdExists(node)) {
+        if (matchingRunExists(vm, snapshot) || poolIdExists(node, snapshot)) {
             return;
         }
         log.debug("Checking whether node {} is labeled with required tags.", node.getName());
@@ -186,4 +221,13 @@ public class VMMonitor {
                 })
                 .collect(Collectors.toList());
     }
+
+    private static ThreadFactory regionThreadFactory() {
+        final AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "vm-monitor-region-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
 }
@@ -17,6 +17,7 @@
 package com.epam.pipeline.vmmonitor.service.vm;
 
 import com.epam.pipeline.entity.cluster.NodeInstance;
+import com.epam.pipeline.entity.cluster.NodeInstanceAddress;
 import com.epam.pipeline.entity.cluster.pool.NodePool;
 import com.epam.pipeline.entity.pipeline.PipelineRun;
 import com.epam.pipeline.entity.pipeline.TaskStatus;
@@ -24,15 +25,29 @@ import com.epam.pipeline.entity.region.AwsRegion;
 import com.epam.pipeline.entity.region.CloudProvider;
 import com.epam.pipeline.vmmonitor.model.vm.VirtualMachine;
 import com.epam.pipeline.vmmonitor.service.pipeline.CloudPipelineAPIClient;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 public class VMMonitorTest {
@@ -43,10 +58,16 @@ public class VMMonitorTest {
     private static final String RUN_ID_VALUE = "p-123";
     private static final String POOL_ID_VALUE = "123";
     private static final Long POOL_ID = 123L;
+    private static final Long RUN_ID = 5L;
+    private static final String PRIVATE_IP = "10.0.0.1";
+    private static final int PARALLELISM = 2;
+    private static final int PAGE_SIZE = 100;
     private final Map<String, String> vmTags = Collections.singletonMap(RUN_ID_LABEL, RUN_ID_VALUE);
     private final Map<String, String> nodeLabels = Collections.singletonMap(POOL_ID_LABEL, POOL_ID_VALUE);
     private final AwsRegion region = new AwsRegion(CloudProvider.AWS, TEST_STRING, TEST_STRING, TEST_STRING,
             TEST_STRING, TEST_STRING, TEST_STRING, TEST_STRING, 0, true);
+    private final AwsRegion anotherRegion = new AwsRegion(CloudProvider.AWS, TEST_STRING, TEST_STRING, TEST_STRING,
+            TEST_STRING, TEST_STRING, TEST_STRING, TEST_STRING, 0, false);
     private VirtualMachine vm;
     private VMMonitor monitor;
 
@@ -57,37 +78,128 @@ public class VMMonitorTest {
     @BeforeEach
     public void setUp() {
         doReturn(CloudProvider.AWS).when(mockService).provider();
-        vm = VirtualMachine.builder().tags(vmTags).build();
+        region.setId(1L);
+        anotherRegion.setId(2L);
+        vm = VirtualMachine.builder().privateIp(PRIVATE_IP).tags(vmTags).build();
         monitor = new VMMonitor(mockApiClient, notifier, Collections.singletonList(mockService),
-                RUN_ID_LABEL, RUN_ID_LABEL, POOL_ID_LABEL);
+                RUN_ID_LABEL, RUN_ID_LABEL, POOL_ID_LABEL, PARALLELISM, PAGE_SIZE);
+        doReturn(Collections.singletonList(region)).when(mockApiClient).loadRegions();
+    }
 
+    @AfterEach
+    public void tearDown() {
+        monitor.shutdown();
     }
 
     @Test
     public void shouldNotNotifyMissingNodeWhenRunIdIsNotNumericAndPoolIdExists() {
-        final NodeInstance nodeInstance = new NodeInstance();
+        final NodeInstance nodeInstance = node(PRIVATE_IP);
         nodeInstance.setRunId(RUN_ID_VALUE);
         nodeInstance.setLabels(nodeLabels);
-        final PipelineRun pipelineRun = new PipelineRun();
-        pipelineRun.setStatus(TaskStatus.RUNNING);
         final NodePool nodePool = new NodePool();
         nodePool.setId(POOL_ID);
-        doReturn(Collections.singletonList(region)).when(mockApiClient).loadRegions();
         doReturn(Collections.singletonList(vm)).when(mockService).fetchRunningVms(region);
-        doReturn(Collections.singletonList(nodeInstance)).when(mockApiClient).findNodes(vm.getPrivateIp());
-        doReturn(pipelineRun).when(mockApiClient).loadRun(POOL_ID);
+        doReturn(Collections.singletonList(nodeInstance)).when(mockApiClient).loadAllNodes();
         doReturn(Collections.singletonList(nodePool)).when(mockApiClient).loadNodePools();
         monitor.monitor();
 
         verify(notifier, never()).notifyMissingNode(vm);
+        verify(notifier, never()).notifyMissingLabels(any(), any(), anyList());
     }
 
     @Test
     public void shouldNotifyMissingNodeWhenRunIdIsNotNumericAndPoolIdDoesNotExist() {
-        doReturn(Collections.singletonList(region)).when(mockApiClient).loadRegions();
         doReturn(Collections.singletonList(vm)).when(mockService).fetchRunningVms(region);
         monitor.monitor();
 
         verify(notifier).notifyMissingNode(vm);
     }
+
+    @Test
+    public void shouldNotNotifyMissingNodeWhenVmRunIsActive() {
+        final VirtualMachine runVm = VirtualMachine.builder()
+                .privateIp(PRIVATE_IP)
+                .tags(Collections.singletonMap(RUN_ID_LABEL, RUN_ID.toString()))
+                .build();
+        doReturn(Collections.singletonList(runVm)).when(mockService).fetchRunningVms(region);
+        doReturn(Collections.singletonList(run(RUN_ID, TaskStatus.RUNNING)))
+                .when(mockApiClient).loadRunsByStatuses(anyList(), eq(PAGE_SIZE));
+        monitor.monitor();
+
+        verify(notifier, never()).notifyMissingNode(any());
+    }
+
+    @Test
+    public void shouldNotNotifyMissingNodeWhenVmRunHasStartedBeforeVmsListing() {
+        final VirtualMachine runVm = VirtualMachine.builder()
+                .privateIp(PRIVATE_IP)
+                .tags(Collections.singletonMap(RUN_ID_LABEL, RUN_ID.toString()))
+                .build();
+        final AtomicBoolean vmsListed = new AtomicBoolean();
+        doAnswer(invocation -> {
+            vmsListed.set(true);
+            return Collections.singletonList(runVm);
+        }).when(mockService).fetchRunningVms(region);
+        doAnswer(invocation -> vmsListed.get()
+                ? Collections.singletonList(run(RUN_ID, TaskStatus.RUNNING))
+                : Collections.emptyList())
+                .when(mockApiClient).loadRunsByStatuses(anyList(), eq(PAGE_SIZE));
+        monitor.monitor();
+
+        verify(notifier, never()).notifyMissingNode(any());
+    }
+
+    @Test
+    public void shouldNotifyMissingLabelsWhenNodeIsNotAssociatedWithActiveRunOrPool() {
+        final NodeInstance nodeInstance = node(PRIVATE_IP);
+        doReturn(Collections.singletonList(vm)).when(mockService).fetchRunningVms(region);
+        doReturn(Collections.singletonList(nodeInstance)).when(mockApiClient).loadAllNodes();
+        monitor.monitor();
+
+        verify(notifier, never()).notifyMissingNode(any());
+        verify(notifier).notifyMissingLabels(vm, nodeInstance, Collections.singletonList(RUN_ID_LABEL));
+    }
+
+    @Test
+    public void shouldLoadClusterStateOncePerCycleForAllRegions() {
+        final List<VirtualMachine> vms = IntStream.range(0, 50)
+                .mapToObj(i -> VirtualMachine.builder().privateIp("10.0.1." + i).tags(vmTags).build())
+                .collect(Collectors.toList());
+        final List<NodeInstance> nodes = IntStream.range(0, 50)
+                .mapToObj(i -> node("10.0.1." + i))
+                .peek(node -> node.setLabels(nodeLabels))
+                .collect(Collectors.toList());
+        final NodePool nodePool = new NodePool();
+        nodePool.setId(POOL_ID);
+        doReturn(Arrays.asList(region, anotherRegion)).when(mockApiClient).loadRegions();
+        doReturn(vms).when(mockService).fetchRunningVms(region);
+        doReturn(Collections.singletonList(vms.get(0))).when(mockService).fetchRunningVms(anotherRegion);
+        doReturn(nodes).when(mockApiClient).loadAllNodes();
+        doReturn(Collections.singletonList(nodePool)).when(mockApiClient).loadNodePools();
+        monitor.monitor();
+
+        verify(mockApiClient, times(1)).loadAllNodes();
+        verify(mockApiClient, times(1)).loadRunsByStatuses(anyList(), anyInt());
+        verify(mockApiClient, times(1)).loadNodePools();
+        verify(mockApiClient, never()).findNodes(anyString());
+        verify(mockApiClient, never()).loadRun(anyLong());
+        verify(mockService).fetchRunningVms(anotherRegion);
+        verify(notifier, never()).notifyMissingNode(any());
+        verify(notifier, never()).notifyMissingLabels(any(), any(), anyList());
+    }
+
+    private static NodeInstance node(final String ip) {
+        final NodeInstanceAddress address = new NodeInstanceAddress();
+        address.setAddress(ip);
+        final NodeInstance nodeInstance = new NodeInstance();
+        nodeInstance.setAddresses(Collections.singletonList(address));
+        return nodeInstance;
+    }
+
+    private static PipelineRun run(final Long id, final TaskStatus status) {
+        final PipelineRun run = new PipelineRun();
+        run.setId(id);
+        run.setStatus(status);
+        return run;
+    }
 }